@@ -0,0 +1,36 @@
+package com.solesonic.a2a.api;
+
+import com.solesonic.a2a.executor.SportsAnswerCache;
+import com.solesonic.agent.sports.model.SportsQuestionType;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/a2a/admin/answer-cache")
+@PreAuthorize("hasAuthority('ROLE_AGENT-ADMIN')")
+public class AnswerCacheController {
+
+    private final SportsAnswerCache answerCache;
+
+    public AnswerCacheController(SportsAnswerCache answerCache) {
+        this.answerCache = answerCache;
+    }
+
+    /**
+     * Invalidates the cached answers of the given question types, or of all types if none are given.
+     */
+    @PostMapping(path = "/purge", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Set<SportsQuestionType>>> purge(
+            @RequestParam(name = "questionType", required = false) List<SportsQuestionType> questionTypes) {
+        return ResponseEntity.ok(Map.of("purged", answerCache.purge(questionTypes)));
+    }
+}
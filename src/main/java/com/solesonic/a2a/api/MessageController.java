@@ -17,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
@@ -34,20 +35,20 @@ public class MessageController {
     }
 
     @PostMapping(path = "/{agentName}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<SendMessageResponse> sendMessage(@PathVariable String agentName,
-                                                           @RequestBody String body) {
+    public DeferredResult<ResponseEntity<SendMessageResponse>> sendMessage(@PathVariable String agentName,
+                                                                           @RequestBody String body) {
         log.info("Sending json agent message: {}", agentName);
 
         SendMessageRequest request;
         try {
             request = (SendMessageRequest) JSONRPCUtils.parseRequestBody(body, null);
         } catch (IdJsonMappingException e) {
-            return ResponseEntity.ok(new SendMessageResponse(e.getId(), new InvalidParamsError(e.getMessage())));
+            return completed(ResponseEntity.ok(new SendMessageResponse(e.getId(), new InvalidParamsError(e.getMessage()))));
         } catch (JsonProcessingException e) {
-            return ResponseEntity.ok(new SendMessageResponse(null, new InvalidRequestError(e.getMessage())));
+            return completed(ResponseEntity.ok(new SendMessageResponse(null, new InvalidRequestError(e.getMessage()))));
         }
 
-        return taskService.send(agentName, request);
+        return taskService.sendAsync(agentName, request);
     }
 
     @PostMapping(path = "/{agentName}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
@@ -68,6 +69,12 @@ public class MessageController {
         return streamingA2AService.stream(agentName, request);
     }
 
+    private static <T> DeferredResult<T> completed(T result) {
+        DeferredResult<T> deferredResult = new DeferredResult<>();
+        deferredResult.setResult(result);
+        return deferredResult;
+    }
+
     @ExceptionHandler(AsyncRequestTimeoutException.class)
     public ResponseEntity<Void> handleAsyncTimeout(AsyncRequestTimeoutException asyncRequestTimeoutException) {
         log.error("Async timeout exception", asyncRequestTimeoutException);
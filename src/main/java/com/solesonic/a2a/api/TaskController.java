@@ -1,6 +1,7 @@
 package com.solesonic.a2a.api;
 
 import com.solesonic.a2a.service.StreamingA2AService;
+import com.solesonic.a2a.service.TaskPollService;
 import com.solesonic.a2a.service.TaskService;
 import org.a2aproject.sdk.jsonrpc.common.wrappers.CancelTaskRequest;
 import org.a2aproject.sdk.jsonrpc.common.wrappers.CancelTaskResponse;
@@ -9,10 +10,12 @@ import org.a2aproject.sdk.jsonrpc.common.wrappers.GetTaskResponse;
 import org.a2aproject.sdk.jsonrpc.common.wrappers.SubscribeToTaskRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
@@ -23,18 +26,24 @@ public class TaskController {
 
     private final TaskService taskService;
     private final StreamingA2AService streamingA2AService;
+    private final TaskPollService taskPollService;
 
-    public TaskController(TaskService taskService, StreamingA2AService streamingA2AService) {
+    public TaskController(TaskService taskService,
+                          StreamingA2AService streamingA2AService,
+                          TaskPollService taskPollService) {
         this.taskService = taskService;
         this.streamingA2AService = streamingA2AService;
+        this.taskPollService = taskPollService;
     }
 
     @PostMapping(path = "get", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<GetTaskResponse> getTask(@PathVariable String agentName,
-                                                   @RequestBody GetTaskRequest request) {
+    public DeferredResult<ResponseEntity<GetTaskResponse>> getTask(@PathVariable String agentName,
+                                                                   @RequestBody GetTaskRequest request,
+                                                                   @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                                   @RequestHeader(name = "Prefer", required = false) String prefer) {
         log.info("Getting task for agent: {}", agentName);
 
-        return taskService.getTask(agentName, request);
+        return taskPollService.getTask(agentName, request, ifNoneMatch, prefer);
     }
 
     @PostMapping(path = "cancel", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -45,7 +54,8 @@ public class TaskController {
 
     @PostMapping(path = "resubscribe", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public SseEmitter resubscribeTask(@PathVariable String agentName,
-                                      @RequestBody SubscribeToTaskRequest request) {
-        return streamingA2AService.resubscribe(agentName, request);
+                                      @RequestBody SubscribeToTaskRequest request,
+                                      @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return streamingA2AService.resubscribe(agentName, request, lastEventId);
     }
 }
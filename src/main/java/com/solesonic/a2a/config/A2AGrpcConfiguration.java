@@ -0,0 +1,76 @@
+package com.solesonic.a2a.config;
+
+import com.solesonic.a2a.grpc.A2AGrpcService;
+import com.solesonic.a2a.grpc.GrpcAuthenticationInterceptor;
+import com.solesonic.a2a.redis.RedisStreamSubscriber;
+import com.solesonic.a2a.service.AgentCardService;
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.ServerCredentials;
+import io.grpc.ServerInterceptors;
+import io.grpc.TlsServerCredentials;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.ssl.SslBundle;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+import java.util.concurrent.Executor;
+
+import static com.solesonic.a2a.config.AgentRequestHandlerRegistry.A2A_EXECUTOR;
+
+/**
+ * Serves the A2A gRPC transport on {@code solesonic.a2a.grpc.port}, next to the JSON-RPC endpoints and
+ * backed by the same request handlers. Calls run on the virtual-thread A2A executor, so blocking
+ * handler calls hold no platform thread. With {@code solesonic.a2a.grpc.ssl-bundle} set the server
+ * speaks TLS with that bundle's key; otherwise it is plaintext.
+ */
+@Configuration
+@ConditionalOnProperty(name = "solesonic.a2a.grpc.enabled", havingValue = "true")
+public class A2AGrpcConfiguration {
+
+    @Bean
+    public GrpcAuthenticationInterceptor grpcAuthenticationInterceptor(JwtDecoder jwtDecoder,
+                                                                       JwtAuthenticationConverter jwtAuthenticationConverter) {
+        return new GrpcAuthenticationInterceptor(jwtDecoder, jwtAuthenticationConverter);
+    }
+
+    @Bean
+    public A2AGrpcService a2aGrpcService(AgentRequestHandlerRegistry agentRequestHandlerRegistry,
+                                         AgentCardService agentCardService,
+                                         ServerCallContextFactory serverCallContextFactory,
+                                         RedisStreamSubscriber redisStreamSubscriber,
+                                         @Qualifier(A2A_EXECUTOR) Executor a2aExecutor) {
+        return new A2AGrpcService(agentRequestHandlerRegistry, agentCardService, serverCallContextFactory,
+                redisStreamSubscriber, a2aExecutor);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "shutdownNow")
+    public Server a2aGrpcServer(GrpcTransportProperties grpcTransportProperties,
+                                A2AGrpcService a2aGrpcService,
+                                GrpcAuthenticationInterceptor grpcAuthenticationInterceptor,
+                                @Qualifier(A2A_EXECUTOR) Executor a2aExecutor,
+                                SslBundles sslBundles) {
+        ServerCredentials serverCredentials = serverCredentials(grpcTransportProperties, sslBundles);
+        return Grpc.newServerBuilderForPort(grpcTransportProperties.port(), serverCredentials)
+                .executor(a2aExecutor)
+                .addService(ServerInterceptors.intercept(a2aGrpcService, grpcAuthenticationInterceptor))
+                .build();
+    }
+
+    private static ServerCredentials serverCredentials(GrpcTransportProperties grpcTransportProperties, SslBundles sslBundles) {
+        String bundleName = grpcTransportProperties.sslBundle();
+        if (bundleName == null || bundleName.isBlank()) {
+            return InsecureServerCredentials.create();
+        }
+
+        SslBundle sslBundle = sslBundles.getBundle(bundleName);
+        return TlsServerCredentials.newBuilder()
+                .keyManager(sslBundle.getManagers().getKeyManagers())
+                .build();
+    }
+}
@@ -1,16 +1,29 @@
 package com.solesonic.a2a.config;
 
-import org.a2aproject.sdk.server.tasks.BasePushNotificationSender;
-import org.a2aproject.sdk.server.tasks.PushNotificationConfigStore;
-import org.a2aproject.sdk.server.tasks.PushNotificationSender;
+import com.solesonic.a2a.event.EncodedEventCache;
+import com.solesonic.a2a.push.AsyncPushNotificationSender;
+import com.solesonic.a2a.push.PushNotificationOutbox;
+import com.solesonic.a2a.redis.RedisPushNotificationConfigStore;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 @Configuration
 public class A2APushNotificationConfig {
 
     @Bean
-    public PushNotificationSender pushNotificationSender(PushNotificationConfigStore configStore) {
-        return new BasePushNotificationSender(configStore);
+    public PushNotificationOutbox pushNotificationOutbox(StringRedisTemplate stringRedisTemplate) {
+        return new PushNotificationOutbox(stringRedisTemplate);
+    }
+
+    @Bean
+    public AsyncPushNotificationSender pushNotificationSender(RedisPushNotificationConfigStore redisPushNotificationConfigStore,
+                                                              PushNotificationOutbox pushNotificationOutbox,
+                                                              EncodedEventCache encodedEventCache,
+                                                              PushDeliveryProperties pushDeliveryProperties,
+                                                              MeterRegistry meterRegistry) {
+        return new AsyncPushNotificationSender(redisPushNotificationConfigStore, pushNotificationOutbox,
+                encodedEventCache, pushDeliveryProperties, meterRegistry);
     }
 }
@@ -1,9 +1,19 @@
 package com.solesonic.a2a.config;
 
+import com.solesonic.a2a.event.EncodedEventCache;
+import com.solesonic.a2a.executor.SportsAnswerCache;
+import com.solesonic.a2a.executor.TaskCancellationRegistry;
 import com.solesonic.a2a.redis.RedisEventEnqueueHookFactory;
 import com.solesonic.a2a.redis.RedisPushNotificationConfigStore;
 import com.solesonic.a2a.redis.RedisQueueManager;
+import com.solesonic.a2a.redis.RedisStreamPublisher;
+import com.solesonic.a2a.redis.RedisStreamSubscriber;
 import com.solesonic.a2a.redis.RedisTaskStore;
+import com.solesonic.a2a.redis.RedisValueCodec;
+import com.solesonic.a2a.redis.TaskChangeNotifier;
+import com.solesonic.a2a.redis.TieredTaskStore;
+import com.solesonic.service.espn.EspnResponseCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.a2aproject.sdk.jsonrpc.common.json.JsonUtil;
 import org.a2aproject.sdk.server.config.DefaultValuesConfigProvider;
 import org.a2aproject.sdk.server.events.MainEventBus;
@@ -13,11 +23,19 @@ import org.a2aproject.sdk.server.tasks.TaskStore;
 import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.chat.memory.ChatMemoryRepository;
 import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
+import java.time.Duration;
 import java.util.concurrent.Executor;
 
 @Configuration
@@ -25,20 +43,107 @@ public class A2ARedisConfiguration {
 
     public static final String A_2_A_AGENT_EXECUTOR = "a2a-agent-executor-";
     public static final String SPORTS_CHAT_MEMORY = "sportsChatMemory";
+    public static final String A2A_STREAMING_EXECUTOR = "a2aStreamingExecutor";
+    public static final String A_2_A_SSE = "a2a-sse-";
 
     @Bean
-    public RedisTaskStore redisTaskStore(StringRedisTemplate stringRedisTemplate) {
-        return new RedisTaskStore(stringRedisTemplate, JsonUtil.OBJECT_MAPPER);
+    public RedisValueCodec redisValueCodec(@Value("${solesonic.a2a.redis.codec.format}") RedisValueCodec.Format format,
+                                           @Value("${solesonic.a2a.redis.codec.compression-threshold}") int compressionThreshold) {
+        return new RedisValueCodec(JsonUtil.OBJECT_MAPPER, format, compressionThreshold);
     }
 
     @Bean
-    public RedisEventEnqueueHookFactory redisEventEnqueueHookFactory(StringRedisTemplate stringRedisTemplate) {
-        return new RedisEventEnqueueHookFactory(stringRedisTemplate, JsonUtil.OBJECT_MAPPER);
+    public RedisTemplate<String, byte[]> a2aBinaryRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+        RedisTemplate<String, byte[]> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(redisConnectionFactory);
+        redisTemplate.setKeySerializer(RedisSerializer.string());
+        redisTemplate.setHashKeySerializer(RedisSerializer.string());
+        redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        redisTemplate.setHashValueSerializer(RedisSerializer.byteArray());
+        return redisTemplate;
     }
 
     @Bean
-    public RedisPushNotificationConfigStore redisPushNotificationConfigStore(StringRedisTemplate stringRedisTemplate) {
-        return new RedisPushNotificationConfigStore(stringRedisTemplate, JsonUtil.OBJECT_MAPPER);
+    public RedisTaskStore redisTaskStore(StringRedisTemplate stringRedisTemplate,
+                                         RedisTemplate<String, byte[]> a2aBinaryRedisTemplate,
+                                         RedisValueCodec redisValueCodec) {
+        return new RedisTaskStore(stringRedisTemplate, a2aBinaryRedisTemplate, redisValueCodec);
+    }
+
+    @Bean
+    public TaskChangeNotifier taskChangeNotifier() {
+        return new TaskChangeNotifier();
+    }
+
+    @Bean
+    @Primary
+    public TieredTaskStore tieredTaskStore(RedisTaskStore redisTaskStore,
+                                           StringRedisTemplate stringRedisTemplate,
+                                           TaskChangeNotifier taskChangeNotifier,
+                                           RedisMessageListenerContainer a2aRedisMessageListenerContainer,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${solesonic.a2a.task-store.flush-interval}") Duration flushInterval) {
+        TieredTaskStore tieredTaskStore = new TieredTaskStore(redisTaskStore, stringRedisTemplate, taskChangeNotifier, flushInterval, meterRegistry);
+        a2aRedisMessageListenerContainer.addMessageListener(tieredTaskStore, new ChannelTopic(TieredTaskStore.INVALIDATION_CHANNEL));
+        return tieredTaskStore;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer a2aRedisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        return container;
+    }
+
+    @Bean
+    public RedisStreamPublisher redisStreamPublisher(RedisTemplate<String, byte[]> a2aBinaryRedisTemplate,
+                                                     RedisValueCodec redisValueCodec,
+                                                     RedisStreamProperties redisStreamProperties,
+                                                     MeterRegistry meterRegistry) {
+        return new RedisStreamPublisher(a2aBinaryRedisTemplate, redisValueCodec, redisStreamProperties, meterRegistry);
+    }
+
+    @Bean
+    public RedisStreamSubscriber redisStreamSubscriber(RedisConnectionFactory redisConnectionFactory,
+                                                       RedisValueCodec redisValueCodec,
+                                                       TaskStore taskStore,
+                                                       RedisStreamProperties redisStreamProperties) {
+        return new RedisStreamSubscriber(redisConnectionFactory, redisValueCodec, taskStore, redisStreamProperties);
+    }
+
+    @Bean
+    public RedisEventEnqueueHookFactory redisEventEnqueueHookFactory(RedisStreamPublisher redisStreamPublisher,
+                                                                     EncodedEventCache encodedEventCache) {
+        return new RedisEventEnqueueHookFactory(redisStreamPublisher, encodedEventCache);
+    }
+
+    @Bean
+    public RedisPushNotificationConfigStore redisPushNotificationConfigStore(RedisTemplate<String, byte[]> a2aBinaryRedisTemplate,
+                                                                             RedisValueCodec redisValueCodec,
+                                                                             PushDeliveryProperties pushDeliveryProperties,
+                                                                             RedisMessageListenerContainer a2aRedisMessageListenerContainer) {
+        RedisPushNotificationConfigStore configStore = new RedisPushNotificationConfigStore(
+                a2aBinaryRedisTemplate, redisValueCodec, pushDeliveryProperties.configCacheTtl());
+        a2aRedisMessageListenerContainer.addMessageListener(configStore, new ChannelTopic(RedisPushNotificationConfigStore.INVALIDATION_CHANNEL));
+        return configStore;
+    }
+
+    @Bean
+    public TaskCancellationRegistry taskCancellationRegistry(RedisTemplate<String, byte[]> a2aBinaryRedisTemplate,
+                                                             RedisMessageListenerContainer a2aRedisMessageListenerContainer) {
+        TaskCancellationRegistry cancellationRegistry = new TaskCancellationRegistry(a2aBinaryRedisTemplate);
+        a2aRedisMessageListenerContainer.addMessageListener(cancellationRegistry, new ChannelTopic(TaskCancellationRegistry.CANCELLATION_CHANNEL));
+        return cancellationRegistry;
+    }
+
+    @Bean
+    public SportsAnswerCache sportsAnswerCache(StringRedisTemplate stringRedisTemplate,
+                                               AnswerCacheProperties answerCacheProperties,
+                                               EspnResponseCache espnResponseCache,
+                                               MeterRegistry meterRegistry) {
+        SportsAnswerCache answerCache = new SportsAnswerCache(stringRedisTemplate, answerCacheProperties, meterRegistry);
+        espnResponseCache.onChange(answerCache::dataChanged);
+        return answerCache;
     }
 
     @Bean
@@ -47,10 +152,10 @@ public class A2ARedisConfiguration {
     }
 
     @Bean
-    public RedisQueueManager redisQueueManager(RedisTaskStore redisTaskStore,
+    public RedisQueueManager redisQueueManager(TieredTaskStore tieredTaskStore,
                                                RedisEventEnqueueHookFactory redisEventEnqueueHookFactory,
                                                MainEventBus mainEventBus) {
-        return RedisQueueManager.create(redisTaskStore, redisEventEnqueueHookFactory, mainEventBus);
+        return RedisQueueManager.create(tieredTaskStore, redisEventEnqueueHookFactory, mainEventBus);
     }
 
     @Bean
@@ -80,4 +185,11 @@ public class A2ARedisConfiguration {
         simpleAsyncTaskExecutor.setVirtualThreads(true);
         return simpleAsyncTaskExecutor;
     }
+
+    @Bean(A2A_STREAMING_EXECUTOR)
+    public Executor a2aStreamingExecutor() {
+        SimpleAsyncTaskExecutor simpleAsyncTaskExecutor = new SimpleAsyncTaskExecutor(A_2_A_SSE);
+        simpleAsyncTaskExecutor.setVirtualThreads(true);
+        return simpleAsyncTaskExecutor;
+    }
 }
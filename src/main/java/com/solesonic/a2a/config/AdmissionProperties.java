@@ -0,0 +1,17 @@
+package com.solesonic.a2a.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Admission limits applied to each A2A agent separately.
+ *
+ * @param maxConcurrent executions of one agent that may run at the same time
+ * @param maxQueued executions of one agent that may wait for a slot before new requests are rejected
+ */
+@ConfigurationProperties(prefix = "solesonic.a2a.admission")
+public record AdmissionProperties(
+        @DefaultValue("4") int maxConcurrent,
+        @DefaultValue("32") int maxQueued
+) {
+}
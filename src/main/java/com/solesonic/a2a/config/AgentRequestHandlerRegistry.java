@@ -1,5 +1,8 @@
 package com.solesonic.a2a.config;
 
+import com.solesonic.a2a.executor.AdmissionControlledAgentExecutor;
+import com.solesonic.a2a.executor.AgentAdmissionController;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.a2aproject.sdk.server.agentexecution.AgentExecutor;
 import org.a2aproject.sdk.server.events.MainEventBusProcessor;
 import org.a2aproject.sdk.server.events.QueueManager;
@@ -28,13 +31,15 @@ public class AgentRequestHandlerRegistry {
             QueueManager queueManager,
             PushNotificationConfigStore pushNotificationConfigStore,
             MainEventBusProcessor mainEventBusProcessor,
-            @Qualifier(A2A_EXECUTOR) Executor a2aExecutor) {
+            @Qualifier(A2A_EXECUTOR) Executor a2aExecutor,
+            AdmissionProperties admissionProperties,
+            MeterRegistry meterRegistry) {
 
         this.handlersByAgentId = agentExecutors.entrySet().stream()
                 .collect(Collectors.toUnmodifiableMap(
                         Map.Entry::getKey,
                         entry -> DefaultRequestHandler.create(
-                                entry.getValue(),
+                                admissionControlled(entry.getKey(), entry.getValue(), admissionProperties, meterRegistry),
                                 taskStore,
                                 queueManager,
                                 pushNotificationConfigStore,
@@ -43,6 +48,15 @@ public class AgentRequestHandlerRegistry {
                                 a2aExecutor)));
     }
 
+    private static AgentExecutor admissionControlled(String agentId,
+                                                     AgentExecutor agentExecutor,
+                                                     AdmissionProperties admissionProperties,
+                                                     MeterRegistry meterRegistry) {
+        AgentAdmissionController admissionController = new AgentAdmissionController(agentId,
+                admissionProperties.maxConcurrent(), admissionProperties.maxQueued(), meterRegistry);
+        return new AdmissionControlledAgentExecutor(agentExecutor, admissionController);
+    }
+
     public RequestHandler getHandler(String agentId) {
         RequestHandler requestHandler = handlersByAgentId.get(agentId);
 
@@ -0,0 +1,26 @@
+package com.solesonic.a2a.config;
+
+import com.solesonic.agent.sports.model.SportsQuestionType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings for the Redis cache of finished NBA answers.
+ *
+ * @param enabled whether answers are served from and written to the cache
+ * @param ttl     how long an answer stays fresh, per question type; a question spanning several types
+ *                uses the shortest, and a question with a type missing here is never cached
+ */
+@ConfigurationProperties(prefix = "solesonic.a2a.answer-cache")
+public record AnswerCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        Map<SportsQuestionType, Duration> ttl
+) {
+
+    public AnswerCacheProperties {
+        ttl = ttl == null ? Map.of() : Map.copyOf(ttl);
+    }
+}
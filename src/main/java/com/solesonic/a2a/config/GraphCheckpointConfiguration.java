@@ -0,0 +1,90 @@
+package com.solesonic.a2a.config;
+
+import com.solesonic.a2a.redis.RedisCheckpointSaver;
+import com.solesonic.a2a.redis.RedisValueCodec;
+import com.solesonic.a2a.redis.StateCheckpointSerializer;
+import com.solesonic.agent.agile.AgileQueryIntent;
+import com.solesonic.agent.agile.AgileState;
+import com.solesonic.agent.jira.JiraState;
+import com.solesonic.agent.model.AssigneeLookupResult;
+import com.solesonic.agent.model.JiraIssueCreatePayload;
+import com.solesonic.agent.sports.SportsState;
+import com.solesonic.agent.sports.model.EspnTeamProfile;
+import com.solesonic.agent.sports.model.SportsQueryIntent;
+import com.solesonic.model.atlassian.agile.Board;
+import com.solesonic.model.espn.EspnScheduleSummary;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis checkpoint savers for the agent graphs. Each state class gets a schema naming the type of
+ * every key that holds more than a plain JSON value, so checkpoints carry no type information.
+ */
+@Configuration
+public class GraphCheckpointConfiguration {
+
+    public static final String SPORTS_CHECKPOINT_SAVER = "sportsCheckpointSaver";
+    public static final String JIRA_CHECKPOINT_SAVER = "jiraCheckpointSaver";
+    public static final String AGILE_CHECKPOINT_SAVER = "agileCheckpointSaver";
+
+    static final Map<String, Type> SPORTS_STATE_SCHEMA = Map.of(
+            SportsState.SPORTS_QUERY_INTENT, SportsQueryIntent.class,
+            SportsState.RESOLVED_TEAMS, new TypeReference<List<EspnTeamProfile>>() { }.getType(),
+            SportsState.ESPN_SCHEDULE_SUMMARY_OBJECT, EspnScheduleSummary.class
+    );
+
+    static final Map<String, Type> JIRA_STATE_SCHEMA = Map.of(
+            JiraState.ASSIGNEE_LOOKUP_RESULT, AssigneeLookupResult.class,
+            JiraState.FINAL_PAYLOAD, JiraIssueCreatePayload.class
+    );
+
+    static final Map<String, Type> AGILE_STATE_SCHEMA = Map.of(
+            AgileState.AGILE_QUERY_INTENT, AgileQueryIntent.class,
+            AgileState.BOARDS, new TypeReference<List<Board>>() { }.getType()
+    );
+
+    @Bean(SPORTS_CHECKPOINT_SAVER)
+    public RedisCheckpointSaver sportsCheckpointSaver(RedisTemplate<String, byte[]> a2aBinaryRedisTemplate,
+                                                      RedisValueCodec redisValueCodec,
+                                                      JsonMapper jsonMapper,
+                                                      GraphCheckpointProperties graphCheckpointProperties) {
+        return checkpointSaver("sports", SPORTS_STATE_SCHEMA,
+                a2aBinaryRedisTemplate, redisValueCodec, jsonMapper, graphCheckpointProperties);
+    }
+
+    @Bean(JIRA_CHECKPOINT_SAVER)
+    public RedisCheckpointSaver jiraCheckpointSaver(RedisTemplate<String, byte[]> a2aBinaryRedisTemplate,
+                                                    RedisValueCodec redisValueCodec,
+                                                    JsonMapper jsonMapper,
+                                                    GraphCheckpointProperties graphCheckpointProperties) {
+        return checkpointSaver("jira", JIRA_STATE_SCHEMA,
+                a2aBinaryRedisTemplate, redisValueCodec, jsonMapper, graphCheckpointProperties);
+    }
+
+    @Bean(AGILE_CHECKPOINT_SAVER)
+    public RedisCheckpointSaver agileCheckpointSaver(RedisTemplate<String, byte[]> a2aBinaryRedisTemplate,
+                                                     RedisValueCodec redisValueCodec,
+                                                     JsonMapper jsonMapper,
+                                                     GraphCheckpointProperties graphCheckpointProperties) {
+        return checkpointSaver("agile", AGILE_STATE_SCHEMA,
+                a2aBinaryRedisTemplate, redisValueCodec, jsonMapper, graphCheckpointProperties);
+    }
+
+    private static RedisCheckpointSaver checkpointSaver(String graphName,
+                                                        Map<String, Type> schema,
+                                                        RedisTemplate<String, byte[]> a2aBinaryRedisTemplate,
+                                                        RedisValueCodec redisValueCodec,
+                                                        JsonMapper jsonMapper,
+                                                        GraphCheckpointProperties properties) {
+        StateCheckpointSerializer serializer = new StateCheckpointSerializer(jsonMapper, redisValueCodec, schema);
+        return new RedisCheckpointSaver(a2aBinaryRedisTemplate, serializer, graphName,
+                properties.ttl(), properties.maxHistory());
+    }
+}
@@ -0,0 +1,20 @@
+package com.solesonic.a2a.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the LangGraph4j checkpoints kept in Redis so an interrupted graph run can resume on
+ * another node.
+ *
+ * @param ttl how long the checkpoints of a run are kept after its last completed node
+ * @param maxHistory checkpoints kept per run; older ones are trimmed on every write
+ */
+@ConfigurationProperties(prefix = "solesonic.a2a.checkpoint")
+public record GraphCheckpointProperties(
+        @DefaultValue("1h") Duration ttl,
+        @DefaultValue("16") int maxHistory
+) {
+}
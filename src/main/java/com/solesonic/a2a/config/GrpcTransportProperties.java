@@ -0,0 +1,23 @@
+package com.solesonic.a2a.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the A2A gRPC transport, served next to JSON-RPC on its own port.
+ *
+ * @param enabled           whether the gRPC server runs and is advertised in the agent cards
+ * @param port              port the gRPC server listens on
+ * @param advertisedAddress {@code host:port} clients should dial; defaults to the host of
+ *                          {@code solesonic.a2a.base.uri} and {@code port}
+ * @param sslBundle         SSL bundle ({@code spring.ssl.bundle.*}) the server presents for TLS; without
+ *                          one the transport is plaintext
+ */
+@ConfigurationProperties(prefix = "solesonic.a2a.grpc")
+public record GrpcTransportProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("9090") int port,
+        String advertisedAddress,
+        String sslBundle
+) {
+}
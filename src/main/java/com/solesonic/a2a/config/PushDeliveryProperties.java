@@ -0,0 +1,31 @@
+package com.solesonic.a2a.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for asynchronous push notification delivery from the Redis outbox.
+ *
+ * @param concurrency deliveries in flight per node
+ * @param maxAttempts attempts before a delivery is moved to the dead-letter set
+ * @param initialBackoff delay before the first retry; doubled on every further attempt
+ * @param maxBackoff upper bound for the retry delay
+ * @param requestTimeout timeout of one webhook call
+ * @param lease how long a claimed delivery stays hidden from other nodes before it is retried
+ * @param pollInterval how often an idle node checks the outbox for due deliveries
+ * @param configCacheTtl how long push notification configs are cached locally per task
+ */
+@ConfigurationProperties(prefix = "solesonic.a2a.push")
+public record PushDeliveryProperties(
+        @DefaultValue("8") int concurrency,
+        @DefaultValue("8") int maxAttempts,
+        @DefaultValue("1s") Duration initialBackoff,
+        @DefaultValue("5m") Duration maxBackoff,
+        @DefaultValue("10s") Duration requestTimeout,
+        @DefaultValue("60s") Duration lease,
+        @DefaultValue("250ms") Duration pollInterval,
+        @DefaultValue("30s") Duration configCacheTtl
+) {
+}
@@ -0,0 +1,33 @@
+package com.solesonic.a2a.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the per-task A2A event streams in Redis: the background writer that publishes to them
+ * and the readers that serve {@code SubscribeToTask} from them.
+ *
+ * @param maxLength approximate MAXLEN each {@code a2a:stream:{<taskId>}} stream is trimmed to on every XADD
+ * @param perTaskCapacity events buffered per task; a producer publishing into a full queue waits for room
+ * @param publishTimeout how long a producer waits for room in a full queue before the event is dropped
+ * @param batchSize maximum number of XADDs sent in one pipelined round trip
+ * @param finalizedTtl how long the stream of a finalized task is kept before Redis expires it
+ * @param activeTtl how long the stream of an unfinished task is kept after its last write, so streams of
+ *                  crashed or abandoned tasks expire too
+ * @param queueIdleTimeout how long an empty per-task queue is kept without new events before it is evicted
+ * @param readBlock how long a subscriber's XREAD blocks before it rechecks the task and reads again
+ */
+@ConfigurationProperties(prefix = "solesonic.a2a.redis.stream")
+public record RedisStreamProperties(
+        @DefaultValue("1000") long maxLength,
+        @DefaultValue("2048") int perTaskCapacity,
+        @DefaultValue("30s") Duration publishTimeout,
+        @DefaultValue("256") int batchSize,
+        @DefaultValue("1h") Duration finalizedTtl,
+        @DefaultValue("24h") Duration activeTtl,
+        @DefaultValue("10m") Duration queueIdleTimeout,
+        @DefaultValue("5s") Duration readBlock
+) {
+}
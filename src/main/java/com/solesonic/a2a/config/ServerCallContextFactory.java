@@ -3,21 +3,34 @@ package com.solesonic.a2a.config;
 import org.a2aproject.sdk.server.ServerCallContext;
 import org.a2aproject.sdk.server.auth.User;
 import org.jspecify.annotations.NonNull;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class ServerCallContextFactory {
 
+    /**
+     * Call state entry holding the id of the task the call is running, recorded by the agent executor
+     * once the SDK has assigned it.
+     */
+    public static final String TASK_ID_STATE = "solesonic.taskId";
+
     public ServerCallContext create() {
-        Object principal = SecurityContextHolder.getContext().getAuthentication();
-        User user = principal instanceof JwtAuthenticationToken jwtToken ? new JwtUser(jwtToken) : null;
+        return create(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    /**
+     * Context for a call authenticated outside the servlet security filters, such as a gRPC call.
+     */
+    public ServerCallContext create(Authentication authentication) {
+        User user = authentication instanceof JwtAuthenticationToken jwtToken ? new JwtUser(jwtToken) : null;
         assert user != null;
-        return new ServerCallContext(user, Map.of(), Set.of());
+        return new ServerCallContext(user, new ConcurrentHashMap<>(), Set.of());
     }
 
     private record JwtUser(JwtAuthenticationToken token) implements User {
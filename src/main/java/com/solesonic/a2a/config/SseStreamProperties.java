@@ -0,0 +1,19 @@
+package com.solesonic.a2a.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for A2A SSE streams.
+ *
+ * @param bufferCapacity events buffered per stream while the client is slower than the workflow
+ * @param heartbeatInterval idle time after which a heartbeat comment is sent to keep the connection open
+ */
+@ConfigurationProperties(prefix = "solesonic.a2a.sse")
+public record SseStreamProperties(
+        @DefaultValue("256") int bufferCapacity,
+        @DefaultValue("15s") Duration heartbeatInterval
+) {
+}
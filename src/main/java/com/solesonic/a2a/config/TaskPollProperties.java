@@ -0,0 +1,17 @@
+package com.solesonic.a2a.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for conditional and long-polling GetTask requests.
+ *
+ * @param maxWait upper bound for the wait a client can ask for with {@code Prefer: wait=<seconds>}
+ */
+@ConfigurationProperties(prefix = "solesonic.a2a.task-poll")
+public record TaskPollProperties(
+        @DefaultValue("30s") Duration maxWait
+) {
+}
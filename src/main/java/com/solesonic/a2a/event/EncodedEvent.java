@@ -0,0 +1,103 @@
+package com.solesonic.a2a.event;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.a2aproject.sdk.jsonrpc.common.json.JsonUtil;
+import org.a2aproject.sdk.jsonrpc.common.wrappers.SendStreamingMessageResponse;
+import org.a2aproject.sdk.spec.StreamingEventKind;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An A2A event together with its encoded forms. The SDK's type adapters walk the event once, building
+ * the {@code result} member the SDK writes for the event in a {@link SendStreamingMessageResponse},
+ * streaming response wrapper included. That tree is the Redis stream payload, and its JSON bytes are
+ * shared by every SSE stream and push notification of the event, so an event is serialized once no
+ * matter how many places it goes to. An event read back from Redis keeps the tree it was decoded from.
+ * <p>
+ * Once the event is queued for its task's Redis stream it also carries the entry's stream id, which SSE
+ * frames send as their event id so clients can resume with {@code Last-Event-ID}.
+ */
+public final class EncodedEvent {
+
+    public static final String RESULT_MEMBER = "result";
+
+    private static final String TEMPLATE_ID = "encoded-event";
+
+    private final Object event;
+    private volatile JsonElement tree;
+    private volatile byte[] streamingResult;
+    private volatile String streamId;
+
+    private EncodedEvent(Object event, JsonElement tree, String streamId) {
+        this.event = event;
+        this.tree = tree;
+        this.streamId = streamId;
+    }
+
+    public static EncodedEvent of(Object event) {
+        return new EncodedEvent(event, null, null);
+    }
+
+    /**
+     * Wraps an event that was just read from the Redis stream entry {@code streamId}, keeping the
+     * {@link #tree()} it was decoded from so it is not serialized again.
+     */
+    public static EncodedEvent of(Object event, JsonElement tree, String streamId) {
+        return new EncodedEvent(event, tree, streamId);
+    }
+
+    /**
+     * The event inside a {@link #tree()}, which is the only member of the streaming response wrapper.
+     *
+     * @throws IllegalArgumentException if {@code tree} is not a streaming response result
+     */
+    public static JsonElement eventTree(JsonElement tree) {
+        if (tree instanceof JsonObject wrapper && wrapper.size() == 1) {
+            return wrapper.entrySet().iterator().next().getValue();
+        }
+        throw new IllegalArgumentException("Not a streaming response result: " + tree);
+    }
+
+    public Object event() {
+        return event;
+    }
+
+    /**
+     * The id of the event's Redis stream entry, or {@code null} if it was never queued for one.
+     */
+    public String streamId() {
+        return streamId;
+    }
+
+    public void streamId(String streamId) {
+        this.streamId = streamId;
+    }
+
+    /**
+     * The {@code result} member of the SDK's {@link SendStreamingMessageResponse} for this event.
+     */
+    public JsonElement tree() {
+        JsonElement current = tree;
+        if (current == null) {
+            // The id only shapes the envelope around the result member, which is all that is kept.
+            // A racing thread may build an identical tree; either copy is fine
+            SendStreamingMessageResponse response = new SendStreamingMessageResponse(TEMPLATE_ID, (StreamingEventKind) event);
+            current = JsonUtil.OBJECT_MAPPER.toJsonTree(response).getAsJsonObject().get(RESULT_MEMBER);
+            tree = current;
+        }
+        return current;
+    }
+
+    /**
+     * The JSON bytes of {@link #tree()}.
+     */
+    public byte[] streamingResult() {
+        byte[] current = streamingResult;
+        if (current == null) {
+            current = JsonUtil.OBJECT_MAPPER.toJson(tree()).getBytes(StandardCharsets.UTF_8);
+            streamingResult = current;
+        }
+        return current;
+    }
+}
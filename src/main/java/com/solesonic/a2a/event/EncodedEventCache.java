@@ -0,0 +1,67 @@
+package com.solesonic.a2a.event;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Hands out one {@link EncodedEvent} per event instance, so the Redis stream publisher and every SSE
+ * stream of the same event reuse one encoding. Events are matched by identity, not equality. Only the
+ * most recent events are kept; an evicted event is simply encoded again.
+ */
+@Component
+public class EncodedEventCache {
+
+    static final int MAX_ENTRIES = 4096;
+
+    private final ConcurrentMap<IdentityKey, EncodedEvent> entries = new ConcurrentHashMap<>();
+    private final Queue<IdentityKey> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    public EncodedEvent encode(Object event) {
+        IdentityKey key = new IdentityKey(event);
+        EncodedEvent existing = entries.get(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        EncodedEvent created = EncodedEvent.of(event);
+        EncodedEvent raced = entries.putIfAbsent(key, created);
+        if (raced != null) {
+            return raced;
+        }
+
+        insertionOrder.add(key);
+        evictOverflow();
+        return created;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evictOverflow() {
+        while (entries.size() > MAX_ENTRIES) {
+            IdentityKey oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            entries.remove(oldest);
+        }
+    }
+
+    private record IdentityKey(Object event) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof IdentityKey(Object otherEvent) && otherEvent == event;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(event);
+        }
+    }
+}
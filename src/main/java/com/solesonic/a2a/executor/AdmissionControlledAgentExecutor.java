@@ -0,0 +1,123 @@
+package com.solesonic.a2a.executor;
+
+import com.solesonic.a2a.config.ServerCallContextFactory;
+import org.a2aproject.sdk.server.ServerCallContext;
+import org.a2aproject.sdk.server.agentexecution.AgentExecutor;
+import org.a2aproject.sdk.server.agentexecution.RequestContext;
+import org.a2aproject.sdk.server.tasks.AgentEmitter;
+import org.a2aproject.sdk.spec.A2AError;
+import org.a2aproject.sdk.spec.Message;
+import org.a2aproject.sdk.spec.Part;
+import org.a2aproject.sdk.spec.TaskState;
+import org.a2aproject.sdk.spec.TextPart;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Runs an agent executor behind an {@link AgentAdmissionController}. While a request waits for a slot
+ * its task stays {@code SUBMITTED} and the client gets a status message with its queue position;
+ * requests that find the queue full are rejected without starting the agent. A
+ * {@link SelfAdmittingAgentExecutor} is started straight away and asks for its slot only when it needs one.
+ */
+public class AdmissionControlledAgentExecutor implements AgentExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlledAgentExecutor.class);
+
+    private static final String ANONYMOUS_USER = "anonymous";
+
+    private final AgentExecutor delegate;
+    private final AgentAdmissionController admissionController;
+
+    public AdmissionControlledAgentExecutor(AgentExecutor delegate, AgentAdmissionController admissionController) {
+        this.delegate = delegate;
+        this.admissionController = admissionController;
+    }
+
+    @Override
+    public void execute(@NonNull RequestContext requestContext, @NonNull AgentEmitter agentEmitter) throws A2AError {
+        String taskId = agentEmitter.getTaskId();
+        String user = userOf(requestContext);
+        recordTaskId(requestContext, taskId);
+
+        if (delegate instanceof SelfAdmittingAgentExecutor selfAdmitting) {
+            // The agent has started work by the time it asks, so the task stays WORKING while it waits
+            selfAdmitting.execute(requestContext, agentEmitter,
+                    () -> admit(taskId, user, agentEmitter, TaskState.TASK_STATE_WORKING));
+            return;
+        }
+
+        AgentAdmission.Admitted slot;
+        try {
+            slot = admit(taskId, user, agentEmitter, TaskState.TASK_STATE_SUBMITTED);
+        } catch (AgentAdmission.NotAdmittedException notAdmitted) {
+            return;
+        }
+
+        try (slot) {
+            delegate.execute(requestContext, agentEmitter);
+        }
+    }
+
+    @Override
+    public void cancel(@NonNull RequestContext requestContext, @NonNull AgentEmitter agentEmitter) throws A2AError {
+        admissionController.abandon(agentEmitter.getTaskId());
+        delegate.cancel(requestContext, agentEmitter);
+    }
+
+    private AgentAdmission.Admitted admit(String taskId, String user, AgentEmitter agentEmitter, TaskState queuedState) {
+        AgentAdmissionController.Slot slot;
+        try {
+            slot = admissionController.acquire(taskId, user,
+                    position -> reportQueued(agentEmitter, queuedState, position));
+        } catch (AgentAdmissionController.AdmissionRejectedException rejected) {
+            log.warn("Rejecting agent execution: taskId={}, user={}, reason={}", taskId, user, rejected.getMessage());
+            agentEmitter.updateStatus(TaskState.TASK_STATE_REJECTED,
+                    statusMessage(agentEmitter, "The agent is at capacity. Please try again shortly."));
+            throw new AgentAdmission.NotAdmittedException(taskId);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            agentEmitter.cancel();
+            throw new AgentAdmission.NotAdmittedException(taskId);
+        }
+
+        if (slot == null) {
+            log.info("Queued agent execution abandoned before it was admitted: taskId={}", taskId);
+            throw new AgentAdmission.NotAdmittedException(taskId);
+        }
+        return slot;
+    }
+
+    private void reportQueued(AgentEmitter agentEmitter, TaskState queuedState, int position) {
+        String text = position == 1
+                ? "Queued: you are next."
+                : "Queued: " + (position - 1) + " requests ahead of you.";
+        agentEmitter.updateStatus(queuedState, statusMessage(agentEmitter, text));
+    }
+
+    private static Message statusMessage(AgentEmitter agentEmitter, String text) {
+        List<Part<?>> messageParts = List.of(new TextPart(text));
+        return agentEmitter.newAgentMessage(messageParts, null);
+    }
+
+    /**
+     * Lets the caller that started the task find it before the agent finishes, such as a blocking send
+     * that times out.
+     */
+    private static void recordTaskId(RequestContext requestContext, String taskId) {
+        ServerCallContext callContext = requestContext.getCallContext();
+        if (callContext != null && taskId != null) {
+            callContext.getState().put(ServerCallContextFactory.TASK_ID_STATE, taskId);
+        }
+    }
+
+    private static String userOf(RequestContext requestContext) {
+        ServerCallContext callContext = requestContext.getCallContext();
+        if (callContext == null || callContext.getUser() == null) {
+            return ANONYMOUS_USER;
+        }
+        return callContext.getUser().getUsername();
+    }
+}
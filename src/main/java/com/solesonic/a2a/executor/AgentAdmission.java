@@ -0,0 +1,37 @@
+package com.solesonic.a2a.executor;
+
+/**
+ * Admission of one task to its agent, for executors that only take a slot once they know the task
+ * needs one. Reporting the queue position and rejecting the task are handled by the admission itself.
+ */
+@FunctionalInterface
+public interface AgentAdmission {
+
+    /**
+     * Admits every task straight away, for an executor that runs outside admission control.
+     */
+    AgentAdmission UNLIMITED = () -> () -> {
+    };
+
+    /**
+     * Waits for a slot.
+     *
+     * @return the slot to close when the task no longer needs it
+     * @throws NotAdmittedException if the task was rejected, abandoned or interrupted while waiting;
+     *                              its status has already been updated and the executor should stop
+     */
+    Admitted admit();
+
+    interface Admitted extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    class NotAdmittedException extends RuntimeException {
+
+        public NotAdmittedException(String taskId) {
+            super("Task was not admitted: " + taskId, null, false, false);
+        }
+    }
+}
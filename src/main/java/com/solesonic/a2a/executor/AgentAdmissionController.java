@@ -0,0 +1,255 @@
+package com.solesonic.a2a.executor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+
+/**
+ * Limits how many executions of one agent run at once. Requests beyond the limit wait in a bounded
+ * queue and are admitted round-robin across users, so one user's burst cannot starve everyone else.
+ * Requests that find the queue full are rejected immediately.
+ */
+public class AgentAdmissionController {
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    // Users with waiting requests, in the order they are served next
+    private final ArrayDeque<String> userRotation = new ArrayDeque<>();
+    private final Map<String, ArrayDeque<Waiter>> waitersByUser = new HashMap<>();
+    private final Map<String, Waiter> waitersByTaskId = new HashMap<>();
+
+    private int running;
+    private int queued;
+
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public AgentAdmissionController(String agentId, int maxConcurrent, int maxQueued, MeterRegistry meterRegistry) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+
+        Gauge.builder("a2a.admission.queue.depth", this, controller -> controller.queued)
+                .description("Agent executions waiting for a slot")
+                .tag("agent", agentId)
+                .register(meterRegistry);
+        Gauge.builder("a2a.admission.running", this, controller -> controller.running)
+                .description("Agent executions currently running")
+                .tag("agent", agentId)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("a2a.admission.wait")
+                .description("Time agent executions waited for a slot")
+                .tag("agent", agentId)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("a2a.admission.rejected")
+                .description("Agent executions rejected because the queue was full")
+                .tag("agent", agentId)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Waits for a slot. {@code positionListener} is called with the 1-based queue position whenever it
+     * changes, starting with the position the request was queued at; it is not called for requests
+     * that are admitted straight away.
+     *
+     * @return the slot to release when the execution ends, or {@code null} if the request was
+     * abandoned while waiting
+     * @throws AdmissionRejectedException if the queue is full
+     */
+    public Slot acquire(String taskId, String user, IntConsumer positionListener) throws InterruptedException {
+        long start = System.nanoTime();
+        Waiter waiter;
+        int position;
+
+        lock.lock();
+        try {
+            if (running < maxConcurrent && queued == 0) {
+                running++;
+                waitTimer.record(0, TimeUnit.NANOSECONDS);
+                return new Slot();
+            }
+            if (queued >= maxQueued) {
+                rejectedCounter.increment();
+                throw new AdmissionRejectedException(queued);
+            }
+
+            waiter = new Waiter(taskId, user);
+            ArrayDeque<Waiter> userWaiters = waitersByUser.computeIfAbsent(user, _ -> new ArrayDeque<>());
+            if (userWaiters.isEmpty()) {
+                userRotation.addLast(user);
+            }
+            userWaiters.addLast(waiter);
+            waitersByTaskId.put(taskId, waiter);
+            queued++;
+            position = positionOf(waiter);
+        } finally {
+            lock.unlock();
+        }
+
+        positionListener.accept(position);
+        int reportedPosition = position;
+
+        try {
+            while (true) {
+                lock.lock();
+                try {
+                    while (!waiter.admitted && !waiter.abandoned && (position = positionOf(waiter)) == reportedPosition) {
+                        changed.await();
+                    }
+                    if (waiter.admitted) {
+                        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        return new Slot();
+                    }
+                    if (waiter.abandoned) {
+                        return null;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+
+                positionListener.accept(position);
+                reportedPosition = position;
+            }
+        } catch (InterruptedException interrupted) {
+            lock.lock();
+            try {
+                // A release may have admitted the request just before the interrupt; its slot goes back
+                if (waiter.admitted) {
+                    release();
+                } else {
+                    abandon(taskId);
+                }
+            } finally {
+                lock.unlock();
+            }
+            throw interrupted;
+        }
+    }
+
+    /**
+     * Removes a waiting request, for example because its task was cancelled before it started.
+     */
+    public void abandon(String taskId) {
+        lock.lock();
+        try {
+            Waiter waiter = waitersByTaskId.remove(taskId);
+            if (waiter == null || waiter.admitted) {
+                return;
+            }
+
+            ArrayDeque<Waiter> userWaiters = waitersByUser.get(waiter.user);
+            userWaiters.remove(waiter);
+            if (userWaiters.isEmpty()) {
+                waitersByUser.remove(waiter.user);
+                userRotation.remove(waiter.user);
+            }
+            queued--;
+            waiter.abandoned = true;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            running--;
+            while (running < maxConcurrent && !userRotation.isEmpty()) {
+                String user = userRotation.pollFirst();
+                ArrayDeque<Waiter> userWaiters = waitersByUser.get(user);
+                Waiter next = userWaiters.pollFirst();
+                if (userWaiters.isEmpty()) {
+                    waitersByUser.remove(user);
+                } else {
+                    userRotation.addLast(user);
+                }
+
+                waitersByTaskId.remove(next.taskId);
+                next.admitted = true;
+                queued--;
+                running++;
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Position in round-robin order: every user ahead in the rotation is served once per round, so a
+     * request that is {@code i}-th for its user waits behind up to {@code i} requests of every user.
+     */
+    private int positionOf(Waiter waiter) {
+        int index = 0;
+        for (Waiter candidate : waitersByUser.get(waiter.user)) {
+            if (candidate == waiter) {
+                break;
+            }
+            index++;
+        }
+
+        int position = 1;
+        boolean beforeUser = true;
+        for (String user : userRotation) {
+            int length = waitersByUser.get(user).size();
+            if (user.equals(waiter.user)) {
+                beforeUser = false;
+                position += index;
+            } else {
+                position += Math.min(length, index);
+                if (beforeUser && length > index) {
+                    position++;
+                }
+            }
+        }
+        return position;
+    }
+
+    public final class Slot implements AgentAdmission.Admitted {
+
+        private boolean released;
+
+        private Slot() {
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release();
+            }
+        }
+    }
+
+    private static final class Waiter {
+        private final String taskId;
+        private final String user;
+        private boolean admitted;
+        private boolean abandoned;
+
+        private Waiter(String taskId, String user) {
+            this.taskId = taskId;
+            this.user = user;
+        }
+    }
+
+    public static class AdmissionRejectedException extends RuntimeException {
+
+        public AdmissionRejectedException(int queued) {
+            super("Agent queue is full: " + queued + " requests waiting");
+        }
+    }
+}
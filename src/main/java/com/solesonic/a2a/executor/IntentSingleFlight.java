@@ -0,0 +1,234 @@
+package com.solesonic.a2a.executor;
+
+import com.solesonic.agent.sports.model.SportsQueryIntent;
+import com.solesonic.agent.sports.model.SportsQuestionType;
+import com.solesonic.agent.sports.node.SynthesisOutputEmitter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Single-flight for NBA questions in flight on this node. Runs whose parsed intent normalizes to the
+ * same {@link Key} share one graph run: the first run to board leads the flight and keeps running,
+ * later ones stop after parsing their intent and follow it. Everything the leader streams is recorded
+ * on the {@link Flight}, so a follower that boards late still receives the whole answer, and its own
+ * task and chat memory are written from it as if it had run the graph itself.
+ * <p>
+ * A flight is taken off the board as soon as its leader finishes, so questions asked afterwards start
+ * a new run and never see a stale answer.
+ */
+@Component
+public class IntentSingleFlight {
+
+    private static final Logger log = LoggerFactory.getLogger(IntentSingleFlight.class);
+
+    private final ConcurrentMap<Key, Flight> flights = new ConcurrentHashMap<>();
+
+    private final Counter coalescedCounter;
+
+    public IntentSingleFlight(MeterRegistry meterRegistry) {
+        Gauge.builder("a2a.nba.single-flight.flights", flights, Map::size)
+                .description("NBA graph runs that identical questions can currently join")
+                .register(meterRegistry);
+
+        this.coalescedCounter = Counter.builder("a2a.nba.single-flight.coalesced")
+                .description("NBA questions answered by following an identical run in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Joins the flight for {@code key}, leading a new one if none is in the air.
+     */
+    public Boarding board(Key key) {
+        Flight created = new Flight(key);
+        Flight flight = flights.computeIfAbsent(key, _ -> created);
+
+        boolean leader = flight == created;
+        if (!leader) {
+            coalescedCounter.increment();
+            log.info("Joining identical NBA question in flight: key={}", key);
+        }
+        return new Boarding(flight, leader);
+    }
+
+    /**
+     * Ends a flight with its answer, or with {@code null} if the run produced none.
+     */
+    public void land(Flight flight, String finalAnalysis) {
+        flights.remove(flight.key(), flight);
+        flight.result.complete(finalAnalysis);
+    }
+
+    /**
+     * Ends a flight whose leader failed or was cancelled; its followers have to answer on their own.
+     */
+    public void abort(Flight flight) {
+        flights.remove(flight.key(), flight);
+        flight.result.completeExceptionally(new FlightAbortedException());
+    }
+
+    /**
+     * A question normalized for coalescing: question types, teams and players ignoring order, case and
+     * spacing, the time context and the date it was asked on, so "today" on different days never matches.
+     */
+    public record Key(Set<SportsQuestionType> questionTypes,
+                      Set<String> teams,
+                      Set<String> players,
+                      String timeContext,
+                      String date) {
+
+        public static Key of(SportsQueryIntent intent, String date) {
+            return new Key(
+                    intent.questionTypes() == null ? Set.of() : Set.copyOf(intent.questionTypes()),
+                    normalize(intent.teams()),
+                    normalize(intent.players()),
+                    normalize(intent.timeContext()),
+                    date);
+        }
+
+        private static Set<String> normalize(Collection<String> values) {
+            if (values == null) {
+                return Set.of();
+            }
+            return values.stream()
+                    .map(Key::normalize)
+                    .filter(value -> !value.isEmpty())
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+
+        private static String normalize(String value) {
+            return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public record Boarding(Flight flight, boolean leader) {
+    }
+
+    /**
+     * One shared run. The leader's output is written to it like to any {@link SynthesisOutputEmitter};
+     * it is recorded and forwarded to every attached follower. A follower whose output fails is
+     * detached, so it cannot disturb the leader or the other followers.
+     */
+    public static final class Flight implements SynthesisOutputEmitter {
+
+        private final Key key;
+        private final List<Consumer<SynthesisOutputEmitter>> recorded = new ArrayList<>();
+        private final List<SynthesisOutputEmitter> followers = new ArrayList<>();
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+
+        Flight(Key key) {
+            this.key = key;
+        }
+
+        public Key key() {
+            return key;
+        }
+
+        /**
+         * Completes with the leader's answer, or {@code null} if it produced none, and fails with
+         * {@link FlightAbortedException} if the leader did not finish.
+         */
+        public CompletableFuture<String> result() {
+            return result;
+        }
+
+        @Override
+        public void emitChunk(String text, String artifactId, Boolean append, boolean lastChunk) {
+            record(output -> output.emitChunk(text, artifactId, append, lastChunk));
+        }
+
+        @Override
+        public void emitProgress(String message) {
+            record(output -> output.emitProgress(message));
+        }
+
+        /**
+         * Replays everything the leader has streamed so far to {@code follower}, then forwards the rest.
+         */
+        public synchronized void attach(SynthesisOutputEmitter follower) {
+            for (Consumer<SynthesisOutputEmitter> event : recorded) {
+                if (!forward(event, follower)) {
+                    return;
+                }
+            }
+            followers.add(follower);
+        }
+
+        public synchronized void detach(SynthesisOutputEmitter follower) {
+            followers.remove(follower);
+        }
+
+        private synchronized void record(Consumer<SynthesisOutputEmitter> event) {
+            recorded.add(event);
+            followers.removeIf(follower -> !forward(event, follower));
+        }
+
+        private boolean forward(Consumer<SynthesisOutputEmitter> event, SynthesisOutputEmitter follower) {
+            try {
+                event.accept(follower);
+                return true;
+            } catch (RuntimeException followerFailure) {
+                log.warn("Detaching follower of NBA question in flight: key={}, error={}", key, followerFailure.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * The output of a run that may lead a flight: always the run's own task and, once the run leads,
+     * the flight as well.
+     */
+    public static final class LeaderOutput implements SynthesisOutputEmitter {
+
+        private final SynthesisOutputEmitter taskOutput;
+        private volatile Flight flight;
+
+        public LeaderOutput(SynthesisOutputEmitter taskOutput) {
+            this.taskOutput = taskOutput;
+        }
+
+        public void lead(Flight flight) {
+            this.flight = flight;
+        }
+
+        @Override
+        public void emitChunk(String text, String artifactId, Boolean append, boolean lastChunk) {
+            taskOutput.emitChunk(text, artifactId, append, lastChunk);
+            Flight current = flight;
+            if (current != null) {
+                current.emitChunk(text, artifactId, append, lastChunk);
+            }
+        }
+
+        @Override
+        public void emitProgress(String message) {
+            taskOutput.emitProgress(message);
+            Flight current = flight;
+            if (current != null) {
+                current.emitProgress(message);
+            }
+        }
+    }
+
+    public static final class FlightAbortedException extends RuntimeException {
+
+        FlightAbortedException() {
+            super("Leader of the NBA question in flight did not finish");
+        }
+    }
+}
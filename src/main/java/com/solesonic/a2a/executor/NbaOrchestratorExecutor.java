@@ -1,13 +1,18 @@
 package com.solesonic.a2a.executor;
 
 import com.solesonic.a2a.config.A2ARedisConfiguration;
+import com.solesonic.a2a.config.GraphCheckpointConfiguration;
+import com.solesonic.a2a.redis.BulkTaskStore;
+import com.solesonic.a2a.redis.RedisCheckpointSaver;
+import com.solesonic.agent.cancellation.CancellationToken;
+import com.solesonic.agent.research.ResearchContext;
 import com.solesonic.agent.sports.NbaOrchestratorGraphConfig;
 import com.solesonic.agent.sports.SportsState;
+import com.solesonic.agent.sports.model.SportsQueryIntent;
 import com.solesonic.agent.sports.node.SynthesisOutputEmitter;
-import org.a2aproject.sdk.server.agentexecution.AgentExecutor;
+import com.solesonic.mcp.prompt.PromptConstants;
 import org.a2aproject.sdk.server.agentexecution.RequestContext;
 import org.a2aproject.sdk.server.tasks.AgentEmitter;
-import org.a2aproject.sdk.server.tasks.TaskStore;
 import org.a2aproject.sdk.spec.A2AError;
 import org.a2aproject.sdk.spec.Message;
 import org.a2aproject.sdk.spec.Part;
@@ -23,17 +28,24 @@ import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.bsc.langgraph4j.GraphDefinition.END;
 import static org.bsc.langgraph4j.GraphDefinition.START;
 
 @Component("nba")
-public class NbaOrchestratorExecutor implements AgentExecutor {
+public class NbaOrchestratorExecutor implements SelfAdmittingAgentExecutor {
 
     private static final Logger log = LoggerFactory.getLogger(NbaOrchestratorExecutor.class);
 
@@ -50,19 +62,39 @@ public class NbaOrchestratorExecutor implements AgentExecutor {
 
     private final CompiledGraph<SportsState> nbaOrchestratorGraph;
     private final ChatMemory chatMemory;
-    private final TaskStore taskStore;
+    private final BulkTaskStore taskStore;
+    private final RedisCheckpointSaver checkpointSaver;
+    private final TaskCancellationRegistry cancellationRegistry;
+    private final IntentSingleFlight intentSingleFlight;
+    private final SportsAnswerCache answerCache;
+    private final Duration synthesisFlushInterval;
+    private final int synthesisFlushMaxBytes;
 
     public NbaOrchestratorExecutor(
             @Qualifier("nbaOrchestratorGraph") CompiledGraph<SportsState> nbaOrchestratorGraph,
             @Qualifier(A2ARedisConfiguration.SPORTS_CHAT_MEMORY) ChatMemory chatMemory,
-            TaskStore taskStore) {
+            BulkTaskStore taskStore,
+            @Qualifier(GraphCheckpointConfiguration.SPORTS_CHECKPOINT_SAVER) RedisCheckpointSaver checkpointSaver,
+            TaskCancellationRegistry cancellationRegistry,
+            IntentSingleFlight intentSingleFlight,
+            SportsAnswerCache answerCache,
+            @Value("${solesonic.a2a.synthesis.flush-interval}") Duration synthesisFlushInterval,
+            @Value("${solesonic.a2a.synthesis.flush-max-bytes}") int synthesisFlushMaxBytes) {
         this.nbaOrchestratorGraph = nbaOrchestratorGraph;
         this.chatMemory = chatMemory;
         this.taskStore = taskStore;
+        this.checkpointSaver = checkpointSaver;
+        this.cancellationRegistry = cancellationRegistry;
+        this.intentSingleFlight = intentSingleFlight;
+        this.answerCache = answerCache;
+        this.synthesisFlushInterval = synthesisFlushInterval;
+        this.synthesisFlushMaxBytes = synthesisFlushMaxBytes;
     }
 
     @Override
-    public void execute(@NonNull RequestContext requestContext, @NonNull AgentEmitter agentEmitter) throws A2AError {
+    public void execute(@NonNull RequestContext requestContext,
+                        @NonNull AgentEmitter agentEmitter,
+                        @NonNull AgentAdmission admission) throws A2AError {
         if (agentEmitter.getTaskId() == null) {
             agentEmitter.submit();
         }
@@ -77,52 +109,50 @@ public class NbaOrchestratorExecutor implements AgentExecutor {
 
         seedMemoryFromReferencedTasks(requestContext, conversationId);
 
-        SynthesisOutputEmitter emitter = SynthesisOutputEmitter.fromTaskUpdater(agentEmitter);
+        IntentSingleFlight.LeaderOutput taskOutput =
+                new IntentSingleFlight.LeaderOutput(SynthesisOutputEmitter.fromTaskUpdater(agentEmitter));
+        SynthesisOutputEmitter emitter = SynthesisOutputEmitter.coalescing(
+                taskOutput,
+                synthesisFlushInterval,
+                synthesisFlushMaxBytes);
 
         Map<String, Object> input = Map.of(
                 SportsState.USER_MESSAGE, userMessage,
                 SportsState.CONVERSATION_ID, conversationId
         );
 
+        String taskId = agentEmitter.getTaskId();
+        CancellationToken cancellationToken = cancellationRegistry.register(taskId);
+        // Sub-graphs of a fan-out share the run's research, so identical ESPN and Tavily calls go out once
+        ResearchContext researchContext = ResearchContext.create();
+
+        // Checkpoints are kept per task, so a task re-driven after its node died resumes where it stopped
         RunnableConfig runnableConfig = RunnableConfig.builder()
+                .threadId(taskId)
                 .addMetadata(SynthesisOutputEmitter.CONFIG_KEY, emitter)
                 .addMetadata(TASK_UPDATER_KEY, agentEmitter)
+                .addMetadata(CancellationToken.CONFIG_KEY, cancellationToken)
+                .addMetadata(ResearchContext.CONFIG_KEY, researchContext)
                 .build();
 
-        AtomicReference<SportsState> finalStateRef = new AtomicReference<>();
+        GraphRun graphRun = new GraphRun(input, runnableConfig, emitter, taskOutput, cancellationToken, admission);
 
         try {
-            nbaOrchestratorGraph.stream(input, runnableConfig)
-                    .forEachAsync(output -> {
-                        finalStateRef.set(output.state());
-
-                        String nodeName = output.node();
-
-                        log.debug("Orchestrator node output: {}", nodeName);
-
-                        if (END.equals(nodeName) || START.equals(nodeName)) {
-                            return;
-                        }
-
-                        String progressMessage = NODE_PROGRESS_MESSAGES.get(nodeName);
-
-                        if (progressMessage == null) {
-                            return;
-                        }
-
-                        emitter.emitProgress(progressMessage);
-                    })
-                    .join();
-
-            SportsState finalState = finalStateRef.get();
-
-            if (finalState != null && finalState.finalAnalysis().isPresent()) {
-                String finalAnalysis = finalState.finalAnalysis().get();
+            Optional<String> finalAnalysis = graphRun.run(true);
+
+            if (graphRun.cachedAnswer != null) {
+                SportsAnswerCache.replay(graphRun.cachedAnswer, emitter);
+                checkpointSaver.release(runnableConfig);
+                finalAnalysis = Optional.of(graphRun.cachedAnswer);
+            } else if (graphRun.followedFlight != null) {
+                finalAnalysis = follow(graphRun, agentEmitter, runnableConfig);
+            }
 
+            if (finalAnalysis.isPresent()) {
                 if (StringUtils.isNoneBlank(conversationId)) {
                     chatMemory.add(conversationId, List.of(
                             new UserMessage(userMessage),
-                            new AssistantMessage(finalAnalysis)
+                            new AssistantMessage(finalAnalysis.get())
                     ));
                 }
 
@@ -131,14 +161,73 @@ public class NbaOrchestratorExecutor implements AgentExecutor {
                 agentEmitter.addArtifact(List.of(new TextPart(FALLBACK_ANALYSIS)), null, null, null);
                 agentEmitter.complete();
             }
+        } catch (AgentAdmission.NotAdmittedException notAdmitted) {
+            // The admission has already moved the task to REJECTED or CANCELED
+            log.info("NBA orchestrator not admitted: taskId={}", taskId);
+        } catch (CancellationException | CompletionException exception) {
+            if (!cancellationToken.isCancelled()) {
+                log.error("NBA orchestrator failed: userMessage={}", userMessage, exception);
+                agentEmitter.fail();
+                return;
+            }
+            // The cancel request has already moved the task to CANCELED
+            log.info("NBA orchestrator cancelled: taskId={}", taskId);
         } catch (Exception exception) {
             log.error("NBA orchestrator failed: userMessage={}", userMessage, exception);
             agentEmitter.fail();
+        } finally {
+            // A cancelled or failed run may leave text buffered; it must not reach the finished task
+            emitter.close();
+            graphRun.abortLedFlight();
+            graphRun.release();
+            researchContext.logSummary(taskId);
+            cancellationRegistry.unregister(taskId, cancellationToken);
+        }
+    }
+
+    /**
+     * Answers from an identical run in flight. The task's own run stopped after parsing the intent;
+     * if the leader does not finish before anything reached this task, that run is resumed from its
+     * checkpoint instead, so a cancelled or failed leader never takes its followers down with it.
+     */
+    private Optional<String> follow(GraphRun graphRun, AgentEmitter agentEmitter, RunnableConfig runnableConfig) {
+        IntentSingleFlight.Flight flight = graphRun.followedFlight;
+        AtomicBoolean received = new AtomicBoolean();
+        SynthesisOutputEmitter taskOutput = SynthesisOutputEmitter.fromTaskUpdater(agentEmitter);
+        SynthesisOutputEmitter follower = new SynthesisOutputEmitter() {
+            @Override
+            public void emitChunk(String text, String artifactId, Boolean append, boolean lastChunk) {
+                received.set(true);
+                taskOutput.emitChunk(text, artifactId, append, lastChunk);
+            }
+
+            @Override
+            public void emitProgress(String message) {
+                taskOutput.emitProgress(message);
+            }
+        };
+
+        flight.attach(follower);
+        try {
+            // Cancelling this wait must not cancel the result the other followers share
+            String finalAnalysis = graphRun.cancellationToken.bind(Mono.fromFuture(flight.result(), true)).block();
+            checkpointSaver.release(runnableConfig);
+            return Optional.ofNullable(finalAnalysis);
+        } catch (IntentSingleFlight.FlightAbortedException aborted) {
+            if (received.get()) {
+                throw aborted;
+            }
+            log.info("Leader of identical NBA question did not finish, running it: taskId={}", agentEmitter.getTaskId());
+            return graphRun.run(false);
+        } finally {
+            flight.detach(follower);
         }
     }
 
     @Override
     public void cancel(@NonNull RequestContext context, AgentEmitter agentEmitter) throws A2AError {
+        // The run may be on another node; the registry stops it wherever it is
+        cancellationRegistry.cancel(agentEmitter.getTaskId());
         agentEmitter.cancel();
     }
 
@@ -164,12 +253,7 @@ public class NbaOrchestratorExecutor implements AgentExecutor {
             return;
         }
 
-        for (String referencedTaskId : referenceTaskIds) {
-            Task referencedTask = taskStore.get(referencedTaskId);
-            if (referencedTask == null) {
-                continue;
-            }
-
+        for (Task referencedTask : taskStore.getAll(referenceTaskIds)) {
             String priorUserQuestion = referencedTask.history() == null ? null :
                     referencedTask.history().stream()
                             .filter(historyMessage -> historyMessage.role() == Message.Role.ROLE_USER)
@@ -196,4 +280,176 @@ public class NbaOrchestratorExecutor implements AgentExecutor {
                     )));
         }
     }
+
+    /**
+     * One graph run of a task. When allowed to coalesce, it looks up the answer cache as soon as the
+     * intent is parsed and, on a miss, boards the single-flight: a leader keeps running and streams into
+     * its flight, a follower stops the run and records the flight it has to follow. A cache hit stops
+     * the run as well. Answers of runs that finish are cached.
+     * <p>
+     * The run takes its admission slot only once it is going to call the models past the intent
+     * parser, so cache hits and followers never queue behind runs that do.
+     */
+    private final class GraphRun {
+
+        private final Map<String, Object> input;
+        private final RunnableConfig runnableConfig;
+        private final SynthesisOutputEmitter emitter;
+        private final IntentSingleFlight.LeaderOutput taskOutput;
+        private final CancellationToken cancellationToken;
+        private final AgentAdmission admission;
+
+        private AgentAdmission.Admitted admitted;
+        private IntentSingleFlight.Key key;
+        private IntentSingleFlight.Flight ledFlight;
+        private IntentSingleFlight.Flight followedFlight;
+        private String cachedAnswer;
+
+        GraphRun(Map<String, Object> input,
+                 RunnableConfig runnableConfig,
+                 SynthesisOutputEmitter emitter,
+                 IntentSingleFlight.LeaderOutput taskOutput,
+                 CancellationToken cancellationToken,
+                 AgentAdmission admission) {
+            this.input = input;
+            this.runnableConfig = runnableConfig;
+            this.emitter = emitter;
+            this.taskOutput = taskOutput;
+            this.cancellationToken = cancellationToken;
+            this.admission = admission;
+        }
+
+        Optional<String> run(boolean coalesce) {
+            AtomicReference<SportsState> finalStateRef = new AtomicReference<>();
+
+            // A resumed run may be past the intent parser, where it never boards
+            if (!coalesce || checkpointSaver.canResume(runnableConfig)) {
+                admit();
+            }
+
+            try {
+                checkpointSaver.resumeOrStart(nbaOrchestratorGraph, input, runnableConfig)
+                        .forEachAsync(output -> {
+                            cancellationToken.throwIfCancelled();
+                            finalStateRef.set(output.state());
+
+                            String nodeName = output.node();
+
+                            log.debug("Orchestrator node output: {}", nodeName);
+
+                            if (coalesce && NbaOrchestratorGraphConfig.PARSE_SPORTS_INTENT.equals(nodeName)) {
+                                board(output.state());
+                                admit();
+                            }
+
+                            if (END.equals(nodeName) || START.equals(nodeName)) {
+                                return;
+                            }
+
+                            String progressMessage = NODE_PROGRESS_MESSAGES.get(nodeName);
+
+                            if (progressMessage == null) {
+                                return;
+                            }
+
+                            emitter.emitProgress(progressMessage);
+                        })
+                        .join();
+            } catch (CompletionException exception) {
+                if ((followedFlight != null || cachedAnswer != null) && causeOf(exception, EndRun.class) != null) {
+                    release();
+                    return Optional.empty();
+                }
+                AgentAdmission.NotAdmittedException notAdmitted =
+                        causeOf(exception, AgentAdmission.NotAdmittedException.class);
+                if (notAdmitted != null) {
+                    throw notAdmitted;
+                }
+                throw exception;
+            }
+
+            SportsState finalState = finalStateRef.get();
+            Optional<String> finalAnalysis = finalState == null ? Optional.empty() : finalState.finalAnalysis();
+
+            if (key == null && finalState != null) {
+                key = finalState.sportsQueryIntent()
+                        .map(intent -> IntentSingleFlight.Key.of(intent, PromptConstants.todayDateOnly()))
+                        .orElse(null);
+            }
+            if (key != null && finalAnalysis.isPresent()) {
+                answerCache.put(key, finalAnalysis.get());
+            }
+
+            if (ledFlight != null) {
+                intentSingleFlight.land(ledFlight, finalAnalysis.orElse(null));
+                ledFlight = null;
+            }
+            return finalAnalysis;
+        }
+
+        private void board(SportsState state) {
+            Optional<SportsQueryIntent> intent = state.sportsQueryIntent();
+            if (intent.isEmpty()) {
+                return;
+            }
+
+            key = IntentSingleFlight.Key.of(intent.get(), PromptConstants.todayDateOnly());
+
+            Optional<String> cached = answerCache.get(key);
+            if (cached.isPresent()) {
+                cachedAnswer = cached.get();
+                throw new EndRun();
+            }
+
+            IntentSingleFlight.Boarding boarding = intentSingleFlight.board(key);
+            if (boarding.leader()) {
+                ledFlight = boarding.flight();
+                taskOutput.lead(ledFlight);
+                return;
+            }
+
+            followedFlight = boarding.flight();
+            // Ends this run; the checkpoint after parsing stays, so it can still be resumed
+            throw new EndRun();
+        }
+
+        private void admit() {
+            if (admitted == null) {
+                admitted = admission.admit();
+            }
+        }
+
+        void release() {
+            if (admitted != null) {
+                admitted.close();
+                admitted = null;
+            }
+        }
+
+        private static <T extends Throwable> T causeOf(Throwable exception, Class<T> type) {
+            for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+                if (type.isInstance(cause)) {
+                    return type.cast(cause);
+                }
+            }
+            return null;
+        }
+
+        void abortLedFlight() {
+            if (ledFlight != null) {
+                intentSingleFlight.abort(ledFlight);
+                ledFlight = null;
+            }
+        }
+    }
+
+    /**
+     * Stops a graph run that found its answer in the cache or an identical run in flight.
+     */
+    private static final class EndRun extends RuntimeException {
+
+        EndRun() {
+            super(null, null, false, false);
+        }
+    }
 }
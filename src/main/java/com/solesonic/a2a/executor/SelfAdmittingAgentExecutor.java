@@ -0,0 +1,23 @@
+package com.solesonic.a2a.executor;
+
+import org.a2aproject.sdk.server.agentexecution.AgentExecutor;
+import org.a2aproject.sdk.server.agentexecution.RequestContext;
+import org.a2aproject.sdk.server.tasks.AgentEmitter;
+import org.a2aproject.sdk.spec.A2AError;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * An agent executor that decides itself when a task needs an admission slot, so tasks it can answer
+ * without running its models, such as cache hits, never wait behind tasks that do.
+ */
+public interface SelfAdmittingAgentExecutor extends AgentExecutor {
+
+    void execute(@NonNull RequestContext requestContext,
+                 @NonNull AgentEmitter agentEmitter,
+                 @NonNull AgentAdmission admission) throws A2AError;
+
+    @Override
+    default void execute(@NonNull RequestContext requestContext, @NonNull AgentEmitter agentEmitter) throws A2AError {
+        execute(requestContext, agentEmitter, AgentAdmission.UNLIMITED);
+    }
+}
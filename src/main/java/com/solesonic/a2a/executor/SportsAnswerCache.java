@@ -0,0 +1,230 @@
+package com.solesonic.a2a.executor;
+
+import com.solesonic.a2a.config.AnswerCacheProperties;
+import com.solesonic.agent.sports.model.SportsQuestionType;
+import com.solesonic.agent.sports.node.SynthesisOutputEmitter;
+import com.solesonic.service.espn.EspnClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Finished NBA answers in Redis, keyed on the normalized intent of the question and the data generation
+ * of each of its question types. An answer stays fresh for the TTL configured for its question types,
+ * from seconds for live games to hours for historical questions. Advancing the generation of a question
+ * type makes every answer built on the old data miss from then on, and those answers expire on their own.
+ * The generation advances when the ESPN response cache refreshes an endpoint the type is answered from
+ * with a different response ({@link #dataChanged}), and on a manual {@link #purge}.
+ * <p>
+ * Redis failures never fail a question: a lookup that fails is a miss and a write that fails is dropped.
+ */
+public class SportsAnswerCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SportsAnswerCache.class);
+
+    static final String GENERATIONS_KEY = "a2a:answer-cache:generations";
+    static final String ANSWER_KEY_PREFIX = "a2a:answer-cache:answer:";
+
+    private static final String RESULT_TAG = "result";
+
+    // Question types answered from each ESPN endpoint's data
+    static final Map<String, Set<SportsQuestionType>> QUESTION_TYPES_BY_ENDPOINT = Map.of(
+            EspnClient.SCOREBOARD, Set.of(SportsQuestionType.SCHEDULE_LOOKUP, SportsQuestionType.GAME_PREVIEW),
+            EspnClient.TEAM_SCHEDULE, Set.of(SportsQuestionType.SCHEDULE_LOOKUP, SportsQuestionType.GAME_PREVIEW),
+            EspnClient.GENERAL_SCHEDULE, Set.of(SportsQuestionType.SCHEDULE_LOOKUP, SportsQuestionType.GAME_PREVIEW),
+            EspnClient.TEAM_ROSTER, Set.of(SportsQuestionType.PLAYER_ANALYSIS, SportsQuestionType.INJURY_REPORT,
+                    SportsQuestionType.TRADE_NEWS),
+            EspnClient.STANDINGS, Set.of(SportsQuestionType.STANDINGS),
+            EspnClient.TEAM_STATS, Set.of(SportsQuestionType.STATISTICS, SportsQuestionType.GAME_PREVIEW));
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final AnswerCacheProperties properties;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public SportsAnswerCache(StringRedisTemplate stringRedisTemplate,
+                             AnswerCacheProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.properties = properties;
+
+        this.hitCounter = Counter.builder("a2a.nba.answer-cache.requests")
+                .description("NBA questions looked up in the answer cache")
+                .tag(RESULT_TAG, "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("a2a.nba.answer-cache.requests")
+                .description("NBA questions looked up in the answer cache")
+                .tag(RESULT_TAG, "miss")
+                .register(meterRegistry);
+
+        Gauge.builder("a2a.nba.answer-cache.hit-ratio", this, SportsAnswerCache::hitRatio)
+                .description("Share of answer cache lookups on this node that were hits")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The cached answer to the question, if one is still fresh.
+     */
+    public Optional<String> get(IntentSingleFlight.Key key) {
+        if (ttl(key).isEmpty()) {
+            return Optional.empty();
+        }
+
+        String answer;
+        try {
+            answer = stringRedisTemplate.opsForValue().get(answerKey(key));
+        } catch (DataAccessException exception) {
+            log.warn("Answer cache lookup failed: key={}, error={}", key, exception.getMessage());
+            answer = null;
+        }
+
+        if (answer == null) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+
+        hitCounter.increment();
+        log.info("Answering NBA question from cache: key={}", key);
+        return Optional.of(answer);
+    }
+
+    /**
+     * Caches the answer for the shortest TTL of the question's types.
+     */
+    public void put(IntentSingleFlight.Key key, String answer) {
+        Optional<Duration> ttl = ttl(key);
+        if (ttl.isEmpty() || answer == null || answer.isBlank()) {
+            return;
+        }
+
+        try {
+            stringRedisTemplate.opsForValue().set(answerKey(key), answer, ttl.get());
+        } catch (DataAccessException exception) {
+            log.warn("Answer cache write failed: key={}, error={}", key, exception.getMessage());
+        }
+    }
+
+    /**
+     * Invalidates every cached answer to a question of one of {@code questionTypes}, or of any type if
+     * none are given.
+     *
+     * @return the question types whose answers were invalidated
+     */
+    public Set<SportsQuestionType> purge(Collection<SportsQuestionType> questionTypes) {
+        Set<SportsQuestionType> purged = questionTypes == null || questionTypes.isEmpty()
+                ? EnumSet.allOf(SportsQuestionType.class)
+                : EnumSet.copyOf(questionTypes);
+
+        advanceGenerations(purged);
+
+        log.info("Purged answer cache: questionTypes={}", purged);
+        return purged;
+    }
+
+    /**
+     * Invalidates the answers built on an ESPN endpoint whose cached response was just replaced by a
+     * different one. A Redis failure is logged; those answers then live out their TTL.
+     */
+    public void dataChanged(String endpoint) {
+        Set<SportsQuestionType> questionTypes = QUESTION_TYPES_BY_ENDPOINT.get(endpoint);
+        if (!properties.enabled() || questionTypes == null) {
+            return;
+        }
+
+        try {
+            advanceGenerations(questionTypes);
+            log.debug("ESPN data changed, advanced answer cache generations: endpoint={}, questionTypes={}",
+                    endpoint, questionTypes);
+        } catch (DataAccessException exception) {
+            log.warn("Answer cache generation update failed: endpoint={}, error={}", endpoint, exception.getMessage());
+        }
+    }
+
+    private void advanceGenerations(Set<SportsQuestionType> questionTypes) {
+        for (SportsQuestionType questionType : questionTypes) {
+            stringRedisTemplate.opsForHash().increment(GENERATIONS_KEY, questionType.name(), 1);
+        }
+    }
+
+    /**
+     * Streams a cached answer the way synthesis streams a fresh one: word by word into a new artifact.
+     */
+    public static void replay(String answer, SynthesisOutputEmitter emitter) {
+        String artifactId = UUID.randomUUID().toString();
+        String[] words = answer.split("(?<=\\s)");
+
+        for (int index = 0; index < words.length; index++) {
+            emitter.emitChunk(words[index], artifactId, index == 0 ? null : true, index == words.length - 1);
+        }
+    }
+
+    Optional<Duration> ttl(IntentSingleFlight.Key key) {
+        if (!properties.enabled() || key.questionTypes().isEmpty()) {
+            return Optional.empty();
+        }
+
+        Duration shortest = null;
+        for (SportsQuestionType questionType : key.questionTypes()) {
+            Duration ttl = properties.ttl().get(questionType);
+            if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+                return Optional.empty();
+            }
+            if (shortest == null || ttl.compareTo(shortest) < 0) {
+                shortest = ttl;
+            }
+        }
+        return Optional.of(shortest);
+    }
+
+    private String answerKey(IntentSingleFlight.Key key) {
+        List<SportsQuestionType> questionTypes = key.questionTypes().stream().sorted().toList();
+        List<Object> generations = stringRedisTemplate.opsForHash().multiGet(
+                GENERATIONS_KEY, questionTypes.stream().map(Enum::name).collect(Collectors.toList()));
+
+        List<String> parts = new ArrayList<>();
+        for (int index = 0; index < questionTypes.size(); index++) {
+            Object generation = generations == null ? null : generations.get(index);
+            parts.add(questionTypes.get(index).name() + "@" + (generation == null ? "0" : generation));
+        }
+        parts.add(String.join(",", key.teams().stream().sorted().toList()));
+        parts.add(String.join(",", key.players().stream().sorted().toList()));
+        parts.add(key.timeContext());
+        parts.add(key.date());
+
+        return ANSWER_KEY_PREFIX + sha256(String.join("|", parts));
+    }
+
+    private double hitRatio() {
+        double lookups = hitCounter.count() + missCounter.count();
+        return lookups == 0 ? 0 : hitCounter.count() / lookups;
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 not available", exception);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.solesonic.a2a.executor;
+
+import com.solesonic.agent.cancellation.CancellationToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cancellation tokens of the graph runs executing on this node, by task id. A cancel request can reach
+ * any node, so {@link #cancel} also announces the task on {@link #CANCELLATION_CHANNEL} and the node
+ * running it cancels its token when the message arrives.
+ */
+public class TaskCancellationRegistry implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskCancellationRegistry.class);
+
+    public static final String CANCELLATION_CHANNEL = "a2a:task-cancellation";
+
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+
+    private final ConcurrentMap<String, CancellationToken> tokens = new ConcurrentHashMap<>();
+
+    public TaskCancellationRegistry(RedisTemplate<String, byte[]> binaryRedisTemplate) {
+        this.binaryRedisTemplate = binaryRedisTemplate;
+    }
+
+    public CancellationToken register(String taskId) {
+        CancellationToken token = CancellationToken.create();
+        tokens.put(taskId, token);
+        return token;
+    }
+
+    public void unregister(String taskId, CancellationToken token) {
+        tokens.remove(taskId, token);
+    }
+
+    /**
+     * Cancels the task's run on whichever node is executing it.
+     */
+    public void cancel(String taskId) {
+        cancelLocal(taskId);
+        binaryRedisTemplate.convertAndSend(CANCELLATION_CHANNEL, taskId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        cancelLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void cancelLocal(String taskId) {
+        CancellationToken token = tokens.get(taskId);
+        if (token != null && !token.isCancelled()) {
+            log.info("Cancelling graph run: taskId={}", taskId);
+            token.cancel();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.solesonic.a2a.grpc;
+
+import com.solesonic.a2a.config.AgentRequestHandlerRegistry;
+import com.solesonic.a2a.config.ServerCallContextFactory;
+import com.solesonic.a2a.redis.RedisStreamSubscriber;
+import com.solesonic.a2a.service.AgentCardService;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.a2aproject.sdk.grpc.A2AServiceGrpc;
+import org.a2aproject.sdk.grpc.CancelTaskRequest;
+import org.a2aproject.sdk.grpc.GetTaskRequest;
+import org.a2aproject.sdk.grpc.SendMessageRequest;
+import org.a2aproject.sdk.grpc.SendMessageResponse;
+import org.a2aproject.sdk.grpc.StreamResponse;
+import org.a2aproject.sdk.grpc.SubscribeToTaskRequest;
+import org.a2aproject.sdk.grpc.Task;
+import org.a2aproject.sdk.spec.AgentCard;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * The A2A gRPC service for all agents on one port. A gRPC server can register the A2A service only
+ * once, so calls are routed by the request's {@code tenant}, which every agent card advertises as the
+ * agent id on its gRPC interface, to an {@link AgentGrpcHandler} for that agent. The methods the
+ * JSON-RPC endpoints serve are routed; the rest answer UNIMPLEMENTED. Like {@code tasks/resubscribe},
+ * SubscribeToTask reads the task's Redis stream, so it works on any node.
+ */
+public class A2AGrpcService extends A2AServiceGrpc.A2AServiceImplBase {
+
+    private final AgentRequestHandlerRegistry agentRequestHandlerRegistry;
+    private final AgentCardService agentCardService;
+    private final ServerCallContextFactory serverCallContextFactory;
+    private final RedisStreamSubscriber redisStreamSubscriber;
+    private final Executor a2aExecutor;
+
+    private final ConcurrentMap<String, AgentGrpcHandler> handlersByAgentId = new ConcurrentHashMap<>();
+
+    public A2AGrpcService(AgentRequestHandlerRegistry agentRequestHandlerRegistry,
+                          AgentCardService agentCardService,
+                          ServerCallContextFactory serverCallContextFactory,
+                          RedisStreamSubscriber redisStreamSubscriber,
+                          Executor a2aExecutor) {
+        this.agentRequestHandlerRegistry = agentRequestHandlerRegistry;
+        this.agentCardService = agentCardService;
+        this.serverCallContextFactory = serverCallContextFactory;
+        this.redisStreamSubscriber = redisStreamSubscriber;
+        this.a2aExecutor = a2aExecutor;
+    }
+
+    @Override
+    public void sendMessage(SendMessageRequest request, StreamObserver<SendMessageResponse> responseObserver) {
+        handler(request.getTenant(), responseObserver)
+                .ifPresent(handler -> handler.sendMessage(request, responseObserver));
+    }
+
+    @Override
+    public void sendStreamingMessage(SendMessageRequest request, StreamObserver<StreamResponse> responseObserver) {
+        handler(request.getTenant(), responseObserver)
+                .ifPresent(handler -> handler.sendStreamingMessage(request, responseObserver));
+    }
+
+    @Override
+    public void getTask(GetTaskRequest request, StreamObserver<Task> responseObserver) {
+        handler(request.getTenant(), responseObserver)
+                .ifPresent(handler -> handler.getTask(request, responseObserver));
+    }
+
+    @Override
+    public void cancelTask(CancelTaskRequest request, StreamObserver<Task> responseObserver) {
+        handler(request.getTenant(), responseObserver)
+                .ifPresent(handler -> handler.cancelTask(request, responseObserver));
+    }
+
+    @Override
+    public void subscribeToTask(SubscribeToTaskRequest request, StreamObserver<StreamResponse> responseObserver) {
+        handler(request.getTenant(), responseObserver)
+                .ifPresent(handler -> handler.subscribeToTask(request, responseObserver));
+    }
+
+    private Optional<AgentGrpcHandler> handler(String agentId, StreamObserver<?> responseObserver) {
+        Optional<AgentCard> agentCard = agentCardService.agentCardById(agentId);
+        if (agentCard.isEmpty()) {
+            responseObserver.onError(Status.NOT_FOUND
+                    .withDescription("Agent not found: " + agentId)
+                    .asRuntimeException());
+            return Optional.empty();
+        }
+
+        return Optional.of(handlersByAgentId.computeIfAbsent(agentId, id -> new AgentGrpcHandler(
+                agentRequestHandlerRegistry.getHandler(id),
+                agentCard.get(),
+                serverCallContextFactory,
+                redisStreamSubscriber,
+                a2aExecutor)));
+    }
+}
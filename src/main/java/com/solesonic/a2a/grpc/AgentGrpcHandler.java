@@ -0,0 +1,112 @@
+package com.solesonic.a2a.grpc;
+
+import com.solesonic.a2a.config.ServerCallContextFactory;
+import com.solesonic.a2a.event.EncodedEvent;
+import com.solesonic.a2a.redis.RedisStreamSubscriber;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.a2aproject.sdk.grpc.StreamResponse;
+import org.a2aproject.sdk.grpc.SubscribeToTaskRequest;
+import org.a2aproject.sdk.grpc.utils.ProtoUtils;
+import org.a2aproject.sdk.server.ServerCallContext;
+import org.a2aproject.sdk.server.requesthandlers.RequestHandler;
+import org.a2aproject.sdk.spec.AgentCard;
+import org.a2aproject.sdk.spec.StreamingEventKind;
+import org.a2aproject.sdk.spec.TaskNotFoundError;
+import org.a2aproject.sdk.transport.grpc.handler.CallContextFactory;
+import org.a2aproject.sdk.transport.grpc.handler.GrpcHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.adapter.JdkFlowAdapter;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.Executor;
+
+/**
+ * The SDK's gRPC handler bound to one agent. Protobuf conversion and streaming are left to the SDK;
+ * this only supplies the agent's {@link RequestHandler}, card and call context. SubscribeToTask is the
+ * exception: the SDK's version only sees tasks running on this node, so it tails the task's Redis
+ * stream through {@link RedisStreamSubscriber} instead.
+ */
+class AgentGrpcHandler extends GrpcHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(AgentGrpcHandler.class);
+
+    private final RequestHandler requestHandler;
+    private final AgentCard agentCard;
+    private final CallContextFactory callContextFactory;
+    private final RedisStreamSubscriber redisStreamSubscriber;
+    private final Executor executor;
+
+    AgentGrpcHandler(RequestHandler requestHandler,
+                     AgentCard agentCard,
+                     ServerCallContextFactory serverCallContextFactory,
+                     RedisStreamSubscriber redisStreamSubscriber,
+                     Executor executor) {
+        this.requestHandler = requestHandler;
+        this.agentCard = agentCard;
+        this.redisStreamSubscriber = redisStreamSubscriber;
+        this.executor = executor;
+        this.callContextFactory = new CallContextFactory() {
+            @Override
+            public <V> ServerCallContext create(StreamObserver<V> responseObserver) {
+                return serverCallContextFactory.create(GrpcAuthenticationInterceptor.AUTHENTICATION.get());
+            }
+        };
+    }
+
+    @Override
+    public void subscribeToTask(SubscribeToTaskRequest request, StreamObserver<StreamResponse> responseObserver) {
+        String taskId = request.getId();
+        Flux<EncodedEvent> events;
+        try {
+            events = JdkFlowAdapter.flowPublisherToFlux(redisStreamSubscriber.subscribe(taskId));
+        } catch (TaskNotFoundError notFound) {
+            responseObserver.onError(Status.NOT_FOUND
+                    .withDescription("Task not found: " + taskId)
+                    .asRuntimeException());
+            return;
+        }
+
+        // A client that goes away stops the stream reader; the handler is set before the first event
+        Disposable.Swap subscription = Disposables.swap();
+        if (responseObserver instanceof ServerCallStreamObserver<StreamResponse> serverCallObserver) {
+            serverCallObserver.setOnCancelHandler(subscription::dispose);
+        }
+
+        subscription.update(events
+                .map(event -> ProtoUtils.ToProto.streamResponse((StreamingEventKind) event.event()))
+                .subscribe(
+                        responseObserver::onNext,
+                        error -> {
+                            log.error("Failed to stream task over gRPC: taskId={}", taskId, error);
+                            responseObserver.onError(Status.INTERNAL
+                                    .withDescription("Failed to stream task: " + taskId)
+                                    .asRuntimeException());
+                        },
+                        responseObserver::onCompleted));
+    }
+
+    @Override
+    protected RequestHandler getRequestHandler() {
+        return requestHandler;
+    }
+
+    @Override
+    protected AgentCard getAgentCard() {
+        return agentCard;
+    }
+
+    @Override
+    protected CallContextFactory getCallContextFactory() {
+        return callContextFactory;
+    }
+
+    @Override
+    protected Executor getExecutor() {
+        return executor;
+    }
+}
@@ -0,0 +1,75 @@
+package com.solesonic.a2a.grpc;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+/**
+ * Authenticates gRPC calls the way the servlet filter chain authenticates the JSON-RPC endpoints: the
+ * {@code authorization} metadata must carry a bearer JWT that grants agent execution. The resulting
+ * authentication is put into the call's gRPC {@link Context} under {@link #AUTHENTICATION}.
+ */
+public class GrpcAuthenticationInterceptor implements ServerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(GrpcAuthenticationInterceptor.class);
+
+    public static final Context.Key<AbstractAuthenticationToken> AUTHENTICATION = Context.key("a2a-authentication");
+
+    static final String AGENT_EXECUTION_AUTHORITY = "ROLE_AGENT-EXECUTION";
+
+    private static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtDecoder jwtDecoder;
+    private final JwtAuthenticationConverter jwtAuthenticationConverter;
+
+    public GrpcAuthenticationInterceptor(JwtDecoder jwtDecoder, JwtAuthenticationConverter jwtAuthenticationConverter) {
+        this.jwtDecoder = jwtDecoder;
+        this.jwtAuthenticationConverter = jwtAuthenticationConverter;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call,
+                                                                 Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        String authorization = headers.get(AUTHORIZATION);
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return reject(call, Status.UNAUTHENTICATED.withDescription("Bearer token required"));
+        }
+
+        AbstractAuthenticationToken authentication;
+        try {
+            authentication = jwtAuthenticationConverter.convert(
+                    jwtDecoder.decode(authorization.substring(BEARER_PREFIX.length()).trim()));
+        } catch (JwtException invalidToken) {
+            log.debug("Rejected gRPC call with invalid token: {}", invalidToken.getMessage());
+            return reject(call, Status.UNAUTHENTICATED.withDescription("Invalid bearer token"));
+        }
+
+        boolean permitted = authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> AGENT_EXECUTION_AUTHORITY.equals(authority.getAuthority()));
+        if (!permitted) {
+            return reject(call, Status.PERMISSION_DENIED.withDescription("Agent execution not permitted"));
+        }
+
+        Context context = Context.current().withValue(AUTHENTICATION, authentication);
+        return Contexts.interceptCall(context, call, headers, next);
+    }
+
+    private static <ReqT, RespT> ServerCall.Listener<ReqT> reject(ServerCall<ReqT, RespT> call, Status status) {
+        call.close(status, new Metadata());
+        return new ServerCall.Listener<>() {
+        };
+    }
+}
@@ -0,0 +1,318 @@
+package com.solesonic.a2a.push;
+
+import com.solesonic.a2a.config.PushDeliveryProperties;
+import com.solesonic.a2a.event.EncodedEvent;
+import com.solesonic.a2a.event.EncodedEventCache;
+import com.solesonic.a2a.redis.RedisPushNotificationConfigStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.a2aproject.sdk.server.tasks.PushNotificationSender;
+import org.a2aproject.sdk.spec.Message;
+import org.a2aproject.sdk.spec.StreamingEventKind;
+import org.a2aproject.sdk.spec.Task;
+import org.a2aproject.sdk.spec.TaskArtifactUpdateEvent;
+import org.a2aproject.sdk.spec.TaskPushNotificationConfig;
+import org.a2aproject.sdk.spec.TaskStatusUpdateEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Push notification sender that never calls webhooks on the event processing thread. Events are
+ * written to the {@link PushNotificationOutbox} and delivered by a dispatcher that claims due
+ * deliveries and sends them on virtual threads through one pooled {@link HttpClient}.
+ * <p>
+ * Status updates and task snapshots of a task share one outbox entry per config, so a webhook that
+ * falls behind receives the latest state rather than every intermediate one. Artifact updates and
+ * messages are appended to a second, ordered entry per task and config, whose payloads are sent one at
+ * a time in the order they were emitted. Failed deliveries are retried with exponential backoff and
+ * jitter until {@code maxAttempts} is reached.
+ * <p>
+ * The webhook body is the event as an A2A StreamResponse, the object the SDK writes as the result of a
+ * streaming response ({@code {"task":…}}, {@code {"statusUpdate":…}} and so on), taken from the shared
+ * {@link EncodedEvent#streamingResult()}. Receivers written against {@code BasePushNotificationSender}'s
+ * body must accept this shape. The config token is sent as {@value #TOKEN_HEADER}.
+ */
+public class AsyncPushNotificationSender implements PushNotificationSender {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncPushNotificationSender.class);
+
+    static final String TOKEN_HEADER = "X-A2A-Notification-Token";
+
+    private static final String DISPATCHER_THREAD_NAME = "a2a-push-dispatcher";
+    private static final String SENDER_THREAD_PREFIX = "a2a-push-sender-";
+    private static final String STATE_DELIVERY_SUFFIX = ":state";
+    private static final String EVENTS_DELIVERY_SUFFIX = ":events";
+
+    private final RedisPushNotificationConfigStore configStore;
+    private final PushNotificationOutbox outbox;
+    private final EncodedEventCache encodedEventCache;
+    private final PushDeliveryProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final HttpClient httpClient;
+    private final ExecutorService senders;
+    private final Semaphore inFlight;
+
+    private final Counter enqueuedCounter;
+    private final Counter coalescedCounter;
+    private final Counter deadLetteredCounter;
+
+    private volatile boolean running;
+    private volatile Thread dispatcherThread;
+
+    public AsyncPushNotificationSender(RedisPushNotificationConfigStore configStore,
+                                       PushNotificationOutbox outbox,
+                                       EncodedEventCache encodedEventCache,
+                                       PushDeliveryProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this.configStore = configStore;
+        this.outbox = outbox;
+        this.encodedEventCache = encodedEventCache;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        this.senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(SENDER_THREAD_PREFIX, 0).factory());
+        this.inFlight = new Semaphore(properties.concurrency());
+        // One client for all webhooks; it keeps connections to each endpoint alive between deliveries
+        this.httpClient = HttpClient.newBuilder()
+                .executor(senders)
+                .connectTimeout(properties.requestTimeout())
+                .build();
+
+        this.enqueuedCounter = Counter.builder("a2a.push.enqueued")
+                .description("Push notification deliveries added to the outbox")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("a2a.push.coalesced")
+                .description("State updates merged into a pending delivery of the same task")
+                .register(meterRegistry);
+        this.deadLetteredCounter = Counter.builder("a2a.push.dead-lettered")
+                .description("Push notification deliveries given up after the last attempt")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        dispatcherThread = Thread.ofVirtual().name(DISPATCHER_THREAD_NAME).start(this::dispatchLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        Thread thread = dispatcherThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join(properties.requestTimeout());
+        }
+        // Deliveries still in flight keep their lease and are picked up by another node if they fail
+        senders.shutdown();
+        senders.awaitTermination(properties.requestTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void sendNotification(StreamingEventKind event) {
+        String taskId = taskId(event);
+        if (taskId == null) {
+            return;
+        }
+
+        List<TaskPushNotificationConfig> configs = configStore.getConfigs(taskId);
+        if (configs.isEmpty()) {
+            return;
+        }
+
+        String payload = payload(encodedEventCache.encode(event));
+        for (TaskPushNotificationConfig config : configs) {
+            String deliveryId = deliveryId(taskId, config.id(), event);
+            boolean added = isState(event)
+                    ? outbox.enqueue(deliveryId, config.url(), config.token(), payload)
+                    : outbox.append(deliveryId, config.url(), config.token(), payload);
+            if (added) {
+                enqueuedCounter.increment();
+            } else {
+                coalescedCounter.increment();
+            }
+        }
+
+        Thread thread = dispatcherThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void dispatchLoop() {
+        long pollNanos = properties.pollInterval().toNanos();
+
+        while (running) {
+            try {
+                int available = inFlight.availablePermits();
+                List<String> claimed = available > 0 ? outbox.claim(available, properties.lease()) : List.of();
+
+                for (String deliveryId : claimed) {
+                    inFlight.acquire();
+                    senders.execute(() -> {
+                        try {
+                            deliver(deliveryId);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+
+                if (claimed.isEmpty()) {
+                    LockSupport.parkNanos(pollNanos);
+                }
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception exception) {
+                log.error("Failed to claim push notification deliveries", exception);
+                LockSupport.parkNanos(pollNanos);
+            }
+        }
+    }
+
+    void deliver(String deliveryId) {
+        PushNotificationOutbox.Delivery delivery;
+        try {
+            delivery = outbox.read(deliveryId);
+        } catch (Exception exception) {
+            log.error("Failed to read push notification delivery: id={}", deliveryId, exception);
+            return;
+        }
+        if (delivery == null) {
+            return;
+        }
+
+        String endpoint = endpoint(delivery.url());
+        long start = System.nanoTime();
+        boolean success = false;
+        String failure = null;
+
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(delivery.url()))
+                    .timeout(properties.requestTimeout())
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(delivery.payload()));
+            if (delivery.token() != null && !delivery.token().isEmpty()) {
+                request.header(TOKEN_HEADER, delivery.token());
+            }
+
+            HttpResponse<Void> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() / 100 == 2;
+            if (!success) {
+                failure = "status " + response.statusCode();
+            }
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            failure = "interrupted";
+        } catch (Exception exception) {
+            failure = exception.getClass().getSimpleName();
+        }
+
+        Timer.builder("a2a.push.delivery.latency")
+                .description("Webhook call duration per endpoint")
+                .tag("endpoint", endpoint)
+                .tag("outcome", success ? "success" : "failure")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        try {
+            if (success) {
+                outbox.acknowledge(delivery);
+            } else {
+                handleFailure(delivery, endpoint, failure);
+            }
+        } catch (Exception exception) {
+            // The lease expires and the delivery is claimed again
+            log.error("Failed to update push notification delivery: id={}", deliveryId, exception);
+        }
+    }
+
+    private void handleFailure(PushNotificationOutbox.Delivery delivery, String endpoint, String failure) {
+        Counter.builder("a2a.push.delivery.failures")
+                .description("Failed webhook calls per endpoint")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .increment();
+
+        int attempt = delivery.attempt() + 1;
+        if (attempt >= properties.maxAttempts()) {
+            if (!outbox.deadLetter(delivery)) {
+                log.debug("Push notification replaced while failing, sending the newer payload: id={}", delivery.id());
+                return;
+            }
+            deadLetteredCounter.increment();
+            log.warn("Giving up push notification after {} attempts: id={}, endpoint={}, failure={}",
+                    attempt, delivery.id(), endpoint, failure);
+            return;
+        }
+
+        Duration backoff = backoff(attempt, properties.initialBackoff(), properties.maxBackoff());
+        if (!outbox.retry(delivery, backoff)) {
+            log.debug("Push notification changed while failing, sending what it holds now: id={}", delivery.id());
+            return;
+        }
+        log.debug("Push notification failed, retrying in {}: id={}, endpoint={}, failure={}",
+                backoff, delivery.id(), endpoint, failure);
+    }
+
+    static String payload(EncodedEvent encodedEvent) {
+        return new String(encodedEvent.streamingResult(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Exponential backoff for the given attempt (1-based), capped and spread by ±20% jitter so
+     * deliveries to a recovering endpoint do not all retry at once.
+     */
+    static Duration backoff(int attempt, Duration initial, Duration max) {
+        long exponent = Math.min(attempt - 1, 30);
+        long delayMillis = Math.min(max.toMillis(), initial.toMillis() << exponent);
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return Duration.ofMillis((long) (delayMillis * jitter));
+    }
+
+    static String deliveryId(String taskId, String configId, StreamingEventKind event) {
+        return taskId + ":" + configId + (isState(event) ? STATE_DELIVERY_SUFFIX : EVENTS_DELIVERY_SUFFIX);
+    }
+
+    private static boolean isState(StreamingEventKind event) {
+        return event instanceof Task || event instanceof TaskStatusUpdateEvent;
+    }
+
+    public static String taskId(StreamingEventKind event) {
+        return switch (event) {
+            case Task task -> task.id();
+            case TaskStatusUpdateEvent statusUpdate -> statusUpdate.taskId();
+            case TaskArtifactUpdateEvent artifactUpdate -> artifactUpdate.taskId();
+            case Message message -> message.taskId();
+            default -> null;
+        };
+    }
+
+    static String endpoint(String url) {
+        try {
+            URI uri = URI.create(url);
+            return uri.getPort() > 0 ? uri.getHost() + ":" + uri.getPort() : String.valueOf(uri.getHost());
+        } catch (IllegalArgumentException invalidUrl) {
+            return "invalid";
+        }
+    }
+}
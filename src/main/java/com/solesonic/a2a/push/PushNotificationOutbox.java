@@ -0,0 +1,270 @@
+package com.solesonic.a2a.push;
+
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Durable queue of push notification deliveries in Redis, shared by every node.
+ * <p>
+ * Deliveries are hashes under {@code {a2a:push-outbox}:delivery:<id>}; their ids sit in the
+ * {@code {a2a:push-outbox}:ready} sorted set scored by the time they are due. Claiming a delivery pushes
+ * its score out by a lease instead of removing it, so a delivery claimed by a node that dies is picked
+ * up again once the lease runs out. Deliveries that keep failing move to {@code {a2a:push-outbox}:dead}.
+ * The scripts touch the ready set and a delivery hash together, so all outbox keys share the
+ * {@code {a2a:push-outbox}} hash tag and live in one Redis Cluster slot.
+ * <p>
+ * A coalescing delivery id is reused for every state update of a task and config: a newer update
+ * overwrites the payload of a delivery that has not been sent yet. Each overwrite bumps the delivery's
+ * version, and acknowledging or dead-lettering an older version puts the delivery back instead. Enqueuing
+ * starts the delivery over: its attempts are reset, a dead-letter TTL on its hash is removed and it leaves
+ * the dead-letter set, so one dead-lettered update does not doom the next state of the task. Dead letters
+ * are kept for seven days; older ids are trimmed from the dead-letter set by score.
+ * <p>
+ * Events that must all arrive, in order, such as artifact updates, are appended to a per-task delivery
+ * whose payloads wait in the {@code {a2a:push-outbox}:events:<id>} list. The delivery always sends the
+ * head of its list, so the single node holding its lease delivers the events one after another; its
+ * version counts the payloads sent so far. Acknowledging the head pops it and makes the delivery due
+ * again while payloads are left. Dead-lettering such a delivery parks the whole list, and the next
+ * append restarts it from the payload that failed.
+ * <p>
+ * Retrying, acknowledging and dead-lettering only act on the version that was read, so a delivery that
+ * moved on while in flight is never pushed back or popped twice.
+ */
+public class PushNotificationOutbox {
+
+    static final String READY_KEY = "{a2a:push-outbox}:ready";
+    static final String DEAD_KEY = "{a2a:push-outbox}:dead";
+    static final String DELIVERY_KEY_PREFIX = "{a2a:push-outbox}:delivery:";
+    static final String EVENTS_KEY_PREFIX = "{a2a:push-outbox}:events:";
+
+    static final String URL_FIELD = "url";
+    static final String TOKEN_FIELD = "token";
+    static final String PAYLOAD_FIELD = "payload";
+    static final String VERSION_FIELD = "version";
+    static final String ATTEMPT_FIELD = "attempt";
+
+    private static final Duration DEAD_LETTER_TTL = Duration.ofDays(7);
+
+    private static final RedisScript<Long> ENQUEUE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('HSET', KEYS[2], 'url', ARGV[3], 'token', ARGV[4], 'payload', ARGV[5], 'attempt', 0)
+            redis.call('HINCRBY', KEYS[2], 'version', 1)
+            redis.call('PERSIST', KEYS[2])
+            redis.call('ZREM', KEYS[3], ARGV[1])
+            return redis.call('ZADD', KEYS[1], 'NX', ARGV[2], ARGV[1])
+            """, Long.class);
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List<String>> CLAIM_SCRIPT = new DefaultRedisScript("""
+            local ids = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[3])
+            for _, id in ipairs(ids) do
+                redis.call('ZADD', KEYS[1], ARGV[2], id)
+            end
+            return ids
+            """, List.class);
+
+    // A new delivery starts its version at the current time, so a stale acknowledgement of an earlier
+    // delivery under the same id cannot match it. Attempts of a failing head are only reset when the
+    // delivery is restarted from the dead-letter set
+    private static final RedisScript<Long> APPEND_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[2]) == 0 then
+                redis.call('HSET', KEYS[2], 'version', ARGV[2], 'attempt', 0)
+            end
+            if redis.call('ZREM', KEYS[3], ARGV[1]) == 1 then
+                redis.call('HSET', KEYS[2], 'attempt', 0)
+            end
+            redis.call('HSET', KEYS[2], 'url', ARGV[3], 'token', ARGV[4])
+            redis.call('RPUSH', KEYS[4], ARGV[5])
+            redis.call('PERSIST', KEYS[2])
+            redis.call('PERSIST', KEYS[4])
+            return redis.call('ZADD', KEYS[1], 'NX', ARGV[2], ARGV[1])
+            """, Long.class);
+
+    private static final RedisScript<Long> ACKNOWLEDGE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[2], 'version') == ARGV[2] then
+                redis.call('DEL', KEYS[2])
+                redis.call('ZREM', KEYS[1], ARGV[1])
+                return 1
+            end
+            redis.call('HSET', KEYS[2], 'attempt', 0)
+            redis.call('ZADD', KEYS[1], ARGV[3], ARGV[1])
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> ACKNOWLEDGE_EVENT_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[2], 'version') ~= ARGV[2] then
+                return 0
+            end
+            redis.call('LPOP', KEYS[3])
+            if redis.call('LLEN', KEYS[3]) > 0 then
+                redis.call('HINCRBY', KEYS[2], 'version', 1)
+                redis.call('HSET', KEYS[2], 'attempt', 0)
+                redis.call('ZADD', KEYS[1], ARGV[3], ARGV[1])
+                return 0
+            end
+            redis.call('DEL', KEYS[2])
+            redis.call('ZREM', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> RETRY_SCRIPT = new DefaultRedisScript<>("""
+            local version = redis.call('HGET', KEYS[2], 'version')
+            if not version then
+                return 0
+            end
+            if version ~= ARGV[2] then
+                redis.call('ZADD', KEYS[1], ARGV[3], ARGV[1])
+                return 0
+            end
+            redis.call('HINCRBY', KEYS[2], 'attempt', 1)
+            redis.call('ZADD', KEYS[1], ARGV[4], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> DEAD_LETTER_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[2], 'version') ~= ARGV[2] then
+                redis.call('HSET', KEYS[2], 'attempt', 0)
+                redis.call('ZADD', KEYS[1], ARGV[3], ARGV[1])
+                return 0
+            end
+            redis.call('ZREM', KEYS[1], ARGV[1])
+            redis.call('ZADD', KEYS[3], ARGV[3], ARGV[1])
+            redis.call('ZREMRANGEBYSCORE', KEYS[3], '-inf', ARGV[4])
+            redis.call('PEXPIRE', KEYS[2], ARGV[5])
+            redis.call('PEXPIRE', KEYS[4], ARGV[5])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final HashOperations<String, String, String> hashOperations;
+
+    public PushNotificationOutbox(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.hashOperations = stringRedisTemplate.opsForHash();
+    }
+
+    /**
+     * Adds a delivery that is due now.
+     *
+     * @return {@code false} if the delivery id was already queued and its payload was replaced
+     */
+    public boolean enqueue(String deliveryId, String url, String token, String payload) {
+        Long added = stringRedisTemplate.execute(ENQUEUE_SCRIPT,
+                List.of(READY_KEY, deliveryKey(deliveryId), DEAD_KEY),
+                deliveryId, Long.toString(System.currentTimeMillis()), url, token == null ? "" : token, payload);
+        return added != null && added > 0;
+    }
+
+    /**
+     * Appends a payload to the ordered delivery {@code deliveryId}, which is due now unless it is already
+     * queued or in flight.
+     *
+     * @return {@code false} if the delivery was already queued
+     */
+    public boolean append(String deliveryId, String url, String token, String payload) {
+        Long added = stringRedisTemplate.execute(APPEND_SCRIPT,
+                List.of(READY_KEY, deliveryKey(deliveryId), DEAD_KEY, eventsKey(deliveryId)),
+                deliveryId, Long.toString(System.currentTimeMillis()), url, token == null ? "" : token, payload);
+        return added != null && added > 0;
+    }
+
+    /**
+     * Claims up to {@code limit} due deliveries for the length of {@code lease}.
+     */
+    public List<String> claim(int limit, Duration lease) {
+        long now = System.currentTimeMillis();
+        List<String> claimed = stringRedisTemplate.execute(CLAIM_SCRIPT,
+                List.of(READY_KEY),
+                Long.toString(now), Long.toString(now + lease.toMillis()), Integer.toString(limit));
+        return claimed == null ? List.of() : claimed;
+    }
+
+    /**
+     * Reads a claimed delivery, or returns {@code null} and drops the id if its hash or payload is gone.
+     */
+    public Delivery read(String deliveryId) {
+        Map<String, String> fields = hashOperations.entries(deliveryKey(deliveryId));
+        boolean ordered = !fields.containsKey(PAYLOAD_FIELD);
+        String payload = fields.isEmpty() || !ordered
+                ? fields.get(PAYLOAD_FIELD)
+                : stringRedisTemplate.opsForList().index(eventsKey(deliveryId), 0);
+        if (payload == null) {
+            stringRedisTemplate.opsForZSet().remove(READY_KEY, deliveryId);
+            return null;
+        }
+        return new Delivery(deliveryId,
+                fields.get(URL_FIELD),
+                fields.get(TOKEN_FIELD),
+                payload,
+                fields.get(VERSION_FIELD),
+                Integer.parseInt(fields.getOrDefault(ATTEMPT_FIELD, "0")),
+                ordered);
+    }
+
+    /**
+     * Removes a sent delivery unless it was overwritten with a newer payload while in flight, in which
+     * case the newer payload is made due immediately. For an ordered delivery the sent payload is popped
+     * and the next one, if any, is made due immediately.
+     */
+    public void acknowledge(Delivery delivery) {
+        if (delivery.ordered()) {
+            stringRedisTemplate.execute(ACKNOWLEDGE_EVENT_SCRIPT,
+                    List.of(READY_KEY, deliveryKey(delivery.id()), eventsKey(delivery.id())),
+                    delivery.id(), delivery.version(), Long.toString(System.currentTimeMillis()));
+            return;
+        }
+        stringRedisTemplate.execute(ACKNOWLEDGE_SCRIPT,
+                List.of(READY_KEY, deliveryKey(delivery.id())),
+                delivery.id(), delivery.version(), Long.toString(System.currentTimeMillis()));
+    }
+
+    /**
+     * Counts a failed attempt and makes the delivery due again after {@code backoff}, unless its version
+     * changed while in flight, in which case whatever it holds now is made due immediately.
+     *
+     * @return {@code false} if the delivery had changed or was gone
+     */
+    public boolean retry(Delivery delivery, Duration backoff) {
+        long now = System.currentTimeMillis();
+        Long retried = stringRedisTemplate.execute(RETRY_SCRIPT,
+                List.of(READY_KEY, deliveryKey(delivery.id())),
+                delivery.id(), delivery.version(), Long.toString(now), Long.toString(now + backoff.toMillis()));
+        return retried != null && retried > 0;
+    }
+
+    /**
+     * Moves a delivery that ran out of attempts to the dead-letter set, unless it was overwritten with a
+     * newer payload while in flight, in which case the newer payload is made due immediately with fresh
+     * attempts. Dead letters older than their hash's TTL are trimmed from the set on the way.
+     *
+     * @return {@code false} if the delivery was put back because of a newer payload
+     */
+    public boolean deadLetter(Delivery delivery) {
+        long now = System.currentTimeMillis();
+        Long deadLettered = stringRedisTemplate.execute(DEAD_LETTER_SCRIPT,
+                List.of(READY_KEY, deliveryKey(delivery.id()), DEAD_KEY, eventsKey(delivery.id())),
+                delivery.id(), delivery.version(), Long.toString(now),
+                Long.toString(now - DEAD_LETTER_TTL.toMillis()), Long.toString(DEAD_LETTER_TTL.toMillis()));
+        return deadLettered != null && deadLettered > 0;
+    }
+
+    static String deliveryKey(String deliveryId) {
+        return DELIVERY_KEY_PREFIX + deliveryId;
+    }
+
+    static String eventsKey(String deliveryId) {
+        return EVENTS_KEY_PREFIX + deliveryId;
+    }
+
+    /**
+     * A claimed delivery; {@code payload} is the head of the list when the delivery is {@code ordered}.
+     */
+    public record Delivery(String id, String url, String token, String payload, String version, int attempt,
+                           boolean ordered) {
+    }
+}
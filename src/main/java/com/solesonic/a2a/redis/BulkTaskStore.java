@@ -0,0 +1,24 @@
+package com.solesonic.a2a.redis;
+
+import org.a2aproject.sdk.server.tasks.TaskStore;
+import org.a2aproject.sdk.spec.Task;
+
+import java.util.List;
+
+/**
+ * A {@link TaskStore} that can load several tasks in one round trip and tell whether a task changed
+ * without loading it.
+ */
+public interface BulkTaskStore extends TaskStore {
+
+    /**
+     * Loads the given tasks in request order, skipping ids that are not stored.
+     */
+    List<Task> getAll(List<String> taskIds);
+
+    /**
+     * Version of the stored task, increased by every write; {@code 0} if the task is not stored or was
+     * written before versions existed.
+     */
+    long version(String taskId);
+}
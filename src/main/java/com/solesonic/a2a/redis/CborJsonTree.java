@@ -0,0 +1,238 @@
+package com.solesonic.a2a.redis;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Minimal CBOR (RFC 8949) encoding of Gson JSON trees. Only the subset needed to round-trip JSON is
+ * written: definite-length maps, arrays and text strings, integers, floats, booleans and null.
+ */
+final class CborJsonTree {
+
+    private static final int MAJOR_UNSIGNED = 0;
+    private static final int MAJOR_NEGATIVE = 1;
+    private static final int MAJOR_TEXT = 3;
+    private static final int MAJOR_ARRAY = 4;
+    private static final int MAJOR_MAP = 5;
+    private static final int MAJOR_SIMPLE = 7;
+
+    private static final int FALSE = 0xF4;
+    private static final int TRUE = 0xF5;
+    private static final int NULL = 0xF6;
+    private static final int FLOAT32 = 0xFA;
+    private static final int FLOAT64 = 0xFB;
+
+    private CborJsonTree() {
+    }
+
+    static byte[] encode(JsonElement element) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        write(out, element);
+        return out.toByteArray();
+    }
+
+    static JsonElement decode(byte[] bytes, int offset) {
+        Reader reader = new Reader(bytes, offset);
+        JsonElement element = reader.read();
+        if (reader.position != bytes.length) {
+            throw new IllegalArgumentException("Trailing bytes after CBOR value");
+        }
+        return element;
+    }
+
+    private static void write(ByteArrayOutputStream out, JsonElement element) {
+        if (element == null || element.isJsonNull()) {
+            out.write(NULL);
+        } else if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            writeHead(out, MAJOR_MAP, object.size());
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                writeText(out, entry.getKey());
+                write(out, entry.getValue());
+            }
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            writeHead(out, MAJOR_ARRAY, array.size());
+            for (JsonElement item : array) {
+                write(out, item);
+            }
+        } else {
+            writePrimitive(out, element.getAsJsonPrimitive());
+        }
+    }
+
+    private static void writePrimitive(ByteArrayOutputStream out, JsonPrimitive primitive) {
+        if (primitive.isBoolean()) {
+            out.write(primitive.getAsBoolean() ? TRUE : FALSE);
+        } else if (primitive.isString()) {
+            writeText(out, primitive.getAsString());
+        } else {
+            writeNumber(out, primitive.getAsString());
+        }
+    }
+
+    private static void writeNumber(ByteArrayOutputStream out, String number) {
+        boolean integral = number.indexOf('.') < 0 && number.indexOf('e') < 0 && number.indexOf('E') < 0;
+        if (integral) {
+            try {
+                long value = Long.parseLong(number);
+                if (value >= 0) {
+                    writeHead(out, MAJOR_UNSIGNED, value);
+                } else {
+                    writeHead(out, MAJOR_NEGATIVE, -1 - value);
+                }
+                return;
+            } catch (NumberFormatException e) {
+                // Beyond long range, keep every digit as text; Gson reads numeric strings into number fields
+                writeText(out, number);
+                return;
+            }
+        }
+
+        double value = Double.parseDouble(number);
+        float narrowed = (float) value;
+        if (narrowed == value) {
+            out.write(FLOAT32);
+            writeBytes(out, Float.floatToIntBits(narrowed), 4);
+        } else {
+            out.write(FLOAT64);
+            writeBytes(out, Double.doubleToLongBits(value), 8);
+        }
+    }
+
+    private static void writeText(ByteArrayOutputStream out, String text) {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        writeHead(out, MAJOR_TEXT, utf8.length);
+        out.write(utf8, 0, utf8.length);
+    }
+
+    private static void writeHead(ByteArrayOutputStream out, int major, long length) {
+        int prefix = major << 5;
+        if (length < 24) {
+            out.write(prefix | (int) length);
+        } else if (length <= 0xFFL) {
+            out.write(prefix | 24);
+            writeBytes(out, length, 1);
+        } else if (length <= 0xFFFFL) {
+            out.write(prefix | 25);
+            writeBytes(out, length, 2);
+        } else if (length <= 0xFFFFFFFFL) {
+            out.write(prefix | 26);
+            writeBytes(out, length, 4);
+        } else {
+            out.write(prefix | 27);
+            writeBytes(out, length, 8);
+        }
+    }
+
+    private static void writeBytes(ByteArrayOutputStream out, long value, int count) {
+        for (int shift = (count - 1) * 8; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift) & 0xFF);
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        JsonElement read() {
+            int initial = next();
+            int major = initial >>> 5;
+            int additional = initial & 0x1F;
+
+            return switch (major) {
+                case MAJOR_UNSIGNED -> new JsonPrimitive(readLength(additional));
+                case MAJOR_NEGATIVE -> new JsonPrimitive(-1 - readLength(additional));
+                case MAJOR_TEXT -> new JsonPrimitive(readText(additional));
+                case MAJOR_ARRAY -> readArray(additional);
+                case MAJOR_MAP -> readMap(additional);
+                case MAJOR_SIMPLE -> readSimple(initial);
+                default -> throw new IllegalArgumentException("Unsupported CBOR major type: " + major);
+            };
+        }
+
+        private JsonArray readArray(int additional) {
+            int size = Math.toIntExact(readLength(additional));
+            JsonArray array = new JsonArray(size);
+            for (int index = 0; index < size; index++) {
+                array.add(read());
+            }
+            return array;
+        }
+
+        private JsonObject readMap(int additional) {
+            int size = Math.toIntExact(readLength(additional));
+            JsonObject object = new JsonObject();
+            for (int index = 0; index < size; index++) {
+                int keyInitial = next();
+                if (keyInitial >>> 5 != MAJOR_TEXT) {
+                    throw new IllegalArgumentException("CBOR map keys must be text");
+                }
+                String key = readText(keyInitial & 0x1F);
+                object.add(key, read());
+            }
+            return object;
+        }
+
+        private JsonElement readSimple(int initial) {
+            return switch (initial) {
+                case FALSE -> new JsonPrimitive(false);
+                case TRUE -> new JsonPrimitive(true);
+                case NULL -> JsonNull.INSTANCE;
+                case FLOAT32 -> new JsonPrimitive(Float.intBitsToFloat((int) readBytes(4)));
+                case FLOAT64 -> new JsonPrimitive(Double.longBitsToDouble(readBytes(8)));
+                default -> throw new IllegalArgumentException("Unsupported CBOR simple value: " + initial);
+            };
+        }
+
+        private String readText(int additional) {
+            int length = Math.toIntExact(readLength(additional));
+            String text = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return text;
+        }
+
+        private long readLength(int additional) {
+            return switch (additional) {
+                case 24 -> readBytes(1);
+                case 25 -> readBytes(2);
+                case 26 -> readBytes(4);
+                case 27 -> readBytes(8);
+                default -> {
+                    if (additional >= 24) {
+                        throw new IllegalArgumentException("Indefinite or reserved CBOR length: " + additional);
+                    }
+                    yield additional;
+                }
+            };
+        }
+
+        private long readBytes(int count) {
+            long value = 0;
+            for (int index = 0; index < count; index++) {
+                value = (value << 8) | next();
+            }
+            return value;
+        }
+
+        private int next() {
+            if (position >= bytes.length) {
+                throw new IllegalArgumentException("Truncated CBOR value");
+            }
+            return bytes[position++] & 0xFF;
+        }
+    }
+}
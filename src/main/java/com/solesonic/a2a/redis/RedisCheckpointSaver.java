@@ -0,0 +1,212 @@
+package com.solesonic.a2a.redis;
+
+import org.bsc.async.AsyncGenerator;
+import org.bsc.langgraph4j.CompiledGraph;
+import org.bsc.langgraph4j.GraphInput;
+import org.bsc.langgraph4j.NodeOutput;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.checkpoint.BaseCheckpointSaver;
+import org.bsc.langgraph4j.checkpoint.Checkpoint;
+import org.bsc.langgraph4j.state.AgentState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.bsc.langgraph4j.GraphDefinition.END;
+
+/**
+ * LangGraph4j checkpoint saver backed by Redis, so the progress of a graph run outlives the node
+ * running it. The checkpoints of a run are a list under {@code a2a:checkpoint:{graph}:{threadId}},
+ * newest first, trimmed to {@code maxHistory} entries and expired {@code ttl} after the last write.
+ * <p>
+ * Graphs compiled with this saver and {@code releaseThread} drop their checkpoints when a run
+ * finishes, so checkpoints only remain for runs that were interrupted. {@link #resumeOrStart} picks
+ * such a run up again at the node after the last one that completed. Threads from
+ * {@link #requestThreadId} without a request id are never resumed, so nothing is written for them.
+ */
+public class RedisCheckpointSaver implements BaseCheckpointSaver {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCheckpointSaver.class);
+
+    private static final String KEY_PREFIX = "a2a:checkpoint:";
+    private static final String UNSAVED_THREAD_PREFIX = "unsaved:";
+
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+    private final ListOperations<String, byte[]> listOperations;
+    private final StateCheckpointSerializer serializer;
+    private final String graphName;
+    private final Duration ttl;
+    private final int maxHistory;
+
+    public RedisCheckpointSaver(RedisTemplate<String, byte[]> binaryRedisTemplate,
+                                StateCheckpointSerializer serializer,
+                                String graphName,
+                                Duration ttl,
+                                int maxHistory) {
+        this.binaryRedisTemplate = binaryRedisTemplate;
+        this.listOperations = binaryRedisTemplate.opsForList();
+        this.serializer = serializer;
+        this.graphName = graphName;
+        this.ttl = ttl;
+        this.maxHistory = maxHistory;
+    }
+
+    @Override
+    public Collection<Checkpoint> list(RunnableConfig config) {
+        if (isUnsaved(config)) {
+            return List.of();
+        }
+
+        return entries(key(config)).stream()
+                .map(serializer::decode)
+                .toList();
+    }
+
+    @Override
+    public Optional<Checkpoint> get(RunnableConfig config) {
+        if (isUnsaved(config)) {
+            return Optional.empty();
+        }
+
+        String key = key(config);
+
+        if (config.checkPointId().isPresent()) {
+            String checkPointId = config.checkPointId().get();
+            return entries(key).stream()
+                    .filter(entry -> checkPointId.equals(serializer.idOf(entry)))
+                    .findFirst()
+                    .map(serializer::decode);
+        }
+
+        return Optional.ofNullable(listOperations.index(key, 0))
+                .map(serializer::decode);
+    }
+
+    @Override
+    public RunnableConfig put(RunnableConfig config, Checkpoint checkpoint) {
+        if (isUnsaved(config)) {
+            return RunnableConfig.builder(config)
+                    .checkPointId(checkpoint.getId())
+                    .build();
+        }
+
+        String key = key(config);
+        byte[] value = serializer.encode(checkpoint);
+
+        if (config.checkPointId().isPresent()) {
+            String checkPointId = config.checkPointId().get();
+            List<byte[]> entries = entries(key);
+            for (int index = 0; index < entries.size(); index++) {
+                if (checkPointId.equals(serializer.idOf(entries.get(index)))) {
+                    listOperations.set(key, index, value);
+                    binaryRedisTemplate.expire(key, ttl);
+                    return config;
+                }
+            }
+            throw new NoSuchElementException("Checkpoint not found: threadId=%s, checkPointId=%s"
+                    .formatted(threadId(config), checkPointId));
+        }
+
+        byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+        binaryRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.listCommands().lPush(rawKey, value);
+            connection.listCommands().lTrim(rawKey, 0, maxHistory - 1);
+            connection.keyCommands().expire(rawKey, ttl.toSeconds());
+            return null;
+        });
+
+        return RunnableConfig.builder(config)
+                .checkPointId(checkpoint.getId())
+                .build();
+    }
+
+    @Override
+    public Tag release(RunnableConfig config) {
+        if (isUnsaved(config)) {
+            return new Tag(threadId(config), List.of());
+        }
+
+        String key = key(config);
+        Collection<Checkpoint> checkpoints = list(config);
+        binaryRedisTemplate.delete(key);
+        return new Tag(threadId(config), checkpoints);
+    }
+
+    /**
+     * Streams a graph run for the thread in {@code config}. If an earlier run of the thread stopped
+     * before reaching the end, it continues from its last checkpoint and {@code input} is ignored;
+     * otherwise leftover checkpoints are dropped and a new run starts from {@code input}.
+     */
+    public <S extends AgentState> AsyncGenerator<NodeOutput<S>> resumeOrStart(CompiledGraph<S> graph,
+                                                                             Map<String, Object> input,
+                                                                             RunnableConfig config) {
+        Optional<Checkpoint> lastCheckpoint = get(config);
+
+        if (lastCheckpoint.isPresent() && isResumable(lastCheckpoint.get())) {
+            Checkpoint checkpoint = lastCheckpoint.get();
+            log.info("Resuming graph run: graph={}, threadId={}, lastNode={}, nextNode={}",
+                    graphName, threadId(config), checkpoint.getNodeId(), checkpoint.getNextNodeId());
+            return graph.stream(GraphInput.resume(), config);
+        }
+
+        if (lastCheckpoint.isPresent()) {
+            release(config);
+        }
+        return graph.stream(input, config);
+    }
+
+    /**
+     * Whether {@link #resumeOrStart} would continue an earlier run of the thread in {@code config}
+     * rather than start a new one.
+     */
+    public boolean canResume(RunnableConfig config) {
+        return get(config).filter(checkpoint -> isResumable(checkpoint)).isPresent();
+    }
+
+    /**
+     * Thread id for a run that has no task of its own, such as an MCP tool call. A caller that resends
+     * {@code requestId} when it retries the call resumes the interrupted run; without one the run gets a
+     * thread of its own that is never checkpointed, since no later call could name it.
+     *
+     * @param conversationId conversation the request belongs to, or {@code null}
+     * @param requestId      id the caller chose for the request, or {@code null}
+     */
+    public static String requestThreadId(String conversationId, String requestId) {
+        if (requestId == null || requestId.isBlank()) {
+            return UNSAVED_THREAD_PREFIX + UUID.randomUUID();
+        }
+        return conversationId == null ? requestId : conversationId + ":" + requestId;
+    }
+
+    private static boolean isUnsaved(RunnableConfig config) {
+        return threadId(config).startsWith(UNSAVED_THREAD_PREFIX);
+    }
+
+    static boolean isResumable(Checkpoint checkpoint) {
+        return checkpoint.getNextNodeId() != null && !END.equals(checkpoint.getNextNodeId());
+    }
+
+    private List<byte[]> entries(String key) {
+        List<byte[]> entries = listOperations.range(key, 0, -1);
+        return entries == null ? List.of() : entries;
+    }
+
+    private String key(RunnableConfig config) {
+        return KEY_PREFIX + graphName + ":" + threadId(config);
+    }
+
+    private static String threadId(RunnableConfig config) {
+        return config.threadId().orElse(THREAD_ID_DEFAULT);
+    }
+}
@@ -0,0 +1,20 @@
+package com.solesonic.a2a.redis;
+
+/**
+ * Key naming that keeps the A2A data usable on Redis Cluster. Keys that belong to one task wrap the
+ * task id in a hash tag, e.g. {@code a2a:task:{task-1}:meta}; the braces are part of the key, so every
+ * key of a task hashes to the same slot and a script or transaction may touch all of them. Keys that
+ * are only ever read one at a time, such as the task list indexes, carry no tag.
+ */
+public final class RedisKeys {
+
+    private RedisKeys() {
+    }
+
+    /**
+     * {@code prefix} followed by the task id as a hash tag.
+     */
+    public static String forTask(String prefix, String taskId) {
+        return prefix + "{" + taskId + "}";
+    }
+}
@@ -1,26 +1,49 @@
 package com.solesonic.a2a.redis;
 
-import com.google.gson.Gson;
 import org.a2aproject.sdk.server.tasks.PushNotificationConfigStore;
 import org.a2aproject.sdk.spec.ListTaskPushNotificationConfigsParams;
 import org.a2aproject.sdk.spec.ListTaskPushNotificationConfigsResult;
 import org.a2aproject.sdk.spec.TaskPushNotificationConfig;
 import org.jspecify.annotations.NonNull;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-public class RedisPushNotificationConfigStore implements PushNotificationConfigStore {
+/**
+ * Push notification configs in Redis, one hash per task under {@code a2a:push-notification-config:{<taskId>}}. Lookups are cached locally because push
+ * delivery checks the configs of a task for every event; tasks without configs are cached as well.
+ * Writes invalidate the cache on every node through {@link #INVALIDATION_CHANNEL}, and entries expire
+ * after the configured TTL in case an invalidation is missed.
+ */
+public class RedisPushNotificationConfigStore implements PushNotificationConfigStore, MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "a2a:push-config-invalidation";
 
     private static final String KEY_PREFIX = "a2a:push-notification-config:";
+    private static final int CACHE_SWEEP_THRESHOLD = 10_000;
+
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+    private final HashOperations<String, String, byte[]> hashOperations;
+    private final RedisValueCodec codec;
+    private final long cacheTtlNanos;
 
-    private final StringRedisTemplate stringRedisTemplate;
-    private final Gson gson;
+    private final ConcurrentMap<String, CachedConfigs> cache = new ConcurrentHashMap<>();
 
-    public RedisPushNotificationConfigStore(StringRedisTemplate stringRedisTemplate, Gson gson) {
-        this.stringRedisTemplate = stringRedisTemplate;
-        this.gson = gson;
+    public RedisPushNotificationConfigStore(RedisTemplate<String, byte[]> binaryRedisTemplate,
+                                            RedisValueCodec codec,
+                                            Duration cacheTtl) {
+        this.binaryRedisTemplate = binaryRedisTemplate;
+        this.hashOperations = binaryRedisTemplate.opsForHash();
+        this.codec = codec;
+        this.cacheTtlNanos = cacheTtl.toNanos();
     }
 
     @Override
@@ -34,26 +57,66 @@ public class RedisPushNotificationConfigStore implements PushNotificationConfigS
         }
         notificationConfig = builder.build();
 
-        String json = gson.toJson(notificationConfig);
-        stringRedisTemplate.<String, String>opsForHash().put(KEY_PREFIX + taskId, notificationConfig.id(), json);
+        byte[] value = codec.encode(notificationConfig, TaskPushNotificationConfig.class);
+        hashOperations.put(configKey(taskId), notificationConfig.id(), value);
+        invalidate(taskId);
         return notificationConfig;
     }
 
     @Override
     @NonNull
     public ListTaskPushNotificationConfigsResult getInfo(ListTaskPushNotificationConfigsParams params) {
-        Map<String, String> entries = stringRedisTemplate.<String, String>opsForHash().entries(KEY_PREFIX + params.id());
-        if (entries.isEmpty()) {
-            return new ListTaskPushNotificationConfigsResult(List.of(), null);
+        return new ListTaskPushNotificationConfigsResult(getConfigs(params.id()), null);
+    }
+
+    /**
+     * Returns the task's configs, from the local cache when it is fresh.
+     */
+    public List<TaskPushNotificationConfig> getConfigs(String taskId) {
+        long now = System.nanoTime();
+        CachedConfigs cached = cache.get(taskId);
+        if (cached != null && now - cached.loadedNanos() < cacheTtlNanos) {
+            return cached.configs();
         }
-        List<TaskPushNotificationConfig> configs = entries.values().stream()
-                .map(json -> gson.fromJson(json, TaskPushNotificationConfig.class))
-                .toList();
-        return new ListTaskPushNotificationConfigsResult(configs, null);
+
+        List<TaskPushNotificationConfig> configs = load(taskId);
+        if (cache.size() >= CACHE_SWEEP_THRESHOLD) {
+            cache.values().removeIf(entry -> now - entry.loadedNanos() >= cacheTtlNanos);
+        }
+        cache.put(taskId, new CachedConfigs(configs, now));
+        return configs;
     }
 
     @Override
     public void deleteInfo(@NonNull String taskId, @NonNull String configId) {
-        stringRedisTemplate.<String, String>opsForHash().delete(KEY_PREFIX + taskId, configId);
+        hashOperations.delete(configKey(taskId), configId);
+        invalidate(taskId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        cache.remove(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private List<TaskPushNotificationConfig> load(String taskId) {
+        Map<String, byte[]> entries = hashOperations.entries(configKey(taskId));
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        return entries.values().stream()
+                .map(value -> codec.decode(value, TaskPushNotificationConfig.class))
+                .toList();
+    }
+
+    private void invalidate(String taskId) {
+        cache.remove(taskId);
+        binaryRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, taskId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String configKey(String taskId) {
+        return RedisKeys.forTask(KEY_PREFIX, taskId);
+    }
+
+    private record CachedConfigs(List<TaskPushNotificationConfig> configs, long loadedNanos) {
     }
 }
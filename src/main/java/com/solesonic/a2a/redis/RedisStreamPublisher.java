@@ -0,0 +1,371 @@
+package com.solesonic.a2a.redis;
+
+import com.solesonic.a2a.config.RedisStreamProperties;
+import com.solesonic.a2a.event.EncodedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.a2aproject.sdk.spec.Task;
+import org.a2aproject.sdk.spec.TaskStatusUpdateEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Publishes A2A events to the {@code a2a:stream:{<taskId>}} Redis streams off the producer thread.
+ * Events are buffered in a bounded queue per task and drained by a single background writer that
+ * encodes them and sends the XADDs in pipelined batches. Payloads are written from the event's shared
+ * {@link EncodedEvent} tree, so SSE delivery of the same event does not serialize it again. Streams are trimmed to an approximate
+ * MAXLEN on every write, and every write also renews their expiry: the finalized TTL once their task reaches a
+ * final state, the active TTL before that, so the streams of crashed or abandoned tasks expire as well.
+ * <p>
+ * A producer publishing into a full queue waits for the writer to make room rather than dropping the event, since
+ * a missing artifact chunk would corrupt every later replay of the stream; only an event that still finds no room
+ * after the publish timeout is dropped. Queues are evicted once they are empty and either finalized or idle for
+ * the queue idle timeout.
+ * <p>
+ * Entry ids are assigned when an event is queued rather than by Redis: {@code <millis>-<sequence>}, never
+ * lower than the task's previous id. The id is stored on the {@link EncodedEvent}, so a live SSE stream
+ * can send it as the event id before the entry is written. Only the node running a task publishes its
+ * events; if the task resumes on a node whose clock is behind the last entry, Redis rejects the
+ * XADDs and they are counted as failed.
+ */
+public class RedisStreamPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisStreamPublisher.class);
+
+    public static final String STREAM_KEY_PREFIX = "a2a:stream:";
+
+    private static final String WRITER_THREAD_NAME = "a2a-redis-stream-writer";
+    private static final long IDLE_PARK_NANOS = Duration.ofMillis(20).toNanos();
+    private static final long EVICTION_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+    private static final Duration SHUTDOWN_DRAIN_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final byte[] KIND_FIELD = "kind".getBytes(StandardCharsets.UTF_8);
+    // Holds the streaming response result; nodes that only know the older payload field skip these entries
+    private static final byte[] RESULT_FIELD = "result".getBytes(StandardCharsets.UTF_8);
+
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+    private final RedisValueCodec codec;
+    private final RedisStreamProperties properties;
+
+    private final ConcurrentMap<String, TaskQueue> queuesByTaskId = new ConcurrentHashMap<>();
+    private final AtomicInteger queuedEntries = new AtomicInteger();
+
+    private final Counter publishedCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private volatile Thread writerThread;
+
+    public RedisStreamPublisher(RedisTemplate<String, byte[]> binaryRedisTemplate,
+                                RedisValueCodec codec,
+                                RedisStreamProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.binaryRedisTemplate = binaryRedisTemplate;
+        this.codec = codec;
+        this.properties = properties;
+
+        Gauge.builder("a2a.redis.stream.queue.depth", queuedEntries, AtomicInteger::get)
+                .description("A2A events waiting to be written to Redis streams")
+                .register(meterRegistry);
+        Gauge.builder("a2a.redis.stream.queue.tasks", queuesByTaskId, Map::size)
+                .description("Tasks with a pending Redis stream queue")
+                .register(meterRegistry);
+
+        this.publishedCounter = Counter.builder("a2a.redis.stream.published")
+                .description("A2A events written to Redis streams")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("a2a.redis.stream.dropped")
+                .description("A2A events dropped because the task's stream queue stayed full past the publish timeout")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("a2a.redis.stream.failed")
+                .description("A2A events lost because the Redis write failed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = Thread.ofVirtual().name(WRITER_THREAD_NAME).start(this::drainLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        Thread thread = writerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join(SHUTDOWN_DRAIN_TIMEOUT);
+        }
+    }
+
+    /**
+     * Queues an event for the task's stream and assigns its entry id. Never waits on Redis, but waits up to the
+     * publish timeout for room when the task's queue is full.
+     *
+     * @return {@code false} if the task's queue stayed full and the event was dropped
+     */
+    public boolean publish(String taskId, EncodedEvent event) {
+        boolean finalEvent = isFinal(event.event());
+
+        while (true) {
+            TaskQueue queue = queuesByTaskId.computeIfAbsent(taskId, _ -> new TaskQueue(properties.perTaskCapacity()));
+
+            queue.lock.lock();
+            try {
+                // Evicted between the lookup and the lock; the next lookup creates a fresh queue
+                if (queue.retired) {
+                    continue;
+                }
+
+                String entryId = queue.nextId(System.currentTimeMillis());
+                if (!offer(queue, new StreamEntry(taskId, entryId, event, finalEvent))) {
+                    droppedCounter.increment();
+                    log.error("Redis stream queue stayed full for {}, dropping event: taskId={}, kind={}",
+                            properties.publishTimeout(), taskId, event.event().getClass().getSimpleName());
+                    return false;
+                }
+
+                event.streamId(entryId);
+                queue.lastActivityNanos = System.nanoTime();
+            } finally {
+                queue.lock.unlock();
+            }
+
+            queuedEntries.incrementAndGet();
+
+            Thread thread = writerThread;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+
+            return true;
+        }
+    }
+
+    private boolean offer(TaskQueue queue, StreamEntry entry) {
+        if (queue.entries.offer(entry)) {
+            return true;
+        }
+
+        Thread thread = writerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+
+        try {
+            return queue.entries.offer(entry, properties.publishTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drainLoop() {
+        long drainDeadline = Long.MAX_VALUE;
+        long nextEviction = System.nanoTime() + EVICTION_INTERVAL_NANOS;
+
+        while (true) {
+            int written = writeNextBatch();
+
+            long now = System.nanoTime();
+            if (now - nextEviction >= 0) {
+                evictIdleQueues(now);
+                nextEviction = now + EVICTION_INTERVAL_NANOS;
+            }
+
+            if (!running) {
+                if (drainDeadline == Long.MAX_VALUE) {
+                    drainDeadline = System.nanoTime() + SHUTDOWN_DRAIN_TIMEOUT.toNanos();
+                }
+                if (queuedEntries.get() == 0 || System.nanoTime() > drainDeadline) {
+                    return;
+                }
+            }
+
+            if (written == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Drains up to one batch from the task queues and writes it in a single pipelined round trip.
+     *
+     * @return the number of events taken from the queues
+     */
+    int writeNextBatch() {
+        List<StreamEntry> batch = new ArrayList<>(properties.batchSize());
+
+        for (TaskQueue queue : queuesByTaskId.values()) {
+            int remaining = properties.batchSize() - batch.size();
+            if (remaining <= 0) {
+                break;
+            }
+            queue.entries.drainTo(batch, remaining);
+        }
+
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        queuedEntries.addAndGet(-batch.size());
+
+        Set<String> taskIds = new LinkedHashSet<>();
+        Set<String> finalizedTaskIds = new LinkedHashSet<>();
+        for (StreamEntry entry : batch) {
+            taskIds.add(entry.taskId());
+            if (entry.finalEvent()) {
+                finalizedTaskIds.add(entry.taskId());
+            }
+        }
+
+        try {
+            write(batch, taskIds, finalizedTaskIds);
+            publishedCounter.increment(batch.size());
+        } catch (Exception exception) {
+            failedCounter.increment(batch.size());
+            log.error("Failed to publish {} events to Redis streams", batch.size(), exception);
+        }
+
+        for (String finalizedTaskId : finalizedTaskIds) {
+            queuesByTaskId.computeIfPresent(finalizedTaskId, (_, queue) -> queue.retireIfEmpty() ? null : queue);
+        }
+
+        return batch.size();
+    }
+
+    /**
+     * Evicts the queues that are empty and have not had an event for the queue idle timeout, such as those of
+     * tasks that crashed or were abandoned before reaching a final state. A later event for the task starts a
+     * fresh queue, whose ids restart from the current time.
+     *
+     * @return the number of queues evicted
+     */
+    int evictIdleQueues(long nowNanos) {
+        long idleTimeoutNanos = properties.queueIdleTimeout().toNanos();
+        int evicted = 0;
+
+        for (String taskId : queuesByTaskId.keySet()) {
+            boolean[] retired = new boolean[1];
+            queuesByTaskId.computeIfPresent(taskId, (_, queue) -> {
+                retired[0] = nowNanos - queue.lastActivityNanos >= idleTimeoutNanos && queue.retireIfEmpty();
+                return retired[0] ? null : queue;
+            });
+            if (retired[0]) {
+                evicted++;
+            }
+        }
+
+        if (evicted > 0) {
+            log.debug("Evicted {} idle Redis stream queues", evicted);
+        }
+        return evicted;
+    }
+
+    private void write(List<StreamEntry> batch, Set<String> taskIds, Set<String> finalizedTaskIds) {
+        XAddOptions addOptions = XAddOptions.maxlen(properties.maxLength()).approximateTrimming(true);
+        long finalizedTtlSeconds = properties.finalizedTtl().toSeconds();
+        long activeTtlSeconds = properties.activeTtl().toSeconds();
+
+        binaryRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (StreamEntry entry : batch) {
+                Map<byte[], byte[]> fields = Map.of(
+                        KIND_FIELD, entry.event().event().getClass().getSimpleName().getBytes(StandardCharsets.UTF_8),
+                        RESULT_FIELD, codec.encodeTree(entry.event().tree()));
+                byte[] streamKey = streamKey(entry.taskId()).getBytes(StandardCharsets.UTF_8);
+                connection.streamCommands().xAdd(MapRecord.create(streamKey, fields).withId(RecordId.of(entry.id())), addOptions);
+            }
+
+            for (String taskId : taskIds) {
+                long ttlSeconds = finalizedTaskIds.contains(taskId) ? finalizedTtlSeconds : activeTtlSeconds;
+                connection.keyCommands().expire(streamKey(taskId).getBytes(StandardCharsets.UTF_8), ttlSeconds);
+            }
+
+            return null;
+        });
+    }
+
+    public static String streamKey(String taskId) {
+        return RedisKeys.forTask(STREAM_KEY_PREFIX, taskId);
+    }
+
+    public static boolean isFinal(Object event) {
+        return switch (event) {
+            case Task task -> task.status() != null && task.status().state().isFinal();
+            case TaskStatusUpdateEvent statusUpdate -> statusUpdate.status() != null && statusUpdate.status().state().isFinal();
+            default -> false;
+        };
+    }
+
+    private record StreamEntry(String taskId, String id, EncodedEvent event, boolean finalEvent) {
+    }
+
+    /**
+     * Pending entries of one task and the last id handed out for its stream. Ids are assigned and entries
+     * queued under {@code lock}, so they enter the queue in id order. A retired queue has been evicted from
+     * {@code queuesByTaskId} and takes no more entries.
+     */
+    private static final class TaskQueue {
+        private final BlockingQueue<StreamEntry> entries;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile long lastActivityNanos = System.nanoTime();
+        private boolean retired;
+        private long lastMillis;
+        private long sequence;
+
+        TaskQueue(int capacity) {
+            this.entries = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /**
+         * Retires the queue if it is empty and no producer holds it. Called from {@code computeIfPresent}, so it
+         * must not wait on a producer blocked on a full queue.
+         */
+        boolean retireIfEmpty() {
+            if (!lock.tryLock()) {
+                return false;
+            }
+            try {
+                retired = entries.isEmpty();
+                return retired;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        String nextId(long nowMillis) {
+            if (nowMillis > lastMillis) {
+                lastMillis = nowMillis;
+                sequence = 0;
+            } else {
+                sequence++;
+            }
+            return lastMillis + "-" + sequence;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.solesonic.a2a.redis;
+
+import com.google.gson.JsonElement;
+import com.solesonic.a2a.config.RedisStreamProperties;
+import com.solesonic.a2a.event.EncodedEvent;
+import org.a2aproject.sdk.server.tasks.TaskStore;
+import org.a2aproject.sdk.spec.Message;
+import org.a2aproject.sdk.spec.StreamingEventKind;
+import org.a2aproject.sdk.spec.Task;
+import org.a2aproject.sdk.spec.TaskArtifactUpdateEvent;
+import org.a2aproject.sdk.spec.TaskNotFoundError;
+import org.a2aproject.sdk.spec.TaskStatusUpdateEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import reactor.adapter.JdkFlowAdapter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+import java.util.regex.Pattern;
+
+/**
+ * Serves {@code SubscribeToTask} from the {@code a2a:stream:{<taskId>}} Redis streams, so any node can
+ * stream a task no matter which node is running it. The stream is replayed from its first entry and
+ * then tailed with blocking XREADs until a final event arrives or the subscriber goes away. A client
+ * that reconnects with the id of the last event it received resumes after that entry instead.
+ * <p>
+ * Status updates and appended artifact chunks only make sense on top of what came before them. When the
+ * stream no longer holds that, because entries after the client's last event were trimmed or because a
+ * client without one finds the head trimmed by MAXLEN, the stored task is sent first as the base and the
+ * stream is tailed from its newest entry.
+ * <p>
+ * Events are published as {@link EncodedEvent}s carrying the id of the entry they were read from and the
+ * tree they were decoded from, so the SSE writer needs nothing else to frame them.
+ * <p>
+ * Each subscription reads on its own virtual thread and holds one Redis connection for its whole lifetime.
+ * Lettuce runs the blocking XREADs of that connection on a dedicated native connection, opened on the first
+ * read and closed with the subscription, so the shared connection used for everything else is never held
+ * and tailing a stream does not open a new connection for every read.
+ */
+public class RedisStreamSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisStreamSubscriber.class);
+
+    private static final String READER_THREAD_PREFIX = "a2a-redis-stream-reader-";
+    private static final String STREAM_START = "0-0";
+    private static final Pattern STREAM_ID = Pattern.compile("\\d{1,18}-\\d{1,18}");
+
+    private static final byte[] KIND_FIELD = "kind".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RESULT_FIELD = "result".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PAYLOAD_FIELD = "payload".getBytes(StandardCharsets.UTF_8);
+
+    // Only types the publisher writes are decoded; the kind field is never used to pick arbitrary classes
+    private static final Map<String, Class<? extends StreamingEventKind>> EVENT_TYPES = Map.of(
+            Task.class.getSimpleName(), Task.class,
+            Message.class.getSimpleName(), Message.class,
+            TaskStatusUpdateEvent.class.getSimpleName(), TaskStatusUpdateEvent.class,
+            TaskArtifactUpdateEvent.class.getSimpleName(), TaskArtifactUpdateEvent.class);
+
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final RedisValueCodec codec;
+    private final TaskStore taskStore;
+    private final RedisStreamProperties properties;
+
+    public RedisStreamSubscriber(RedisConnectionFactory redisConnectionFactory,
+                                 RedisValueCodec codec,
+                                 TaskStore taskStore,
+                                 RedisStreamProperties properties) {
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.codec = codec;
+        this.taskStore = taskStore;
+        this.properties = properties;
+    }
+
+    /**
+     * Subscribes to a task's events.
+     *
+     * @throws TaskNotFoundError if the task is not in the task store
+     */
+    public Flow.Publisher<EncodedEvent> subscribe(String taskId) {
+        return subscribe(taskId, null);
+    }
+
+    /**
+     * Subscribes to a task's events after the entry {@code lastEventId}, or from the start if it is
+     * {@code null}.
+     *
+     * @throws TaskNotFoundError        if the task is not in the task store
+     * @throws IllegalArgumentException if {@code lastEventId} is not a stream entry id
+     */
+    public Flow.Publisher<EncodedEvent> subscribe(String taskId, String lastEventId) {
+        if (lastEventId != null && !STREAM_ID.matcher(lastEventId).matches()) {
+            throw new IllegalArgumentException("Last-Event-ID is not a stream entry id: " + lastEventId);
+        }
+        if (taskStore.get(taskId) == null) {
+            throw new TaskNotFoundError();
+        }
+
+        Flux<EncodedEvent> events = Flux.create(sink -> {
+            Thread reader = Thread.ofVirtual()
+                    .name(READER_THREAD_PREFIX + taskId)
+                    .start(() -> readStream(taskId, lastEventId, sink));
+            sink.onDispose(reader::interrupt);
+        });
+
+        return JdkFlowAdapter.publisherToFlowPublisher(events);
+    }
+
+    private void readStream(String taskId, String lastEventId, FluxSink<EncodedEvent> sink) {
+        byte[] streamKey = RedisStreamPublisher.streamKey(taskId).getBytes(StandardCharsets.UTF_8);
+
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            String lastId = resumeFrom(connection, streamKey, lastEventId);
+            if (lastId == null) {
+                // The newest entry is read before the task, so whatever is written after the snapshot is tailed
+                lastId = newestId(connection, streamKey);
+                Task task = taskStore.get(taskId);
+                if (task != null) {
+                    sink.next(EncodedEvent.of(task));
+                }
+                if (task == null || task.status().state().isFinal()) {
+                    sink.complete();
+                    return;
+                }
+            }
+            while (!sink.isCancelled()) {
+                List<ByteRecord> records = read(connection, streamKey, lastId);
+
+                if (records == null || records.isEmpty()) {
+                    if (finishFromTaskStore(taskId, sink)) {
+                        return;
+                    }
+                    continue;
+                }
+
+                for (ByteRecord record : records) {
+                    lastId = record.getId().getValue();
+                    EncodedEvent event = decode(lastId, record.getValue());
+                    if (event == null) {
+                        continue;
+                    }
+
+                    sink.next(event);
+                    if (RedisStreamPublisher.isFinal(event.event())) {
+                        sink.complete();
+                        return;
+                    }
+                }
+            }
+        } catch (Exception exception) {
+            if (sink.isCancelled() || Thread.currentThread().isInterrupted()) {
+                log.debug("Redis stream subscription cancelled: taskId={}", taskId);
+                return;
+            }
+            log.error("Failed to read Redis stream: taskId={}", taskId, exception);
+            sink.error(exception);
+        }
+    }
+
+    /**
+     * Where reading starts: after {@code lastEventId} while the stream still holds every entry after it,
+     * at the start of a stream that was never trimmed, or {@code null} when the stored task has to be sent
+     * first because the entries the client is missing are gone.
+     */
+    private String resumeFrom(RedisConnection connection, byte[] streamKey, String lastEventId) {
+        if (lastEventId == null) {
+            // Approximate trimming never takes a stream below its maximum length
+            Long length = connection.streamCommands().xLen(streamKey);
+            return length == null || length < properties.maxLength() ? STREAM_START : null;
+        }
+
+        List<ByteRecord> first = connection.streamCommands().xRange(streamKey, Range.unbounded(), Limit.limit().count(1));
+        if (first == null || first.isEmpty()) {
+            return STREAM_START;
+        }
+
+        RecordId firstId = first.getFirst().getId();
+        RecordId resumeId = RecordId.of(lastEventId);
+        boolean trimmed = firstId.getTimestamp() > resumeId.getTimestamp()
+                || (firstId.getTimestamp().equals(resumeId.getTimestamp()) && firstId.getSequence() > resumeId.getSequence());
+        return trimmed ? null : lastEventId;
+    }
+
+    private String newestId(RedisConnection connection, byte[] streamKey) {
+        List<ByteRecord> last = connection.streamCommands().xRevRange(streamKey, Range.unbounded(), Limit.limit().count(1));
+        return last == null || last.isEmpty() ? STREAM_START : last.getFirst().getId().getValue();
+    }
+
+    private List<ByteRecord> read(RedisConnection connection, byte[] streamKey, String lastId) {
+        StreamReadOptions readOptions = StreamReadOptions.empty()
+                .count(properties.batchSize())
+                .block(properties.readBlock());
+        StreamOffset<byte[]> offset = StreamOffset.create(streamKey, ReadOffset.from(lastId));
+
+        return connection.streamCommands().xRead(readOptions, offset);
+    }
+
+    /**
+     * Ends the subscription with the stored task when it is final but no final event is left to read,
+     * which happens once the stream has expired or the final event was dropped.
+     */
+    private boolean finishFromTaskStore(String taskId, FluxSink<EncodedEvent> sink) {
+        Task task = taskStore.get(taskId);
+        if (task == null || task.status().state().isFinal()) {
+            if (task != null) {
+                sink.next(EncodedEvent.of(task));
+            }
+            sink.complete();
+            return true;
+        }
+        return false;
+    }
+
+    EncodedEvent decode(String streamId, Map<byte[], byte[]> fields) {
+        String kind = null;
+        byte[] result = null;
+        byte[] payload = null;
+        for (Map.Entry<byte[], byte[]> field : fields.entrySet()) {
+            if (Arrays.equals(field.getKey(), KIND_FIELD)) {
+                kind = new String(field.getValue(), StandardCharsets.UTF_8);
+            } else if (Arrays.equals(field.getKey(), RESULT_FIELD)) {
+                result = field.getValue();
+            } else if (Arrays.equals(field.getKey(), PAYLOAD_FIELD)) {
+                payload = field.getValue();
+            }
+        }
+
+        Class<? extends StreamingEventKind> eventType = kind != null ? EVENT_TYPES.get(kind) : null;
+        if (eventType == null || (result == null && payload == null)) {
+            log.warn("Skipping unreadable Redis stream entry: kind={}", kind);
+            return null;
+        }
+
+        if (result == null) {
+            // Written before entries carried the streaming response result; the event is encoded again for SSE
+            return EncodedEvent.of(codec.fromTree(codec.decodeTree(payload), eventType), null, streamId);
+        }
+
+        // The decoded tree is kept with the event so the SSE writer does not serialize it again
+        JsonElement tree = codec.decodeTree(result);
+        return EncodedEvent.of(codec.fromTree(EncodedEvent.eventTree(tree), eventType), tree, streamId);
+    }
+}
@@ -1,89 +1,449 @@
 package com.solesonic.a2a.redis;
 
-import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import org.a2aproject.sdk.jsonrpc.common.wrappers.ListTasksResult;
 import org.a2aproject.sdk.server.tasks.TaskStateProvider;
-import org.a2aproject.sdk.server.tasks.TaskStore;
 import org.a2aproject.sdk.spec.Artifact;
+import org.a2aproject.sdk.spec.InvalidParamsError;
 import org.a2aproject.sdk.spec.ListTasksParams;
 import org.a2aproject.sdk.spec.Message;
+import org.a2aproject.sdk.spec.Part;
 import org.a2aproject.sdk.spec.Task;
+import org.a2aproject.sdk.spec.TaskState;
+import org.a2aproject.sdk.spec.TextPart;
 import org.jspecify.annotations.NonNull;
-import org.springframework.data.redis.core.Cursor;
-import org.springframework.data.redis.core.ScanOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class RedisTaskStore implements TaskStore, TaskStateProvider {
+/**
+ * Stores A2A tasks in Redis split by how they change: a {@code a2a:task:{<taskId>}:meta} hash holding
+ * the task without history or artifacts plus the artifact headers, a {@code :history} list of messages
+ * and one {@code :artifact:<artifactId>} list of parts per artifact. Saves only append what is new since
+ * the last save of the task by this instance, so streaming an answer chunk by chunk writes each chunk
+ * once. On finalization text artifacts are compacted to a single part and every key gets its TTL.
+ * <p>
+ * The braces around the task id are a Redis Cluster hash tag (see {@link RedisKeys}): all keys of a task
+ * share a slot, so each save is one atomic script that writes the meta hash, the lists and the TTLs.
+ * Every save increments a {@code version} field in the meta hash, so callers can detect changes with
+ * a single HGET instead of loading the task. A final state is recorded in a {@code final} field, and a
+ * save that would replace it with a different state is refused, so a node still running a task cannot
+ * overwrite a cancellation written by another node.
+ * <p>
+ * Sorted-set indexes scored by the status timestamp are kept for all tasks, per context, per status and
+ * per context and status, so {@link #list} reads one index window and loads only the page it returns.
+ * Each index is a single key in its own slot; it is updated after the task script, only when the task's
+ * state or status timestamp changed, and entries that point at expired tasks are dropped by {@link #list}.
+ * Context indexes expire with the finalized-task TTL, refreshed on every update, and the global and status
+ * indexes are trimmed periodically of entries older than that TTL whose task is gone.
+ * Tasks written by earlier versions as a single JSON string under {@code a2a:task:<taskId>} are still read.
+ * <p>
+ * Values are encoded with the {@link RedisValueCodec}; index members and keys stay plain strings.
+ */
+public class RedisTaskStore implements BulkTaskStore, TaskStateProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisTaskStore.class);
+
+    /**
+     * Returned by {@link #write} when the task already has a different final state in Redis.
+     */
+    static final long REFUSED = -1;
 
     private static final String KEY_PREFIX = "a2a:task:";
+    private static final String META_SUFFIX = ":meta";
+    private static final String HISTORY_SUFFIX = ":history";
+    private static final String ARTIFACT_INFIX = ":artifact:";
+    private static final String TASK_FIELD = "task";
+    private static final String ARTIFACTS_FIELD = "artifacts";
+    private static final String VERSION_FIELD = "version";
+    private static final String INDEX_ALL_KEY = "a2a:task-index:all";
+    private static final String INDEX_CONTEXT_PREFIX = "a2a:task-index:context:";
+    private static final String INDEX_STATUS_PREFIX = "a2a:task-index:status:";
     private static final Duration FINALIZED_TASK_TTL = Duration.ofHours(24);
+    private static final Duration IDLE_EVICTION = Duration.ofMinutes(10);
+    private static final Duration INDEX_TRIM_INTERVAL = Duration.ofMinutes(10);
+    private static final int INDEX_TRIM_BATCH = 500;
+    private static final int INDEX_TRIM_MAX_BATCHES = 20;
+
+    private static final byte[] NO_VALUE = new byte[0];
+
+    /*
+     * KEYS[1] is the meta hash, KEYS[2..n] the history and artifact lists. ARGV holds the meta value,
+     * the artifact headers (empty when unchanged), the TTL in seconds (0 for none) and the final state
+     * (empty when not final), then for each list an operation (A append, R replace, D delete), the number
+     * of values and the values. Returns the new version, or -1 when the task already has another final state.
+     */
+    private static final RedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>("""
+            local final = redis.call('HGET', KEYS[1], 'final')
+            if final and final ~= ARGV[4] then
+                return -1
+            end
+            local ttl = tonumber(ARGV[3])
+            redis.call('HSET', KEYS[1], 'task', ARGV[1])
+            if ARGV[2] ~= '' then
+                redis.call('HSET', KEYS[1], 'artifacts', ARGV[2])
+            end
+            if ARGV[4] ~= '' then
+                redis.call('HSET', KEYS[1], 'final', ARGV[4])
+            end
+            local version = redis.call('HINCRBY', KEYS[1], 'version', 1)
+            local arg = 5
+            for index = 2, #KEYS do
+                local operation = ARGV[arg]
+                local last = arg + 1 + tonumber(ARGV[arg + 1])
+                if operation ~= 'A' then
+                    redis.call('DEL', KEYS[index])
+                end
+                for first = arg + 2, last, 1000 do
+                    redis.call('RPUSH', KEYS[index], unpack(ARGV, first, math.min(first + 999, last)))
+                end
+                if ttl > 0 and operation ~= 'D' then
+                    redis.call('EXPIRE', KEYS[index], ttl)
+                end
+                arg = last + 1
+            end
+            if ttl > 0 then
+                redis.call('EXPIRE', KEYS[1], ttl)
+            end
+            return version
+            """, Long.class);
 
     private final StringRedisTemplate stringRedisTemplate;
-    private final Gson gson;
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+    private final RedisValueCodec codec;
 
-    public RedisTaskStore(StringRedisTemplate stringRedisTemplate, Gson gson) {
+    // What this instance last wrote per task, used to turn the next save into an append. Tasks that stop
+    // being saved without reaching a final state are evicted once idle, and their next save rewrites them.
+    private final ConcurrentMap<String, PersistedTask> persistedTasks = new ConcurrentHashMap<>();
+    private final AtomicLong nextIdleSweepNanos = new AtomicLong(System.nanoTime() + IDLE_EVICTION.toNanos());
+    private final AtomicLong nextIndexTrimNanos = new AtomicLong(System.nanoTime() + INDEX_TRIM_INTERVAL.toNanos());
+
+    public RedisTaskStore(StringRedisTemplate stringRedisTemplate,
+                          RedisTemplate<String, byte[]> binaryRedisTemplate,
+                          RedisValueCodec codec) {
         this.stringRedisTemplate = stringRedisTemplate;
-        this.gson = gson;
+        this.binaryRedisTemplate = binaryRedisTemplate;
+        this.codec = codec;
     }
 
     @Override
     public void save(Task task, boolean isReplicated) {
-        String key = KEY_PREFIX + task.id();
-        String json = gson.toJson(task);
-        stringRedisTemplate.opsForValue().set(key, json);
+        write(task);
+    }
+
+    /**
+     * Saves the task unless another node already gave it a different final state.
+     *
+     * @return the task's new version, {@code 0} if Redis did not report one, or {@link #REFUSED} if the
+     * save was refused and the stored task left as it was
+     */
+    long write(Task task) {
+        String taskId = task.id();
+        boolean finalized = task.status().state().isFinal();
+        List<Message> history = task.history() == null ? List.of() : task.history();
+        List<Artifact> artifacts = task.artifacts() == null ? List.of() : task.artifacts();
+        if (finalized) {
+            artifacts = compactArtifacts(artifacts);
+        }
+
+        byte[] metaValue = codec.encode(Task.builder(task).history(List.of()).artifacts(List.of()).build(), Task.class);
+        List<Artifact> artifactsToWrite = artifacts;
+
+        long version;
+        PersistedTask persisted = persistedTasks.computeIfAbsent(taskId, _ -> new PersistedTask());
+        synchronized (persisted) {
+            try {
+                boolean firstWrite = !persisted.initialized;
+                TaskWrite write = new TaskWrite(metaKey(taskId), metaValue,
+                        finalized ? FINALIZED_TASK_TTL.toSeconds() : 0, finalized ? task.status().state().name() : "");
+                writeHistory(write, taskId, history, persisted);
+                writeArtifacts(write, taskId, artifactsToWrite, persisted);
+                Long written = binaryRedisTemplate.execute(SAVE_SCRIPT, write.keys(), write.args());
+                version = written == null ? 0 : written;
+
+                if (version == REFUSED) {
+                    // Nothing was written, so the tracked shape no longer matches Redis either
+                    persistedTasks.remove(taskId, persisted);
+                    log.info("Refused to overwrite a task finalized by another node: taskId={}, state={}",
+                            taskId, task.status().state());
+                    return REFUSED;
+                }
+                persisted.initialized = true;
+                persisted.lastWriteNanos = System.nanoTime();
+
+                TaskState state = task.status().state();
+                OffsetDateTime timestamp = task.status().timestamp();
+                if (firstWrite || state != persisted.indexedState || !Objects.equals(timestamp, persisted.indexedTimestamp)) {
+                    binaryRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                        if (firstWrite) {
+                            connection.keyCommands().del(raw(KEY_PREFIX + taskId));
+                        }
+                        appendIndexUpdates(connection, task);
+                        return null;
+                    });
+                    persisted.indexedState = state;
+                    persisted.indexedTimestamp = timestamp;
+                }
+            } catch (RuntimeException e) {
+                // The tracked shape may no longer match Redis, so the next save rewrites the task
+                persistedTasks.remove(taskId, persisted);
+                throw e;
+            }
+        }
+
+        if (finalized) {
+            persistedTasks.remove(taskId, persisted);
+        }
+
+        long now = System.nanoTime();
+        long nextSweep = nextIdleSweepNanos.get();
+        if (now - nextSweep >= 0 && nextIdleSweepNanos.compareAndSet(nextSweep, now + IDLE_EVICTION.toNanos())) {
+            evictIdle(now);
+        }
+
+        long nextTrim = nextIndexTrimNanos.get();
+        if (now - nextTrim >= 0 && nextIndexTrimNanos.compareAndSet(nextTrim, now + INDEX_TRIM_INTERVAL.toNanos())) {
+            try {
+                trimIndexes(System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                log.warn("Failed to trim task indexes: {}", e.getMessage());
+            }
+        }
+
+        return version;
+    }
+
+    /**
+     * Drops index entries scored before the finalized-task TTL whose task no longer exists. Run from
+     * {@link #save} at most once per trim interval, so indexes nobody lists do not grow without bound.
+     */
+    void trimIndexes(long nowMillis) {
+        double cutoff = nowMillis - FINALIZED_TASK_TTL.toMillis();
+
+        for (TaskState state : TaskState.values()) {
+            if (state.isFinal()) {
+                // A final task expires one TTL after it finalized, so older entries point at nothing
+                stringRedisTemplate.opsForZSet().removeRangeByScore(statusIndexKey(state), Double.NEGATIVE_INFINITY, cutoff);
+            } else {
+                removeMissingTasks(statusIndexKey(state), cutoff);
+            }
+        }
+        // Active tasks can keep an old status timestamp, so only entries of tasks that are gone are dropped
+        removeMissingTasks(INDEX_ALL_KEY, cutoff);
+    }
+
+    private void removeMissingTasks(String indexKey, double cutoff) {
+        long offset = 0;
+        for (int batch = 0; batch < INDEX_TRIM_MAX_BATCHES; batch++) {
+            Set<String> candidates = stringRedisTemplate.opsForZSet()
+                    .rangeByScore(indexKey, Double.NEGATIVE_INFINITY, cutoff, offset, INDEX_TRIM_BATCH);
+            if (candidates == null || candidates.isEmpty()) {
+                return;
+            }
+
+            List<String> taskIds = new ArrayList<>(candidates);
+            List<Object> exists = binaryRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String taskId : taskIds) {
+                    connection.keyCommands().exists(raw(metaKey(taskId)));
+                    connection.keyCommands().exists(raw(KEY_PREFIX + taskId));
+                }
+                return null;
+            });
+
+            List<String> missing = new ArrayList<>();
+            for (int index = 0; index < taskIds.size(); index++) {
+                if (exists == null || exists.size() < (index + 1) * 2) {
+                    break;
+                }
+                if (!Boolean.TRUE.equals(exists.get(index * 2)) && !Boolean.TRUE.equals(exists.get(index * 2 + 1))) {
+                    missing.add(taskIds.get(index));
+                }
+            }
+            if (!missing.isEmpty()) {
+                stringRedisTemplate.opsForZSet().remove(indexKey, missing.toArray());
+            }
 
-        if (isTaskFinalized(task.id())) {
-            stringRedisTemplate.expire(key, FINALIZED_TASK_TTL);
+            if (taskIds.size() < INDEX_TRIM_BATCH) {
+                return;
+            }
+            offset += taskIds.size() - missing.size();
         }
     }
 
+    /**
+     * Drops what this instance remembers writing for tasks it has not saved for the idle eviction period,
+     * such as tasks abandoned before reaching a final state. Run from {@link #save} at most once per period.
+     */
+    void evictIdle(long nowNanos) {
+        long idleNanos = IDLE_EVICTION.toNanos();
+        persistedTasks.entrySet().removeIf(entry -> nowNanos - entry.getValue().lastWriteNanos > idleNanos);
+    }
+
+    int trackedTasks() {
+        return persistedTasks.size();
+    }
+
     @Override
     public Task get(@NonNull String taskId) {
-        String json = stringRedisTemplate.opsForValue().get(KEY_PREFIX + taskId);
-        if (json == null) {
-            return null;
+        return loadTasks(List.of(taskId)).getFirst();
+    }
+
+    @Override
+    public List<Task> getAll(List<String> taskIds) {
+        if (taskIds == null || taskIds.isEmpty()) {
+            return List.of();
         }
-        return gson.fromJson(json, Task.class);
+
+        return loadTasks(taskIds).stream()
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     @Override
     public void delete(@NonNull String taskId) {
-        stringRedisTemplate.delete(KEY_PREFIX + taskId);
+        List<Object> results = binaryRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.hashCommands().hGetAll(raw(metaKey(taskId)));
+            connection.stringCommands().get(raw(KEY_PREFIX + taskId));
+            return null;
+        });
+
+        Task task = null;
+        List<String> artifactIds = List.of();
+        if (results != null && results.size() == 2) {
+            Map<String, byte[]> meta = asMap(results.get(0));
+            if (meta.containsKey(TASK_FIELD)) {
+                task = codec.decode(meta.get(TASK_FIELD), Task.class);
+                artifactIds = artifactIds(decodeArray(meta.get(ARTIFACTS_FIELD)));
+            } else if (results.get(1) instanceof byte[] legacyValue) {
+                task = codec.decode(legacyValue, Task.class);
+            }
+        }
+
+        Task deletedTask = task;
+        List<String> deletedArtifactIds = artifactIds;
+        persistedTasks.remove(taskId);
+
+        binaryRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            // The task's own keys share a slot and go in one DEL; the legacy key hashes elsewhere
+            List<byte[]> taskKeys = new ArrayList<>(deletedArtifactIds.size() + 2);
+            taskKeys.add(raw(metaKey(taskId)));
+            taskKeys.add(raw(historyKey(taskId)));
+            for (String artifactId : deletedArtifactIds) {
+                taskKeys.add(raw(artifactKey(taskId, artifactId)));
+            }
+            connection.keyCommands().del(taskKeys.toArray(byte[][]::new));
+            connection.keyCommands().del(raw(KEY_PREFIX + taskId));
+
+            byte[] member = raw(taskId);
+            connection.zSetCommands().zRem(raw(INDEX_ALL_KEY), member);
+            if (deletedTask != null) {
+                TaskState state = deletedTask.status().state();
+                connection.zSetCommands().zRem(raw(statusIndexKey(state)), member);
+                if (deletedTask.contextId() != null) {
+                    connection.zSetCommands().zRem(raw(contextIndexKey(deletedTask.contextId())), member);
+                    connection.zSetCommands().zRem(raw(contextStatusIndexKey(deletedTask.contextId(), state)), member);
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public long version(String taskId) {
+        Object version = stringRedisTemplate.opsForHash().get(metaKey(taskId), VERSION_FIELD);
+        return version == null ? 0 : Long.parseLong(version.toString());
+    }
+
+    /**
+     * Drops what this instance remembers writing for the task, so its next save rewrites the task in
+     * full. Used when another node may have written the task since.
+     */
+    public void forget(String taskId) {
+        persistedTasks.remove(taskId);
     }
 
     @Override
     @NonNull
     public ListTasksResult list(@NonNull ListTasksParams listTasksParams) {
-        List<Task> matchingTasks = new ArrayList<>();
-        ScanOptions scanOptions = ScanOptions.scanOptions().match(KEY_PREFIX + "*").build();
-        try (Cursor<String> cursor = stringRedisTemplate.scan(scanOptions)) {
-            while (cursor.hasNext()) {
-                String key = cursor.next();
-                String json = stringRedisTemplate.opsForValue().get(key);
-                if (json == null) {
+        String indexKey = indexKeyFor(listTasksParams.contextId(), listTasksParams.status());
+        double minScore = listTasksParams.statusTimestampAfter() == null
+                ? Double.NEGATIVE_INFINITY
+                : listTasksParams.statusTimestampAfter().toEpochMilli();
+
+        PageCursor cursor = PageCursor.decode(listTasksParams.pageToken());
+        double maxScore = cursor == null ? Double.POSITIVE_INFINITY : cursor.score();
+        int effectivePageSize = listTasksParams.getEffectivePageSize();
+
+        List<Task> page = new ArrayList<>(effectivePageSize);
+        List<String> staleTaskIds = new ArrayList<>();
+        TypedTuple<String> lastEntry = null;
+        boolean hasMore = false;
+        long offset = 0;
+
+        fill:
+        while (true) {
+            Set<TypedTuple<String>> window = stringRedisTemplate.opsForZSet()
+                    .reverseRangeByScoreWithScores(indexKey, minScore, maxScore, offset, effectivePageSize + 1L);
+            if (window == null || window.isEmpty()) {
+                break;
+            }
+            offset += window.size();
+
+            List<TypedTuple<String>> candidates = window.stream()
+                    .filter(entry -> cursor == null || cursor.isBefore(entry))
+                    .toList();
+            List<Task> tasks = loadTasks(candidates.stream().map(TypedTuple::getValue).toList());
+
+            for (int index = 0; index < candidates.size(); index++) {
+                if (page.size() == effectivePageSize) {
+                    hasMore = true;
+                    break fill;
+                }
+
+                Task task = tasks.get(index);
+                if (task == null) {
+                    staleTaskIds.add(candidates.get(index).getValue());
                     continue;
                 }
-                Task task = gson.fromJson(json, Task.class);
+
                 if (matchesFilters(task, listTasksParams)) {
-                    matchingTasks.add(task);
+                    page.add(task);
+                    lastEntry = candidates.get(index);
                 }
             }
-        }
 
-        matchingTasks.sort(Comparator.comparing(Task::id));
+            if (window.size() <= effectivePageSize) {
+                break;
+            }
+        }
 
-        int totalSize = matchingTasks.size();
-        int effectivePageSize = listTasksParams.getEffectivePageSize();
-        int offset = decodePageToken(listTasksParams.pageToken());
+        removeStaleIndexEntries(indexKey, staleTaskIds);
 
-        int fromIndex = Math.min(offset, totalSize);
-        int toIndex = Math.min(fromIndex + effectivePageSize, totalSize);
-        List<Task> page = matchingTasks.subList(fromIndex, toIndex);
+        Long indexedCount = stringRedisTemplate.opsForZSet().count(indexKey, minScore, Double.POSITIVE_INFINITY);
+        int totalSize = indexedCount == null ? page.size() : Math.toIntExact(indexedCount - staleTaskIds.size());
 
         int historyLength = listTasksParams.getEffectiveHistoryLength();
         boolean includeArtifacts = listTasksParams.shouldIncludeArtifacts();
@@ -91,28 +451,46 @@ public class RedisTaskStore implements TaskStore, TaskStateProvider {
                 .map(task -> applyViewOptions(task, historyLength, includeArtifacts))
                 .toList();
 
-        String nextPageToken = toIndex < totalSize ? String.valueOf(toIndex) : null;
+        String nextPageToken = hasMore && lastEntry != null ? PageCursor.of(lastEntry).encode() : null;
 
         return new ListTasksResult(resultTasks, totalSize, resultTasks.size(), nextPageToken);
     }
 
     @Override
     public boolean isTaskActive(@NonNull String taskId) {
-        Task task = get(taskId);
-        if (task == null) {
+        TaskState state = getState(taskId);
+        if (state == null) {
             return false;
         }
-        return !task.status().state().isFinal();
+        return !state.isFinal();
     }
 
     @Override
     public boolean isTaskFinalized(@NonNull String taskId) {
-        Task task = get(taskId);
-        if (task == null) {
+        TaskState state = getState(taskId);
+        if (state == null) {
             return false;
         }
 
-        return task.status().state().isFinal();
+        return state.isFinal();
+    }
+
+    private TaskState getState(String taskId) {
+        List<Object> results = binaryRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.hashCommands().hGet(raw(metaKey(taskId)), raw(TASK_FIELD));
+            connection.stringCommands().get(raw(KEY_PREFIX + taskId));
+            return null;
+        });
+
+        if (results == null || results.size() != 2) {
+            return null;
+        }
+
+        Object value = results.get(0) != null ? results.get(0) : results.get(1);
+        if (!(value instanceof byte[] taskValue)) {
+            return null;
+        }
+        return codec.decode(taskValue, Task.class).status().state();
     }
 
     private boolean matchesFilters(Task task, ListTasksParams params) {
@@ -143,14 +521,393 @@ public class RedisTaskStore implements TaskStore, TaskStateProvider {
                 .build();
     }
 
-    private int decodePageToken(String pageToken) {
-        if (pageToken == null || pageToken.isBlank()) {
-            return 0;
+    /**
+     * Loads tasks in two pipelined round trips: the meta hashes and history lists first, then the part
+     * lists of every artifact they reference. Missing tasks are returned as {@code null}.
+     */
+    private List<Task> loadTasks(List<String> taskIds) {
+        if (taskIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<Object> results = binaryRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String taskId : taskIds) {
+                connection.hashCommands().hGetAll(raw(metaKey(taskId)));
+                connection.listCommands().lRange(raw(historyKey(taskId)), 0, -1);
+                connection.stringCommands().get(raw(KEY_PREFIX + taskId));
+            }
+            return null;
+        });
+
+        List<Task> tasks = new ArrayList<>(taskIds.size());
+        List<JsonObject> taskTrees = new ArrayList<>(taskIds.size());
+        List<PendingParts> pendingParts = new ArrayList<>();
+
+        for (int index = 0; index < taskIds.size(); index++) {
+            tasks.add(null);
+            taskTrees.add(null);
+
+            if (results == null || results.size() < (index + 1) * 3) {
+                continue;
+            }
+
+            Map<String, byte[]> meta = asMap(results.get(index * 3));
+            if (meta.containsKey(TASK_FIELD)) {
+                JsonObject taskTree = codec.decodeTree(meta.get(TASK_FIELD)).getAsJsonObject();
+
+                JsonArray historyArray = new JsonArray();
+                for (byte[] messageValue : asList(results.get(index * 3 + 1))) {
+                    historyArray.add(codec.decodeTree(messageValue));
+                }
+                taskTree.add("history", historyArray);
+
+                JsonArray artifactHeaders = decodeArray(meta.get(ARTIFACTS_FIELD));
+                taskTree.add("artifacts", artifactHeaders);
+                for (JsonElement header : artifactHeaders) {
+                    JsonObject headerObject = header.getAsJsonObject();
+                    pendingParts.add(new PendingParts(taskIds.get(index), headerObject.get("artifactId").getAsString(), headerObject));
+                }
+
+                taskTrees.set(index, taskTree);
+            } else if (results.get(index * 3 + 2) instanceof byte[] legacyValue) {
+                tasks.set(index, codec.decode(legacyValue, Task.class));
+            }
+        }
+
+        if (!pendingParts.isEmpty()) {
+            List<Object> partResults = binaryRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (PendingParts pending : pendingParts) {
+                    connection.listCommands().lRange(raw(artifactKey(pending.taskId(), pending.artifactId())), 0, -1);
+                }
+                return null;
+            });
+
+            for (int index = 0; index < pendingParts.size(); index++) {
+                JsonArray partsArray = new JsonArray();
+                if (partResults != null && index < partResults.size()) {
+                    for (byte[] partValue : asList(partResults.get(index))) {
+                        partsArray.add(codec.decodeTree(partValue));
+                    }
+                }
+                pendingParts.get(index).header().add("parts", partsArray);
+            }
+        }
+
+        for (int index = 0; index < taskIds.size(); index++) {
+            JsonObject taskTree = taskTrees.get(index);
+            if (taskTree != null) {
+                tasks.set(index, codec.fromTree(taskTree, Task.class));
+            }
+        }
+
+        return tasks;
+    }
+
+    private void writeHistory(TaskWrite write, String taskId, List<Message> history, PersistedTask persisted) {
+        int persistedSize = persisted.historySize;
+
+        boolean prefixUnchanged = persisted.initialized
+                && persistedSize <= history.size()
+                && (persistedSize == 0 || Objects.equals(history.get(persistedSize - 1), persisted.lastMessage));
+
+        int fromIndex = prefixUnchanged ? persistedSize : 0;
+        List<byte[]> messages = history.subList(fromIndex, history.size()).stream()
+                .map(message -> codec.encode(message, Message.class))
+                .toList();
+        write.list(historyKey(taskId), prefixUnchanged ? ListWrite.APPEND : ListWrite.REPLACE, messages);
+
+        persisted.historySize = history.size();
+        persisted.lastMessage = history.isEmpty() ? null : history.getLast();
+    }
+
+    private void writeArtifacts(TaskWrite write, String taskId, List<Artifact> artifacts, PersistedTask persisted) {
+        Map<String, PersistedArtifact> current = new LinkedHashMap<>();
+
+        for (Artifact artifact : artifacts) {
+            List<Part<?>> parts = artifact.parts() == null ? List.of() : artifact.parts();
+            PersistedArtifact previous = persisted.artifacts.get(artifact.artifactId());
+
+            boolean prefixUnchanged = persisted.initialized
+                    && previous != null
+                    && previous.partCount <= parts.size()
+                    && (previous.partCount == 0 || Objects.equals(parts.get(previous.partCount - 1), previous.lastPart));
+
+            int fromIndex = prefixUnchanged ? previous.partCount : 0;
+            List<byte[]> partValues = parts.subList(fromIndex, parts.size()).stream()
+                    .map(part -> codec.encode(part, Part.class))
+                    .toList();
+            write.list(artifactKey(taskId, artifact.artifactId()), prefixUnchanged ? ListWrite.APPEND : ListWrite.REPLACE, partValues);
+
+            JsonObject header = prefixUnchanged ? previous.header : artifactHeader(artifact);
+            current.put(artifact.artifactId(), new PersistedArtifact(parts.size(), parts.isEmpty() ? null : parts.getLast(), header));
+        }
+
+        for (String removedArtifactId : persisted.artifacts.keySet()) {
+            if (!current.containsKey(removedArtifactId)) {
+                write.list(artifactKey(taskId, removedArtifactId), ListWrite.DELETE, List.of());
+            }
+        }
+
+        JsonArray headers = new JsonArray(current.size());
+        current.values().forEach(persistedArtifact -> headers.add(persistedArtifact.header()));
+        String headersJson = headers.toString();
+        if (!persisted.initialized || !headersJson.equals(persisted.headersJson)) {
+            write.artifactHeaders(codec.encodeTree(headers));
+        }
+
+        persisted.artifacts = current;
+        persisted.headersJson = headersJson;
+    }
+
+    private JsonObject artifactHeader(Artifact artifact) {
+        JsonObject header = codec.toTree(artifact, Artifact.class).getAsJsonObject();
+        header.remove("parts");
+        return header;
+    }
+
+    /**
+     * Merges the streamed chunks of each all-text artifact into one text part so the stored task,
+     * and every later read of it, carries one part instead of one per synthesis chunk.
+     */
+    private List<Artifact> compactArtifacts(List<Artifact> artifacts) {
+        List<Artifact> compacted = new ArrayList<>(artifacts.size());
+        for (Artifact artifact : artifacts) {
+            List<Part<?>> parts = artifact.parts();
+            if (parts == null || parts.size() < 2 || !parts.stream().allMatch(part -> part instanceof TextPart)) {
+                compacted.add(artifact);
+                continue;
+            }
+
+            StringBuilder text = new StringBuilder();
+            for (Part<?> part : parts) {
+                text.append(((TextPart) part).text());
+            }
+
+            JsonObject artifactTree = codec.toTree(artifact, Artifact.class).getAsJsonObject();
+            JsonArray singlePart = new JsonArray();
+            singlePart.add(codec.toTree(new TextPart(text.toString()), Part.class));
+            artifactTree.add("parts", singlePart);
+            compacted.add(codec.fromTree(artifactTree, Artifact.class));
+        }
+        return compacted;
+    }
+
+    private void appendIndexUpdates(RedisConnection connection, Task task) {
+        byte[] taskId = raw(task.id());
+        String contextId = task.contextId();
+        TaskState state = task.status().state();
+        double score = statusScore(task);
+
+        connection.zSetCommands().zAdd(raw(INDEX_ALL_KEY), score, taskId);
+        connection.zSetCommands().zAdd(raw(statusIndexKey(state)), score, taskId);
+        if (contextId != null) {
+            // Refreshed on every update, so a context index outlives each finalized task it holds
+            long ttlSeconds = FINALIZED_TASK_TTL.toSeconds();
+            connection.zSetCommands().zAdd(raw(contextIndexKey(contextId)), score, taskId);
+            connection.zSetCommands().zAdd(raw(contextStatusIndexKey(contextId, state)), score, taskId);
+            connection.keyCommands().expire(raw(contextIndexKey(contextId)), ttlSeconds);
+            connection.keyCommands().expire(raw(contextStatusIndexKey(contextId, state)), ttlSeconds);
+        }
+
+        // The previous state is not known here, so clear the task from every other status index
+        for (TaskState otherState : TaskState.values()) {
+            if (otherState == state) {
+                continue;
+            }
+            connection.zSetCommands().zRem(raw(statusIndexKey(otherState)), taskId);
+            if (contextId != null) {
+                connection.zSetCommands().zRem(raw(contextStatusIndexKey(contextId, otherState)), taskId);
+            }
+        }
+    }
+
+    private void removeStaleIndexEntries(String indexKey, List<String> staleTaskIds) {
+        if (staleTaskIds.isEmpty()) {
+            return;
         }
-        try {
-            return Integer.parseInt(pageToken);
-        } catch (NumberFormatException e) {
-            return 0;
+
+        // Finalized tasks expire on their own, so their index entries are dropped when a list runs into them
+        Object[] members = staleTaskIds.toArray();
+        stringRedisTemplate.opsForZSet().remove(indexKey, members);
+        if (!INDEX_ALL_KEY.equals(indexKey)) {
+            stringRedisTemplate.opsForZSet().remove(INDEX_ALL_KEY, members);
+        }
+    }
+
+    private JsonArray decodeArray(byte[] value) {
+        if (value == null || value.length == 0) {
+            return new JsonArray();
+        }
+        return codec.decodeTree(value).getAsJsonArray();
+    }
+
+    private static List<String> artifactIds(JsonArray artifactHeaders) {
+        List<String> artifactIds = new ArrayList<>(artifactHeaders.size());
+        for (JsonElement header : artifactHeaders) {
+            artifactIds.add(header.getAsJsonObject().get("artifactId").getAsString());
+        }
+        return artifactIds;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, byte[]> asMap(Object result) {
+        return result instanceof Map<?, ?> map ? (Map<String, byte[]>) map : Map.of();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<byte[]> asList(Object result) {
+        return result instanceof List<?> list ? (List<byte[]>) list : List.of();
+    }
+
+    private static byte[] raw(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String metaKey(String taskId) {
+        return RedisKeys.forTask(KEY_PREFIX, taskId) + META_SUFFIX;
+    }
+
+    private static String historyKey(String taskId) {
+        return RedisKeys.forTask(KEY_PREFIX, taskId) + HISTORY_SUFFIX;
+    }
+
+    private static String artifactKey(String taskId, String artifactId) {
+        return RedisKeys.forTask(KEY_PREFIX, taskId) + ARTIFACT_INFIX + artifactId;
+    }
+
+    private static double statusScore(Task task) {
+        if (task.status().timestamp() == null) {
+            return System.currentTimeMillis();
+        }
+        return task.status().timestamp().toInstant().toEpochMilli();
+    }
+
+    static String indexKeyFor(String contextId, TaskState state) {
+        if (contextId != null && state != null) {
+            return contextStatusIndexKey(contextId, state);
+        }
+        if (contextId != null) {
+            return contextIndexKey(contextId);
+        }
+        if (state != null) {
+            return statusIndexKey(state);
+        }
+        return INDEX_ALL_KEY;
+    }
+
+    private static String contextIndexKey(String contextId) {
+        return INDEX_CONTEXT_PREFIX + contextId;
+    }
+
+    private static String statusIndexKey(TaskState state) {
+        return INDEX_STATUS_PREFIX + state.name();
+    }
+
+    private static String contextStatusIndexKey(String contextId, TaskState state) {
+        return INDEX_CONTEXT_PREFIX + contextId + ":status:" + state.name();
+    }
+
+    private enum ListWrite {
+        APPEND("A"), REPLACE("R"), DELETE("D");
+
+        private final byte[] code;
+
+        ListWrite(String code) {
+            this.code = raw(code);
+        }
+    }
+
+    /**
+     * Keys and arguments of one {@link #SAVE_SCRIPT} call.
+     */
+    private static final class TaskWrite {
+        private final List<String> keys = new ArrayList<>();
+        private final List<byte[]> args = new ArrayList<>();
+
+        TaskWrite(String metaKey, byte[] metaValue, long ttlSeconds, String finalState) {
+            keys.add(metaKey);
+            args.add(metaValue);
+            args.add(NO_VALUE);
+            args.add(raw(Long.toString(ttlSeconds)));
+            args.add(raw(finalState));
+        }
+
+        void artifactHeaders(byte[] headers) {
+            args.set(1, headers);
+        }
+
+        void list(String key, ListWrite operation, List<byte[]> values) {
+            keys.add(key);
+            args.add(operation.code);
+            args.add(raw(Integer.toString(values.size())));
+            args.addAll(values);
+        }
+
+        List<String> keys() {
+            return keys;
+        }
+
+        Object[] args() {
+            return args.toArray();
+        }
+    }
+
+    private static final class PersistedTask {
+        private volatile long lastWriteNanos = System.nanoTime();
+        private boolean initialized;
+        private TaskState indexedState;
+        private OffsetDateTime indexedTimestamp;
+        private int historySize;
+        private Message lastMessage;
+        private Map<String, PersistedArtifact> artifacts = new HashMap<>();
+        private String headersJson;
+    }
+
+    private record PersistedArtifact(int partCount, Part<?> lastPart, JsonObject header) {
+    }
+
+    private record PendingParts(String taskId, String artifactId, JsonObject header) {
+    }
+
+    /**
+     * Position after the last task of a page: its status score and id. Tasks with the same score are
+     * returned in descending id order, so the next page continues below the id as well as the score.
+     */
+    record PageCursor(double score, String taskId) {
+
+        static PageCursor of(TypedTuple<String> entry) {
+            return new PageCursor(Objects.requireNonNull(entry.getScore()), entry.getValue());
+        }
+
+        boolean isBefore(TypedTuple<String> entry) {
+            double entryScore = Objects.requireNonNull(entry.getScore());
+            return entryScore < score || (entryScore == score && entry.getValue().compareTo(taskId) < 0);
+        }
+
+        String encode() {
+            String raw = Double.toString(score) + ':' + taskId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Decodes a page token, or returns {@code null} when there is none.
+         *
+         * @throws InvalidParamsError if the token was not returned by {@link #encode}
+         */
+        static PageCursor decode(String pageToken) {
+            if (pageToken == null || pageToken.isBlank()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8);
+                int separator = raw.indexOf(':');
+                if (separator > 0) {
+                    return new PageCursor(Double.parseDouble(raw.substring(0, separator)), raw.substring(separator + 1));
+                }
+            } catch (IllegalArgumentException _) {
+                // Reported below like any other malformed token
+            }
+            throw new InvalidParamsError("Invalid page token: " + pageToken);
         }
     }
 }
@@ -0,0 +1,193 @@
+package com.solesonic.a2a.redis;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes A2A objects for storage in Redis. Objects are first turned into a Gson tree with the SDK's
+ * type adapters and then written in the configured {@link Format}. Binary values start with a three
+ * byte header (magic, version, flags) so the format can change across rolling upgrades; values without
+ * the header are read as the plain JSON written by earlier versions. Payloads at or above the
+ * compression threshold are deflated when that makes them smaller.
+ * <p>
+ * Every node can read every format, so switching the written format only requires all nodes to run a
+ * version that has this codec first.
+ * <p>
+ * Values serialized by another JSON library, such as graph checkpoints, pass their JSON bytes through
+ * {@link #encodeJson(byte[])} and {@link #decodeJson(byte[])} and never become a Gson tree. They are always
+ * written as JSON, with the same header and compression.
+ */
+public class RedisValueCodec {
+
+    public enum Format {
+        /** Plain UTF-8 JSON; uncompressed values are byte-for-byte what earlier versions stored */
+        JSON,
+        /** CBOR encoding of the same JSON tree */
+        CBOR
+    }
+
+    // 0xA2 can never start a UTF-8 string, so headered values cannot be confused with legacy JSON
+    private static final byte MAGIC = (byte) 0xA2;
+    private static final byte VERSION = 1;
+    private static final int HEADER_LENGTH = 3;
+    private static final int FLAG_DEFLATED = 0x01;
+    private static final int FORMAT_SHIFT = 4;
+
+    private final Gson gson;
+    private final Format format;
+    private final int compressionThreshold;
+
+    public RedisValueCodec(Gson gson, Format format, int compressionThreshold) {
+        this.gson = gson;
+        this.format = format;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    public byte[] encode(Object value, Type type) {
+        return encodeTree(gson.toJsonTree(value, type));
+    }
+
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        if (bytes == null) {
+            return null;
+        }
+        return gson.fromJson(decodeTree(bytes), type);
+    }
+
+    public <T> T fromTree(JsonElement tree, Class<T> type) {
+        return gson.fromJson(tree, type);
+    }
+
+    public JsonElement toTree(Object value, Type type) {
+        return gson.toJsonTree(value, type);
+    }
+
+    public byte[] encodeTree(JsonElement tree) {
+        byte[] payload = format == Format.CBOR
+                ? CborJsonTree.encode(tree)
+                : gson.toJson(tree).getBytes(StandardCharsets.UTF_8);
+        return frame(payload, format);
+    }
+
+    /**
+     * Encodes a value that is already JSON.
+     */
+    public byte[] encodeJson(byte[] json) {
+        return frame(json, Format.JSON);
+    }
+
+    private byte[] frame(byte[] payload, Format format) {
+        int flags = format.ordinal() << FORMAT_SHIFT;
+        if (compressionThreshold > 0 && payload.length >= compressionThreshold) {
+            byte[] deflated = deflate(payload);
+            if (deflated.length < payload.length) {
+                payload = deflated;
+                flags |= FLAG_DEFLATED;
+            }
+        }
+
+        if (format == Format.JSON && (flags & FLAG_DEFLATED) == 0) {
+            return payload;
+        }
+
+        byte[] value = new byte[HEADER_LENGTH + payload.length];
+        value[0] = MAGIC;
+        value[1] = VERSION;
+        value[2] = (byte) flags;
+        System.arraycopy(payload, 0, value, HEADER_LENGTH, payload.length);
+        return value;
+    }
+
+    public JsonElement decodeTree(byte[] bytes) {
+        if (bytes.length == 0 || bytes[0] != MAGIC) {
+            return JsonParser.parseString(new String(bytes, StandardCharsets.UTF_8));
+        }
+
+        int flags = checkHeader(bytes);
+        Format valueFormat = Format.values()[flags >>> FORMAT_SHIFT];
+
+        byte[] payload = bytes;
+        int offset = HEADER_LENGTH;
+        if ((flags & FLAG_DEFLATED) != 0) {
+            payload = inflate(bytes, HEADER_LENGTH);
+            offset = 0;
+        }
+
+        return switch (valueFormat) {
+            case CBOR -> CborJsonTree.decode(payload, offset);
+            case JSON -> JsonParser.parseString(new String(payload, offset, payload.length - offset, StandardCharsets.UTF_8));
+        };
+    }
+
+    /**
+     * The JSON bytes of a value in any format. JSON values are returned without being parsed; only values
+     * written as CBOR go through a tree.
+     */
+    public byte[] decodeJson(byte[] bytes) {
+        if (bytes.length == 0 || bytes[0] != MAGIC) {
+            return bytes;
+        }
+
+        int flags = checkHeader(bytes);
+        if (Format.values()[flags >>> FORMAT_SHIFT] == Format.CBOR) {
+            return gson.toJson(decodeTree(bytes)).getBytes(StandardCharsets.UTF_8);
+        }
+        return (flags & FLAG_DEFLATED) != 0
+                ? inflate(bytes, HEADER_LENGTH)
+                : Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length);
+    }
+
+    private static int checkHeader(byte[] bytes) {
+        if (bytes.length < HEADER_LENGTH || bytes[1] > VERSION) {
+            throw new IllegalStateException("Unsupported Redis value version: " + (bytes.length > 1 ? bytes[1] : -1));
+        }
+        return bytes[2] & 0xFF;
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input, int offset) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input, offset, input.length - offset);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed Redis value");
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed Redis value", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
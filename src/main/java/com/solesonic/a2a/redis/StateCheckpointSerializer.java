@@ -0,0 +1,89 @@
+package com.solesonic.a2a.redis;
+
+import org.bsc.langgraph4j.checkpoint.Checkpoint;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Serializes graph checkpoints for {@link RedisCheckpointSaver}. State values are written as plain
+ * JSON without type information; the schema of the graph's state class tells the reader which type
+ * each key holds, and keys that are not in the schema are read back as strings, numbers, booleans,
+ * lists or maps. The JSON bytes go straight through {@link RedisValueCodec#encodeJson(byte[])}, so
+ * checkpoints get the same header and compression as the other A2A values without a second JSON tree.
+ */
+public class StateCheckpointSerializer {
+
+    private static final String ID_FIELD = "id";
+    private static final String NODE_FIELD = "node";
+    private static final String NEXT_NODE_FIELD = "next";
+    private static final String STATE_FIELD = "state";
+
+    private final JsonMapper jsonMapper;
+    private final RedisValueCodec codec;
+    private final Map<String, JavaType> schema;
+
+    /**
+     * @param schema the type of every state key that does not hold a plain JSON value, such as records
+     *               and lists of records
+     */
+    public StateCheckpointSerializer(JsonMapper jsonMapper, RedisValueCodec codec, Map<String, Type> schema) {
+        this.jsonMapper = jsonMapper;
+        this.codec = codec;
+        this.schema = schema.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        Map.Entry::getKey,
+                        entry -> jsonMapper.getTypeFactory().constructType(entry.getValue())));
+    }
+
+    public byte[] encode(Checkpoint checkpoint) {
+        Map<String, Object> envelope = new LinkedHashMap<>();
+        envelope.put(ID_FIELD, checkpoint.getId());
+        envelope.put(NODE_FIELD, checkpoint.getNodeId());
+        envelope.put(NEXT_NODE_FIELD, checkpoint.getNextNodeId());
+        envelope.put(STATE_FIELD, checkpoint.getState());
+
+        return codec.encodeJson(jsonMapper.writeValueAsBytes(envelope));
+    }
+
+    public Checkpoint decode(byte[] bytes) {
+        JsonNode envelope = jsonMapper.readTree(codec.decodeJson(bytes));
+
+        Map<String, Object> state = new HashMap<>();
+        for (Map.Entry<String, JsonNode> field : envelope.get(STATE_FIELD).properties()) {
+            JsonNode value = field.getValue();
+            if (value.isNull()) {
+                continue;
+            }
+            JavaType type = schema.get(field.getKey());
+            state.put(field.getKey(), type == null
+                    ? jsonMapper.convertValue(value, Object.class)
+                    : jsonMapper.convertValue(value, type));
+        }
+
+        return Checkpoint.builder()
+                .id(textOf(envelope, ID_FIELD))
+                .nodeId(textOf(envelope, NODE_FIELD))
+                .nextNodeId(textOf(envelope, NEXT_NODE_FIELD))
+                .state(state)
+                .build();
+    }
+
+    /**
+     * Reads only the id of an encoded checkpoint.
+     */
+    public String idOf(byte[] bytes) {
+        return textOf(jsonMapper.readTree(codec.decodeJson(bytes)), ID_FIELD);
+    }
+
+    private static String textOf(JsonNode envelope, String field) {
+        JsonNode value = envelope.get(field);
+        return value == null || value.isNull() ? null : value.asString();
+    }
+}
@@ -0,0 +1,41 @@
+package com.solesonic.a2a.redis;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Futures completed the next time a task is written, by this node or any other. Long-polling
+ * GetTask requests wait on them instead of holding a thread; waiters that give up must
+ * {@link #cancel} their future so tasks that never change again do not keep entries.
+ */
+public class TaskChangeNotifier {
+
+    private final ConcurrentMap<String, Set<CompletableFuture<Void>>> waiters = new ConcurrentHashMap<>();
+
+    public CompletableFuture<Void> nextChange(String taskId) {
+        CompletableFuture<Void> change = new CompletableFuture<>();
+        // Added inside compute, so a concurrent taskChanged either completes it or has not removed the set yet
+        waiters.compute(taskId, (_, changes) -> {
+            Set<CompletableFuture<Void>> taskChanges = changes == null ? ConcurrentHashMap.newKeySet() : changes;
+            taskChanges.add(change);
+            return taskChanges;
+        });
+        return change;
+    }
+
+    public void cancel(String taskId, CompletableFuture<Void> change) {
+        waiters.computeIfPresent(taskId, (_, changes) -> {
+            changes.remove(change);
+            return changes.isEmpty() ? null : changes;
+        });
+    }
+
+    public void taskChanged(String taskId) {
+        Set<CompletableFuture<Void>> changes = waiters.remove(taskId);
+        if (changes != null) {
+            changes.forEach(change -> change.complete(null));
+        }
+    }
+}
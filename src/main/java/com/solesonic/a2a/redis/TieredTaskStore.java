@@ -0,0 +1,287 @@
+package com.solesonic.a2a.redis;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.a2aproject.sdk.jsonrpc.common.wrappers.ListTasksResult;
+import org.a2aproject.sdk.server.tasks.TaskStateProvider;
+import org.a2aproject.sdk.spec.ListTasksParams;
+import org.a2aproject.sdk.spec.Task;
+import org.a2aproject.sdk.spec.TaskState;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task store that keeps tasks running on this node in memory and writes them behind to the
+ * {@link RedisTaskStore}. Reads of a local task never leave the process. Saves that only add
+ * artifact chunks are marked dirty and flushed on a fixed interval, while saves that change the
+ * task state are written through immediately, so Redis writes follow state changes rather than tokens.
+ * <p>
+ * Every Redis write is announced on {@link #INVALIDATION_CHANNEL}; other nodes drop their local copy
+ * of that task so they never flush a stale snapshot over it. A save that arrives after the local copy
+ * was dropped cannot know what the other node wrote, so Redis refuses any write that would replace a final
+ * state there, such as a cancellation; the refused copy is dropped and reads fall through to Redis.
+ * Local and remote writes both wake the waiters registered with the {@link TaskChangeNotifier}.
+ */
+public class TieredTaskStore implements BulkTaskStore, TaskStateProvider, MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TieredTaskStore.class);
+
+    public static final String INVALIDATION_CHANNEL = "a2a:task-invalidation";
+
+    private static final String INVALIDATION_SEPARATOR = "|";
+    private static final Duration IDLE_EVICTION = Duration.ofMinutes(10);
+
+    private final RedisTaskStore redisTaskStore;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TaskChangeNotifier changeNotifier;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ConcurrentMap<String, LocalTask> localTasks = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter transitionWrites;
+    private final Counter intervalWrites;
+    private final Counter invalidations;
+
+    public TieredTaskStore(RedisTaskStore redisTaskStore,
+                           StringRedisTemplate stringRedisTemplate,
+                           TaskChangeNotifier changeNotifier,
+                           Duration flushInterval,
+                           MeterRegistry meterRegistry) {
+        this.redisTaskStore = redisTaskStore;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.changeNotifier = changeNotifier;
+
+        Gauge.builder("a2a.task-store.local.size", localTasks, Map::size)
+                .description("Tasks held in the local task store tier")
+                .register(meterRegistry);
+        this.localHits = Counter.builder("a2a.task-store.local.reads").tag("result", "hit").register(meterRegistry);
+        this.localMisses = Counter.builder("a2a.task-store.local.reads").tag("result", "miss").register(meterRegistry);
+        this.transitionWrites = Counter.builder("a2a.task-store.redis.writes").tag("reason", "state-change").register(meterRegistry);
+        this.intervalWrites = Counter.builder("a2a.task-store.redis.writes").tag("reason", "interval").register(meterRegistry);
+        this.invalidations = Counter.builder("a2a.task-store.invalidations")
+                .description("Local tasks dropped because another node wrote them")
+                .register(meterRegistry);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("a2a-task-store-flusher").factory());
+        long flushIntervalMillis = flushInterval.toMillis();
+        this.flusher.scheduleWithFixedDelay(this::flushDirty, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void save(Task task, boolean isReplicated) {
+        String taskId = task.id();
+        TaskState state = task.status().state();
+
+        LocalTask localTask = localTasks.computeIfAbsent(taskId, _ -> new LocalTask());
+        while (true) {
+            synchronized (localTask) {
+                // An eviction, invalidation or final save may have dropped this copy before the lock was
+                // taken; saving into it would leave the task outside the map and its chunks never flushed
+                if (localTasks.get(taskId) == localTask) {
+                    localTask.task = task;
+                    localTask.lastAccessNanos = System.nanoTime();
+
+                    if (state == localTask.persistedState) {
+                        localTask.dirty = true;
+                        return;
+                    }
+
+                    if (!writeThrough(taskId, localTask)) {
+                        return;
+                    }
+                    transitionWrites.increment();
+                    break;
+                }
+            }
+            localTask = localTasks.computeIfAbsent(taskId, _ -> new LocalTask());
+        }
+
+        if (state.isFinal()) {
+            localTasks.remove(taskId, localTask);
+        }
+    }
+
+    @Override
+    public Task get(@NonNull String taskId) {
+        LocalTask localTask = localTasks.get(taskId);
+        if (localTask != null) {
+            localHits.increment();
+            localTask.lastAccessNanos = System.nanoTime();
+            return localTask.task;
+        }
+
+        localMisses.increment();
+        return redisTaskStore.get(taskId);
+    }
+
+    @Override
+    public List<Task> getAll(List<String> taskIds) {
+        if (taskIds == null || taskIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> missingTaskIds = taskIds.stream()
+                .filter(taskId -> !localTasks.containsKey(taskId))
+                .toList();
+        Map<String, Task> remoteTasks = new HashMap<>();
+        for (Task task : redisTaskStore.getAll(missingTaskIds)) {
+            remoteTasks.put(task.id(), task);
+        }
+
+        List<Task> tasks = new ArrayList<>(taskIds.size());
+        for (String taskId : taskIds) {
+            LocalTask localTask = localTasks.get(taskId);
+            Task task = localTask != null ? localTask.task : remoteTasks.get(taskId);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    @Override
+    public long version(String taskId) {
+        return redisTaskStore.version(taskId);
+    }
+
+    @Override
+    public void delete(@NonNull String taskId) {
+        localTasks.remove(taskId);
+        redisTaskStore.delete(taskId);
+        publishInvalidation(taskId);
+    }
+
+    /**
+     * Lists from Redis. Chunks of a running task saved since its last flush may be missing from the
+     * listed copy for at most one flush interval.
+     */
+    @Override
+    @NonNull
+    public ListTasksResult list(@NonNull ListTasksParams listTasksParams) {
+        return redisTaskStore.list(listTasksParams);
+    }
+
+    @Override
+    public boolean isTaskActive(@NonNull String taskId) {
+        LocalTask localTask = localTasks.get(taskId);
+        if (localTask != null) {
+            localHits.increment();
+            return !localTask.task.status().state().isFinal();
+        }
+
+        localMisses.increment();
+        return redisTaskStore.isTaskActive(taskId);
+    }
+
+    @Override
+    public boolean isTaskFinalized(@NonNull String taskId) {
+        LocalTask localTask = localTasks.get(taskId);
+        if (localTask != null) {
+            localHits.increment();
+            return localTask.task.status().state().isFinal();
+        }
+
+        localMisses.increment();
+        return redisTaskStore.isTaskFinalized(taskId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = payload.indexOf(INVALIDATION_SEPARATOR);
+        if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+
+        String taskId = payload.substring(separator + 1);
+        if (localTasks.remove(taskId) != null) {
+            invalidations.increment();
+            log.debug("Dropped local task written by another node: taskId={}", taskId);
+        }
+        redisTaskStore.forget(taskId);
+        changeNotifier.taskChanged(taskId);
+    }
+
+    void flushDirty() {
+        long idleNanos = IDLE_EVICTION.toNanos();
+
+        for (Map.Entry<String, LocalTask> entry : localTasks.entrySet()) {
+            String taskId = entry.getKey();
+            LocalTask localTask = entry.getValue();
+
+            try {
+                synchronized (localTask) {
+                    if (localTask.dirty) {
+                        if (writeThrough(taskId, localTask)) {
+                            intervalWrites.increment();
+                        }
+                    } else if (System.nanoTime() - localTask.lastAccessNanos > idleNanos) {
+                        localTasks.remove(taskId, localTask);
+                    }
+                }
+            } catch (Exception exception) {
+                log.error("Failed to flush task to Redis: taskId={}", taskId, exception);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flushDirty();
+    }
+
+    /**
+     * Writes the local copy to Redis.
+     *
+     * @return {@code false} if another node already finalized the task and the local copy was dropped instead
+     */
+    private boolean writeThrough(String taskId, LocalTask localTask) {
+        if (redisTaskStore.write(localTask.task) == RedisTaskStore.REFUSED) {
+            localTask.dirty = false;
+            localTasks.remove(taskId, localTask);
+            changeNotifier.taskChanged(taskId);
+            log.info("Dropped local task finalized by another node: taskId={}", taskId);
+            return false;
+        }
+
+        localTask.persistedState = localTask.task.status().state();
+        localTask.dirty = false;
+        publishInvalidation(taskId);
+        return true;
+    }
+
+    private void publishInvalidation(String taskId) {
+        changeNotifier.taskChanged(taskId);
+        stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + INVALIDATION_SEPARATOR + taskId);
+    }
+
+    private static final class LocalTask {
+        private volatile Task task;
+        private volatile long lastAccessNanos;
+        private TaskState persistedState;
+        private boolean dirty;
+    }
+}
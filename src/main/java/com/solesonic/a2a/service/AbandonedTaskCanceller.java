@@ -0,0 +1,112 @@
+package com.solesonic.a2a.service;
+
+import com.solesonic.a2a.push.AsyncPushNotificationSender;
+import com.solesonic.a2a.redis.RedisKeys;
+import com.solesonic.a2a.redis.RedisPushNotificationConfigStore;
+import com.solesonic.a2a.redis.RedisStreamPublisher;
+import org.a2aproject.sdk.server.ServerCallContext;
+import org.a2aproject.sdk.server.requesthandlers.RequestHandler;
+import org.a2aproject.sdk.spec.A2AError;
+import org.a2aproject.sdk.spec.CancelTaskParams;
+import org.a2aproject.sdk.spec.StreamingEventKind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cancels tasks nobody is waiting for. Every SSE stream of a task is counted in Redis, so streams on
+ * all nodes are seen. When a client disconnects from the last stream of an unfinished task that has
+ * no push notification config, no one can receive the result and the task is cancelled, which stops
+ * its graph run and frees the model.
+ * <p>
+ * Streams the server ends itself (completion, timeout, a client too slow to keep up) never cancel
+ * the task; the client is expected to pick it up again with SubscribeToTask.
+ */
+@Component
+public class AbandonedTaskCanceller {
+
+    private static final Logger log = LoggerFactory.getLogger(AbandonedTaskCanceller.class);
+
+    private static final String SUBSCRIBERS_KEY_PREFIX = "a2a:task-subscribers:";
+
+    // Outlives the longest SSE stream, so counts of a node that died do not linger
+    private static final Duration SUBSCRIBERS_TTL = Duration.ofHours(1);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisPushNotificationConfigStore configStore;
+
+    public AbandonedTaskCanceller(StringRedisTemplate stringRedisTemplate,
+                                  RedisPushNotificationConfigStore configStore) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.configStore = configStore;
+    }
+
+    /**
+     * Listener for one stream. The task id is taken from the stream's first event, because a new
+     * streaming message only gets its task once the request handler has created it.
+     */
+    public SseEventStreamer.StreamListener watch(RequestHandler requestHandler, ServerCallContext serverCallContext) {
+        return new Watch(requestHandler, serverCallContext);
+    }
+
+    private final class Watch implements SseEventStreamer.StreamListener {
+
+        private final RequestHandler requestHandler;
+        private final ServerCallContext serverCallContext;
+
+        private volatile String taskId;
+        private volatile boolean finalEventSeen;
+
+        Watch(RequestHandler requestHandler, ServerCallContext serverCallContext) {
+            this.requestHandler = requestHandler;
+            this.serverCallContext = serverCallContext;
+        }
+
+        @Override
+        public void onEvent(StreamingEventKind event) {
+            if (taskId == null) {
+                String eventTaskId = AsyncPushNotificationSender.taskId(event);
+                if (eventTaskId != null) {
+                    String key = RedisKeys.forTask(SUBSCRIBERS_KEY_PREFIX, eventTaskId);
+                    stringRedisTemplate.opsForValue().increment(key);
+                    stringRedisTemplate.expire(key, SUBSCRIBERS_TTL);
+                    taskId = eventTaskId;
+                }
+            }
+            if (RedisStreamPublisher.isFinal(event)) {
+                finalEventSeen = true;
+            }
+        }
+
+        @Override
+        public void onClosed(boolean clientGone) {
+            if (taskId == null) {
+                return;
+            }
+
+            String key = RedisKeys.forTask(SUBSCRIBERS_KEY_PREFIX, taskId);
+            Long remaining = stringRedisTemplate.opsForValue().decrement(key);
+            if (remaining == null || remaining <= 0) {
+                stringRedisTemplate.delete(key);
+            }
+
+            if (!clientGone || finalEventSeen || (remaining != null && remaining > 0)) {
+                return;
+            }
+            if (!configStore.getConfigs(taskId).isEmpty()) {
+                return;
+            }
+
+            log.info("Last subscriber disconnected, cancelling task: taskId={}", taskId);
+            try {
+                requestHandler.onCancelTask(new CancelTaskParams(taskId), serverCallContext);
+            } catch (A2AError a2aError) {
+                // The task finished or was cancelled in the meantime
+                log.debug("Abandoned task not cancelled: taskId={}, error={}", taskId, a2aError.getMessage());
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.solesonic.a2a.service;
 
+import com.solesonic.a2a.config.GrpcTransportProperties;
 import com.solesonic.a2a.model.AgentCardDefinition;
 import jakarta.annotation.PostConstruct;
 import org.a2aproject.sdk.spec.AgentCapabilities;
@@ -33,11 +34,13 @@ public class AgentCardService {
     private Resource[] agentConfigs;
 
     private final JsonMapper jsonMapper;
+    private final GrpcTransportProperties grpcTransportProperties;
 
     private Map<String, AgentCard> agentCardsById;
 
-    public AgentCardService(JsonMapper jsonMapper) {
+    public AgentCardService(JsonMapper jsonMapper, GrpcTransportProperties grpcTransportProperties) {
         this.jsonMapper = jsonMapper;
+        this.grpcTransportProperties = grpcTransportProperties;
     }
 
     @PostConstruct
@@ -112,7 +115,32 @@ public class AgentCardService {
                 .defaultInputModes(agentCardDefinition.defaultInputModes())
                 .defaultOutputModes(agentCardDefinition.defaultOutputModes())
                 .skills(skills)
-                .supportedInterfaces(List.of(new AgentInterface(TransportProtocol.JSONRPC.asString(), cardUri)))
+                .supportedInterfaces(supportedInterfaces(agentId, cardUri))
                 .build();
     }
+
+    /**
+     * JSON-RPC at the card URI and, when enabled, gRPC with the agent id as tenant, which is how the
+     * shared gRPC port tells the agents apart.
+     */
+    private List<AgentInterface> supportedInterfaces(String agentId, String cardUri) {
+        List<AgentInterface> interfaces = new ArrayList<>();
+        interfaces.add(new AgentInterface(TransportProtocol.JSONRPC.asString(), cardUri));
+
+        if (grpcTransportProperties.enabled()) {
+            interfaces.add(new AgentInterface(TransportProtocol.GRPC.asString(), grpcAddress(), agentId));
+        }
+
+        return List.copyOf(interfaces);
+    }
+
+    private String grpcAddress() {
+        String advertisedAddress = grpcTransportProperties.advertisedAddress();
+        if (advertisedAddress != null && !advertisedAddress.isBlank()) {
+            return advertisedAddress;
+        }
+
+        String host = UriComponentsBuilder.fromUriString(a2aBaseUri).build().getHost();
+        return host + ":" + grpcTransportProperties.port();
+    }
 }
@@ -0,0 +1,397 @@
+package com.solesonic.a2a.service;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.solesonic.a2a.config.SseStreamProperties;
+import com.solesonic.a2a.event.EncodedEvent;
+import com.solesonic.a2a.event.EncodedEventCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.a2aproject.sdk.jsonrpc.common.json.JsonUtil;
+import org.a2aproject.sdk.jsonrpc.common.wrappers.SendStreamingMessageResponse;
+import org.a2aproject.sdk.spec.Message;
+import org.a2aproject.sdk.spec.StreamingEventKind;
+import org.a2aproject.sdk.spec.Task;
+import org.a2aproject.sdk.spec.TaskStatusUpdateEvent;
+import org.a2aproject.sdk.spec.TextPart;
+import org.jspecify.annotations.NonNull;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.adapter.JdkFlowAdapter;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.solesonic.a2a.config.A2ARedisConfiguration.A2A_STREAMING_EXECUTOR;
+
+/**
+ * Writes A2A event publishers to SSE emitters on the dedicated streaming executor.
+ * <p>
+ * Each stream gets two virtual threads: one subscribes to the publisher (the SDK's ZeroPublisher runs
+ * its polling loop on the subscribing thread for the whole workflow) and one sends buffered events to
+ * the client. The buffer between them is bounded. When it fills up, a newer status update or task
+ * snapshot replaces the oldest one of the same kind. If nothing can be coalesced the client is too slow
+ * and its stream is ended with an error; it can pick the task up again with SubscribeToTask.
+ * Idle streams get a heartbeat comment so proxies do not close them.
+ * <p>
+ * Events that went through a Redis stream are sent with the entry id as their SSE event id, so a
+ * client that loses the connection can resubscribe with {@code Last-Event-ID} and receive only what
+ * it missed. Events read back from a Redis stream arrive as {@link EncodedEvent}s that already carry
+ * their id. Events straight from the SDK are looked up in the {@link EncodedEventCache} as they arrive
+ * and buffered together with that encoding, which receives its id once the Redis stream publisher has
+ * queued the event.
+ * <p>
+ * A {@link StreamListener} sees every event and learns how the stream ended; listeners are notified
+ * of the close on the streaming executor, so they may block.
+ */
+@Component
+public class SseEventStreamer {
+
+    private static final Logger log = LoggerFactory.getLogger(SseEventStreamer.class);
+
+    private static final long EMITTER_TIMEOUT_MILLIS = 300_000L;
+    private static final String HEARTBEAT_COMMENT = "heartbeat";
+
+    private final Executor streamingExecutor;
+    private final SseStreamProperties properties;
+    private final EncodedEventCache encodedEventCache;
+
+    private final Set<StreamSession> activeStreams = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger bufferedEvents = new AtomicInteger();
+
+    private final Timer sendTimer;
+    private final Counter coalescedCounter;
+    private final Counter slowClientCounter;
+    private final Counter heartbeatCounter;
+
+    public SseEventStreamer(@Qualifier(A2A_STREAMING_EXECUTOR) Executor streamingExecutor,
+                            SseStreamProperties properties,
+                            EncodedEventCache encodedEventCache,
+                            MeterRegistry meterRegistry) {
+        this.streamingExecutor = streamingExecutor;
+        this.properties = properties;
+        this.encodedEventCache = encodedEventCache;
+
+        Gauge.builder("a2a.sse.streams.active", activeStreams, Set::size)
+                .description("Open A2A SSE streams")
+                .register(meterRegistry);
+        Gauge.builder("a2a.sse.buffer.occupancy", bufferedEvents, AtomicInteger::get)
+                .description("Events buffered across all A2A SSE streams waiting to be sent")
+                .register(meterRegistry);
+
+        this.sendTimer = Timer.builder("a2a.sse.send.latency")
+                .description("Time to write one event to an SSE client")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("a2a.sse.coalesced")
+                .description("Buffered events replaced by a newer event of the same kind")
+                .register(meterRegistry);
+        this.slowClientCounter = Counter.builder("a2a.sse.slow-clients")
+                .description("Streams ended because the client could not keep up")
+                .register(meterRegistry);
+        this.heartbeatCounter = Counter.builder("a2a.sse.heartbeats")
+                .description("Heartbeat comments sent to idle streams")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter stream(Object id, Flow.Publisher<StreamingEventKind> eventKindPublisher, StreamListener listener) {
+        return stream(id, JdkFlowAdapter.flowPublisherToFlux(eventKindPublisher).map(encodedEventCache::encode), listener);
+    }
+
+    /**
+     * Streams events that are already encoded, such as those read back from a Redis stream.
+     */
+    public SseEmitter streamEncoded(Object id, Flow.Publisher<EncodedEvent> encodedEventPublisher, StreamListener listener) {
+        return stream(id, JdkFlowAdapter.flowPublisherToFlux(encodedEventPublisher), listener);
+    }
+
+    private SseEmitter stream(Object id, Flux<EncodedEvent> events, StreamListener listener) {
+        SseEmitter sseEmitter = new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+        StreamSession session = new StreamSession(id, sseEmitter, listener);
+
+        activeStreams.add(session);
+        sseEmitter.onCompletion(() -> session.close(false));
+        sseEmitter.onTimeout(() -> session.close(false));
+        sseEmitter.onError(_ -> session.close(true));
+
+        streamingExecutor.execute(session::sendLoop);
+        streamingExecutor.execute(() -> events.subscribe(session.subscriber));
+
+        return sseEmitter;
+    }
+
+    /**
+     * Observes one stream.
+     */
+    public interface StreamListener {
+
+        StreamListener NONE = new StreamListener() {
+        };
+
+        /**
+         * Called on the subscribing thread for every event the publisher emits, before it is buffered.
+         */
+        default void onEvent(StreamingEventKind event) {
+        }
+
+        /**
+         * Called once when the stream ends. {@code clientGone} is true when the client disconnected or
+         * could no longer be written to, and false when the server ended the stream.
+         */
+        default void onClosed(boolean clientGone) {
+        }
+    }
+
+    /**
+     * Whether {@code newer} makes {@code older} redundant, so the older event can be dropped when the
+     * buffer is full. Final status updates are never dropped.
+     */
+    static boolean supersedes(StreamingEventKind newer, StreamingEventKind older) {
+        return switch (newer) {
+            case TaskStatusUpdateEvent _ when older instanceof TaskStatusUpdateEvent olderStatus ->
+                    !olderStatus.status().state().isFinal();
+            case Task _ -> older instanceof Task;
+            default -> false;
+        };
+    }
+
+    /**
+     * JSON-RPC response frame for one stream. The envelope is what the SDK writes for a
+     * {@link SendStreamingMessageResponse} with this stream's id, split around its result member; each
+     * event's shared {@link EncodedEvent#streamingResult()} bytes are copied in between, so no event is
+     * serialized for the stream it is sent on.
+     */
+    record JsonRpcFrame(byte[] prefix, byte[] suffix) {
+
+        private static final JsonPrimitive RESULT_PLACEHOLDER = new JsonPrimitive("a2a-result-placeholder");
+
+        // Only shapes the envelope; its result member is replaced by the placeholder
+        private static final Message TEMPLATE_EVENT = Message.builder()
+                .role(Message.Role.ROLE_AGENT)
+                .parts(new TextPart(""))
+                .build();
+
+        static JsonRpcFrame of(Object id) {
+            JsonObject envelope = JsonUtil.OBJECT_MAPPER.toJsonTree(new SendStreamingMessageResponse(id, TEMPLATE_EVENT)).getAsJsonObject();
+            envelope.add(EncodedEvent.RESULT_MEMBER, RESULT_PLACEHOLDER);
+
+            String template = JsonUtil.OBJECT_MAPPER.toJson(envelope);
+            String placeholder = JsonUtil.OBJECT_MAPPER.toJson(RESULT_PLACEHOLDER);
+            int split = template.indexOf(placeholder);
+            return new JsonRpcFrame(
+                    template.substring(0, split).getBytes(StandardCharsets.UTF_8),
+                    template.substring(split + placeholder.length()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        byte[] render(byte[] result) {
+            byte[] frame = new byte[prefix.length + result.length + suffix.length];
+            System.arraycopy(prefix, 0, frame, 0, prefix.length);
+            System.arraycopy(result, 0, frame, prefix.length, result.length);
+            System.arraycopy(suffix, 0, frame, prefix.length + result.length, suffix.length);
+            return frame;
+        }
+    }
+
+    private final class StreamSession {
+
+        private final Object id;
+        private final JsonRpcFrame frame;
+        private final SseEmitter sseEmitter;
+        private final StreamListener listener;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final ArrayDeque<EncodedEvent> buffer = new ArrayDeque<>();
+
+        private final BaseSubscriber<EncodedEvent> subscriber = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(@NonNull Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            protected void hookOnNext(@NonNull EncodedEvent event) {
+                listener.onEvent((StreamingEventKind) event.event());
+                offer(event);
+            }
+
+            @Override
+            protected void hookOnError(@NonNull Throwable throwable) {
+                finish(throwable);
+            }
+
+            @Override
+            protected void hookOnComplete() {
+                finish(null);
+            }
+        };
+
+        private boolean finished;
+        private boolean closed;
+        private boolean overflowed;
+        private Throwable failure;
+
+        StreamSession(Object id, SseEmitter sseEmitter, StreamListener listener) {
+            this.id = id;
+            this.frame = JsonRpcFrame.of(id);
+            this.sseEmitter = sseEmitter;
+            this.listener = listener;
+        }
+
+        void offer(EncodedEvent event) {
+            lock.lock();
+            try {
+                if (finished || closed) {
+                    return;
+                }
+
+                if (buffer.size() >= properties.bufferCapacity() && !coalesce(event)) {
+                    overflowed = true;
+                    finished = true;
+                    bufferedEvents.addAndGet(-buffer.size());
+                    buffer.clear();
+                    subscriber.dispose();
+                    slowClientCounter.increment();
+                    log.warn("SSE client too slow, ending stream: id={}", id);
+                } else {
+                    buffer.addLast(event);
+                    bufferedEvents.incrementAndGet();
+                }
+                changed.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean coalesce(EncodedEvent event) {
+            Iterator<EncodedEvent> iterator = buffer.iterator();
+            while (iterator.hasNext()) {
+                if (supersedes((StreamingEventKind) event.event(), (StreamingEventKind) iterator.next().event())) {
+                    iterator.remove();
+                    bufferedEvents.decrementAndGet();
+                    coalescedCounter.increment();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void finish(Throwable throwable) {
+            lock.lock();
+            try {
+                if (!finished) {
+                    finished = true;
+                    failure = throwable;
+                }
+                changed.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close(boolean clientGone) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                bufferedEvents.addAndGet(-buffer.size());
+                buffer.clear();
+                changed.signal();
+            } finally {
+                lock.unlock();
+            }
+
+            subscriber.dispose();
+            activeStreams.remove(this);
+            streamingExecutor.execute(() -> listener.onClosed(clientGone));
+        }
+
+        void sendLoop() {
+            long heartbeatNanos = properties.heartbeatInterval().toNanos();
+
+            try {
+                while (true) {
+                    EncodedEvent event;
+
+                    lock.lock();
+                    try {
+                        long waitNanos = heartbeatNanos;
+                        while (buffer.isEmpty() && !finished && !closed && waitNanos > 0) {
+                            waitNanos = changed.awaitNanos(waitNanos);
+                        }
+
+                        if (closed) {
+                            return;
+                        }
+
+                        event = buffer.pollFirst();
+                        if (event != null) {
+                            bufferedEvents.decrementAndGet();
+                        } else if (finished) {
+                            break;
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
+
+                    if (event == null) {
+                        sseEmitter.send(SseEmitter.event().comment(HEARTBEAT_COMMENT));
+                        heartbeatCounter.increment();
+                    } else {
+                        send(event);
+                    }
+                }
+
+                completeEmitter();
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                close(false);
+            } catch (Exception sendError) {
+                close(true);
+                sseEmitter.completeWithError(sendError);
+            }
+        }
+
+        private void send(EncodedEvent encodedEvent) throws Exception {
+            byte[] streamingResponse = frame.render(encodedEvent.streamingResult());
+
+            SseEmitter.SseEventBuilder sseEvent = SseEmitter.event();
+            if (encodedEvent.streamId() != null) {
+                sseEvent.id(encodedEvent.streamId());
+            }
+
+            long start = System.nanoTime();
+            sseEmitter.send(sseEvent.data(streamingResponse, MediaType.APPLICATION_JSON));
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        private void completeEmitter() {
+            if (overflowed) {
+                sseEmitter.completeWithError(new IllegalStateException("SSE client could not keep up with the event stream"));
+            } else if (failure != null) {
+                sseEmitter.completeWithError(failure);
+            } else {
+                sseEmitter.complete();
+            }
+        }
+    }
+}
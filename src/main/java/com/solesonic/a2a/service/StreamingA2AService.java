@@ -2,6 +2,7 @@ package com.solesonic.a2a.service;
 
 import com.solesonic.a2a.config.AgentRequestHandlerRegistry;
 import com.solesonic.a2a.config.ServerCallContextFactory;
+import com.solesonic.a2a.redis.RedisStreamSubscriber;
 import org.a2aproject.sdk.jsonrpc.common.json.JsonUtil;
 import org.a2aproject.sdk.jsonrpc.common.wrappers.SendStreamingMessageRequest;
 import org.a2aproject.sdk.jsonrpc.common.wrappers.SendStreamingMessageResponse;
@@ -11,17 +12,13 @@ import org.a2aproject.sdk.server.requesthandlers.RequestHandler;
 import org.a2aproject.sdk.spec.A2AError;
 import org.a2aproject.sdk.spec.InternalError;
 import org.a2aproject.sdk.spec.InvalidParamsError;
-import org.a2aproject.sdk.spec.StreamingEventKind;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
-import reactor.adapter.JdkFlowAdapter;
 
 import java.util.concurrent.Callable;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Flow;
 
 @Service
 public class StreamingA2AService {
@@ -33,35 +30,51 @@ public class StreamingA2AService {
 
     private final AgentRequestHandlerRegistry agentRequestHandlerRegistry;
     private final ServerCallContextFactory serverCallContextFactory;
+    private final RedisStreamSubscriber redisStreamSubscriber;
+    private final SseEventStreamer sseEventStreamer;
+    private final AbandonedTaskCanceller abandonedTaskCanceller;
 
     public StreamingA2AService(AgentRequestHandlerRegistry agentRequestHandlerRegistry,
-                               ServerCallContextFactory serverCallContextFactory) {
+                               ServerCallContextFactory serverCallContextFactory,
+                               RedisStreamSubscriber redisStreamSubscriber,
+                               SseEventStreamer sseEventStreamer,
+                               AbandonedTaskCanceller abandonedTaskCanceller) {
         this.agentRequestHandlerRegistry = agentRequestHandlerRegistry;
         this.serverCallContextFactory = serverCallContextFactory;
+        this.redisStreamSubscriber = redisStreamSubscriber;
+        this.sseEventStreamer = sseEventStreamer;
+        this.abandonedTaskCanceller = abandonedTaskCanceller;
     }
 
     public SseEmitter stream(String agentId, SendStreamingMessageRequest sendStreamingMessageRequest) {
         RequestHandler requestHandler = agentRequestHandlerRegistry.getHandler(agentId);
         ServerCallContext serverCallContext = serverCallContextFactory.create();
 
-        return executeStreamRpc(sendStreamingMessageRequest.getId(), MESSAGE_STREAM,
-                () -> requestHandler.onMessageSendStream(sendStreamingMessageRequest.getParams(), serverCallContext));
+        Object id = sendStreamingMessageRequest.getId();
+        SseEventStreamer.StreamListener listener = abandonedTaskCanceller.watch(requestHandler, serverCallContext);
+        return executeStreamRpc(id, MESSAGE_STREAM, () -> sseEventStreamer.stream(id,
+                requestHandler.onMessageSendStream(sendStreamingMessageRequest.getParams(), serverCallContext), listener));
     }
 
-    public SseEmitter resubscribe(String agentId, SubscribeToTaskRequest subscribeToTaskRequest) {
+    /**
+     * Streams a task's events from its Redis stream rather than the in-memory queue, so the task
+     * does not have to be running on this node. With a {@code lastEventId} only the events after that
+     * SSE event id are sent.
+     */
+    public SseEmitter resubscribe(String agentId, SubscribeToTaskRequest subscribeToTaskRequest, String lastEventId) {
+        // Resolves the agent so unknown agents still fail the same way as the other methods
         RequestHandler requestHandler = agentRequestHandlerRegistry.getHandler(agentId);
         ServerCallContext serverCallContext = serverCallContextFactory.create();
 
-        return executeStreamRpc(subscribeToTaskRequest.getId(), TASKS_RESUBSCRIBE,
-                () -> requestHandler.onSubscribeToTask(subscribeToTaskRequest.getParams(), serverCallContext));
+        Object id = subscribeToTaskRequest.getId();
+        SseEventStreamer.StreamListener listener = abandonedTaskCanceller.watch(requestHandler, serverCallContext);
+        return executeStreamRpc(id, TASKS_RESUBSCRIBE, () -> sseEventStreamer.streamEncoded(id,
+                redisStreamSubscriber.subscribe(subscribeToTaskRequest.getParams().id(), lastEventId), listener));
     }
 
-    private SseEmitter executeStreamRpc(
-            Object id,
-            String methodName,
-            Callable<Flow.Publisher<StreamingEventKind>> publisherCallable) {
+    private SseEmitter executeStreamRpc(Object id, String methodName, Callable<SseEmitter> streamCallable) {
         try {
-            return streamFromPublisher(id, publisherCallable.call());
+            return streamCallable.call();
         } catch (A2AError a2aError) {
             return sseError(id, a2aError);
         } catch (IllegalArgumentException invalidParams) {
@@ -72,36 +85,6 @@ public class StreamingA2AService {
         }
     }
 
-    private SseEmitter streamFromPublisher(Object id, Flow.Publisher<StreamingEventKind> eventKindPublisher) {
-        SseEmitter sseEmitter = new SseEmitter(300_000L);
-
-        // EventConsumer's ZeroPublisher runs its polling loop synchronously on the subscribing
-        // thread. Subscribing on a background thread lets Spring commit the SSE response headers
-        // immediately, so each emitter.send() flushes to the client as events arrive rather than
-        // buffering until the workflow completes.
-        CompletableFuture.runAsync(() ->
-            JdkFlowAdapter.flowPublisherToFlux(eventKindPublisher)
-                    .subscribe(
-                            streamingEventKind -> {
-                            try {
-                                SendStreamingMessageResponse sendStreamingMessageResponse = new SendStreamingMessageResponse(id, streamingEventKind);
-
-                                String streamingResponse = JsonUtil.toJson(sendStreamingMessageResponse);
-
-                                sseEmitter.send(SseEmitter.event()
-                                        .data(streamingResponse, MediaType.APPLICATION_JSON));
-                            } catch (Exception sendError) {
-                                sseEmitter.completeWithError(sendError);
-                            }
-                        },
-                        sseEmitter::completeWithError,
-                        sseEmitter::complete
-                    )
-        );
-
-        return sseEmitter;
-    }
-
     public SseEmitter sseError(Object id, A2AError a2aError) {
         SseEmitter sseEmitter = new SseEmitter(0L);
 
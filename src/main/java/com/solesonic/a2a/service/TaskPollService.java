@@ -0,0 +1,167 @@
+package com.solesonic.a2a.service;
+
+import com.solesonic.a2a.config.AgentRequestHandlerRegistry;
+import com.solesonic.a2a.config.TaskPollProperties;
+import com.solesonic.a2a.redis.BulkTaskStore;
+import com.solesonic.a2a.redis.TaskChangeNotifier;
+import org.a2aproject.sdk.jsonrpc.common.wrappers.GetTaskRequest;
+import org.a2aproject.sdk.jsonrpc.common.wrappers.GetTaskResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static com.solesonic.a2a.config.AgentRequestHandlerRegistry.A2A_EXECUTOR;
+
+/**
+ * Conditional and long-polling GetTask. Responses carry the task's version as their ETag. A request
+ * whose {@code If-None-Match} names the current version gets a bodiless 304, read with one HGET instead
+ * of loading the task. With {@code Prefer: wait=<seconds>} the 304 is held back until the task is next
+ * written or the wait runs out; the request is parked as a {@link DeferredResult} and holds no thread
+ * while it waits.
+ */
+@Service
+public class TaskPollService {
+
+    private static final String WAIT_PREFERENCE = "wait=";
+
+    private final TaskService taskService;
+    private final AgentRequestHandlerRegistry agentRequestHandlerRegistry;
+    private final BulkTaskStore taskStore;
+    private final TaskChangeNotifier changeNotifier;
+    private final Executor a2aExecutor;
+    private final TaskPollProperties properties;
+
+    public TaskPollService(TaskService taskService,
+                           AgentRequestHandlerRegistry agentRequestHandlerRegistry,
+                           BulkTaskStore taskStore,
+                           TaskChangeNotifier changeNotifier,
+                           @Qualifier(A2A_EXECUTOR) Executor a2aExecutor,
+                           TaskPollProperties properties) {
+        this.taskService = taskService;
+        this.agentRequestHandlerRegistry = agentRequestHandlerRegistry;
+        this.taskStore = taskStore;
+        this.changeNotifier = changeNotifier;
+        this.a2aExecutor = a2aExecutor;
+        this.properties = properties;
+    }
+
+    public DeferredResult<ResponseEntity<GetTaskResponse>> getTask(String agentId,
+                                                                   GetTaskRequest request,
+                                                                   String ifNoneMatch,
+                                                                   String prefer) {
+        // Resolves the agent first so unknown agents fail before any Redis access
+        agentRequestHandlerRegistry.getHandler(agentId);
+
+        String taskId = request.getParams().id();
+        Long knownVersion = parseETag(ifNoneMatch);
+        Duration wait = parseWait(prefer, properties.maxWait());
+
+        // Registered before the version is read, so a write in between still wakes the request
+        CompletableFuture<Void> change = knownVersion != null && wait.isPositive()
+                ? changeNotifier.nextChange(taskId)
+                : null;
+        long version = taskStore.version(taskId);
+
+        if (knownVersion == null || version == 0 || version != knownVersion) {
+            cancel(taskId, change);
+            return completed(currentTask(agentId, request, version));
+        }
+
+        if (change == null || taskStore.isTaskFinalized(taskId)) {
+            cancel(taskId, change);
+            return completed(notModified(version));
+        }
+
+        DeferredResult<ResponseEntity<GetTaskResponse>> deferredResult =
+                new DeferredResult<>(wait.toMillis(), () -> notModified(version));
+        deferredResult.onCompletion(() -> changeNotifier.cancel(taskId, change));
+        change.thenRunAsync(() -> deferredResult.setResult(
+                currentTask(agentId, request, taskStore.version(taskId))), a2aExecutor);
+        return deferredResult;
+    }
+
+    private ResponseEntity<GetTaskResponse> currentTask(String agentId, GetTaskRequest request, long version) {
+        ResponseEntity<GetTaskResponse> response = taskService.getTask(agentId, request);
+        if (version == 0 || response.getBody() == null || response.getBody().getError() != null) {
+            return response;
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .eTag(eTag(version))
+                .body(response.getBody());
+    }
+
+    private void cancel(String taskId, CompletableFuture<Void> change) {
+        if (change != null) {
+            changeNotifier.cancel(taskId, change);
+        }
+    }
+
+    private static ResponseEntity<GetTaskResponse> notModified(long version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag(version))
+                .build();
+    }
+
+    private static DeferredResult<ResponseEntity<GetTaskResponse>> completed(ResponseEntity<GetTaskResponse> response) {
+        DeferredResult<ResponseEntity<GetTaskResponse>> deferredResult = new DeferredResult<>();
+        deferredResult.setResult(response);
+        return deferredResult;
+    }
+
+    static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * The version named by an {@code If-None-Match} header, or {@code null} if it names none.
+     */
+    static Long parseETag(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+
+        String value = ifNoneMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            return null;
+        }
+
+        try {
+            return Long.parseLong(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException invalid) {
+            return null;
+        }
+    }
+
+    /**
+     * The {@code wait} preference of a {@code Prefer} header (RFC 7240) capped at {@code maxWait}, or
+     * zero if there is none.
+     */
+    static Duration parseWait(String prefer, Duration maxWait) {
+        if (prefer == null) {
+            return Duration.ZERO;
+        }
+
+        for (String preference : prefer.split("[,;]")) {
+            String token = preference.trim();
+            if (token.regionMatches(true, 0, WAIT_PREFERENCE, 0, WAIT_PREFERENCE.length())) {
+                try {
+                    Duration wait = Duration.ofSeconds(Long.parseLong(token.substring(WAIT_PREFERENCE.length()).trim()));
+                    return wait.isNegative() ? Duration.ZERO : (wait.compareTo(maxWait) > 0 ? maxWait : wait);
+                } catch (NumberFormatException invalid) {
+                    return Duration.ZERO;
+                }
+            }
+        }
+        return Duration.ZERO;
+    }
+}
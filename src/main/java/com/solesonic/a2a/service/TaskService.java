@@ -8,15 +8,25 @@ import org.a2aproject.sdk.server.requesthandlers.RequestHandler;
 import org.a2aproject.sdk.spec.A2AError;
 import org.a2aproject.sdk.spec.InternalError;
 import org.a2aproject.sdk.spec.InvalidParamsError;
+import org.a2aproject.sdk.spec.Task;
+import org.a2aproject.sdk.spec.TaskQueryParams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.time.Duration;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
+import static com.solesonic.a2a.config.AgentRequestHandlerRegistry.A2A_EXECUTOR;
+
 @Service
 public class TaskService {
 
@@ -28,16 +38,75 @@ public class TaskService {
 
     private final AgentRequestHandlerRegistry agentRequestHandlerRegistry;
     private final ServerCallContextFactory serverCallContextFactory;
+    private final Executor a2aExecutor;
+    private final Duration asyncRequestTimeout;
 
     public TaskService(AgentRequestHandlerRegistry agentRequestHandlerRegistry,
-                       ServerCallContextFactory serverCallContextFactory) {
+                       ServerCallContextFactory serverCallContextFactory,
+                       @Qualifier(A2A_EXECUTOR) Executor a2aExecutor,
+                       @Value("${spring.mvc.async.request-timeout}") Duration asyncRequestTimeout) {
         this.agentRequestHandlerRegistry = agentRequestHandlerRegistry;
         this.serverCallContextFactory = serverCallContextFactory;
+        this.a2aExecutor = a2aExecutor;
+        this.asyncRequestTimeout = asyncRequestTimeout;
     }
 
-    public ResponseEntity<SendMessageResponse> send(String agentId, SendMessageRequest request) {
+    /**
+     * SendMessage without holding the servlet thread. A blocking send waits for the whole workflow, so
+     * it runs on a virtual thread of the agent executor and the response is written through async
+     * servlet processing once the agent finishes. A send still running when the async request times
+     * out is answered with the task as it stands, as a non-blocking send would be; the task keeps
+     * running and can be fetched with GetTask.
+     */
+    public DeferredResult<ResponseEntity<SendMessageResponse>> sendAsync(String agentId, SendMessageRequest request) {
+        // Resolved on the request thread: the call context is built from its security context
         RequestHandler requestHandler = agentRequestHandlerRegistry.getHandler(agentId);
         ServerCallContext context = serverCallContextFactory.create();
+
+        DeferredResult<ResponseEntity<SendMessageResponse>> deferredResult = new DeferredResult<>(
+                asyncRequestTimeout.toMillis(),
+                () -> timeoutResponse(requestHandler, context, request));
+
+        CompletableFuture.supplyAsync(() -> send(requestHandler, context, request), a2aExecutor)
+                .whenComplete((response, failure) -> {
+                    if (failure != null) {
+                        log.error("Unexpected error handling {}: id={}", MESSAGE_SEND, request.getId(), failure);
+                        deferredResult.setResult(jsonResponse(new SendMessageResponse(request.getId(), new InternalError("Internal error"))));
+                    } else {
+                        deferredResult.setResult(response);
+                    }
+                });
+
+        return deferredResult;
+    }
+
+    /**
+     * The task the timed-out send created, read back from the task store; an error only when the agent
+     * had not been handed a task yet or it can no longer be read.
+     */
+    ResponseEntity<SendMessageResponse> timeoutResponse(RequestHandler requestHandler,
+                                                        ServerCallContext context,
+                                                        SendMessageRequest request) {
+        Object taskId = context.getState().get(ServerCallContextFactory.TASK_ID_STATE);
+        if (taskId instanceof String id) {
+            try {
+                Task task = requestHandler.onGetTask(new TaskQueryParams(id), context);
+                if (task != null) {
+                    return jsonResponse(new SendMessageResponse(request.getId(), task));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not read task {} for timed-out {}: id={}", id, MESSAGE_SEND, request.getId(), e);
+            }
+            return jsonResponse(new SendMessageResponse(request.getId(), new InternalError(
+                    "Timed out waiting for the agent; task " + id + " continues and can be fetched with GetTask")));
+        }
+        return jsonResponse(new SendMessageResponse(request.getId(),
+                new InternalError("Timed out waiting for the agent before it started the task")));
+    }
+
+    private ResponseEntity<SendMessageResponse> send(RequestHandler requestHandler,
+                                                     ServerCallContext context,
+                                                     SendMessageRequest request) {
         return executeRpc(request.getId(), MESSAGE_SEND,
                 () -> new SendMessageResponse(request.getId(), requestHandler.onMessageSend(request.getParams(), context)),
                 error -> new SendMessageResponse(request.getId(), error));
@@ -1,16 +1,20 @@
 package com.solesonic.agent.agile;
 
+import com.solesonic.a2a.config.GraphCheckpointConfiguration;
 import com.solesonic.agent.agile.node.AssessOperationScopeNode;
 import com.solesonic.agent.agile.node.ListBoardsNode;
 import com.solesonic.agent.agile.node.ParseAgileIntentNode;
+import org.bsc.langgraph4j.CompileConfig;
 import org.bsc.langgraph4j.CompiledGraph;
 import org.bsc.langgraph4j.GraphStateException;
 import org.bsc.langgraph4j.StateGraph;
 import org.bsc.langgraph4j.action.AsyncNodeActionWithConfig;
+import org.bsc.langgraph4j.checkpoint.BaseCheckpointSaver;
 // ParallelNode is an internal langgraph4j class. The public edge-based parallel API
 // (addParallelNodeExecutor) does not support conditional edges on the parallel node,
 // which this graph requires. There is no public equivalent for this pattern.
 import org.bsc.langgraph4j.internal.node.ParallelNode;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -33,7 +37,8 @@ public class AgileGraph {
     public CompiledGraph<AgileState> agileResearchGraph(
             ParseAgileIntentNode parseAgileIntentNode,
             ListBoardsNode listBoardsNode,
-            AssessOperationScopeNode assessOperationScopeNode
+            AssessOperationScopeNode assessOperationScopeNode,
+            @Qualifier(GraphCheckpointConfiguration.AGILE_CHECKPOINT_SAVER) BaseCheckpointSaver agileCheckpointSaver
     ) throws GraphStateException {
 
         List<AsyncNodeActionWithConfig<AgileState>> parallelActions = List.of(
@@ -56,7 +61,10 @@ public class AgileGraph {
                         ))
 
                 .addEdge(ASSESS_SCOPE, END)
-                .compile();
+                .compile(CompileConfig.builder()
+                        .checkpointSaver(agileCheckpointSaver)
+                        .releaseThread(true)
+                        .build());
     }
 
     private static String routeByQueryType(AgileState state) {
@@ -0,0 +1,57 @@
+package com.solesonic.agent.cancellation;
+
+import com.solesonic.agent.research.ResearchContext;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.action.AsyncNodeAction;
+import org.bsc.langgraph4j.action.AsyncNodeActionWithConfig;
+import org.bsc.langgraph4j.state.AgentState;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Node wrapper that observes the run's {@link CancellationToken}. A cancelled run fails before the node
+ * starts, and the result of a node that finishes after cancellation is discarded, so the graph stops at
+ * the next node boundary instead of running to the end.
+ * <p>
+ * While the node runs, the run's token and its {@link ResearchContext} are current on the calling thread.
+ */
+public final class CancellableNodeAction<S extends AgentState> implements AsyncNodeActionWithConfig<S> {
+
+    private final AsyncNodeActionWithConfig<S> delegate;
+
+    private CancellableNodeAction(AsyncNodeActionWithConfig<S> delegate) {
+        this.delegate = delegate;
+    }
+
+    public static <S extends AgentState> CancellableNodeAction<S> cancellable(AsyncNodeActionWithConfig<S> action) {
+        return new CancellableNodeAction<>(action);
+    }
+
+    public static <S extends AgentState> CancellableNodeAction<S> cancellable(AsyncNodeAction<S> action) {
+        return new CancellableNodeAction<>(AsyncNodeActionWithConfig.of(action));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> apply(S state, RunnableConfig config) {
+        CancellationToken token = CancellationToken.from(config);
+        ResearchContext researchContext = ResearchContext.from(config);
+        if (token.isCancelled()) {
+            return CompletableFuture.failedFuture(new CancellationException("Task cancelled"));
+        }
+
+        CompletableFuture<Map<String, Object>> result;
+        try {
+            result = ScopedValue.where(CancellationToken.CURRENT, token)
+                    .call(() -> researchContext.callAsCurrent(() -> delegate.apply(state, config)));
+        } catch (Exception exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+
+        return result.thenApply(updates -> {
+            token.throwIfCancelled();
+            return updates;
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package com.solesonic.agent.cancellation;
+
+import org.bsc.langgraph4j.RunnableConfig;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
+
+/**
+ * Signals that a graph run should stop. The token travels in the {@link RunnableConfig} metadata under
+ * {@link #CONFIG_KEY}; nodes wrapped with {@link CancellableNodeAction} fail fast once it is cancelled,
+ * and LLM streams and WebClient calls bound to it are disposed, which closes their HTTP connections.
+ * <p>
+ * While a wrapped node runs, its token is also available through {@link #current()}, so services that
+ * are called from the node can bind their calls without receiving the config.
+ */
+public final class CancellationToken {
+
+    public static final String CONFIG_KEY = "cancellationToken";
+
+    static final ScopedValue<CancellationToken> CURRENT = ScopedValue.newInstance();
+
+    private static final CancellationToken NONE = new CancellationToken();
+
+    private final Sinks.One<Object> cancelled = Sinks.one();
+    private volatile boolean cancelRequested;
+
+    private CancellationToken() {
+    }
+
+    public static CancellationToken create() {
+        return new CancellationToken();
+    }
+
+    /**
+     * A token that is never cancelled.
+     */
+    public static CancellationToken none() {
+        return NONE;
+    }
+
+    public static CancellationToken from(RunnableConfig config) {
+        return config.metadata(CONFIG_KEY)
+                .map(CancellationToken.class::cast)
+                .orElse(NONE);
+    }
+
+    /**
+     * The token of the node running on this thread, or {@link #none()} outside of a node.
+     */
+    public static CancellationToken current() {
+        return CURRENT.isBound() ? CURRENT.get() : NONE;
+    }
+
+    public void cancel() {
+        if (this == NONE) {
+            return;
+        }
+        cancelRequested = true;
+        cancelled.tryEmitError(new CancellationException("Task cancelled"));
+    }
+
+    public boolean isCancelled() {
+        return cancelRequested;
+    }
+
+    public void throwIfCancelled() {
+        if (cancelRequested) {
+            throw new CancellationException("Task cancelled");
+        }
+    }
+
+    /**
+     * Ends the flux with a {@link CancellationException} and cancels its upstream subscription when
+     * the token is cancelled. It never completes normally once the token is cancelled, so subscribers
+     * cannot mistake a cut-off stream for a finished one.
+     */
+    public <T> Flux<T> bind(Flux<T> flux) {
+        return this == NONE ? flux : flux.takeUntilOther(cancelled.asMono())
+                .concatWith(Mono.fromRunnable(this::throwIfCancelled));
+    }
+
+    public <T> Mono<T> bind(Mono<T> mono) {
+        return this == NONE ? mono : mono.takeUntilOther(cancelled.asMono());
+    }
+
+    /**
+     * Runs {@code action} with this token as {@link #current()}, for work a node hands to another thread.
+     */
+    public <T> T callAsCurrent(Supplier<T> action) {
+        return ScopedValue.where(CURRENT, this).call(action::get);
+    }
+
+    /**
+     * Binds a call made by a service to the token of the node that is running it.
+     */
+    public static <T> Mono<T> bindCurrent(Mono<T> mono) {
+        return current().bind(mono);
+    }
+}
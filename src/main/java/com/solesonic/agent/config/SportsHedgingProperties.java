@@ -0,0 +1,20 @@
+package com.solesonic.agent.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for lookups that fall back through several source tiers, such as the current schedule.
+ *
+ * @param enabled    whether a slow tier gets the next tier started alongside it; when disabled the tiers run
+ *                   strictly one after another
+ * @param tierBudget time a tier may take before the next tier starts speculatively
+ */
+@ConfigurationProperties(prefix = "solesonic.sports.hedging")
+public record SportsHedgingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1500ms") Duration tierBudget
+) {
+}
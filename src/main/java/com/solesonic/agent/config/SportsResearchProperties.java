@@ -0,0 +1,21 @@
+package com.solesonic.agent.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the research queries the sports nodes run concurrently.
+ *
+ * @param maxConcurrent           research queries in flight on this node across all requests
+ * @param maxConcurrentPerRequest research queries one node of one request runs at a time
+ * @param queryTimeout            time a single query may take once it runs; a slower query is abandoned
+ */
+@ConfigurationProperties(prefix = "solesonic.sports.research")
+public record SportsResearchProperties(
+        @DefaultValue("16") int maxConcurrent,
+        @DefaultValue("4") int maxConcurrentPerRequest,
+        @DefaultValue("20s") Duration queryTimeout
+) {
+}
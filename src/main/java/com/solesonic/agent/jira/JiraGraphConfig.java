@@ -1,13 +1,17 @@
 package com.solesonic.agent.jira;
 
+import com.solesonic.a2a.config.GraphCheckpointConfiguration;
 import com.solesonic.agent.jira.node.AssembleJiraPayloadNode;
 import com.solesonic.agent.jira.node.GenerateAcceptanceCriteriaNode;
 import com.solesonic.agent.jira.node.GenerateDetailedDescriptionNode;
 import com.solesonic.agent.jira.node.GenerateStorySummaryNode;
 import com.solesonic.agent.jira.node.ResolveAssigneeNode;
+import org.bsc.langgraph4j.CompileConfig;
 import org.bsc.langgraph4j.CompiledGraph;
 import org.bsc.langgraph4j.GraphStateException;
 import org.bsc.langgraph4j.StateGraph;
+import org.bsc.langgraph4j.checkpoint.BaseCheckpointSaver;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -29,7 +33,8 @@ public class JiraGraphConfig {
             GenerateStorySummaryNode generateStorySummaryNode,
             GenerateAcceptanceCriteriaNode generateAcceptanceCriteriaNode,
             ResolveAssigneeNode resolveAssigneeNode,
-            AssembleJiraPayloadNode assembleJiraPayloadNode
+            AssembleJiraPayloadNode assembleJiraPayloadNode,
+            @Qualifier(GraphCheckpointConfiguration.JIRA_CHECKPOINT_SAVER) BaseCheckpointSaver jiraCheckpointSaver
     ) throws GraphStateException {
 
         return new StateGraph<>(JiraState::new)
@@ -46,6 +51,9 @@ public class JiraGraphConfig {
                 .addEdge(RESOLVE_ASSIGNEE, ASSEMBLE_PAYLOAD)
                 .addEdge(ASSEMBLE_PAYLOAD, END)
 
-                .compile();
+                .compile(CompileConfig.builder()
+                        .checkpointSaver(jiraCheckpointSaver)
+                        .releaseThread(true)
+                        .build());
     }
 }
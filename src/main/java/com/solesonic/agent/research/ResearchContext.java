@@ -0,0 +1,173 @@
+package com.solesonic.agent.research;
+
+import org.bsc.langgraph4j.RunnableConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Outbound research shared by every node of one graph run. The context travels in the
+ * {@link RunnableConfig} metadata under {@link #CONFIG_KEY}, so the sub-graphs a fan-out starts see the
+ * same one; identical ESPN and Tavily calls made anywhere in the run are executed once and their result
+ * is handed to every caller, including callers that arrive while the first call is still in flight.
+ * <p>
+ * Like the {@link com.solesonic.agent.cancellation.CancellationToken}, the context of the running node is
+ * available through {@link #current()}, so clients can share their calls without receiving the config.
+ * A failed call is not kept, so a later caller tries again; callers waiting on a call that was cancelled
+ * or interrupted make it themselves rather than fail with it.
+ */
+public final class ResearchContext {
+
+    private static final Logger log = LoggerFactory.getLogger(ResearchContext.class);
+
+    public static final String CONFIG_KEY = "researchContext";
+
+    private static final ScopedValue<ResearchContext> CURRENT = ScopedValue.newInstance();
+
+    private static final ResearchContext NONE = new ResearchContext();
+
+    private final ConcurrentMap<Call, CompletableFuture<Object>> calls = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counts> countsByKind = new ConcurrentHashMap<>();
+
+    private ResearchContext() {
+    }
+
+    public static ResearchContext create() {
+        return new ResearchContext();
+    }
+
+    /**
+     * A context that shares nothing: every call is executed.
+     */
+    public static ResearchContext none() {
+        return NONE;
+    }
+
+    public static ResearchContext from(RunnableConfig config) {
+        return config.metadata(CONFIG_KEY)
+                .map(ResearchContext.class::cast)
+                .orElse(NONE);
+    }
+
+    /**
+     * The context of the node running on this thread, or {@link #none()} outside of a graph run.
+     */
+    public static ResearchContext current() {
+        return CURRENT.isBound() ? CURRENT.get() : NONE;
+    }
+
+    /**
+     * Runs {@code action} with this context as {@link #current()}.
+     */
+    public <T> T callAsCurrent(Supplier<T> action) {
+        return ScopedValue.where(CURRENT, this).call(action::get);
+    }
+
+    /**
+     * Executes {@code call} unless an identical call, same {@code kind} and {@code key}, was already made
+     * in this run, in which case its result is returned instead.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T share(String kind, Object key, Supplier<T> call) {
+        if (this == NONE) {
+            return call.get();
+        }
+
+        Counts counts = countsByKind.computeIfAbsent(kind, _ -> new Counts());
+        counts.requested.incrementAndGet();
+
+        Call identity = new Call(kind, key);
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> shared;
+
+        while ((shared = calls.putIfAbsent(identity, created)) != null) {
+            try {
+                return (T) shared.join();
+            } catch (CancellationException cancelled) {
+                // The caller that made the call was cancelled; this one still wants the result
+            } catch (CompletionException exception) {
+                if (!isAbandoned(exception.getCause())) {
+                    if (exception.getCause() instanceof RuntimeException cause) {
+                        throw cause;
+                    }
+                    throw exception;
+                }
+            }
+        }
+
+        counts.executed.incrementAndGet();
+        try {
+            T result = call.get();
+            created.complete(result);
+            return result;
+        } catch (RuntimeException | Error exception) {
+            calls.remove(identity, created);
+            created.completeExceptionally(exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * Whether a call failed because the caller that made it was cancelled or interrupted rather than
+     * because of the upstream service.
+     */
+    private static boolean isAbandoned(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CancellationException || cause instanceof InterruptedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Logs, per kind of call, how many calls the run made and how many of them reached the upstream service.
+     */
+    public void logSummary(String runId) {
+        if (countsByKind.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> summary = new TreeMap<>();
+        int requested = 0;
+        int executed = 0;
+        for (Map.Entry<String, Counts> entry : countsByKind.entrySet()) {
+            int kindRequested = entry.getValue().requested.get();
+            int kindExecuted = entry.getValue().executed.get();
+            summary.put(entry.getKey(), kindExecuted + "/" + kindRequested);
+            requested += kindRequested;
+            executed += kindExecuted;
+        }
+
+        log.info("Research shared within run: runId={}, executed={}, requested={}, deduplicated={}, byKind={}",
+                runId, executed, requested, requested - executed, summary);
+    }
+
+    int requested(String kind) {
+        Counts counts = countsByKind.get(kind);
+        return counts == null ? 0 : counts.requested.get();
+    }
+
+    int executed(String kind) {
+        Counts counts = countsByKind.get(kind);
+        return counts == null ? 0 : counts.executed.get();
+    }
+
+    private record Call(String kind, Object key) {
+    }
+
+    private static final class Counts {
+
+        private final AtomicInteger requested = new AtomicInteger();
+        private final AtomicInteger executed = new AtomicInteger();
+    }
+}
@@ -0,0 +1,236 @@
+package com.solesonic.agent.sports;
+
+import com.solesonic.agent.cancellation.CancellationToken;
+import com.solesonic.agent.config.SportsHedgingProperties;
+import com.solesonic.agent.research.ResearchContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Walks the source tiers of a lookup, best tier first, without paying for a slow tier in full: when a tier has
+ * not answered within the tier budget, the next tier starts alongside it. The first sufficient result wins and
+ * the tiers still running are interrupted, which disposes their blocking WebClient calls. When no tier is
+ * sufficient, the result of the last tier is used, as it is when the tiers run one after another.
+ * <p>
+ * Tiers run on virtual threads with the calling node's {@link CancellationToken} and {@link ResearchContext}
+ * as current. The winning tier is counted per lookup, and for hedged lookups the time saved against running the
+ * same tiers in sequence is recorded.
+ */
+@Component
+public class HedgedTierExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(HedgedTierExecutor.class);
+
+    private static final String SPORTS_TIER = "sports-tier-";
+
+    private final SimpleAsyncTaskExecutor executor;
+    private final boolean enabled;
+    private final long tierBudgetNanos;
+    private final MeterRegistry meterRegistry;
+
+    public HedgedTierExecutor(SportsHedgingProperties properties, MeterRegistry meterRegistry) {
+        SimpleAsyncTaskExecutor simpleAsyncTaskExecutor = new SimpleAsyncTaskExecutor(SPORTS_TIER);
+        simpleAsyncTaskExecutor.setVirtualThreads(true);
+
+        this.executor = simpleAsyncTaskExecutor;
+        this.enabled = properties.enabled();
+        this.tierBudgetNanos = properties.tierBudget().toNanos();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs {@code tiers} until one of them returns a sufficient result.
+     *
+     * @param lookup     name of the lookup, used to tag the metrics
+     * @param sufficient whether a tier's result answers the lookup
+     * @param progress   receives the progress message of every tier as it starts
+     * @return the winning tier, or the last tier when none was sufficient
+     */
+    public <T> Winner<T> race(String lookup, List<Tier<T>> tiers, Predicate<? super T> sufficient, Consumer<String> progress) {
+        CancellationToken token = CancellationToken.current();
+        ResearchContext researchContext = ResearchContext.current();
+        BlockingQueue<Finished<T>> finished = new LinkedBlockingQueue<>();
+        List<Attempt> attempts = new ArrayList<>(tiers.size());
+        List<T> results = new ArrayList<>(Collections.nCopies(tiers.size(), null));
+
+        long raceStart = System.nanoTime();
+        try {
+            start(lookup, tiers, progress, token, researchContext, finished, attempts);
+            int done = 0;
+
+            while (true) {
+                Finished<T> next = awaitNext(finished, attempts, tiers.size());
+
+                if (next == null) {
+                    log.info("{} tier {} exceeded its budget, starting {} speculatively",
+                            lookup, tiers.get(attempts.size() - 1).name(), tiers.get(attempts.size()).name());
+                    start(lookup, tiers, progress, token, researchContext, finished, attempts);
+                    continue;
+                }
+
+                done++;
+                attempts.get(next.index()).finish(System.nanoTime());
+                results.set(next.index(), next.result());
+
+                if (next.result() != null && sufficient.test(next.result())) {
+                    return won(lookup, tiers, next.index(), next.result(), true, raceStart, attempts);
+                }
+
+                if (done == tiers.size()) {
+                    int lastIndex = tiers.size() - 1;
+                    return won(lookup, tiers, lastIndex, results.get(lastIndex), false, raceStart, attempts);
+                }
+
+                // An insufficient tier hands over to the next one right away, hedged or not
+                if (attempts.size() < tiers.size()) {
+                    start(lookup, tiers, progress, token, researchContext, finished, attempts);
+                }
+            }
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for the " + lookup + " tiers");
+        } finally {
+            for (Attempt attempt : attempts) {
+                attempt.future.cancel(true);
+            }
+        }
+    }
+
+    private <T> Finished<T> awaitNext(BlockingQueue<Finished<T>> finished, List<Attempt> attempts, int tierCount)
+            throws InterruptedException {
+        if (!enabled || attempts.size() == tierCount) {
+            return finished.take();
+        }
+
+        long waited = System.nanoTime() - attempts.getLast().start;
+        return finished.poll(Math.max(0, tierBudgetNanos - waited), TimeUnit.NANOSECONDS);
+    }
+
+    private <T> void start(String lookup,
+                           List<Tier<T>> tiers,
+                           Consumer<String> progress,
+                           CancellationToken token,
+                           ResearchContext researchContext,
+                           BlockingQueue<Finished<T>> finished,
+                           List<Attempt> attempts) {
+        int index = attempts.size();
+        Tier<T> tier = tiers.get(index);
+        progress.accept(tier.progress());
+
+        long start = System.nanoTime();
+        Future<?> future = executor.submit(() -> {
+            T result = null;
+            try {
+                result = token.callAsCurrent(() -> researchContext.callAsCurrent(tier.fetch()));
+            } catch (RuntimeException exception) {
+                log.warn("{} tier {} failed: {}", lookup, tier.name(), exception.getMessage());
+            } finally {
+                finished.add(new Finished<>(index, result));
+            }
+        });
+        attempts.add(new Attempt(start, future));
+    }
+
+    private <T> Winner<T> won(String lookup,
+                              List<Tier<T>> tiers,
+                              int winnerIndex,
+                              T result,
+                              boolean sufficient,
+                              long raceStart,
+                              List<Attempt> attempts) {
+        Winner<T> winner = new Winner<>(tiers.get(winnerIndex).name(), result, sufficient);
+        record(lookup, winner, winnerIndex, raceStart, attempts);
+        return winner;
+    }
+
+    private void record(String lookup, Winner<?> winner, int winnerIndex, long raceStart, List<Attempt> attempts) {
+        Counter.builder("sports.tiers.wins")
+                .description("Lookups answered by each source tier")
+                .tag("lookup", lookup)
+                .tag("tier", winner.tier())
+                .tag("sufficient", String.valueOf(winner.sufficient()))
+                .tag("hedged", String.valueOf(enabled))
+                .register(meterRegistry)
+                .increment();
+
+        if (!enabled) {
+            return;
+        }
+
+        // Running in sequence, every tier before the winner would have run to its end before the winner started.
+        // A tier that was interrupted counts only up to now, so the saving is a lower bound.
+        long now = System.nanoTime();
+        long sequentialNanos = 0;
+        for (int index = 0; index <= winnerIndex; index++) {
+            Attempt attempt = attempts.get(index);
+            sequentialNanos += (attempt.finished ? attempt.end : now) - attempt.start;
+        }
+        Duration saved = Duration.ofNanos(Math.max(0, sequentialNanos - (now - raceStart)));
+
+        Timer.builder("sports.tiers.hedging.saved")
+                .description("Time hedged lookups saved against running their tiers in sequence")
+                .tag("lookup", lookup)
+                .tag("tier", winner.tier())
+                .register(meterRegistry)
+                .record(saved);
+
+        log.info("{} answered by tier {} after {} started tiers, saving {}ms",
+                lookup, winner.tier(), attempts.size(), saved.toMillis());
+    }
+
+    /**
+     * One source of a lookup.
+     *
+     * @param name     tier name, used in logs and as the metric tag
+     * @param progress progress message emitted when the tier starts
+     * @param fetch    fetches the tier's result, or returns {@code null} when it has none
+     */
+    public record Tier<T>(String name, String progress, Supplier<T> fetch) {
+    }
+
+    /**
+     * The tier whose result answers the lookup; {@code sufficient} is false when it is the last tier used as a
+     * fallback.
+     */
+    public record Winner<T>(String tier, T result, boolean sufficient) {
+    }
+
+    private record Finished<T>(int index, T result) {
+    }
+
+    private static final class Attempt {
+
+        private final long start;
+        private final Future<?> future;
+        private boolean finished;
+        private long end;
+
+        private Attempt(long start, Future<?> future) {
+            this.start = start;
+            this.future = future;
+        }
+
+        private void finish(long end) {
+            this.finished = true;
+            this.end = end;
+        }
+    }
+}
@@ -20,6 +20,7 @@ import org.springframework.context.annotation.Configuration;
 import java.util.List;
 import java.util.Map;
 
+import static com.solesonic.agent.cancellation.CancellableNodeAction.cancellable;
 import static org.bsc.langgraph4j.GraphDefinition.END;
 import static org.bsc.langgraph4j.GraphDefinition.START;
 import static org.bsc.langgraph4j.action.AsyncEdgeAction.edge_async;
@@ -60,15 +61,15 @@ public class NbaAgentGraphConfig {
     ) throws GraphStateException {
 
         return new StateGraph<>(SportsState::new)
-                .addNode(PARSE_SPORTS_INTENT, parseSportsIntentNode)
-                .addNode(RESOLVE_ESPN_TEAM_URLS, resolveEspnTeamUrlsNode)
-                .addNode(FETCH_ESPN_ROSTER, fetchEspnRosterNode)
-                .addNode(FETCH_ESPN_STANDINGS, fetchEspnStandingsNode)
-                .addNode(EXTRACT_TEAMS_FROM_SCHEDULE, extractTeamsFromScheduleNode)
-                .addNode(SEARCH_SCHEDULE, searchCurrentScheduleNode)
-                .addNode(SEARCH_NEWS, searchSportsNewsNode)
-                .addNode(SEARCH_STATS, searchStatisticsNode)
-                .addNode(SYNTHESIZE_ANALYSIS, synthesizeSportsAnalysisNode)
+                .addNode(PARSE_SPORTS_INTENT, cancellable(parseSportsIntentNode))
+                .addNode(RESOLVE_ESPN_TEAM_URLS, cancellable(resolveEspnTeamUrlsNode))
+                .addNode(FETCH_ESPN_ROSTER, cancellable(fetchEspnRosterNode))
+                .addNode(FETCH_ESPN_STANDINGS, cancellable(fetchEspnStandingsNode))
+                .addNode(EXTRACT_TEAMS_FROM_SCHEDULE, cancellable(extractTeamsFromScheduleNode))
+                .addNode(SEARCH_SCHEDULE, cancellable(searchCurrentScheduleNode))
+                .addNode(SEARCH_NEWS, cancellable(searchSportsNewsNode))
+                .addNode(SEARCH_STATS, cancellable(searchStatisticsNode))
+                .addNode(SYNTHESIZE_ANALYSIS, cancellable(synthesizeSportsAnalysisNode))
 
                 .addEdge(START, PARSE_SPORTS_INTENT)
 
@@ -103,15 +104,18 @@ public class NbaAgentGraphConfig {
                                 SYNTHESIZE, SYNTHESIZE_ANALYSIS
                         ))
 
-                // GAME_PREVIEW_NO_TEAMS path: extract teams from schedule → roster
+                // GAME_PREVIEW_NO_TEAMS path: extract teams from schedule, then roster, news and stats in parallel
                 .addEdge(EXTRACT_TEAMS_FROM_SCHEDULE, FETCH_ESPN_ROSTER)
+                .addEdge(EXTRACT_TEAMS_FROM_SCHEDULE, SEARCH_NEWS)
+                .addEdge(EXTRACT_TEAMS_FROM_SCHEDULE, SEARCH_STATS)
 
-                // FULL path: resolve team URLs → roster
+                // FULL path: resolve team URLs, then roster, news and stats in parallel
                 .addEdge(RESOLVE_ESPN_TEAM_URLS, FETCH_ESPN_ROSTER)
+                .addEdge(RESOLVE_ESPN_TEAM_URLS, SEARCH_NEWS)
+                .addEdge(RESOLVE_ESPN_TEAM_URLS, SEARCH_STATS)
 
-                // After roster fetch: fan out to news and stats independently (natural graph parallelism)
-                .addEdge(FETCH_ESPN_ROSTER, SEARCH_NEWS)
-                .addEdge(FETCH_ESPN_ROSTER, SEARCH_STATS)
+                // Roster, news and stats write separate state keys, so the join before synthesis is deterministic
+                .addEdge(FETCH_ESPN_ROSTER, SYNTHESIZE_ANALYSIS)
 
                 .addEdge(SYNTHESIZE_ANALYSIS, END)
                 .compile();
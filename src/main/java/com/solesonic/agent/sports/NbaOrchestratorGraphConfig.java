@@ -1,18 +1,22 @@
 package com.solesonic.agent.sports;
 
+import com.solesonic.a2a.config.GraphCheckpointConfiguration;
 import com.solesonic.agent.sports.model.SportsQueryIntent;
 import com.solesonic.agent.sports.node.FanOutNode;
 import com.solesonic.agent.sports.node.MetaSynthesizeNode;
 import com.solesonic.agent.sports.node.ParseSportsIntentNode;
+import org.bsc.langgraph4j.CompileConfig;
 import org.bsc.langgraph4j.CompiledGraph;
 import org.bsc.langgraph4j.GraphStateException;
 import org.bsc.langgraph4j.StateGraph;
+import org.bsc.langgraph4j.checkpoint.BaseCheckpointSaver;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.Map;
 
+import static com.solesonic.agent.cancellation.CancellableNodeAction.cancellable;
 import static org.bsc.langgraph4j.GraphDefinition.END;
 import static org.bsc.langgraph4j.GraphDefinition.START;
 import static org.bsc.langgraph4j.action.AsyncEdgeAction.edge_async;
@@ -49,19 +53,20 @@ public class NbaOrchestratorGraphConfig {
             @Qualifier("nbaGamePreviewGraph") CompiledGraph<SportsState> nbaGamePreviewGraph,
             @Qualifier("nbaPlayerGraph") CompiledGraph<SportsState> nbaPlayerGraph,
             FanOutNode fanOutNode,
-            MetaSynthesizeNode metaSynthesizeNode
+            MetaSynthesizeNode metaSynthesizeNode,
+            @Qualifier(GraphCheckpointConfiguration.SPORTS_CHECKPOINT_SAVER) BaseCheckpointSaver sportsCheckpointSaver
     ) throws GraphStateException {
 
         return new StateGraph<>(SportsState::new)
-                .addNode(PARSE_SPORTS_INTENT, parseSportsIntentNode)
+                .addNode(PARSE_SPORTS_INTENT, cancellable(parseSportsIntentNode))
                 .addNode(SCHEDULE_GRAPH, nbaScheduleGraph)
                 .addNode(STANDINGS_GRAPH, nbaStandingsGraph)
                 .addNode(NEWS_GRAPH, nbaNewsGraph)
                 .addNode(STATS_GRAPH, nbaStatsGraph)
                 .addNode(GAME_PREVIEW_GRAPH, nbaGamePreviewGraph)
                 .addNode(PLAYER_GRAPH, nbaPlayerGraph)
-                .addNode(FAN_OUT, fanOutNode)
-                .addNode(META_SYNTHESIZE, metaSynthesizeNode)
+                .addNode(FAN_OUT, cancellable(fanOutNode))
+                .addNode(META_SYNTHESIZE, cancellable(metaSynthesizeNode))
 
                 .addEdge(START, PARSE_SPORTS_INTENT)
 
@@ -89,7 +94,10 @@ public class NbaOrchestratorGraphConfig {
                 // Multi-type route: fan out, then meta-synthesize the combined results
                 .addEdge(FAN_OUT, META_SYNTHESIZE)
                 .addEdge(META_SYNTHESIZE, END)
-                .compile();
+                .compile(CompileConfig.builder()
+                        .checkpointSaver(sportsCheckpointSaver)
+                        .releaseThread(true)
+                        .build());
     }
 
     private static String routeByIntent(SportsState state) {
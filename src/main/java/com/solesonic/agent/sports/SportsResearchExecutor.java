@@ -0,0 +1,124 @@
+package com.solesonic.agent.sports;
+
+import com.solesonic.agent.cancellation.CancellationToken;
+import com.solesonic.agent.config.SportsResearchProperties;
+import com.solesonic.agent.research.ResearchContext;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Runs the research queries of a sports node concurrently on virtual threads, so a node takes about as
+ * long as its slowest query instead of the sum of all of them. Parallelism is bounded per call and across
+ * the node, and a query that outlives its timeout is interrupted, which disposes its blocking WebClient call.
+ * <p>
+ * Queries run with the calling node's {@link CancellationToken} and {@link ResearchContext} as current, so a
+ * cancelled task stops its queries as well and identical queries within a run are shared.
+ */
+@Component
+public class SportsResearchExecutor {
+
+    private static final String SPORTS_RESEARCH = "sports-research-";
+
+    private final Executor executor;
+    private final Semaphore globalPermits;
+    private final int maxConcurrentPerRequest;
+    private final long queryTimeoutMillis;
+
+    public SportsResearchExecutor(SportsResearchProperties properties) {
+        SimpleAsyncTaskExecutor simpleAsyncTaskExecutor = new SimpleAsyncTaskExecutor(SPORTS_RESEARCH);
+        simpleAsyncTaskExecutor.setVirtualThreads(true);
+
+        this.executor = simpleAsyncTaskExecutor;
+        this.globalPermits = new Semaphore(Math.max(1, properties.maxConcurrent()), true);
+        this.maxConcurrentPerRequest = Math.max(1, properties.maxConcurrentPerRequest());
+        this.queryTimeoutMillis = properties.queryTimeout().toMillis();
+    }
+
+    /**
+     * Runs {@code research} for every query and waits for all of them.
+     *
+     * @return one outcome per query, in the order of {@code queries}
+     */
+    public <T> List<Outcome<T>> research(List<String> queries, Function<String, T> research) {
+        CancellationToken token = CancellationToken.current();
+        ResearchContext researchContext = ResearchContext.current();
+        Semaphore requestPermits = new Semaphore(maxConcurrentPerRequest);
+
+        List<CompletableFuture<T>> results = new ArrayList<>(queries.size());
+        for (String query : queries) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            executor.execute(() -> run(query, research, token, researchContext, requestPermits, result));
+            results.add(result);
+        }
+
+        List<Outcome<T>> outcomes = new ArrayList<>(queries.size());
+        for (int index = 0; index < queries.size(); index++) {
+            try {
+                outcomes.add(Outcome.succeeded(queries.get(index), results.get(index).join()));
+            } catch (CompletionException exception) {
+                Throwable failure = exception.getCause() == null ? exception : exception.getCause();
+                outcomes.add(Outcome.failed(queries.get(index), failure));
+            }
+        }
+        return outcomes;
+    }
+
+    private <T> void run(String query,
+                         Function<String, T> research,
+                         CancellationToken token,
+                         ResearchContext researchContext,
+                         Semaphore requestPermits,
+                         CompletableFuture<T> result) {
+        try {
+            requestPermits.acquire();
+            try {
+                globalPermits.acquire();
+                try {
+                    token.throwIfCancelled();
+                    Thread worker = Thread.currentThread();
+                    CompletableFuture.delayedExecutor(queryTimeoutMillis, TimeUnit.MILLISECONDS).execute(() -> {
+                        if (result.completeExceptionally(new TimeoutException("Research query timed out: " + query))) {
+                            worker.interrupt();
+                        }
+                    });
+                    result.complete(token.callAsCurrent(() -> researchContext.callAsCurrent(() -> research.apply(query))));
+                } finally {
+                    globalPermits.release();
+                }
+            } finally {
+                requestPermits.release();
+            }
+        } catch (Throwable failure) {
+            // Completing on any failure keeps the caller from waiting on a query that will never finish
+            result.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * The result of one query, or why it has none.
+     */
+    public record Outcome<T>(String query, T result, Throwable failure) {
+
+        static <T> Outcome<T> succeeded(String query, T result) {
+            return new Outcome<>(query, result, null);
+        }
+
+        static <T> Outcome<T> failed(String query, Throwable failure) {
+            return new Outcome<>(query, null, failure);
+        }
+
+        public boolean succeeded() {
+            return failure == null;
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.bsc.langgraph4j.StateGraph;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import static com.solesonic.agent.cancellation.CancellableNodeAction.cancellable;
 import static org.bsc.langgraph4j.GraphDefinition.END;
 import static org.bsc.langgraph4j.GraphDefinition.START;
 
@@ -23,8 +24,8 @@ public class NbaNewsGraphConfig {
     ) throws GraphStateException {
 
         return new StateGraph<>(SportsState::new)
-                .addNode(NbaAgentGraphConfig.SEARCH_NEWS, searchSportsNewsNode)
-                .addNode(NbaAgentGraphConfig.SYNTHESIZE_ANALYSIS, synthesizeSportsAnalysisNode)
+                .addNode(NbaAgentGraphConfig.SEARCH_NEWS, cancellable(searchSportsNewsNode))
+                .addNode(NbaAgentGraphConfig.SYNTHESIZE_ANALYSIS, cancellable(synthesizeSportsAnalysisNode))
                 .addEdge(START, NbaAgentGraphConfig.SEARCH_NEWS)
                 .addEdge(NbaAgentGraphConfig.SEARCH_NEWS, NbaAgentGraphConfig.SYNTHESIZE_ANALYSIS)
                 .addEdge(NbaAgentGraphConfig.SYNTHESIZE_ANALYSIS, END)
@@ -2,40 +2,52 @@ package com.solesonic.agent.sports.config;
 
 import com.solesonic.agent.sports.NbaAgentGraphConfig;
 import com.solesonic.agent.sports.SportsState;
+import com.solesonic.agent.sports.node.FetchEspnRosterNode;
+import com.solesonic.agent.sports.node.ResolveEspnTeamUrlsNode;
 import com.solesonic.agent.sports.node.SearchSportsNewsNode;
 import com.solesonic.agent.sports.node.SearchStatisticsNode;
 import com.solesonic.agent.sports.node.SynthesizeSportsAnalysisNode;
 import org.bsc.langgraph4j.CompiledGraph;
 import org.bsc.langgraph4j.GraphStateException;
 import org.bsc.langgraph4j.StateGraph;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import static com.solesonic.agent.cancellation.CancellableNodeAction.cancellable;
 import static org.bsc.langgraph4j.GraphDefinition.END;
 import static org.bsc.langgraph4j.GraphDefinition.START;
 
+/**
+ * Player analysis: once the teams are resolved, the ESPN roster, news and stats are fetched in parallel
+ * and joined before synthesis. Each branch writes its own state key, so the join is deterministic.
+ */
 @Configuration
 public class NbaPlayerGraphConfig {
 
-    private static final String FETCH_ROSTER = "fetchRoster";
-
     @Bean
     public CompiledGraph<SportsState> nbaPlayerGraph(
-            @Qualifier("nbaRosterGraph") CompiledGraph<SportsState> nbaRosterGraph,
+            ResolveEspnTeamUrlsNode resolveEspnTeamUrlsNode,
+            FetchEspnRosterNode fetchEspnRosterNode,
             SearchSportsNewsNode searchSportsNewsNode,
             SearchStatisticsNode searchStatisticsNode,
             SynthesizeSportsAnalysisNode synthesizeSportsAnalysisNode
     ) throws GraphStateException {
 
         return new StateGraph<>(SportsState::new)
-                .addNode(FETCH_ROSTER, nbaRosterGraph)
-                .addNode(NbaAgentGraphConfig.SEARCH_NEWS, searchSportsNewsNode)
-                .addNode(NbaAgentGraphConfig.SEARCH_STATS, searchStatisticsNode)
-                .addNode(NbaAgentGraphConfig.SYNTHESIZE_ANALYSIS, synthesizeSportsAnalysisNode)
-                .addEdge(START, FETCH_ROSTER)
-                .addEdge(FETCH_ROSTER, NbaAgentGraphConfig.SEARCH_NEWS)
-                .addEdge(NbaAgentGraphConfig.SEARCH_NEWS, NbaAgentGraphConfig.SEARCH_STATS)
+                .addNode(NbaAgentGraphConfig.RESOLVE_ESPN_TEAM_URLS, cancellable(resolveEspnTeamUrlsNode))
+                .addNode(NbaAgentGraphConfig.FETCH_ESPN_ROSTER, cancellable(fetchEspnRosterNode))
+                .addNode(NbaAgentGraphConfig.SEARCH_NEWS, cancellable(searchSportsNewsNode))
+                .addNode(NbaAgentGraphConfig.SEARCH_STATS, cancellable(searchStatisticsNode))
+                .addNode(NbaAgentGraphConfig.SYNTHESIZE_ANALYSIS, cancellable(synthesizeSportsAnalysisNode))
+                .addEdge(START, NbaAgentGraphConfig.RESOLVE_ESPN_TEAM_URLS)
+
+                // Roster, news and stats only need the parsed intent and resolved teams: fetch them in parallel
+                .addEdge(NbaAgentGraphConfig.RESOLVE_ESPN_TEAM_URLS, NbaAgentGraphConfig.FETCH_ESPN_ROSTER)
+                .addEdge(NbaAgentGraphConfig.RESOLVE_ESPN_TEAM_URLS, NbaAgentGraphConfig.SEARCH_NEWS)
+                .addEdge(NbaAgentGraphConfig.RESOLVE_ESPN_TEAM_URLS, NbaAgentGraphConfig.SEARCH_STATS)
+
+                .addEdge(NbaAgentGraphConfig.FETCH_ESPN_ROSTER, NbaAgentGraphConfig.SYNTHESIZE_ANALYSIS)
+                .addEdge(NbaAgentGraphConfig.SEARCH_NEWS, NbaAgentGraphConfig.SYNTHESIZE_ANALYSIS)
                 .addEdge(NbaAgentGraphConfig.SEARCH_STATS, NbaAgentGraphConfig.SYNTHESIZE_ANALYSIS)
                 .addEdge(NbaAgentGraphConfig.SYNTHESIZE_ANALYSIS, END)
                 .compile();
@@ -10,6 +10,7 @@ import org.bsc.langgraph4j.StateGraph;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import static com.solesonic.agent.cancellation.CancellableNodeAction.cancellable;
 import static org.bsc.langgraph4j.GraphDefinition.END;
 import static org.bsc.langgraph4j.GraphDefinition.START;
 
@@ -23,8 +24,8 @@ public class NbaStandingsGraphConfig {
     ) throws GraphStateException {
 
         return new StateGraph<>(SportsState::new)
-                .addNode(NbaAgentGraphConfig.FETCH_ESPN_STANDINGS, fetchEspnStandingsNode)
-                .addNode(NbaAgentGraphConfig.SYNTHESIZE_ANALYSIS, synthesizeSportsAnalysisNode)
+                .addNode(NbaAgentGraphConfig.FETCH_ESPN_STANDINGS, cancellable(fetchEspnStandingsNode))
+                .addNode(NbaAgentGraphConfig.SYNTHESIZE_ANALYSIS, cancellable(synthesizeSportsAnalysisNode))
                 .addEdge(START, NbaAgentGraphConfig.FETCH_ESPN_STANDINGS)
                 .addEdge(NbaAgentGraphConfig.FETCH_ESPN_STANDINGS, NbaAgentGraphConfig.SYNTHESIZE_ANALYSIS)
                 .addEdge(NbaAgentGraphConfig.SYNTHESIZE_ANALYSIS, END)
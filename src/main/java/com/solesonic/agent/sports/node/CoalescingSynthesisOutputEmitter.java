@@ -0,0 +1,163 @@
+package com.solesonic.agent.sports.node;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Buffers synthesis tokens and forwards them to the delegate as larger chunks. A chunk is flushed
+ * once the flush interval has elapsed since the previous flush, once the buffered text reaches
+ * the byte limit, when the artifact changes, before any progress message, and always on the last chunk.
+ * Each flush becomes a single A2A artifact event instead of one event per token.
+ * <p>
+ * Text never waits in the buffer for longer than the flush interval: a timer started by the first
+ * buffered token flushes it when the model pauses before the next token arrives. The last chunk
+ * cancels the timer, and once the emitter is closed the timer never flushes onto the finished task.
+ */
+final class CoalescingSynthesisOutputEmitter implements SynthesisOutputEmitter {
+
+    private static final Logger log = LoggerFactory.getLogger(CoalescingSynthesisOutputEmitter.class);
+
+    private static final ScheduledExecutorService FLUSHER =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("synthesis-flusher").factory());
+
+    private final SynthesisOutputEmitter delegate;
+    private final long flushIntervalNanos;
+    private final int maxBufferedBytes;
+    private final LongSupplier nanoClock;
+    private final ScheduledExecutorService flusher;
+
+    private final StringBuilder buffer = new StringBuilder();
+    private String bufferedArtifactId;
+    private Boolean bufferedAppend;
+    private int bufferedBytes;
+    private long lastFlushNanos;
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
+
+    CoalescingSynthesisOutputEmitter(SynthesisOutputEmitter delegate, Duration flushInterval, int maxBufferedBytes) {
+        this(delegate, flushInterval, maxBufferedBytes, System::nanoTime, FLUSHER);
+    }
+
+    CoalescingSynthesisOutputEmitter(SynthesisOutputEmitter delegate,
+                                     Duration flushInterval,
+                                     int maxBufferedBytes,
+                                     LongSupplier nanoClock,
+                                     ScheduledExecutorService flusher) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.maxBufferedBytes = maxBufferedBytes;
+        this.nanoClock = nanoClock;
+        this.flusher = flusher;
+        this.lastFlushNanos = nanoClock.getAsLong();
+    }
+
+    @Override
+    public synchronized void emitChunk(String text, String artifactId, Boolean append, boolean lastChunk) {
+        if (!buffer.isEmpty() && !Objects.equals(bufferedArtifactId, artifactId)) {
+            flush(false);
+        }
+
+        if (buffer.isEmpty()) {
+            bufferedArtifactId = artifactId;
+            bufferedAppend = append;
+        }
+
+        String safeText = text == null ? "" : text;
+        buffer.append(safeText);
+        bufferedBytes += utf8Length(safeText);
+
+        if (lastChunk) {
+            flush(true);
+            return;
+        }
+
+        boolean sizeReached = bufferedBytes >= maxBufferedBytes;
+        boolean intervalElapsed = nanoClock.getAsLong() - lastFlushNanos >= flushIntervalNanos;
+
+        if (sizeReached || intervalElapsed) {
+            flush(false);
+        } else if (scheduledFlush == null) {
+            scheduledFlush = flusher.schedule(this::flushPending, flushIntervalNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void emitProgress(String message) {
+        // Keep progress updates ordered after any text the client has not seen yet
+        if (!buffer.isEmpty()) {
+            flush(false);
+        }
+        delegate.emitProgress(message);
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        cancelScheduledFlush();
+        buffer.setLength(0);
+        bufferedBytes = 0;
+    }
+
+    private synchronized void flushPending() {
+        // The timer may have fired just before the last chunk or the end of the run took the lock
+        if (closed || scheduledFlush == null) {
+            return;
+        }
+        scheduledFlush = null;
+        try {
+            flush(false);
+        } catch (RuntimeException exception) {
+            // The run may have ended between the last token and the timer
+            log.warn("Scheduled synthesis flush failed: artifactId={}, error={}", bufferedArtifactId, exception.getMessage());
+        }
+    }
+
+    private void flush(boolean lastChunk) {
+        if (buffer.isEmpty() && !lastChunk) {
+            return;
+        }
+
+        cancelScheduledFlush();
+
+        delegate.emitChunk(buffer.toString(), bufferedArtifactId, bufferedAppend, lastChunk);
+
+        buffer.setLength(0);
+        bufferedArtifactId = null;
+        bufferedAppend = null;
+        bufferedBytes = 0;
+        lastFlushNanos = nanoClock.getAsLong();
+    }
+
+    private void cancelScheduledFlush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+    }
+
+    static int utf8Length(String text) {
+        int length = 0;
+        for (int index = 0; index < text.length(); index++) {
+            char character = text.charAt(index);
+            if (character < 0x80) {
+                length += 1;
+            } else if (character < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(character)) {
+                length += 4;
+                index++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
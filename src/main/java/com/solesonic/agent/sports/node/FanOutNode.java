@@ -1,5 +1,6 @@
 package com.solesonic.agent.sports.node;
 
+import com.solesonic.agent.cancellation.CancellationToken;
 import com.solesonic.agent.sports.SportsState;
 import com.solesonic.agent.sports.model.SportsQueryIntent;
 import com.solesonic.agent.sports.model.SportsQuestionType;
@@ -100,6 +101,8 @@ public class FanOutNode implements AsyncNodeActionWithConfig<SportsState> {
                 .addMetadata(SynthesisOutputEmitter.CONFIG_KEY, SynthesisOutputEmitter.noOp())
                 .build();
 
+        // Sub-graphs share the parent's token, so cancelling the task stops every pending sub-graph
+        CancellationToken cancellationToken = CancellationToken.from(parentConfig);
         Map<String, Object> inputState = state.data();
 
         List<CompletableFuture<Map.Entry<String, String>>> futures = new ArrayList<>();
@@ -111,7 +114,10 @@ public class FanOutNode implements AsyncNodeActionWithConfig<SportsState> {
 
             CompletableFuture<Map.Entry<String, String>> future = subGraph
                     .stream(inputState, noOpConfig)
-                    .forEachAsync(output -> finalStateRef.set(output.state()))
+                    .forEachAsync(output -> {
+                        cancellationToken.throwIfCancelled();
+                        finalStateRef.set(output.state());
+                    })
                     .thenApply(ignored -> {
                         SportsState finalState = finalStateRef.get();
                         String analysis = finalState != null
@@ -120,6 +126,7 @@ public class FanOutNode implements AsyncNodeActionWithConfig<SportsState> {
                         return Map.entry(subGraphName, analysis);
                     })
                     .exceptionally(exception -> {
+                        cancellationToken.throwIfCancelled();
                         log.warn("Sub-graph '{}' failed during fan-out: {}", subGraphName, exception.getMessage());
                         return Map.entry(subGraphName, "Analysis unavailable for this topic.");
                     });
@@ -1,5 +1,6 @@
 package com.solesonic.agent.sports.node;
 
+import com.solesonic.agent.cancellation.CancellationToken;
 import com.solesonic.agent.sports.SportsState;
 import org.bsc.langgraph4j.RunnableConfig;
 import org.bsc.langgraph4j.action.AsyncNodeActionWithConfig;
@@ -12,6 +13,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.io.IOException;
@@ -49,6 +51,7 @@ public class MetaSynthesizeNode implements AsyncNodeActionWithConfig<SportsState
                 .metadata(SynthesisOutputEmitter.CONFIG_KEY)
                 .map(SynthesisOutputEmitter.class::cast)
                 .orElseGet(SynthesisOutputEmitter::noOp);
+        CancellationToken cancellationToken = CancellationToken.from(config);
 
         Map<String, String> subGraphResults = state.subGraphResults().orElseThrow(
                 () -> new IllegalStateException("MetaSynthesizeNode requires SUB_GRAPH_RESULTS in state"));
@@ -69,9 +72,12 @@ public class MetaSynthesizeNode implements AsyncNodeActionWithConfig<SportsState
 
         log.info("Meta-synthesizing {} sub-graph results", subGraphResults.size());
 
-        return chatClient.prompt(metaPrompt)
+        // Disposing the stream on cancellation closes the model connection and stops generation
+        Flux<String> tokens = cancellationToken.bind(chatClient.prompt(metaPrompt)
                 .stream()
-                .content()
+                .content());
+
+        return tokens
                 .doOnNext(token -> {
                     accumulated.append(token);
                     String previous = pendingToken.getAndSet(token);
@@ -81,6 +87,8 @@ public class MetaSynthesizeNode implements AsyncNodeActionWithConfig<SportsState
                     }
                 })
                 .doOnComplete(() -> {
+                    // A cancelled answer is incomplete, so it must not be marked as the last chunk
+                    cancellationToken.throwIfCancelled();
                     String lastToken = pendingToken.get();
                     boolean isFirst = !firstChunkSent.get();
                     emitter.emitChunk(lastToken != null ? lastToken : "", artifactId, isFirst ? null : true, true);
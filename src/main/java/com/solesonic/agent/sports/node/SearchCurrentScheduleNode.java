@@ -1,5 +1,6 @@
 package com.solesonic.agent.sports.node;
 
+import com.solesonic.agent.sports.HedgedTierExecutor;
 import com.solesonic.agent.sports.SportsState;
 import com.solesonic.agent.sports.model.SportsQueryIntent;
 import com.solesonic.model.espn.EspnScheduleSummary;
@@ -10,11 +11,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
 
+/**
+ * Looks up the current schedule from ESPN, NBA.com and a broad Tavily search, in that order of preference.
+ * The tiers are hedged through the {@link HedgedTierExecutor}: a tier slower than the budget gets the next one
+ * started alongside it, and the first sufficient schedule wins.
+ */
 @Component
 public class SearchCurrentScheduleNode implements AsyncNodeActionWithConfig<SportsState> {
 
@@ -22,19 +30,27 @@ public class SearchCurrentScheduleNode implements AsyncNodeActionWithConfig<Spor
 
     private static final int SUFFICIENT_CONTENT_MIN_CHARS = 300;
     private static final String NBA = "NBA";
+    private static final String SCHEDULE_LOOKUP = "schedule";
+    private static final String SCHEDULE_UNAVAILABLE = "Schedule data unavailable.";
+    private static final String ESPN = "espn";
+    private static final String NBA_COM = "nba-com";
+    private static final String TAVILY = "tavily";
 
     private final EspnScheduleFetcher fetchEspnScheduleStep;
     private final NbaComScheduleFetcher fetchNbaComScheduleStep;
     private final TavilyScheduleFetcher searchTavilyScheduleStep;
+    private final HedgedTierExecutor hedgedTierExecutor;
 
     public SearchCurrentScheduleNode(
             EspnScheduleFetcher fetchEspnScheduleStep,
             NbaComScheduleFetcher fetchNbaComScheduleStep,
-            TavilyScheduleFetcher searchTavilyScheduleStep
+            TavilyScheduleFetcher searchTavilyScheduleStep,
+            HedgedTierExecutor hedgedTierExecutor
     ) {
         this.fetchEspnScheduleStep = fetchEspnScheduleStep;
         this.fetchNbaComScheduleStep = fetchNbaComScheduleStep;
         this.searchTavilyScheduleStep = searchTavilyScheduleStep;
+        this.hedgedTierExecutor = hedgedTierExecutor;
     }
 
     @Override
@@ -48,39 +64,52 @@ public class SearchCurrentScheduleNode implements AsyncNodeActionWithConfig<Spor
                 .map(SynthesisOutputEmitter.class::cast)
                 .orElseGet(SynthesisOutputEmitter::noOp);
 
-        // Tier 1: ESPN JSON API — structured, no scraping
-        emitter.emitProgress("Fetching schedule from ESPN...");
-        EspnScheduleSummary espnScheduleSummary = fetchEspnScheduleStep.fetch(state);
-
-        if (espnScheduleSummary.hasUpcomingOrLiveGames()) {
-            log.info("Schedule found on ESPN — skipping NBA.com and Tavily");
-            return completedFuture(Map.of(
-                    SportsState.SCHEDULE_SEARCH_SUMMARY, espnScheduleSummary.toFormattedString(),
-                    SportsState.ESPN_SCHEDULE_SUMMARY_OBJECT, espnScheduleSummary,
-                    SportsState.SCHEDULE_ALREADY_FETCHED, true
-            ));
+        List<HedgedTierExecutor.Tier<ScheduleResult>> tiers = List.of(
+                // Tier 1: ESPN JSON API — structured, no scraping
+                new HedgedTierExecutor.Tier<>(ESPN, "Fetching schedule from ESPN...", () -> fetchEspn(state)),
+                // Tier 2: Direct NBA.com extract
+                new HedgedTierExecutor.Tier<>(NBA_COM, "Checking NBA.com for schedule...", this::fetchNbaCom),
+                // Tier 3: Broad Tavily search — last resort, no domain restrictions
+                new HedgedTierExecutor.Tier<>(TAVILY, "Searching for schedule information...",
+                        () -> fetchTavily(teamQuery, currentDate))
+        );
+
+        HedgedTierExecutor.Winner<ScheduleResult> winner = hedgedTierExecutor.race(
+                SCHEDULE_LOOKUP, tiers, ScheduleResult::sufficient, emitter::emitProgress);
+
+        if (winner.sufficient()) {
+            log.info("Schedule found on {}", winner.tier());
+        } else {
+            log.info("ESPN and NBA.com insufficient — falling back to Tavily");
         }
 
-        // Tier 2: Direct NBA.com extract
-        emitter.emitProgress("Checking NBA.com for schedule...");
-        String nbaResult = fetchNbaComScheduleStep.fetch();
+        Map<String, Object> updates = winner.result() == null
+                ? Map.of(SportsState.SCHEDULE_SEARCH_SUMMARY, SCHEDULE_UNAVAILABLE)
+                : winner.result().updates();
 
-        if (isSufficient(nbaResult)) {
-            log.info("Schedule found on NBA.com — skipping Tavily");
-            return completedFuture(Map.of(
-                    SportsState.SCHEDULE_SEARCH_SUMMARY, nbaResult,
-                    SportsState.SCHEDULE_ALREADY_FETCHED, true
-            ));
-        }
+        Map<String, Object> withFetched = new HashMap<>(updates);
+        withFetched.put(SportsState.SCHEDULE_ALREADY_FETCHED, true);
+        return completedFuture(withFetched);
+    }
 
-        // Tier 3: Broad Tavily search — last resort, no domain restrictions
-        log.info("ESPN and NBA.com insufficient — falling back to Tavily");
-        emitter.emitProgress("Searching for schedule information...");
+    private ScheduleResult fetchEspn(SportsState state) {
+        EspnScheduleSummary espnScheduleSummary = fetchEspnScheduleStep.fetch(state);
+        return new ScheduleResult(Map.of(
+                SportsState.SCHEDULE_SEARCH_SUMMARY, espnScheduleSummary.toFormattedString(),
+                SportsState.ESPN_SCHEDULE_SUMMARY_OBJECT, espnScheduleSummary
+        ), espnScheduleSummary.hasUpcomingOrLiveGames());
+    }
+
+    private ScheduleResult fetchNbaCom() {
+        String nbaResult = fetchNbaComScheduleStep.fetch();
+        return nbaResult == null
+                ? null
+                : new ScheduleResult(Map.of(SportsState.SCHEDULE_SEARCH_SUMMARY, nbaResult), isSufficient(nbaResult));
+    }
+
+    private ScheduleResult fetchTavily(String teamQuery, String currentDate) {
         String tavilyResult = searchTavilyScheduleStep.fetch(teamQuery, currentDate);
-        return completedFuture(Map.of(
-                SportsState.SCHEDULE_SEARCH_SUMMARY, tavilyResult,
-                SportsState.SCHEDULE_ALREADY_FETCHED, true
-        ));
+        return new ScheduleResult(Map.of(SportsState.SCHEDULE_SEARCH_SUMMARY, tavilyResult), isSufficient(tavilyResult));
     }
 
     private boolean isSufficient(String content) {
@@ -94,4 +123,7 @@ public class SearchCurrentScheduleNode implements AsyncNodeActionWithConfig<Spor
 
         return NBA;
     }
+
+    private record ScheduleResult(Map<String, Object> updates, boolean sufficient) {
+    }
 }
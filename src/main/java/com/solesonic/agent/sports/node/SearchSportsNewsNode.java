@@ -3,6 +3,7 @@ package com.solesonic.agent.sports.node;
 import com.solesonic.model.tavily.TavilySearchRequest;
 import com.solesonic.model.tavily.TavilySearchResponse;
 import com.solesonic.service.tavily.TavilySearchService;
+import com.solesonic.agent.sports.SportsResearchExecutor;
 import com.solesonic.agent.sports.SportsState;
 import com.solesonic.agent.sports.model.SportsQueryIntent;
 import com.solesonic.agent.sports.model.SportsQuestionType;
@@ -40,9 +41,11 @@ public class SearchSportsNewsNode implements AsyncNodeAction<SportsState> {
             SportsQuestionType.COACHING);
 
     private final TavilySearchService tavilySearchService;
+    private final SportsResearchExecutor researchExecutor;
 
-    public SearchSportsNewsNode(TavilySearchService tavilySearchService) {
+    public SearchSportsNewsNode(TavilySearchService tavilySearchService, SportsResearchExecutor researchExecutor) {
         this.tavilySearchService = tavilySearchService;
+        this.researchExecutor = researchExecutor;
     }
 
     @Override
@@ -58,27 +61,30 @@ public class SearchSportsNewsNode implements AsyncNodeAction<SportsState> {
             StringBuilder summary = new StringBuilder();
             List<String> newsQueries = buildNewsQueries(sportsQueryIntent, searchDate);
 
-            for (String query : newsQueries) {
-                try {
-                    log.info("Executing sports news search: {}", query);
-
-                    TavilySearchRequest newsRequest = TavilySearchRequest.builder()
-                            .query(query)
-                            .searchDepth(DEPTH_BASIC)
-                            .topic(TOPIC_NEWS)
-                            .maxResults(5)
-                            .includeAnswer(true)
-                            .timeRange(TIME_WEEK)
-                            .build();
-
-                    TavilySearchResponse response = tavilySearchService.search(newsRequest);
-
-                    summary.append("=== News: ").append(query).append(" ===\n");
-                    summary.append(formatSearchResults(response));
+            List<SportsResearchExecutor.Outcome<TavilySearchResponse>> outcomes =
+                    researchExecutor.research(newsQueries, query -> {
+                        log.info("Executing sports news search: {}", query);
+
+                        TavilySearchRequest newsRequest = TavilySearchRequest.builder()
+                                .query(query)
+                                .searchDepth(DEPTH_BASIC)
+                                .topic(TOPIC_NEWS)
+                                .maxResults(5)
+                                .includeAnswer(true)
+                                .timeRange(TIME_WEEK)
+                                .build();
+
+                        return tavilySearchService.search(newsRequest);
+                    });
+
+            for (SportsResearchExecutor.Outcome<TavilySearchResponse> outcome : outcomes) {
+                if (outcome.succeeded()) {
+                    summary.append("=== News: ").append(outcome.query()).append(" ===\n");
+                    summary.append(formatSearchResults(outcome.result()));
                     summary.append("\n");
-                } catch (Exception exception) {
-                    log.warn("News search failed for query '{}': {}", query, exception.getMessage());
-                    summary.append("=== News: ").append(query).append(" ===\nSearch unavailable.\n\n");
+                } else {
+                    log.warn("News search failed for query '{}': {}", outcome.query(), outcome.failure().getMessage());
+                    summary.append("=== News: ").append(outcome.query()).append(" ===\nSearch unavailable.\n\n");
                 }
             }
 
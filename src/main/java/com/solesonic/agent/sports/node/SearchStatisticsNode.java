@@ -3,6 +3,7 @@ package com.solesonic.agent.sports.node;
 import com.solesonic.model.tavily.TavilySearchRequest;
 import com.solesonic.model.tavily.TavilySearchResponse;
 import com.solesonic.service.tavily.TavilySearchService;
+import com.solesonic.agent.sports.SportsResearchExecutor;
 import com.solesonic.agent.sports.SportsState;
 import com.solesonic.agent.sports.model.SportsQueryIntent;
 import com.solesonic.agent.sports.model.SportsQuestionType;
@@ -44,9 +45,11 @@ public class SearchStatisticsNode implements AsyncNodeAction<SportsState> {
             SportsQuestionType.HISTORICAL);
 
     private final TavilySearchService tavilySearchService;
+    private final SportsResearchExecutor researchExecutor;
 
-    public SearchStatisticsNode(TavilySearchService tavilySearchService) {
+    public SearchStatisticsNode(TavilySearchService tavilySearchService, SportsResearchExecutor researchExecutor) {
         this.tavilySearchService = tavilySearchService;
+        this.researchExecutor = researchExecutor;
     }
 
     @Override
@@ -62,27 +65,30 @@ public class SearchStatisticsNode implements AsyncNodeAction<SportsState> {
             StringBuilder summary = new StringBuilder();
             List<String> statsQueries = buildStatsQueries(sportsQueryIntent);
 
-            for (String query : statsQueries) {
-                try {
-                    log.info("Executing statistics search: {}", query);
-
-                    TavilySearchRequest statsRequest = TavilySearchRequest.builder()
-                            .query(query)
-                            .searchDepth(DEPTH_ADVANCED)
-                            .topic(TOPIC_GENERAL)
-                            .maxResults(5)
-                            .includeAnswer(true)
-                            .includeDomains(STATS_DOMAINS)
-                            .build();
-
-                    TavilySearchResponse response = tavilySearchService.search(statsRequest);
-
-                    summary.append("=== Stats: ").append(query).append(" ===\n");
-                    summary.append(formatSearchResults(response));
+            List<SportsResearchExecutor.Outcome<TavilySearchResponse>> outcomes =
+                    researchExecutor.research(statsQueries, query -> {
+                        log.info("Executing statistics search: {}", query);
+
+                        TavilySearchRequest statsRequest = TavilySearchRequest.builder()
+                                .query(query)
+                                .searchDepth(DEPTH_ADVANCED)
+                                .topic(TOPIC_GENERAL)
+                                .maxResults(5)
+                                .includeAnswer(true)
+                                .includeDomains(STATS_DOMAINS)
+                                .build();
+
+                        return tavilySearchService.search(statsRequest);
+                    });
+
+            for (SportsResearchExecutor.Outcome<TavilySearchResponse> outcome : outcomes) {
+                if (outcome.succeeded()) {
+                    summary.append("=== Stats: ").append(outcome.query()).append(" ===\n");
+                    summary.append(formatSearchResults(outcome.result()));
                     summary.append("\n");
-                } catch (Exception exception) {
-                    log.warn("Statistics search failed for query '{}': {}", query, exception.getMessage());
-                    summary.append("=== Stats: ").append(query).append(" ===\nSearch unavailable.\n\n");
+                } else {
+                    log.warn("Statistics search failed for query '{}': {}", outcome.query(), outcome.failure().getMessage());
+                    summary.append("=== Stats: ").append(outcome.query()).append(" ===\nSearch unavailable.\n\n");
                 }
             }
 
@@ -6,6 +6,7 @@ import org.a2aproject.sdk.spec.Part;
 import org.a2aproject.sdk.spec.TaskState;
 import org.a2aproject.sdk.spec.TextPart;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -20,6 +21,13 @@ public interface SynthesisOutputEmitter {
 
     void emitProgress(String message);
 
+    /**
+     * Called once the run is over, whether it finished, failed or was cancelled. Output still held back
+     * is dropped, since the task no longer takes updates.
+     */
+    default void close() {
+    }
+
     static SynthesisOutputEmitter noOp() {
         return new SynthesisOutputEmitter() {
             @Override
@@ -32,6 +40,17 @@ public interface SynthesisOutputEmitter {
         };
     }
 
+    /**
+     * Wraps the delegate so consecutive tokens are merged into larger chunks before they are emitted.
+     * A non-positive flush interval disables coalescing and returns the delegate unchanged.
+     */
+    static SynthesisOutputEmitter coalescing(SynthesisOutputEmitter delegate, Duration flushInterval, int maxBufferedBytes) {
+        if (flushInterval == null || flushInterval.isZero() || flushInterval.isNegative()) {
+            return delegate;
+        }
+        return new CoalescingSynthesisOutputEmitter(delegate, flushInterval, maxBufferedBytes);
+    }
+
     static SynthesisOutputEmitter fromTaskUpdater(AgentEmitter agentEmitter) {
         return new SynthesisOutputEmitter() {
             @Override
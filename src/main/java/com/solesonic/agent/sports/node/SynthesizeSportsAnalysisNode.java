@@ -1,5 +1,6 @@
 package com.solesonic.agent.sports.node;
 
+import com.solesonic.agent.cancellation.CancellationToken;
 import com.solesonic.agent.sports.SportsState;
 import org.bsc.langgraph4j.RunnableConfig;
 import org.bsc.langgraph4j.action.AsyncNodeActionWithConfig;
@@ -9,6 +10,7 @@ import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.Map;
@@ -40,6 +42,7 @@ public class SynthesizeSportsAnalysisNode implements AsyncNodeActionWithConfig<S
                 .metadata(SynthesisOutputEmitter.CONFIG_KEY)
                 .map(SynthesisOutputEmitter.class::cast)
                 .orElseGet(SynthesisOutputEmitter::noOp);
+        CancellationToken cancellationToken = CancellationToken.from(config);
 
         Prompt synthesisPrompt = synthesisPromptAssembler.assemble(state);
         String artifactId = UUID.randomUUID().toString();
@@ -52,9 +55,12 @@ public class SynthesizeSportsAnalysisNode implements AsyncNodeActionWithConfig<S
                         .map(intent -> intent.questionTypes().toString())
                         .orElse("unknown"));
 
-        return chatClient.prompt(synthesisPrompt)
+        // Disposing the stream on cancellation closes the model connection and stops generation
+        Flux<String> tokens = cancellationToken.bind(chatClient.prompt(synthesisPrompt)
                 .stream()
-                .content()
+                .content());
+
+        return tokens
                 .doOnNext(token -> {
                     accumulated.append(token);
                     // Buffer one token ahead so the final token can be sent with lastChunk=true
@@ -65,6 +71,8 @@ public class SynthesizeSportsAnalysisNode implements AsyncNodeActionWithConfig<S
                     }
                 })
                 .doOnComplete(() -> {
+                    // A cancelled answer is incomplete, so it must not be marked as the last chunk
+                    cancellationToken.throwIfCancelled();
                     String lastToken = pendingToken.get();
                     boolean isFirst = !firstChunkSent.get();
                     emitter.emitChunk(lastToken != null ? lastToken : "", artifactId, isFirst ? null : true, true);
@@ -0,0 +1,32 @@
+package com.solesonic.mcp.config.espn;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-memory cache of ESPN API responses. An entry is fresh for its endpoint's TTL; for one
+ * more TTL after that it is still served while a background call refreshes it.
+ *
+ * @param enabled          whether ESPN responses are cached at all
+ * @param maxEntries       responses kept in memory; the least recently used one is dropped beyond this
+ * @param fillTimeout      time callers wait on an upstream call made for a missing entry
+ * @param liveScheduleTtl  TTL of a scoreboard or schedule that has a game in progress
+ * @param scheduleTtl      TTL of a scoreboard or schedule without live games
+ * @param standingsTtl     TTL of the league standings
+ * @param teamStatsTtl     TTL of a team's statistics
+ * @param rosterTtl        TTL of a team roster
+ */
+@ConfigurationProperties(prefix = "solesonic.espn.cache")
+public record EspnCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("256") int maxEntries,
+        @DefaultValue("10s") Duration fillTimeout,
+        @DefaultValue("30s") Duration liveScheduleTtl,
+        @DefaultValue("5m") Duration scheduleTtl,
+        @DefaultValue("10m") Duration standingsTtl,
+        @DefaultValue("1h") Duration teamStatsTtl,
+        @DefaultValue("6h") Duration rosterTtl
+) {
+}
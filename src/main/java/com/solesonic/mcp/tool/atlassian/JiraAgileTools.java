@@ -1,6 +1,8 @@
 package com.solesonic.mcp.tool.atlassian;
 
+import com.solesonic.a2a.config.GraphCheckpointConfiguration;
 import com.solesonic.a2a.progress.ProgressReporter;
+import com.solesonic.a2a.redis.RedisCheckpointSaver;
 import com.solesonic.agent.agile.AgileGraph;
 import com.solesonic.agent.agile.AgileQueryIntent;
 import com.solesonic.agent.agile.AgileState;
@@ -13,6 +15,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.ai.mcp.annotation.McpTool;
 import org.springframework.ai.mcp.annotation.McpToolParam;
 import org.springframework.ai.mcp.annotation.context.McpSyncRequestContext;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
@@ -54,10 +57,14 @@ public class JiraAgileTools {
 
     private final JiraAgileService jiraAgileService;
     private final CompiledGraph<AgileState> agileResearchGraph;
+    private final RedisCheckpointSaver agileCheckpointSaver;
 
-    public JiraAgileTools(JiraAgileService jiraAgileService, CompiledGraph<AgileState> agileResearchGraph) {
+    public JiraAgileTools(JiraAgileService jiraAgileService,
+                          CompiledGraph<AgileState> agileResearchGraph,
+                          @Qualifier(GraphCheckpointConfiguration.AGILE_CHECKPOINT_SAVER) RedisCheckpointSaver agileCheckpointSaver) {
         this.jiraAgileService = jiraAgileService;
         this.agileResearchGraph = agileResearchGraph;
+        this.agileCheckpointSaver = agileCheckpointSaver;
     }
 
     public record ListBoardsRequest(@McpToolParam(required = false, description = START_AT_DESCRIPTION)
@@ -101,9 +108,13 @@ public class JiraAgileTools {
                 AgileState.USER_MESSAGE, userMessage
         );
 
+        RunnableConfig runnableConfig = RunnableConfig.builder()
+                .threadId(JiraIssueTools.requestThreadId(mcpSyncRequestContext, chatId(mcpSyncRequestContext)))
+                .build();
+
         AtomicReference<AgileState> finalStateRef = new AtomicReference<>();
 
-        agileResearchGraph.stream(graphInput, RunnableConfig.builder().build())
+        agileCheckpointSaver.resumeOrStart(agileResearchGraph, graphInput, runnableConfig)
                 .forEachAsync(output -> {
                     finalStateRef.set(output.state());
 
@@ -154,4 +165,14 @@ public class JiraAgileTools {
         }
         return boards.getFirst();
     }
+
+    private static String chatId(McpSyncRequestContext mcpSyncRequestContext) {
+        Map<String, Object> meta = mcpSyncRequestContext.requestMeta();
+
+        if (meta != null && meta.containsKey(JiraIssueTools.CHAT_ID)) {
+            return meta.get(JiraIssueTools.CHAT_ID).toString();
+        }
+
+        return null;
+    }
 }
@@ -1,6 +1,8 @@
 package com.solesonic.mcp.tool.atlassian;
 
+import com.solesonic.a2a.config.GraphCheckpointConfiguration;
 import com.solesonic.a2a.progress.ProgressReporter;
+import com.solesonic.a2a.redis.RedisCheckpointSaver;
 import com.solesonic.agent.jira.JiraGraphConfig;
 import com.solesonic.agent.jira.JiraState;
 import com.solesonic.agent.model.JiraIssueCreatePayload;
@@ -15,6 +17,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.ai.mcp.annotation.McpTool;
 import org.springframework.ai.mcp.annotation.McpToolParam;
 import org.springframework.ai.mcp.annotation.context.McpSyncRequestContext;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -36,6 +39,7 @@ public class JiraIssueTools {
     public static final String GET_JIRA_ISSUE = "get_jira_issue";
     public static final String CREATE_JIRA_STORY = "create_jira_story";
     public static final String CHAT_ID = "chatId";
+    public static final String REQUEST_ID = "requestId";
 
     private static final String CREATE_JIRA_STORY_DESCRIPTION = """
             A guided workflow that generates a complete Jira story from a natural language description.
@@ -44,13 +48,17 @@ public class JiraIssueTools {
 
     private final JiraIssueService jiraIssueService;
     private final CompiledGraph<JiraState> jiraCreateGraph;
+    private final RedisCheckpointSaver jiraCheckpointSaver;
 
     @Value("${jira.url.template}")
     private String jiraUrlTemplate;
 
-    public JiraIssueTools(JiraIssueService jiraIssueService, CompiledGraph<JiraState> jiraCreateGraph) {
+    public JiraIssueTools(JiraIssueService jiraIssueService,
+                          CompiledGraph<JiraState> jiraCreateGraph,
+                          @Qualifier(GraphCheckpointConfiguration.JIRA_CHECKPOINT_SAVER) RedisCheckpointSaver jiraCheckpointSaver) {
         this.jiraIssueService = jiraIssueService;
         this.jiraCreateGraph = jiraCreateGraph;
+        this.jiraCheckpointSaver = jiraCheckpointSaver;
     }
 
     public record CreateJiraRequest(String summary, String description, List<String> acceptanceCriteria, String assigneeId) {
@@ -131,9 +139,13 @@ public class JiraIssueTools {
                 JiraState.CONVERSATION_ID, conversationId
         );
 
+        RunnableConfig runnableConfig = RunnableConfig.builder()
+                .threadId(requestThreadId(mcpSyncRequestContext, conversationId))
+                .build();
+
         AtomicReference<JiraState> finalStateRef = new AtomicReference<>();
 
-        jiraCreateGraph.stream(graphInput, RunnableConfig.builder().build())
+        jiraCheckpointSaver.resumeOrStart(jiraCreateGraph, graphInput, runnableConfig)
                 .forEachAsync(output -> {
                     finalStateRef.set(output.state());
 
@@ -176,6 +188,17 @@ public class JiraIssueTools {
         return "Created Jira story %s: %s".formatted(issueKey, jiraUrlTemplate.formatted(issueKey));
     }
 
+    /**
+     * Checkpoint thread for a workflow run, keyed on the {@code requestId} the client resends when it retries
+     * the call; a call without one runs on a thread that is never checkpointed.
+     */
+    static String requestThreadId(McpSyncRequestContext mcpSyncRequestContext, String conversationId) {
+        Map<String, Object> meta = mcpSyncRequestContext.requestMeta();
+        Object requestId = meta == null ? null : meta.get(REQUEST_ID);
+
+        return RedisCheckpointSaver.requestThreadId(conversationId, requestId == null ? null : requestId.toString());
+    }
+
     private static String extractConversationId(McpSyncRequestContext mcpSyncRequestContext) {
         Map<String, Object> meta = mcpSyncRequestContext.requestMeta();
 
@@ -1,7 +1,11 @@
 package com.solesonic.service.espn;
 
+import com.solesonic.agent.cancellation.CancellationToken;
+import com.solesonic.agent.research.ResearchContext;
+import com.solesonic.mcp.config.espn.EspnCacheProperties;
 import com.solesonic.model.espn.EspnRosterResponse;
 import com.solesonic.model.espn.EspnScheduleResponse;
+import com.solesonic.model.espn.EspnScheduleSummary;
 import com.solesonic.model.espn.EspnStandingsResponse;
 import com.solesonic.model.espn.EspnStatsResponse;
 import org.slf4j.Logger;
@@ -10,6 +14,10 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 import static com.solesonic.mcp.config.espn.EspnConstants.*;
 
 @Component
@@ -17,21 +25,35 @@ public class EspnClient {
 
     private static final Logger log = LoggerFactory.getLogger(EspnClient.class);
 
+    public static final String SCOREBOARD = "espn.scoreboard";
+    public static final String TEAM_SCHEDULE = "espn.team-schedule";
+    public static final String GENERAL_SCHEDULE = "espn.general-schedule";
+    public static final String TEAM_ROSTER = "espn.team-roster";
+    public static final String STANDINGS = "espn.standings";
+    public static final String TEAM_STATS = "espn.team-stats";
+
     private final WebClient webClient;
+    private final EspnResponseCache responseCache;
+    private final EspnCacheProperties cacheProperties;
 
-    public EspnClient(@Qualifier(ESPN_API_WEB_CLIENT) WebClient webClient) {
+    public EspnClient(@Qualifier(ESPN_API_WEB_CLIENT) WebClient webClient,
+                      EspnResponseCache responseCache,
+                      EspnCacheProperties cacheProperties) {
         this.webClient = webClient;
+        this.responseCache = responseCache;
+        this.cacheProperties = cacheProperties;
     }
 
     public EspnScheduleResponse fetchScoreboard() {
         log.info("Fetching ESPN NBA scoreboard");
 
         try {
-            EspnScheduleResponse response = webClient.get()
-                    .uri(SCOREBOARD_ENDPOINT)
-                    .retrieve()
-                    .bodyToMono(EspnScheduleResponse.class)
-                    .block();
+            EspnScheduleResponse response = fetch(SCOREBOARD, "", this::scheduleTtl, () -> webClient.get()
+                        .uri(SCOREBOARD_ENDPOINT)
+                        .retrieve()
+                        .bodyToMono(EspnScheduleResponse.class)
+                        .transform(CancellationToken::bindCurrent)
+                        .block());
 
             log.info("ESPN scoreboard fetched. Events: {}", response != null && response.events() != null ? response.events().size() : 0);
             return response;
@@ -44,11 +66,12 @@ public class EspnClient {
     public EspnScheduleResponse fetchTeamSchedule(String teamAbbreviation) {
         log.info("Fetching ESPN schedule for team: {}", teamAbbreviation);
         try {
-            EspnScheduleResponse response = webClient.get()
-                    .uri(TEAM_SCHEDULE_ENDPOINT, teamAbbreviation)
-                    .retrieve()
-                    .bodyToMono(EspnScheduleResponse.class)
-                    .block();
+            EspnScheduleResponse response = fetch(TEAM_SCHEDULE, teamAbbreviation, this::scheduleTtl, () -> webClient.get()
+                        .uri(TEAM_SCHEDULE_ENDPOINT, teamAbbreviation)
+                        .retrieve()
+                        .bodyToMono(EspnScheduleResponse.class)
+                        .transform(CancellationToken::bindCurrent)
+                        .block());
             log.info("ESPN team schedule fetched for {}. Events: {}",
                     teamAbbreviation,
                     response != null && response.events() != null ? response.events().size() : 0);
@@ -63,11 +86,12 @@ public class EspnClient {
     public EspnScheduleResponse fetchGeneralSchedule() {
         log.info("Fetching general ESPN schedule");
         try {
-            return webClient.get()
-                    .uri(GENERAL_SCHEDULE_ENDPOINT)
-                    .retrieve()
-                    .bodyToMono(EspnScheduleResponse.class)
-                    .block();
+            return fetch(GENERAL_SCHEDULE, "", this::scheduleTtl, () -> webClient.get()
+                        .uri(GENERAL_SCHEDULE_ENDPOINT)
+                        .retrieve()
+                        .bodyToMono(EspnScheduleResponse.class)
+                        .transform(CancellationToken::bindCurrent)
+                        .block());
         } catch (Exception exception) {
             log.error("ESPN team schedule fetch failed for", exception);
             return null;
@@ -77,11 +101,12 @@ public class EspnClient {
     public EspnRosterResponse fetchTeamRoster(String teamAbbreviation) {
         log.info("Fetching ESPN roster for team: {}", teamAbbreviation);
         try {
-            EspnRosterResponse response = webClient.get()
-                    .uri(TEAM_ROSTER_ENDPOINT, teamAbbreviation)
-                    .retrieve()
-                    .bodyToMono(EspnRosterResponse.class)
-                    .block();
+            EspnRosterResponse response = fetch(TEAM_ROSTER, teamAbbreviation, _ -> cacheProperties.rosterTtl(), () -> webClient.get()
+                        .uri(TEAM_ROSTER_ENDPOINT, teamAbbreviation)
+                        .retrieve()
+                        .bodyToMono(EspnRosterResponse.class)
+                        .transform(CancellationToken::bindCurrent)
+                        .block());
             log.info("ESPN roster fetched for {}. Athletes: {}",
                     teamAbbreviation,
                     response != null && response.athletes() != null ? response.athletes().size() : 0);
@@ -95,11 +120,12 @@ public class EspnClient {
     public EspnStandingsResponse fetchStandings() {
         log.info("Fetching ESPN NBA standings");
         try {
-            EspnStandingsResponse response = webClient.get()
-                    .uri(STANDINGS_ENDPOINT)
-                    .retrieve()
-                    .bodyToMono(EspnStandingsResponse.class)
-                    .block();
+            EspnStandingsResponse response = fetch(STANDINGS, "", _ -> cacheProperties.standingsTtl(), () -> webClient.get()
+                        .uri(STANDINGS_ENDPOINT)
+                        .retrieve()
+                        .bodyToMono(EspnStandingsResponse.class)
+                        .transform(CancellationToken::bindCurrent)
+                        .block());
             log.info("ESPN standings fetched. Conferences: {}",
                     response != null && response.children() != null ? response.children().size() : 0);
             return response;
@@ -112,11 +138,12 @@ public class EspnClient {
     public EspnStatsResponse fetchTeamStats(String teamAbbreviation) {
         log.info("Fetching ESPN stats for team: {}", teamAbbreviation);
         try {
-            EspnStatsResponse response = webClient.get()
-                    .uri(TEAM_STATS_ENDPOINT, teamAbbreviation)
-                    .retrieve()
-                    .bodyToMono(EspnStatsResponse.class)
-                    .block();
+            EspnStatsResponse response = fetch(TEAM_STATS, teamAbbreviation, _ -> cacheProperties.teamStatsTtl(), () -> webClient.get()
+                        .uri(TEAM_STATS_ENDPOINT, teamAbbreviation)
+                        .retrieve()
+                        .bodyToMono(EspnStatsResponse.class)
+                        .transform(CancellationToken::bindCurrent)
+                        .block());
             log.info("ESPN stats fetched for {}", teamAbbreviation);
             return response;
         } catch (Exception exception) {
@@ -124,4 +151,17 @@ public class EspnClient {
             return null;
         }
     }
+
+    /**
+     * Identical ESPN calls within one graph run are sent once, and across runs are served from the
+     * {@link EspnResponseCache} for as long as {@code ttl} allows.
+     */
+    private <T> T fetch(String endpoint, String key, Function<? super T, Duration> ttl, Supplier<T> call) {
+        return ResearchContext.current().share(endpoint, key, () -> responseCache.get(endpoint, key, ttl, call));
+    }
+
+    private Duration scheduleTtl(EspnScheduleResponse response) {
+        boolean live = response.events() != null && !new EspnScheduleSummary(response.events()).liveGames().isEmpty();
+        return live ? cacheProperties.liveScheduleTtl() : cacheProperties.scheduleTtl();
+    }
 }
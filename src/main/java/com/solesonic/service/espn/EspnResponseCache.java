@@ -0,0 +1,217 @@
+package com.solesonic.service.espn;
+
+import com.solesonic.agent.cancellation.CancellationToken;
+import com.solesonic.mcp.config.espn.EspnCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache of ESPN API responses, shared by every request on this node. Each entry is fresh for the TTL
+ * its endpoint gives the response; for one more TTL after that it is still served while a background call
+ * refreshes it, so callers only wait on ESPN for entries that are missing or long expired.
+ * <p>
+ * Upstream calls are single-flight per endpoint and key: a burst of callers for the same missing entry makes one
+ * call and waits on it. The calls run detached from the callers, so a cancelled request stops waiting without
+ * abandoning a fill others are waiting on. The number of entries is bounded, dropping the least recently used.
+ * <p>
+ * Change listeners hear the endpoint of every entry a refresh replaced with a different response, so caches
+ * built on top of this data can drop what they derived from the old one.
+ */
+@Component
+public class EspnResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(EspnResponseCache.class);
+
+    private static final String ESPN_CACHE = "espn-cache-";
+    private static final String REQUESTS = "espn.cache.requests";
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long fillTimeoutMillis;
+    private final Clock clock;
+    private final Executor executor;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Key, Entry> entries;
+    private final ConcurrentMap<Key, CompletableFuture<Object>> fills = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> changeListeners = new CopyOnWriteArrayList<>();
+
+    private final Counter evictions;
+
+    public EspnResponseCache(EspnCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    EspnResponseCache(EspnCacheProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        SimpleAsyncTaskExecutor simpleAsyncTaskExecutor = new SimpleAsyncTaskExecutor(ESPN_CACHE);
+        simpleAsyncTaskExecutor.setVirtualThreads(true);
+
+        this.enabled = properties.enabled();
+        this.maxEntries = Math.max(1, properties.maxEntries());
+        this.fillTimeoutMillis = properties.fillTimeout().toMillis();
+        this.clock = clock;
+        this.executor = simpleAsyncTaskExecutor;
+        this.meterRegistry = meterRegistry;
+        this.evictions = Counter.builder("espn.cache.evictions")
+                .description("ESPN responses dropped as least recently used")
+                .register(meterRegistry);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                boolean evict = size() > maxEntries;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+
+        Gauge.builder("espn.cache.size", this, EspnResponseCache::size)
+                .description("ESPN responses held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached response for {@code endpoint} and {@code key}, calling {@code call} when there is none.
+     * A {@code null} response is returned but not cached.
+     *
+     * @param ttl time the response stays fresh, which may depend on the response itself
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String endpoint, Object key, Function<? super T, Duration> ttl, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        Key cacheKey = new Key(endpoint, key);
+        Instant now = clock.instant();
+        Entry entry = lookup(cacheKey);
+
+        if (entry != null && now.isBefore(entry.freshUntil())) {
+            count(endpoint, "hit");
+            return (T) entry.value();
+        }
+
+        if (entry != null && now.isBefore(entry.staleUntil())) {
+            count(endpoint, "stale");
+            fill(cacheKey, ttl, call);
+            return (T) entry.value();
+        }
+
+        count(endpoint, "miss");
+        CompletableFuture<Object> fill = fill(cacheKey, ttl, call);
+
+        // Waiting binds the caller's token; the fill itself keeps running for the other callers
+        return (T) Mono.fromFuture(fill, true)
+                .transform(CancellationToken::bindCurrent)
+                .block();
+    }
+
+    /**
+     * Registers a listener called with the endpoint whenever a refresh stores a response that differs from
+     * the one it replaces. Listeners run on the fill thread.
+     */
+    public void onChange(Consumer<String> listener) {
+        changeListeners.add(listener);
+    }
+
+    private <T> CompletableFuture<Object> fill(Key cacheKey, Function<? super T, Duration> ttl, Supplier<T> call) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = fills.putIfAbsent(cacheKey, created);
+        if (inFlight != null) {
+            return inFlight;
+        }
+
+        created.orTimeout(fillTimeoutMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((_, _) -> fills.remove(cacheKey, created));
+
+        executor.execute(() -> {
+            try {
+                T value = call.get();
+                if (value != null) {
+                    store(cacheKey, value, ttl.apply(value));
+                }
+                created.complete(value);
+            } catch (Throwable failure) {
+                // A failed refresh keeps serving the stale entry until it runs out
+                log.warn("ESPN cache fill failed: endpoint={}, key={}, error={}",
+                        cacheKey.endpoint(), cacheKey.key(), failure.getMessage());
+                created.completeExceptionally(failure);
+            }
+        });
+        return created;
+    }
+
+    private Entry lookup(Key cacheKey) {
+        synchronized (entries) {
+            return entries.get(cacheKey);
+        }
+    }
+
+    private void store(Key cacheKey, Object value, Duration ttl) {
+        Instant now = clock.instant();
+        Entry entry = new Entry(value, now.plus(ttl), now.plus(ttl.multipliedBy(2)));
+        Entry previous;
+        synchronized (entries) {
+            previous = entries.put(cacheKey, entry);
+        }
+
+        if (previous != null && !Objects.equals(previous.value(), value)) {
+            notifyChanged(cacheKey.endpoint());
+        }
+    }
+
+    private void notifyChanged(String endpoint) {
+        for (Consumer<String> listener : changeListeners) {
+            try {
+                listener.accept(endpoint);
+            } catch (RuntimeException exception) {
+                log.warn("ESPN cache change listener failed: endpoint={}, error={}", endpoint, exception.getMessage());
+            }
+        }
+    }
+
+    private void count(String endpoint, String result) {
+        Counter.builder(REQUESTS)
+                .description("ESPN responses requested from the cache")
+                .tag("endpoint", endpoint)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Key(String endpoint, Object key) {
+    }
+
+    private record Entry(Object value, Instant freshUntil, Instant staleUntil) {
+    }
+}
@@ -1,5 +1,7 @@
 package com.solesonic.service.tavily;
 
+import com.solesonic.agent.cancellation.CancellationToken;
+import com.solesonic.agent.research.ResearchContext;
 import com.solesonic.model.tavily.TavilyExtractRequest;
 import com.solesonic.model.tavily.TavilyExtractResponse;
 import com.solesonic.model.tavily.TavilySearchRequest;
@@ -21,6 +23,9 @@ public class TavilySearchService {
 
     private static final Logger log = LoggerFactory.getLogger(TavilySearchService.class);
 
+    private static final String SEARCH = "tavily.search";
+    private static final String EXTRACT = "tavily.extract";
+
     private final WebClient webClient;
 
     public TavilySearchService(@Qualifier(TAVILY_API_WEB_CLIENT) WebClient webClient) {
@@ -30,12 +35,14 @@ public class TavilySearchService {
     public TavilySearchResponse search(TavilySearchRequest request) {
         log.info("Executing Tavily search for query: {}", request.query());
 
-        TavilySearchResponse response = webClient.post()
+        // Identical searches within one graph run are sent once
+        TavilySearchResponse response = ResearchContext.current().share(SEARCH, request, () -> webClient.post()
                 .uri(SEARCH_ENDPOINT)
                 .bodyValue(request)
                 .retrieve()
                 .bodyToMono(TavilySearchResponse.class)
-                .block();
+                .transform(CancellationToken::bindCurrent)
+                .block());
 
         log.info("Tavily search completed. Results count: {}",
                 response != null && response.results() != null ? response.results().size() : 0);
@@ -48,12 +55,13 @@ public class TavilySearchService {
 
         TavilyExtractRequest request = new TavilyExtractRequest(urls);
 
-        TavilyExtractResponse response = webClient.post()
+        TavilyExtractResponse response = ResearchContext.current().share(EXTRACT, request, () -> webClient.post()
                 .uri(EXTRACT_ENDPOINT)
                 .bodyValue(request)
                 .retrieve()
                 .bodyToMono(TavilyExtractResponse.class)
-                .block();
+                .transform(CancellationToken::bindCurrent)
+                .block());
 
         log.info("Tavily extract completed. Success: {}, Failed: {}",
                 response != null && response.results() != null ? response.results().size() : 0,
@@ -0,0 +1,56 @@
+package com.solesonic.a2a.event;
+
+import org.a2aproject.sdk.spec.Task;
+import org.a2aproject.sdk.spec.TaskState;
+import org.a2aproject.sdk.spec.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EncodedEventCacheTest {
+
+    private final EncodedEventCache cache = new EncodedEventCache();
+
+    @Test
+    void encode_sameInstance_reusesEncoding() {
+        Task task = buildTask("task-1");
+
+        EncodedEvent first = cache.encode(task);
+        EncodedEvent second = cache.encode(task);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.streamingResult()).isSameAs(first.streamingResult());
+        assertThat(new String(first.streamingResult(), StandardCharsets.UTF_8)).contains("task-1");
+    }
+
+    @Test
+    void encode_equalButDistinctInstances_encodesSeparately() {
+        EncodedEvent first = cache.encode(buildTask("task-1"));
+        EncodedEvent second = cache.encode(buildTask("task-1"));
+
+        assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    void encode_beyondCapacity_evictsOldest() {
+        Task oldest = buildTask("task-0");
+        EncodedEvent oldestEncoded = cache.encode(oldest);
+
+        for (int index = 1; index <= EncodedEventCache.MAX_ENTRIES; index++) {
+            cache.encode(buildTask("task-" + index));
+        }
+
+        assertThat(cache.size()).isEqualTo(EncodedEventCache.MAX_ENTRIES);
+        assertThat(cache.encode(oldest)).isNotSameAs(oldestEncoded);
+    }
+
+    private Task buildTask(String taskId) {
+        return Task.builder()
+                .id(taskId)
+                .contextId("ctx-" + taskId)
+                .status(new TaskStatus(TaskState.TASK_STATE_WORKING))
+                .build();
+    }
+}
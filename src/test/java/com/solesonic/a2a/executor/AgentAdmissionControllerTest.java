@@ -0,0 +1,153 @@
+package com.solesonic.a2a.executor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AgentAdmissionControllerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void acquire_belowLimit_admitsWithoutQueueing() throws Exception {
+        AgentAdmissionController controller = new AgentAdmissionController("nba", 1, 1, meterRegistry);
+        List<Integer> positions = new CopyOnWriteArrayList<>();
+
+        try (AgentAdmissionController.Slot slot = controller.acquire("task-1", "alice", positions::add)) {
+            assertThat(slot).isNotNull();
+        }
+
+        assertThat(positions).isEmpty();
+    }
+
+    @Test
+    void acquire_queueFull_rejectsImmediately() throws Exception {
+        AgentAdmissionController controller = new AgentAdmissionController("nba", 1, 1, meterRegistry);
+        AgentAdmissionController.Slot running = controller.acquire("task-1", "alice", _ -> { });
+        Thread waiting = Thread.ofVirtual().start(() -> acquireAndRelease(controller, "task-2", "bob", new CopyOnWriteArrayList<>()));
+        awaitQueued(1);
+
+        assertThatThrownBy(() -> controller.acquire("task-3", "carol", _ -> { }))
+                .isInstanceOf(AgentAdmissionController.AdmissionRejectedException.class);
+        assertThat(meterRegistry.get("a2a.admission.rejected").counter().count()).isEqualTo(1);
+
+        running.close();
+        waiting.join();
+    }
+
+    @Test
+    void release_waitingUsers_admitsRoundRobinAcrossUsers() throws Exception {
+        AgentAdmissionController controller = new AgentAdmissionController("nba", 1, 10, meterRegistry);
+        List<String> admitted = new CopyOnWriteArrayList<>();
+        List<Integer> secondAlicePositions = new CopyOnWriteArrayList<>();
+
+        AgentAdmissionController.Slot running = controller.acquire("task-0", "carol", _ -> { });
+        Thread aliceFirst = Thread.ofVirtual().start(() -> acquireAndRelease(controller, "alice-1", "alice", admitted));
+        awaitQueued(1);
+        Thread aliceSecond = Thread.ofVirtual().start(() -> {
+            try (AgentAdmissionController.Slot _ = controller.acquire("alice-2", "alice", secondAlicePositions::add)) {
+                admitted.add("alice-2");
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        awaitQueued(2);
+        Thread bob = Thread.ofVirtual().start(() -> acquireAndRelease(controller, "bob-1", "bob", admitted));
+        awaitQueued(3);
+
+        running.close();
+        aliceFirst.join();
+        aliceSecond.join();
+        bob.join();
+
+        assertThat(admitted).containsExactly("alice-1", "bob-1", "alice-2");
+        assertThat(secondAlicePositions.getFirst()).isEqualTo(2);
+        assertThat(secondAlicePositions).contains(3);
+    }
+
+    @Test
+    void abandon_waitingRequest_returnsNoSlot() throws Exception {
+        AgentAdmissionController controller = new AgentAdmissionController("nba", 1, 1, meterRegistry);
+        AgentAdmissionController.Slot running = controller.acquire("task-1", "alice", _ -> { });
+        AgentAdmissionController.Slot[] result = new AgentAdmissionController.Slot[1];
+        Thread waiting = Thread.ofVirtual().start(() -> {
+            try {
+                result[0] = controller.acquire("task-2", "bob", _ -> { });
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        awaitQueued(1);
+
+        controller.abandon("task-2");
+        waiting.join();
+
+        assertThat(result[0]).isNull();
+        assertThat(meterRegistry.get("a2a.admission.queue.depth").gauge().value()).isZero();
+        running.close();
+    }
+
+    @Test
+    void acquire_interruptedWhileReleaseAdmitsIt_returnsSlot() throws Exception {
+        for (int attempt = 0; attempt < 200; attempt++) {
+            SimpleMeterRegistry attemptRegistry = new SimpleMeterRegistry();
+            AgentAdmissionController controller = new AgentAdmissionController("nba", 1, 1, attemptRegistry);
+            AgentAdmissionController.Slot running = controller.acquire("task-1", "alice", _ -> { });
+            CountDownLatch queued = new CountDownLatch(1);
+            Thread waiting = Thread.ofVirtual().start(() -> {
+                try (AgentAdmissionController.Slot _ = controller.acquire("task-2", "bob", _ -> queued.countDown())) {
+                    Thread.sleep(1);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertThat(queued.await(5, TimeUnit.SECONDS)).isTrue();
+
+            CountDownLatch start = new CountDownLatch(1);
+            Thread releasing = Thread.ofVirtual().start(() -> {
+                awaitQuietly(start);
+                running.close();
+            });
+            start.countDown();
+            waiting.interrupt();
+            releasing.join();
+            waiting.join();
+
+            assertThat(attemptRegistry.get("a2a.admission.running").gauge().value()).isZero();
+            assertThat(attemptRegistry.get("a2a.admission.queue.depth").gauge().value()).isZero();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private void acquireAndRelease(AgentAdmissionController controller, String taskId, String user, List<String> admitted) {
+        try (AgentAdmissionController.Slot _ = controller.acquire(taskId, user, _ -> { })) {
+            admitted.add(taskId);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (meterRegistry.get("a2a.admission.queue.depth").gauge().value() < expected) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Timed out waiting for " + expected + " queued requests");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.solesonic.a2a.executor;
+
+import com.solesonic.agent.sports.model.SportsQueryIntent;
+import com.solesonic.agent.sports.model.SportsQuestionType;
+import com.solesonic.agent.sports.node.SynthesisOutputEmitter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntentSingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final IntentSingleFlight singleFlight = new IntentSingleFlight(meterRegistry);
+
+    @Test
+    void keyOf_sameQuestionDifferentSpelling_isEqual() {
+        SportsQueryIntent first = new SportsQueryIntent(
+                List.of(SportsQuestionType.SCHEDULE_LOOKUP, SportsQuestionType.GAME_PREVIEW),
+                List.of("Denver Nuggets", "Boston  Celtics"), List.of(), "today");
+        SportsQueryIntent second = new SportsQueryIntent(
+                List.of(SportsQuestionType.GAME_PREVIEW, SportsQuestionType.SCHEDULE_LOOKUP),
+                List.of("boston celtics", " denver nuggets"), null, "Today");
+
+        assertThat(IntentSingleFlight.Key.of(first, "2026-01-15"))
+                .isEqualTo(IntentSingleFlight.Key.of(second, "2026-01-15"));
+        assertThat(IntentSingleFlight.Key.of(first, "2026-01-15"))
+                .isNotEqualTo(IntentSingleFlight.Key.of(first, "2026-01-16"));
+    }
+
+    @Test
+    void board_flightInTheAir_followsIt() {
+        IntentSingleFlight.Boarding leader = singleFlight.board(key("Denver Nuggets"));
+        IntentSingleFlight.Boarding follower = singleFlight.board(key("Denver Nuggets"));
+        IntentSingleFlight.Boarding other = singleFlight.board(key("Boston Celtics"));
+
+        assertThat(leader.leader()).isTrue();
+        assertThat(follower.leader()).isFalse();
+        assertThat(follower.flight()).isSameAs(leader.flight());
+        assertThat(other.leader()).isTrue();
+        assertThat(meterRegistry.get("a2a.nba.single-flight.coalesced").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void attach_lateFollower_replaysEarlierChunksThenForwards() {
+        IntentSingleFlight.Flight flight = singleFlight.board(key("Denver Nuggets")).flight();
+        RecordingEmitter follower = new RecordingEmitter();
+
+        flight.emitProgress("Understanding your question...");
+        flight.emitChunk("The Nuggets", "a-1", null, false);
+        flight.attach(follower);
+        flight.emitChunk(" play at 7pm", "a-1", true, true);
+
+        assertThat(follower.events).containsExactly(
+                "progress:Understanding your question...",
+                "chunk:The Nuggets",
+                "chunk: play at 7pm");
+    }
+
+    @Test
+    void emitChunk_failingFollower_isDetachedWithoutAffectingOthers() {
+        IntentSingleFlight.Flight flight = singleFlight.board(key("Denver Nuggets")).flight();
+        RecordingEmitter healthy = new RecordingEmitter();
+        flight.attach(new SynthesisOutputEmitter() {
+            @Override
+            public void emitChunk(String text, String artifactId, Boolean append, boolean lastChunk) {
+                throw new IllegalStateException("task cancelled");
+            }
+
+            @Override
+            public void emitProgress(String message) {
+            }
+        });
+        flight.attach(healthy);
+
+        flight.emitChunk("The Nuggets", "a-1", null, false);
+        flight.emitChunk(" won", "a-1", true, true);
+
+        assertThat(healthy.events).containsExactly("chunk:The Nuggets", "chunk: won");
+    }
+
+    @Test
+    void land_leaderFinished_completesResultAndStartsNewFlightForLaterQuestions() {
+        IntentSingleFlight.Flight flight = singleFlight.board(key("Denver Nuggets")).flight();
+
+        singleFlight.land(flight, "The Nuggets play at 7pm");
+
+        assertThat(flight.result()).isCompletedWithValue("The Nuggets play at 7pm");
+        assertThat(singleFlight.board(key("Denver Nuggets")).leader()).isTrue();
+    }
+
+    @Test
+    void abort_leaderFailed_failsResultForFollowers() {
+        IntentSingleFlight.Flight flight = singleFlight.board(key("Denver Nuggets")).flight();
+
+        singleFlight.abort(flight);
+
+        assertThat(flight.result()).isCompletedExceptionally();
+        assertThat(singleFlight.board(key("Denver Nuggets")).leader()).isTrue();
+    }
+
+    private static IntentSingleFlight.Key key(String team) {
+        SportsQueryIntent intent = new SportsQueryIntent(List.of(SportsQuestionType.SCHEDULE_LOOKUP), List.of(team), List.of(), "today");
+        return IntentSingleFlight.Key.of(intent, "2026-01-15");
+    }
+
+    private static final class RecordingEmitter implements SynthesisOutputEmitter {
+
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void emitChunk(String text, String artifactId, Boolean append, boolean lastChunk) {
+            events.add("chunk:" + text);
+        }
+
+        @Override
+        public void emitProgress(String message) {
+            events.add("progress:" + message);
+        }
+    }
+}
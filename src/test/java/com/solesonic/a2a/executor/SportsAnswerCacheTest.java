@@ -0,0 +1,179 @@
+package com.solesonic.a2a.executor;
+
+import com.solesonic.a2a.config.AnswerCacheProperties;
+import com.solesonic.agent.sports.model.SportsQueryIntent;
+import com.solesonic.agent.sports.model.SportsQuestionType;
+import com.solesonic.agent.sports.node.SynthesisOutputEmitter;
+import com.solesonic.service.espn.EspnClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SportsAnswerCacheTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SportsAnswerCache answerCache;
+
+    @BeforeEach
+    void setUp() {
+        AnswerCacheProperties properties = new AnswerCacheProperties(true, Map.of(
+                SportsQuestionType.SCHEDULE_LOOKUP, Duration.ofSeconds(30),
+                SportsQuestionType.STANDINGS, Duration.ofMinutes(10)));
+        answerCache = new SportsAnswerCache(stringRedisTemplate, properties, meterRegistry);
+    }
+
+    @Test
+    void get_freshAnswer_returnsItAndCountsHit() {
+        stubGenerations("3");
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenReturn("The Celtics lead the East.");
+
+        assertThat(answerCache.get(key(SportsQuestionType.STANDINGS))).contains("The Celtics lead the East.");
+        assertThat(meterRegistry.get("a2a.nba.answer-cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("a2a.nba.answer-cache.hit-ratio").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void get_noAnswer_countsMiss() {
+        stubGenerations((Object) null);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        assertThat(answerCache.get(key(SportsQuestionType.STANDINGS))).isEmpty();
+        assertThat(meterRegistry.get("a2a.nba.answer-cache.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("a2a.nba.answer-cache.hit-ratio").gauge().value()).isZero();
+    }
+
+    @Test
+    void get_questionTypeWithoutTtl_isNeverCached() {
+        assertThat(answerCache.get(key(SportsQuestionType.STANDINGS, SportsQuestionType.HISTORICAL))).isEmpty();
+
+        answerCache.put(key(SportsQuestionType.HISTORICAL), "Bill Russell won eleven titles.");
+
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    void put_severalQuestionTypes_usesShortestTtl() {
+        stubGenerations(null, null);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        answerCache.put(key(SportsQuestionType.STANDINGS, SportsQuestionType.SCHEDULE_LOOKUP), "answer");
+
+        verify(valueOperations).set(anyString(), eq("answer"), eq(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void put_afterPurge_writesUnderNewKey() {
+        when(stringRedisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.multiGet(eq(SportsAnswerCache.GENERATIONS_KEY), anyCollection()))
+                .thenReturn(Arrays.asList((Object) null))
+                .thenReturn(List.of("1"));
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        answerCache.put(key(SportsQuestionType.STANDINGS), "before");
+        answerCache.purge(List.of(SportsQuestionType.STANDINGS));
+        answerCache.put(key(SportsQuestionType.STANDINGS), "after");
+
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations, times(2)).set(keys.capture(), anyString(), any(Duration.class));
+        verify(hashOperations).increment(SportsAnswerCache.GENERATIONS_KEY, "STANDINGS", 1);
+        assertThat(keys.getAllValues().get(0)).isNotEqualTo(keys.getAllValues().get(1));
+    }
+
+    @Test
+    void purge_noQuestionTypes_advancesEveryGeneration() {
+        when(stringRedisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+
+        assertThat(answerCache.purge(List.of())).containsExactlyInAnyOrder(SportsQuestionType.values());
+
+        verify(hashOperations, times(SportsQuestionType.values().length))
+                .increment(eq(SportsAnswerCache.GENERATIONS_KEY), anyString(), eq(1L));
+    }
+
+    @Test
+    void dataChanged_standingsEndpoint_advancesStandingsGeneration() {
+        when(stringRedisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+
+        answerCache.dataChanged(EspnClient.STANDINGS);
+
+        verify(hashOperations).increment(SportsAnswerCache.GENERATIONS_KEY, "STANDINGS", 1);
+        verify(hashOperations, times(1)).increment(eq(SportsAnswerCache.GENERATIONS_KEY), anyString(), eq(1L));
+    }
+
+    @Test
+    void dataChanged_unknownEndpoint_leavesGenerations() {
+        answerCache.dataChanged("espn.unknown");
+
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    void replay_cachedAnswer_streamsWordsIntoOneArtifact() {
+        List<String> chunks = new ArrayList<>();
+        List<String> artifactIds = new ArrayList<>();
+        List<Boolean> lastChunks = new ArrayList<>();
+
+        SportsAnswerCache.replay("The Celtics lead the East.", new SynthesisOutputEmitter() {
+            @Override
+            public void emitChunk(String text, String artifactId, Boolean append, boolean lastChunk) {
+                chunks.add(text);
+                artifactIds.add(artifactId);
+                lastChunks.add(lastChunk);
+            }
+
+            @Override
+            public void emitProgress(String message) {
+            }
+        });
+
+        assertThat(String.join("", chunks)).isEqualTo("The Celtics lead the East.");
+        assertThat(chunks).hasSize(5);
+        assertThat(artifactIds).containsOnly(artifactIds.getFirst());
+        assertThat(lastChunks).containsExactly(false, false, false, false, true);
+    }
+
+    private void stubGenerations(Object... generations) {
+        when(stringRedisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.multiGet(eq(SportsAnswerCache.GENERATIONS_KEY), anyCollection()))
+                .thenReturn(Arrays.asList(generations));
+    }
+
+    private static IntentSingleFlight.Key key(SportsQuestionType... questionTypes) {
+        SportsQueryIntent intent = new SportsQueryIntent(List.of(questionTypes), List.of("Boston Celtics"), List.of(), "today");
+        return IntentSingleFlight.Key.of(intent, "2026-01-15");
+    }
+}
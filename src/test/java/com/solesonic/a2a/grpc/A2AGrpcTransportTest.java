@@ -0,0 +1,209 @@
+package com.solesonic.a2a.grpc;
+
+import com.solesonic.a2a.config.A2AGrpcConfiguration;
+import com.solesonic.a2a.config.AgentRequestHandlerRegistry;
+import com.solesonic.a2a.config.GrpcTransportProperties;
+import com.solesonic.a2a.config.ServerCallContextFactory;
+import com.solesonic.a2a.event.EncodedEvent;
+import com.solesonic.a2a.redis.RedisStreamSubscriber;
+import com.solesonic.a2a.service.AgentCardService;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.MetadataUtils;
+import org.a2aproject.sdk.grpc.A2AServiceGrpc;
+import org.a2aproject.sdk.grpc.GetTaskRequest;
+import org.a2aproject.sdk.grpc.StreamResponse;
+import org.a2aproject.sdk.grpc.SubscribeToTaskRequest;
+import org.a2aproject.sdk.server.ServerCallContext;
+import org.a2aproject.sdk.server.requesthandlers.RequestHandler;
+import org.a2aproject.sdk.spec.AgentCard;
+import org.a2aproject.sdk.spec.Task;
+import org.a2aproject.sdk.spec.TaskNotFoundError;
+import org.a2aproject.sdk.spec.TaskQueryParams;
+import org.a2aproject.sdk.spec.TaskState;
+import org.a2aproject.sdk.spec.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.ssl.DefaultSslBundleRegistry;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import reactor.adapter.JdkFlowAdapter;
+import reactor.core.publisher.Flux;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Starts the gRPC transport the way {@link A2AGrpcConfiguration} does and calls it over a real channel.
+ */
+@ExtendWith(MockitoExtension.class)
+class A2AGrpcTransportTest {
+
+    private static final String AGENT_ID = "nba";
+
+    private static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+
+    @Mock
+    private AgentRequestHandlerRegistry agentRequestHandlerRegistry;
+
+    @Mock
+    private AgentCardService agentCardService;
+
+    @Mock
+    private RequestHandler requestHandler;
+
+    @Mock
+    private RedisStreamSubscriber redisStreamSubscriber;
+
+    @Mock
+    private JwtDecoder jwtDecoder;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JwtAuthenticationConverter jwtAuthenticationConverter = new JwtAuthenticationConverter();
+        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(_ ->
+                List.of(new SimpleGrantedAuthority(GrpcAuthenticationInterceptor.AGENT_EXECUTION_AUTHORITY)));
+        lenient().when(jwtDecoder.decode("token")).thenReturn(Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("agent-client")
+                .build());
+
+        A2AGrpcConfiguration configuration = new A2AGrpcConfiguration();
+        A2AGrpcService a2aGrpcService = configuration.a2aGrpcService(
+                agentRequestHandlerRegistry, agentCardService, new ServerCallContextFactory(), redisStreamSubscriber, executor);
+        server = configuration.a2aGrpcServer(new GrpcTransportProperties(true, 0, null, null), a2aGrpcService,
+                configuration.grpcAuthenticationInterceptor(jwtDecoder, jwtAuthenticationConverter), executor,
+                new DefaultSslBundleRegistry());
+        server.start();
+
+        channel = ManagedChannelBuilder.forAddress("localhost", server.getPort())
+                .usePlaintext()
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        executor.close();
+    }
+
+    @Test
+    void getTask_knownTenant_callsAgentRequestHandlerAsCaller() {
+        when(agentCardService.agentCardById(AGENT_ID)).thenReturn(Optional.of(mock(AgentCard.class)));
+        when(agentRequestHandlerRegistry.getHandler(AGENT_ID)).thenReturn(requestHandler);
+        when(requestHandler.onGetTask(any(), any())).thenReturn(Task.builder()
+                .id("task-1")
+                .contextId("ctx-1")
+                .status(new TaskStatus(TaskState.TASK_STATE_WORKING))
+                .build());
+
+        org.a2aproject.sdk.grpc.Task task = stub("token").getTask(getTaskRequest(AGENT_ID));
+
+        assertThat(task.getId()).isEqualTo("task-1");
+        ArgumentCaptor<TaskQueryParams> params = ArgumentCaptor.forClass(TaskQueryParams.class);
+        ArgumentCaptor<ServerCallContext> context = ArgumentCaptor.forClass(ServerCallContext.class);
+        verify(requestHandler).onGetTask(params.capture(), context.capture());
+        assertThat(params.getValue().id()).isEqualTo("task-1");
+        assertThat(context.getValue().getUser().getUsername()).isEqualTo("agent-client");
+    }
+
+    @Test
+    void getTask_unknownTenant_failsNotFound() {
+        when(agentCardService.agentCardById("missing")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> stub("token").getTask(getTaskRequest("missing")))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        exception -> assertThat(exception.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND));
+    }
+
+    @Test
+    void getTask_withoutBearerToken_failsUnauthenticated() {
+        A2AServiceGrpc.A2AServiceBlockingStub anonymous = A2AServiceGrpc.newBlockingStub(channel)
+                .withDeadlineAfter(5, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> anonymous.getTask(getTaskRequest(AGENT_ID)))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        exception -> assertThat(exception.getStatus().getCode()).isEqualTo(Status.Code.UNAUTHENTICATED));
+    }
+
+    @Test
+    void subscribeToTask_knownTask_streamsRedisEventsThenCompletes() {
+        when(agentCardService.agentCardById(AGENT_ID)).thenReturn(Optional.of(mock(AgentCard.class)));
+        when(agentRequestHandlerRegistry.getHandler(AGENT_ID)).thenReturn(requestHandler);
+        Task task = Task.builder()
+                .id("task-1")
+                .contextId("ctx-1")
+                .status(new TaskStatus(TaskState.TASK_STATE_COMPLETED))
+                .build();
+        when(redisStreamSubscriber.subscribe("task-1"))
+                .thenReturn(JdkFlowAdapter.publisherToFlowPublisher(Flux.just(EncodedEvent.of(task))));
+
+        Iterator<StreamResponse> responses = stub("token").subscribeToTask(subscribeToTaskRequest());
+
+        assertThat(responses.next().getTask().getId()).isEqualTo("task-1");
+        assertThat(responses.hasNext()).isFalse();
+    }
+
+    @Test
+    void subscribeToTask_unknownTask_failsNotFound() {
+        when(agentCardService.agentCardById(AGENT_ID)).thenReturn(Optional.of(mock(AgentCard.class)));
+        when(agentRequestHandlerRegistry.getHandler(AGENT_ID)).thenReturn(requestHandler);
+        when(redisStreamSubscriber.subscribe("task-1")).thenThrow(new TaskNotFoundError());
+
+        assertThatThrownBy(() -> stub("token").subscribeToTask(subscribeToTaskRequest()).hasNext())
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        exception -> assertThat(exception.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND));
+    }
+
+    private A2AServiceGrpc.A2AServiceBlockingStub stub(String token) {
+        Metadata headers = new Metadata();
+        headers.put(AUTHORIZATION, "Bearer " + token);
+        return A2AServiceGrpc.newBlockingStub(channel)
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers))
+                .withDeadlineAfter(5, TimeUnit.SECONDS);
+    }
+
+    private static GetTaskRequest getTaskRequest(String tenant) {
+        return GetTaskRequest.newBuilder()
+                .setTenant(tenant)
+                .setId("task-1")
+                .build();
+    }
+
+    private static SubscribeToTaskRequest subscribeToTaskRequest() {
+        return SubscribeToTaskRequest.newBuilder()
+                .setTenant(AGENT_ID)
+                .setId("task-1")
+                .build();
+    }
+}
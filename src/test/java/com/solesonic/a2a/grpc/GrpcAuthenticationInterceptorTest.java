@@ -0,0 +1,121 @@
+package com.solesonic.a2a.grpc;
+
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GrpcAuthenticationInterceptorTest {
+
+    private static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+
+    @Mock
+    private JwtDecoder jwtDecoder;
+
+    @Mock
+    private ServerCall<Object, Object> call;
+
+    @Mock
+    private ServerCallHandler<Object, Object> next;
+
+    private Collection<GrantedAuthority> grantedAuthorities = List.of();
+
+    private GrpcAuthenticationInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        JwtAuthenticationConverter jwtAuthenticationConverter = new JwtAuthenticationConverter();
+        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(_ -> grantedAuthorities);
+        interceptor = new GrpcAuthenticationInterceptor(jwtDecoder, jwtAuthenticationConverter);
+    }
+
+    @Test
+    void interceptCall_noBearerToken_closesUnauthenticated() {
+        interceptor.interceptCall(call, new Metadata(), next);
+
+        assertThat(closedWith()).isEqualTo(Status.Code.UNAUTHENTICATED);
+        verify(next, never()).startCall(any(), any());
+    }
+
+    @Test
+    void interceptCall_invalidToken_closesUnauthenticated() {
+        when(jwtDecoder.decode("bad")).thenThrow(new BadJwtException("expired"));
+
+        interceptor.interceptCall(call, bearer("bad"), next);
+
+        assertThat(closedWith()).isEqualTo(Status.Code.UNAUTHENTICATED);
+        verify(next, never()).startCall(any(), any());
+    }
+
+    @Test
+    void interceptCall_withoutAgentExecutionAuthority_closesPermissionDenied() {
+        when(jwtDecoder.decode("token")).thenReturn(jwt());
+
+        interceptor.interceptCall(call, bearer("token"), next);
+
+        assertThat(closedWith()).isEqualTo(Status.Code.PERMISSION_DENIED);
+        verify(next, never()).startCall(any(), any());
+    }
+
+    @Test
+    void interceptCall_agentExecutionAuthority_startsCallWithAuthentication() {
+        grantedAuthorities = List.of(new SimpleGrantedAuthority(GrpcAuthenticationInterceptor.AGENT_EXECUTION_AUTHORITY));
+        when(jwtDecoder.decode("token")).thenReturn(jwt());
+        AtomicReference<AbstractAuthenticationToken> authentication = new AtomicReference<>();
+        when(next.startCall(any(), any())).thenAnswer(_ -> {
+            authentication.set(GrpcAuthenticationInterceptor.AUTHENTICATION.get());
+            return new ServerCall.Listener<>() {
+            };
+        });
+
+        interceptor.interceptCall(call, bearer("token"), next);
+
+        assertThat(authentication.get()).isNotNull();
+        assertThat(authentication.get().getName()).isEqualTo("agent-client");
+        verify(call, never()).close(any(), any());
+    }
+
+    private Status.Code closedWith() {
+        ArgumentCaptor<Status> status = ArgumentCaptor.forClass(Status.class);
+        verify(call).close(status.capture(), any(Metadata.class));
+        return status.getValue().getCode();
+    }
+
+    private static Metadata bearer(String token) {
+        Metadata headers = new Metadata();
+        headers.put(AUTHORIZATION, "Bearer " + token);
+        return headers;
+    }
+
+    private static Jwt jwt() {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("agent-client")
+                .build();
+    }
+}
@@ -0,0 +1,172 @@
+package com.solesonic.a2a.push;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.solesonic.a2a.config.PushDeliveryProperties;
+import com.solesonic.a2a.event.EncodedEventCache;
+import com.solesonic.a2a.redis.RedisPushNotificationConfigStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.a2aproject.sdk.jsonrpc.common.json.JsonUtil;
+import org.a2aproject.sdk.jsonrpc.common.wrappers.SendStreamingMessageResponse;
+import org.a2aproject.sdk.spec.Part;
+import org.a2aproject.sdk.spec.Task;
+import org.a2aproject.sdk.spec.TaskArtifactUpdateEvent;
+import org.a2aproject.sdk.spec.TaskPushNotificationConfig;
+import org.a2aproject.sdk.spec.TaskState;
+import org.a2aproject.sdk.spec.TaskStatus;
+import org.a2aproject.sdk.spec.TextPart;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncPushNotificationSenderTest {
+
+    @Mock
+    private RedisPushNotificationConfigStore configStore;
+
+    @Mock
+    private PushNotificationOutbox outbox;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AsyncPushNotificationSender sender;
+
+    @BeforeEach
+    void setUp() {
+        PushDeliveryProperties properties = new PushDeliveryProperties(2, 3, Duration.ofSeconds(1), Duration.ofMinutes(5),
+                Duration.ofSeconds(10), Duration.ofSeconds(60), Duration.ofMillis(250), Duration.ofSeconds(30));
+        sender = new AsyncPushNotificationSender(configStore, outbox, new EncodedEventCache(), properties, meterRegistry);
+    }
+
+    @Test
+    void sendNotification_noConfigs_skipsOutbox() {
+        when(configStore.getConfigs("task-1")).thenReturn(List.of());
+
+        sender.sendNotification(buildTask(TaskState.TASK_STATE_WORKING));
+
+        verify(outbox, never()).enqueue(anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void sendNotification_stateUpdate_enqueuesCoalescingDelivery() {
+        TaskPushNotificationConfig config = mock(TaskPushNotificationConfig.class);
+        when(config.id()).thenReturn("config-1");
+        when(config.url()).thenReturn("https://hooks.example.com/a2a");
+        when(config.token()).thenReturn("secret");
+        when(configStore.getConfigs("task-1")).thenReturn(List.of(config));
+        when(outbox.enqueue(anyString(), anyString(), anyString(), anyString())).thenReturn(false);
+
+        sender.sendNotification(buildTask(TaskState.TASK_STATE_WORKING));
+
+        verify(outbox).enqueue(eq("task-1:config-1:state"), eq("https://hooks.example.com/a2a"), eq("secret"), contains("task-1"));
+        assertThat(meterRegistry.get("a2a.push.coalesced").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void sendNotification_stateUpdate_postsSdkStreamResponse() {
+        TaskPushNotificationConfig config = mock(TaskPushNotificationConfig.class);
+        when(config.id()).thenReturn("config-1");
+        when(config.url()).thenReturn("https://hooks.example.com/a2a");
+        when(config.token()).thenReturn("secret");
+        when(configStore.getConfigs("task-1")).thenReturn(List.of(config));
+        Task task = buildTask(TaskState.TASK_STATE_COMPLETED);
+
+        sender.sendNotification(task);
+
+        // The body is the StreamResponse the SDK writes as the result of a streaming response
+        JsonElement sdkResult = JsonUtil.OBJECT_MAPPER.toJsonTree(new SendStreamingMessageResponse("req-1", task))
+                .getAsJsonObject()
+                .get("result");
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(outbox).enqueue(eq("task-1:config-1:state"), anyString(), anyString(), payload.capture());
+        assertThat(payload.getValue()).isEqualTo(JsonUtil.OBJECT_MAPPER.toJson(sdkResult));
+    }
+
+    @Test
+    void sendNotification_artifactUpdates_appendToOneOrderedDelivery() {
+        TaskPushNotificationConfig config = mock(TaskPushNotificationConfig.class);
+        when(config.id()).thenReturn("config-1");
+        when(config.url()).thenReturn("https://hooks.example.com/a2a");
+        when(config.token()).thenReturn("secret");
+        when(configStore.getConfigs("task-1")).thenReturn(List.of(config));
+
+        sender.sendNotification(artifactUpdate("Nuggets"));
+        sender.sendNotification(artifactUpdate(" by 12"));
+
+        ArgumentCaptor<String> payloads = ArgumentCaptor.forClass(String.class);
+        verify(outbox, times(2)).append(eq("task-1:config-1:events"), anyString(), anyString(), payloads.capture());
+        assertThat(payloads.getAllValues().getFirst()).contains("Nuggets");
+        assertThat(payloads.getAllValues().getLast()).contains(" by 12");
+        verify(outbox, never()).enqueue(anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void deliver_failedAttemptChangedInFlight_isNotCountedAgainstIt() {
+        PushNotificationOutbox.Delivery delivery = new PushNotificationOutbox.Delivery("task-1:config-1:events",
+                "http://localhost:1/hook", "", "{}", "7", 0, true);
+        when(outbox.read(delivery.id())).thenReturn(delivery);
+        when(outbox.retry(eq(delivery), any(Duration.class))).thenReturn(false);
+
+        sender.deliver(delivery.id());
+
+        verify(outbox).retry(eq(delivery), any(Duration.class));
+        verify(outbox, never()).acknowledge(any());
+    }
+
+    @Test
+    void backoff_growsExponentiallyUpToMax() {
+        Duration initial = Duration.ofSeconds(1);
+        Duration max = Duration.ofSeconds(30);
+
+        assertThat(AsyncPushNotificationSender.backoff(1, initial, max)).isBetween(Duration.ofMillis(800), Duration.ofMillis(1200));
+        assertThat(AsyncPushNotificationSender.backoff(4, initial, max)).isBetween(Duration.ofMillis(6400), Duration.ofMillis(9600));
+        assertThat(AsyncPushNotificationSender.backoff(20, initial, max)).isBetween(Duration.ofSeconds(24), Duration.ofSeconds(36));
+    }
+
+    @Test
+    void endpoint_url_usesHostAndPort() {
+        assertThat(AsyncPushNotificationSender.endpoint("https://hooks.example.com/a2a")).isEqualTo("hooks.example.com");
+        assertThat(AsyncPushNotificationSender.endpoint("http://localhost:8080/hook")).isEqualTo("localhost:8080");
+    }
+
+    private static TaskArtifactUpdateEvent artifactUpdate(String text) {
+        JsonArray parts = new JsonArray();
+        parts.add(JsonUtil.OBJECT_MAPPER.toJsonTree(new TextPart(text), Part.class));
+        JsonObject artifact = new JsonObject();
+        artifact.addProperty("artifactId", "a-1");
+        artifact.add("parts", parts);
+        JsonObject artifactUpdate = new JsonObject();
+        artifactUpdate.addProperty("taskId", "task-1");
+        artifactUpdate.addProperty("contextId", "ctx-1");
+        artifactUpdate.add("artifact", artifact);
+        artifactUpdate.addProperty("append", true);
+        return JsonUtil.OBJECT_MAPPER.fromJson(artifactUpdate, TaskArtifactUpdateEvent.class);
+    }
+
+    private Task buildTask(TaskState state) {
+        return Task.builder()
+                .id("task-1")
+                .contextId("ctx-1")
+                .status(new TaskStatus(state))
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.solesonic.a2a.redis;
+
+import com.solesonic.agent.agile.AgileQueryIntent;
+import com.solesonic.agent.agile.AgileState;
+import com.solesonic.model.atlassian.agile.Board;
+import org.a2aproject.sdk.jsonrpc.common.json.JsonUtil;
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.checkpoint.Checkpoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.bsc.langgraph4j.GraphDefinition.END;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisCheckpointSaverTest {
+
+    private static final String KEY = "a2a:checkpoint:agile:thread-1";
+
+    @Mock
+    private RedisTemplate<String, byte[]> binaryRedisTemplate;
+
+    @Mock
+    private ListOperations<String, byte[]> listOperations;
+
+    private StateCheckpointSerializer serializer;
+    private RedisCheckpointSaver saver;
+
+    private final RunnableConfig config = RunnableConfig.builder().threadId("thread-1").build();
+
+    @BeforeEach
+    void setUp() {
+        when(binaryRedisTemplate.opsForList()).thenReturn(listOperations);
+
+        RedisValueCodec codec = new RedisValueCodec(JsonUtil.OBJECT_MAPPER, RedisValueCodec.Format.CBOR, 2048);
+        JsonMapper jsonMapper = JsonMapper.builder()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        serializer = new StateCheckpointSerializer(jsonMapper, codec, Map.of(
+                AgileState.AGILE_QUERY_INTENT, AgileQueryIntent.class,
+                AgileState.BOARDS, new TypeReference<List<Board>>() { }.getType()));
+        saver = new RedisCheckpointSaver(binaryRedisTemplate, serializer, "agile", Duration.ofHours(1), 16);
+    }
+
+    @Test
+    void encode_schemaTypedState_decodesToOriginalTypes() {
+        Checkpoint checkpoint = checkpoint("cp-1", "parseAndFetch", "assessOperationScope");
+
+        Checkpoint decoded = serializer.decode(serializer.encode(checkpoint));
+
+        assertThat(decoded.getId()).isEqualTo("cp-1");
+        assertThat(decoded.getNodeId()).isEqualTo("parseAndFetch");
+        assertThat(decoded.getNextNodeId()).isEqualTo("assessOperationScope");
+        assertThat(decoded.getState())
+                .containsEntry(AgileState.USER_MESSAGE, "move PROJ-1 to done")
+                .containsEntry(AgileState.ESTIMATED_ITEM_COUNT, 3)
+                .containsEntry(AgileState.AGILE_QUERY_INTENT, new AgileQueryIntent("key = PROJ-1", "TRANSITION", 0, "Done"))
+                .containsEntry(AgileState.BOARDS, List.of(new Board(1, "https://jira/board/1", "Team", "scrum")));
+        assertThat(serializer.idOf(serializer.encode(checkpoint))).isEqualTo("cp-1");
+    }
+
+    @Test
+    void get_noCheckPointId_returnsNewestCheckpoint() {
+        when(listOperations.index(KEY, 0)).thenReturn(serializer.encode(checkpoint("cp-2", "parseAndFetch", "assessOperationScope")));
+
+        Optional<Checkpoint> checkpoint = saver.get(config);
+
+        assertThat(checkpoint).map(Checkpoint::getId).contains("cp-2");
+    }
+
+    @Test
+    void put_newCheckpoint_pushesAndReturnsConfigWithCheckPointId() {
+        RunnableConfig updated = saver.put(config, checkpoint("cp-1", "parseAndFetch", "assessOperationScope"));
+
+        assertThat(updated.checkPointId()).contains("cp-1");
+        verify(binaryRedisTemplate).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void put_existingCheckPointId_replacesEntryInPlace() {
+        when(listOperations.range(KEY, 0, -1)).thenReturn(List.of(
+                serializer.encode(checkpoint("cp-2", "assessOperationScope", END)),
+                serializer.encode(checkpoint("cp-1", "parseAndFetch", "assessOperationScope"))));
+        RunnableConfig existing = RunnableConfig.builder(config).checkPointId("cp-1").build();
+
+        saver.put(existing, checkpoint("cp-1", "parseAndFetch", "assessOperationScope"));
+
+        verify(listOperations).set(eq(KEY), eq(1L), any(byte[].class));
+        verify(binaryRedisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void isResumable_nextNodePending_returnsTrue() {
+        assertThat(RedisCheckpointSaver.isResumable(checkpoint("cp-1", "parseAndFetch", "assessOperationScope"))).isTrue();
+        assertThat(RedisCheckpointSaver.isResumable(checkpoint("cp-2", "assessOperationScope", END))).isFalse();
+    }
+
+    @Test
+    void requestThreadId_resentRequestId_returnsSameThread() {
+        assertThat(RedisCheckpointSaver.requestThreadId("chat-1", "request-1"))
+                .isEqualTo(RedisCheckpointSaver.requestThreadId("chat-1", "request-1"))
+                .isNotEqualTo(RedisCheckpointSaver.requestThreadId("chat-1", "request-2"))
+                .isEqualTo("chat-1:request-1");
+        assertThat(RedisCheckpointSaver.requestThreadId(null, "request-1")).isEqualTo("request-1");
+    }
+
+    @Test
+    void requestThreadId_noRequestId_returnsDistinctThreads() {
+        assertThat(RedisCheckpointSaver.requestThreadId("chat-1", null))
+                .isNotEqualTo(RedisCheckpointSaver.requestThreadId("chat-1", null));
+    }
+
+    @Test
+    void put_threadWithoutRequestId_writesNothing() {
+        RunnableConfig unsaved = RunnableConfig.builder()
+                .threadId(RedisCheckpointSaver.requestThreadId("chat-1", null))
+                .build();
+
+        RunnableConfig updated = saver.put(unsaved, checkpoint("cp-1", "parseAndFetch", "assessOperationScope"));
+
+        assertThat(updated.checkPointId()).contains("cp-1");
+        assertThat(saver.get(unsaved)).isEmpty();
+        assertThat(saver.release(unsaved).checkpoints()).isEmpty();
+        verify(binaryRedisTemplate, never()).executePipelined(any(RedisCallback.class));
+        verify(binaryRedisTemplate, never()).delete(any(String.class));
+    }
+
+    private static Checkpoint checkpoint(String id, String nodeId, String nextNodeId) {
+        return Checkpoint.builder()
+                .id(id)
+                .nodeId(nodeId)
+                .nextNodeId(nextNodeId)
+                .state(Map.of(
+                        AgileState.USER_MESSAGE, "move PROJ-1 to done",
+                        AgileState.ESTIMATED_ITEM_COUNT, 3,
+                        AgileState.AGILE_QUERY_INTENT, new AgileQueryIntent("key = PROJ-1", "TRANSITION", 0, "Done"),
+                        AgileState.BOARDS, List.of(new Board(1, "https://jira/board/1", "Team", "scrum"))))
+                .build();
+    }
+}
@@ -0,0 +1,185 @@
+package com.solesonic.a2a.redis;
+
+import com.solesonic.a2a.config.RedisStreamProperties;
+import com.solesonic.a2a.event.EncodedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.a2aproject.sdk.jsonrpc.common.json.JsonUtil;
+import org.a2aproject.sdk.spec.Task;
+import org.a2aproject.sdk.spec.TaskState;
+import org.a2aproject.sdk.spec.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisStreamPublisherTest {
+
+    @Mock
+    private RedisTemplate<String, byte[]> binaryRedisTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RedisStreamPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = publisher(Duration.ofMillis(50));
+    }
+
+    @Test
+    void publish_queueFull_waitsForWriterToMakeRoom() throws Exception {
+        publisher = publisher(Duration.ofSeconds(5));
+        Task task = buildTask("task-1", TaskState.TASK_STATE_WORKING);
+        publisher.publish("task-1", EncodedEvent.of(task));
+        publisher.publish("task-1", EncodedEvent.of(task));
+
+        EncodedEvent waiting = EncodedEvent.of(task);
+        CompletableFuture<Boolean> published = CompletableFuture.supplyAsync(() -> publisher.publish("task-1", waiting));
+        Thread.sleep(100);
+        assertThat(published).isNotDone();
+
+        publisher.writeNextBatch();
+
+        assertThat(published.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(waiting.streamId()).isNotNull();
+        assertThat(meterRegistry.get("a2a.redis.stream.dropped").counter().count()).isZero();
+    }
+
+    @Test
+    void publish_queueFullPastTimeout_dropsEvent() {
+        Task task = buildTask("task-1", TaskState.TASK_STATE_WORKING);
+
+        assertThat(publisher.publish("task-1", EncodedEvent.of(task))).isTrue();
+        assertThat(publisher.publish("task-1", EncodedEvent.of(task))).isTrue();
+        assertThat(publisher.publish("task-1", EncodedEvent.of(task))).isFalse();
+
+        assertThat(meterRegistry.get("a2a.redis.stream.dropped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("a2a.redis.stream.queue.depth").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void publish_sameTask_assignsIncreasingStreamIds() {
+        EncodedEvent first = EncodedEvent.of(buildTask("task-1", TaskState.TASK_STATE_WORKING));
+        EncodedEvent second = EncodedEvent.of(buildTask("task-1", TaskState.TASK_STATE_WORKING));
+
+        publisher.publish("task-1", first);
+        publisher.publish("task-1", second);
+
+        RecordId firstId = RecordId.of(first.streamId());
+        RecordId secondId = RecordId.of(second.streamId());
+        assertThat(secondId.getTimestamp() > firstId.getTimestamp()
+                || (secondId.getTimestamp().equals(firstId.getTimestamp()) && secondId.getSequence() > firstId.getSequence()))
+                .isTrue();
+    }
+
+    @Test
+    void publish_queueFullPastTimeout_leavesDroppedEventWithoutStreamId() {
+        Task task = buildTask("task-1", TaskState.TASK_STATE_WORKING);
+        publisher.publish("task-1", EncodedEvent.of(task));
+        publisher.publish("task-1", EncodedEvent.of(task));
+
+        EncodedEvent dropped = EncodedEvent.of(task);
+        publisher.publish("task-1", dropped);
+
+        assertThat(dropped.streamId()).isNull();
+    }
+
+    @Test
+    void writeNextBatch_queuedEvents_writesOnePipeline() {
+        publisher.publish("task-1", EncodedEvent.of(buildTask("task-1", TaskState.TASK_STATE_WORKING)));
+        publisher.publish("task-2", EncodedEvent.of(buildTask("task-2", TaskState.TASK_STATE_WORKING)));
+
+        int written = publisher.writeNextBatch();
+
+        assertThat(written).isEqualTo(2);
+        verify(binaryRedisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        assertThat(meterRegistry.get("a2a.redis.stream.published").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("a2a.redis.stream.queue.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void writeNextBatch_emptyQueues_skipsRedis() {
+        assertThat(publisher.writeNextBatch()).isZero();
+
+        verify(binaryRedisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void writeNextBatch_redisFailure_countsFailedEvents() {
+        when(binaryRedisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(new IllegalStateException("down"));
+        publisher.publish("task-1", EncodedEvent.of(buildTask("task-1", TaskState.TASK_STATE_COMPLETED)));
+
+        assertThat(publisher.writeNextBatch()).isEqualTo(1);
+
+        assertThat(meterRegistry.get("a2a.redis.stream.failed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("a2a.redis.stream.queue.tasks").gauge().value()).isZero();
+    }
+
+    @Test
+    void evictIdleQueues_emptyQueuePastIdleTimeout_evictsIt() {
+        publisher.publish("task-1", EncodedEvent.of(buildTask("task-1", TaskState.TASK_STATE_WORKING)));
+        publisher.writeNextBatch();
+
+        assertThat(publisher.evictIdleQueues(System.nanoTime())).isZero();
+        assertThat(publisher.evictIdleQueues(System.nanoTime() + Duration.ofMinutes(11).toNanos())).isEqualTo(1);
+        assertThat(meterRegistry.get("a2a.redis.stream.queue.tasks").gauge().value()).isZero();
+    }
+
+    @Test
+    void evictIdleQueues_pendingEvents_keepsQueue() {
+        publisher.publish("task-1", EncodedEvent.of(buildTask("task-1", TaskState.TASK_STATE_WORKING)));
+
+        assertThat(publisher.evictIdleQueues(System.nanoTime() + Duration.ofMinutes(11).toNanos())).isZero();
+        assertThat(meterRegistry.get("a2a.redis.stream.queue.tasks").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void publish_afterEviction_startsFreshQueue() {
+        publisher.publish("task-1", EncodedEvent.of(buildTask("task-1", TaskState.TASK_STATE_WORKING)));
+        publisher.writeNextBatch();
+        publisher.evictIdleQueues(System.nanoTime() + Duration.ofMinutes(11).toNanos());
+
+        EncodedEvent resumed = EncodedEvent.of(buildTask("task-1", TaskState.TASK_STATE_WORKING));
+
+        assertThat(publisher.publish("task-1", resumed)).isTrue();
+        assertThat(resumed.streamId()).isNotNull();
+        assertThat(meterRegistry.get("a2a.redis.stream.queue.tasks").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void isFinal_taskState_matchesFinalStates() {
+        assertThat(RedisStreamPublisher.isFinal(buildTask("task-1", TaskState.TASK_STATE_COMPLETED))).isTrue();
+        assertThat(RedisStreamPublisher.isFinal(buildTask("task-1", TaskState.TASK_STATE_WORKING))).isFalse();
+    }
+
+    private RedisStreamPublisher publisher(Duration publishTimeout) {
+        RedisStreamProperties properties = new RedisStreamProperties(1000, 2, publishTimeout, 10, Duration.ofHours(1),
+                Duration.ofHours(24), Duration.ofMinutes(10), Duration.ofSeconds(5));
+        RedisValueCodec codec = new RedisValueCodec(JsonUtil.OBJECT_MAPPER, RedisValueCodec.Format.CBOR, 2048);
+        return new RedisStreamPublisher(binaryRedisTemplate, codec, properties, meterRegistry);
+    }
+
+    private Task buildTask(String taskId, TaskState taskState) {
+        return Task.builder()
+                .id(taskId)
+                .contextId("ctx-" + taskId)
+                .status(new TaskStatus(taskState))
+                .build();
+    }
+}
@@ -0,0 +1,253 @@
+package com.solesonic.a2a.redis;
+
+import com.solesonic.a2a.config.RedisStreamProperties;
+import com.solesonic.a2a.event.EncodedEvent;
+import org.a2aproject.sdk.jsonrpc.common.json.JsonUtil;
+import org.a2aproject.sdk.server.tasks.TaskStore;
+import org.a2aproject.sdk.spec.StreamingEventKind;
+import org.a2aproject.sdk.spec.Task;
+import org.a2aproject.sdk.spec.TaskNotFoundError;
+import org.a2aproject.sdk.spec.TaskState;
+import org.a2aproject.sdk.spec.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import reactor.adapter.JdkFlowAdapter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisStreamSubscriberTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Mock
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private RedisConnection connection;
+
+    @Mock
+    private TaskStore taskStore;
+
+    private final RedisValueCodec codec = new RedisValueCodec(JsonUtil.OBJECT_MAPPER, RedisValueCodec.Format.CBOR, 2048);
+
+    private RedisStreamSubscriber subscriber;
+
+    @BeforeEach
+    void setUp() {
+        RedisStreamProperties properties = new RedisStreamProperties(1000, 2048, Duration.ofSeconds(30), 256, Duration.ofHours(1),
+                Duration.ofHours(24), Duration.ofMinutes(10), Duration.ofMillis(10));
+        subscriber = new RedisStreamSubscriber(redisConnectionFactory, codec, taskStore, properties);
+
+        lenient().when(redisConnectionFactory.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    void subscribe_unknownTask_throwsTaskNotFound() {
+        assertThatThrownBy(() -> subscriber.subscribe("missing"))
+                .isInstanceOf(TaskNotFoundError.class);
+    }
+
+    @Test
+    void subscribe_streamWithFinalEvent_replaysAndCompletes() {
+        when(taskStore.get("task-1")).thenReturn(buildTask("task-1", TaskState.TASK_STATE_WORKING));
+        when(connection.streamCommands().xRead(any(StreamReadOptions.class), any(StreamOffset.class)))
+                .thenReturn(List.of(
+                        record("1-0", buildTask("task-1", TaskState.TASK_STATE_WORKING)),
+                        record("2-0", buildTask("task-1", TaskState.TASK_STATE_COMPLETED))));
+
+        List<StreamingEventKind> events = collect(subscriber.subscribe("task-1"));
+
+        assertThat(events).hasSize(2);
+        assertThat(((Task) events.getLast()).status().state()).isEqualTo(TaskState.TASK_STATE_COMPLETED);
+        verify(connection.streamCommands(), times(1)).xRead(any(StreamReadOptions.class), any(StreamOffset.class));
+    }
+
+    @Test
+    void subscribe_severalReads_holdsOneConnectionAndClosesIt() {
+        when(taskStore.get("task-1")).thenReturn(buildTask("task-1", TaskState.TASK_STATE_WORKING));
+        when(connection.streamCommands().xRead(any(StreamReadOptions.class), any(StreamOffset.class)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(record("1-0", buildTask("task-1", TaskState.TASK_STATE_WORKING))))
+                .thenReturn(List.of(record("2-0", buildTask("task-1", TaskState.TASK_STATE_COMPLETED))));
+
+        List<StreamingEventKind> events = collect(subscriber.subscribe("task-1"));
+
+        assertThat(events).hasSize(2);
+        verify(connection.streamCommands(), times(3)).xRead(any(StreamReadOptions.class), any(StreamOffset.class));
+        verify(redisConnectionFactory, times(1)).getConnection();
+        verify(connection).close();
+    }
+
+    @Test
+    void subscribe_expiredStreamOfFinalTask_emitsStoredTask() {
+        when(taskStore.get("task-1")).thenReturn(buildTask("task-1", TaskState.TASK_STATE_COMPLETED));
+        when(connection.streamCommands().xRead(any(StreamReadOptions.class), any(StreamOffset.class)))
+                .thenReturn(List.of());
+
+        List<StreamingEventKind> events = collect(subscriber.subscribe("task-1"));
+
+        assertThat(events).hasSize(1);
+        assertThat(((Task) events.getFirst()).status().state()).isEqualTo(TaskState.TASK_STATE_COMPLETED);
+    }
+
+    @Test
+    void subscribe_lastEventIdStillInStream_readsAfterIt() {
+        when(taskStore.get("task-1")).thenReturn(buildTask("task-1", TaskState.TASK_STATE_WORKING));
+        when(connection.streamCommands().xRange(any(byte[].class), any(Range.class), any(Limit.class)))
+                .thenReturn(List.of(record("1-0", buildTask("task-1", TaskState.TASK_STATE_WORKING))));
+        when(connection.streamCommands().xRead(any(StreamReadOptions.class), any(StreamOffset.class)))
+                .thenReturn(List.of(record("3-0", buildTask("task-1", TaskState.TASK_STATE_COMPLETED))));
+
+        List<StreamingEventKind> events = collect(subscriber.subscribe("task-1", "2-0"));
+
+        assertThat(events).hasSize(1);
+        assertThat(readOffset()).isEqualTo("2-0");
+    }
+
+    @Test
+    void subscribe_lastEventIdTrimmed_sendsStoredTaskThenTails() {
+        when(taskStore.get("task-1")).thenReturn(buildTask("task-1", TaskState.TASK_STATE_WORKING));
+        when(connection.streamCommands().xRange(any(byte[].class), any(Range.class), any(Limit.class)))
+                .thenReturn(List.of(record("5-0", buildTask("task-1", TaskState.TASK_STATE_WORKING))));
+        when(connection.streamCommands().xRevRange(any(byte[].class), any(Range.class), any(Limit.class)))
+                .thenReturn(List.of(record("7-0", buildTask("task-1", TaskState.TASK_STATE_WORKING))));
+        when(connection.streamCommands().xRead(any(StreamReadOptions.class), any(StreamOffset.class)))
+                .thenReturn(List.of(record("8-0", buildTask("task-1", TaskState.TASK_STATE_COMPLETED))));
+
+        List<StreamingEventKind> events = collect(subscriber.subscribe("task-1", "2-0"));
+
+        assertThat(events).hasSize(2);
+        assertThat(((Task) events.getFirst()).status().state()).isEqualTo(TaskState.TASK_STATE_WORKING);
+        assertThat(((Task) events.getLast()).status().state()).isEqualTo(TaskState.TASK_STATE_COMPLETED);
+        assertThat(readOffset()).isEqualTo("7-0");
+    }
+
+    @Test
+    void subscribe_noLastEventIdOnTrimmedStream_sendsStoredTaskThenTails() {
+        when(taskStore.get("task-1")).thenReturn(buildTask("task-1", TaskState.TASK_STATE_WORKING));
+        when(connection.streamCommands().xLen(any(byte[].class))).thenReturn(1000L);
+        when(connection.streamCommands().xRevRange(any(byte[].class), any(Range.class), any(Limit.class)))
+                .thenReturn(List.of(record("9-0", buildTask("task-1", TaskState.TASK_STATE_WORKING))));
+        when(connection.streamCommands().xRead(any(StreamReadOptions.class), any(StreamOffset.class)))
+                .thenReturn(List.of(record("10-0", buildTask("task-1", TaskState.TASK_STATE_COMPLETED))));
+
+        List<StreamingEventKind> events = collect(subscriber.subscribe("task-1"));
+
+        assertThat(events).hasSize(2);
+        assertThat(readOffset()).isEqualTo("9-0");
+    }
+
+    @Test
+    void subscribe_trimmedStreamOfFinalTask_sendsStoredTaskAndCompletes() {
+        when(taskStore.get("task-1"))
+                .thenReturn(buildTask("task-1", TaskState.TASK_STATE_WORKING))
+                .thenReturn(buildTask("task-1", TaskState.TASK_STATE_COMPLETED));
+        when(connection.streamCommands().xLen(any(byte[].class))).thenReturn(1000L);
+
+        List<StreamingEventKind> events = collect(subscriber.subscribe("task-1"));
+
+        assertThat(events).hasSize(1);
+        assertThat(((Task) events.getFirst()).status().state()).isEqualTo(TaskState.TASK_STATE_COMPLETED);
+        verify(connection.streamCommands(), never()).xRead(any(StreamReadOptions.class), any(StreamOffset.class));
+    }
+
+    @Test
+    void subscribe_invalidLastEventId_throwsIllegalArgument() {
+        assertThatThrownBy(() -> subscriber.subscribe("task-1", "latest"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decode_unknownKind_isSkipped() {
+        Map<byte[], byte[]> fields = Map.of(
+                "kind".getBytes(StandardCharsets.UTF_8), "String".getBytes(StandardCharsets.UTF_8),
+                "payload".getBytes(StandardCharsets.UTF_8), "\"hello\"".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(subscriber.decode("1-0", fields)).isNull();
+    }
+
+    @Test
+    void decode_resultEntry_carriesStreamIdAndDecodedTree() {
+        Task task = buildTask("task-1", TaskState.TASK_STATE_WORKING);
+
+        EncodedEvent encodedEvent = subscriber.decode("1-0", record("1-0", task).getValue());
+
+        assertThat(((Task) encodedEvent.event()).id()).isEqualTo("task-1");
+        assertThat(encodedEvent.streamId()).isEqualTo("1-0");
+        assertThat(encodedEvent.streamingResult()).isEqualTo(EncodedEvent.of(task).streamingResult());
+    }
+
+    @Test
+    void decode_legacyPayloadEntry_decodesEvent() {
+        Task task = buildTask("task-1", TaskState.TASK_STATE_WORKING);
+        Map<byte[], byte[]> fields = Map.of(
+                "kind".getBytes(StandardCharsets.UTF_8), "Task".getBytes(StandardCharsets.UTF_8),
+                "payload".getBytes(StandardCharsets.UTF_8), codec.encode(task, Task.class));
+
+        EncodedEvent encodedEvent = subscriber.decode("1-0", fields);
+
+        assertThat(((Task) encodedEvent.event()).id()).isEqualTo("task-1");
+        assertThat(encodedEvent.streamId()).isEqualTo("1-0");
+        assertThat(encodedEvent.streamingResult()).isEqualTo(EncodedEvent.of(task).streamingResult());
+    }
+
+    private static List<StreamingEventKind> collect(Flow.Publisher<EncodedEvent> events) {
+        return JdkFlowAdapter.flowPublisherToFlux(events)
+                .map(encodedEvent -> (StreamingEventKind) encodedEvent.event())
+                .collectList()
+                .block(TIMEOUT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private String readOffset() {
+        ArgumentCaptor<StreamOffset<byte[]>> offset = ArgumentCaptor.forClass(StreamOffset.class);
+        verify(connection.streamCommands()).xRead(any(StreamReadOptions.class), offset.capture());
+        return offset.getValue().getOffset().getOffset();
+    }
+
+    private ByteRecord record(String id, Task task) {
+        Map<byte[], byte[]> fields = Map.of(
+                "kind".getBytes(StandardCharsets.UTF_8), "Task".getBytes(StandardCharsets.UTF_8),
+                "result".getBytes(StandardCharsets.UTF_8), codec.encodeTree(EncodedEvent.of(task).tree()));
+        return StreamRecords.newRecord()
+                .in(RedisStreamPublisher.streamKey(task.id()).getBytes(StandardCharsets.UTF_8))
+                .withId(RecordId.of(id))
+                .ofBytes(fields);
+    }
+
+    private Task buildTask(String taskId, TaskState state) {
+        return Task.builder()
+                .id(taskId)
+                .contextId("ctx-" + taskId)
+                .status(new TaskStatus(state))
+                .build();
+    }
+}
@@ -1,164 +1,464 @@
 package com.solesonic.a2a.redis;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
 import org.a2aproject.sdk.jsonrpc.common.json.JsonUtil;
+import org.a2aproject.sdk.jsonrpc.common.wrappers.ListTasksResult;
+import org.a2aproject.sdk.spec.Artifact;
+import org.a2aproject.sdk.spec.InvalidParamsError;
+import org.a2aproject.sdk.spec.ListTasksParams;
+import org.a2aproject.sdk.spec.Message;
+import org.a2aproject.sdk.spec.Part;
 import org.a2aproject.sdk.spec.Task;
 import org.a2aproject.sdk.spec.TaskState;
 import org.a2aproject.sdk.spec.TaskStatus;
+import org.a2aproject.sdk.spec.TextPart;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.RedisScript;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class RedisTaskStoreTest {
 
+    private static final long FINALIZED_TTL_SECONDS = 24 * 60 * 60;
+
     @Mock
     private StringRedisTemplate stringRedisTemplate;
 
     @Mock
-    private ValueOperations<String, String> valueOperations;
+    private RedisTemplate<String, byte[]> binaryRedisTemplate;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private RedisConnection connection;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
 
     private final Gson gson = JsonUtil.OBJECT_MAPPER;
 
+    private final Deque<List<Object>> pipelineResults = new ArrayDeque<>();
+
     private RedisTaskStore store;
 
     @BeforeEach
     void setUp() {
-        store = new RedisTaskStore(stringRedisTemplate, gson);
+        RedisValueCodec codec = new RedisValueCodec(gson, RedisValueCodec.Format.JSON, 0);
+        store = new RedisTaskStore(stringRedisTemplate, binaryRedisTemplate, codec);
+
+        lenient().when(binaryRedisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            RedisCallback<?> callback = invocation.getArgument(0);
+            callback.doInRedis(connection);
+            return pipelineResults.isEmpty() ? List.of() : pipelineResults.poll();
+        });
     }
 
     @Test
-    void save_nonFinalTask_setsKeyWithoutExpiry() {
-        Task task = buildTask("task-1", TaskState.TASK_STATE_WORKING);
-        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("a2a:task:task-1")).thenReturn(null);
+    void save_nonFinalTask_writesTaskKeysInOneSlotWithoutExpiry() {
+        Task task = buildTask("task-1", TaskState.TASK_STATE_WORKING, List.of("The"));
 
         store.save(task, false);
 
-        verify(valueOperations).set(eq("a2a:task:task-1"), anyString());
-        verify(stringRedisTemplate, never()).expire(any(), any(Duration.class));
+        SaveCall save = saveCalls().getFirst();
+        assertThat(save.keys()).containsExactly(
+                "a2a:task:{task-1}:meta",
+                "a2a:task:{task-1}:history",
+                "a2a:task:{task-1}:artifact:a-1");
+        assertThat(save.ttlSeconds()).isEqualTo("0");
+        assertThat(save.finalState()).isEmpty();
+        assertThat(save.artifactHeaders()).isNotEmpty();
+        assertThat(save.lists().get("a2a:task:{task-1}:history").operation()).isEqualTo("R");
+        assertThat(save.lists().get("a2a:task:{task-1}:history").values()).hasSize(1);
+        assertThat(save.lists().get("a2a:task:{task-1}:artifact:a-1"))
+                .isEqualTo(new ListWrite("R", List.of(partJson("The"))));
+        verify(connection.keyCommands()).del(aryEq(bytes("a2a:task:task-1")));
+        verify(connection.zSetCommands()).zAdd(aryEq(bytes("a2a:task-index:all")), anyDouble(), aryEq(bytes("task-1")));
     }
 
     @Test
-    void save_finalTask_setsKeyAndAppliesTtl() {
-        Task task = buildTask("task-2", TaskState.TASK_STATE_COMPLETED);
-        String taskJson = gson.toJson(task);
-        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("a2a:task:task-2")).thenReturn(taskJson);
+    void save_appendedChunk_pushesOnlyNewPart() {
+        Task first = buildTask("task-2", TaskState.TASK_STATE_WORKING, List.of("The"));
+        store.save(first, false);
+        store.save(Task.builder(buildTask("task-2", TaskState.TASK_STATE_WORKING, List.of("The", " Nuggets")))
+                .status(first.status())
+                .build(), false);
+
+        SaveCall append = saveCalls().getLast();
+        assertThat(append.lists().get("a2a:task:{task-2}:artifact:a-1"))
+                .isEqualTo(new ListWrite("A", List.of(partJson(" Nuggets"))));
+        assertThat(append.lists().get("a2a:task:{task-2}:history")).isEqualTo(new ListWrite("A", List.of()));
+        assertThat(append.artifactHeaders()).isEmpty();
+        // Same state and status timestamp, so the indexes are not touched again
+        verify(binaryRedisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+    }
 
-        store.save(task, false);
+    @Test
+    void save_finalTask_compactsTextPartsAndAppliesTtl() {
+        store.save(buildTask("task-3", TaskState.TASK_STATE_WORKING, List.of("The", " Nuggets")), false);
+        store.save(buildTask("task-3", TaskState.TASK_STATE_COMPLETED, List.of("The", " Nuggets", " won")), false);
+
+        SaveCall finalSave = saveCalls().getLast();
+        assertThat(finalSave.ttlSeconds()).isEqualTo(Long.toString(FINALIZED_TTL_SECONDS));
+        assertThat(finalSave.finalState()).isEqualTo(TaskState.TASK_STATE_COMPLETED.name());
+        assertThat(finalSave.lists().get("a2a:task:{task-3}:artifact:a-1"))
+                .isEqualTo(new ListWrite("R", List.of(partJson("The Nuggets won"))));
+        verify(binaryRedisTemplate, times(2)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void write_taskFinalizedElsewhere_refusesAndForgetsTrackedShape() {
+        store.save(buildTask("task-13", TaskState.TASK_STATE_WORKING, List.of("The")), false);
+        when(binaryRedisTemplate.execute(any(RedisScript.class), any(), any(Object[].class))).thenReturn(RedisTaskStore.REFUSED);
+
+        long version = store.write(buildTask("task-13", TaskState.TASK_STATE_WORKING, List.of("The", " Nuggets")));
+
+        assertThat(version).isEqualTo(RedisTaskStore.REFUSED);
+        assertThat(store.trackedTasks()).isZero();
+        // Only the first save updated the indexes
+        verify(binaryRedisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void save_removedArtifact_deletesItsList() {
+        store.save(buildTask("task-10", TaskState.TASK_STATE_WORKING, List.of("The")), false);
+        store.save(buildTask("task-10", TaskState.TASK_STATE_WORKING, List.of()), false);
+
+        assertThat(saveCalls().getLast().lists().get("a2a:task:{task-10}:artifact:a-1"))
+                .isEqualTo(new ListWrite("D", List.of()));
+    }
+
+    @Test
+    void evictIdle_taskNotSavedForIdlePeriod_forgetsIt() {
+        store.save(buildTask("task-11", TaskState.TASK_STATE_WORKING, List.of("The")), false);
+
+        store.evictIdle(System.nanoTime());
+        assertThat(store.trackedTasks()).isEqualTo(1);
 
-        verify(valueOperations).set(eq("a2a:task:task-2"), anyString());
-        verify(stringRedisTemplate).expire("a2a:task:task-2", Duration.ofHours(24));
+        store.evictIdle(System.nanoTime() + Duration.ofMinutes(11).toNanos());
+        assertThat(store.trackedTasks()).isZero();
     }
 
     @Test
-    void get_existingTask_deserializesAndReturns() {
-        Task task = buildTask("task-3", TaskState.TASK_STATE_WORKING);
-        String taskJson = gson.toJson(task);
-        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("a2a:task:task-3")).thenReturn(taskJson);
+    void save_afterIdleEviction_rewritesTask() {
+        store.save(buildTask("task-12", TaskState.TASK_STATE_WORKING, List.of("The")), false);
+        store.evictIdle(System.nanoTime() + Duration.ofMinutes(11).toNanos());
+
+        store.save(buildTask("task-12", TaskState.TASK_STATE_WORKING, List.of("The", " Nuggets")), false);
+
+        assertThat(saveCalls().getLast().lists().get("a2a:task:{task-12}:artifact:a-1"))
+                .isEqualTo(new ListWrite("R", List.of(partJson("The"), partJson(" Nuggets"))));
+    }
 
-        Task result = store.get("task-3");
+    @Test
+    void get_storedTask_reassemblesHistoryAndArtifacts() {
+        Task task = buildTask("task-4", TaskState.TASK_STATE_WORKING, List.of("The", " Nuggets"));
+        String metaJson = gson.toJson(Task.builder(task).history(List.of()).artifacts(List.of()).build());
+        assert task.history() != null;
+        pipelineResults.add(Arrays.asList(
+                Map.of("task", bytes(metaJson), "artifacts", bytes("[{\"artifactId\":\"a-1\"}]")),
+                List.of(bytes(gson.toJson(task.history().getFirst(), Message.class))),
+                null));
+        pipelineResults.add(List.of(List.of(bytes(partJson("The")), bytes(partJson(" Nuggets")))));
+
+        Task result = store.get("task-4");
 
         assertThat(result).isNotNull();
-        assertThat(result.id()).isEqualTo("task-3");
+        assertThat(result.id()).isEqualTo("task-4");
+        assertThat(result.history()).hasSize(1);
+        assertThat(result.artifacts()).singleElement()
+                .satisfies(artifact -> assertThat(artifact.parts())
+                        .extracting(part -> ((TextPart) part).text())
+                        .containsExactly("The", " Nuggets"));
+    }
+
+    @Test
+    void get_legacyJsonTask_fallsBackToStringKey() {
+        Task task = buildTask("task-5", TaskState.TASK_STATE_COMPLETED, List.of());
+        pipelineResults.add(Arrays.asList(Map.of(), List.of(), bytes(gson.toJson(task))));
+
+        Task result = store.get("task-5");
+
+        assertThat(result).isNotNull();
+        assertThat(result.id()).isEqualTo("task-5");
     }
 
     @Test
     void get_missingTask_returnsNull() {
-        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("a2a:task:missing")).thenReturn(null);
+        pipelineResults.add(Arrays.asList(Map.of(), List.of(), null));
 
-        Task result = store.get("missing");
+        assertThat(store.get("missing")).isNull();
+    }
 
-        assertThat(result).isNull();
+    @Test
+    void delete_removesTaskKeysAndIndexEntries() {
+        Task task = buildTask("task-6", TaskState.TASK_STATE_WORKING, List.of());
+        String metaJson = gson.toJson(Task.builder(task).history(List.of()).artifacts(List.of()).build());
+        pipelineResults.add(Arrays.asList(Map.of("task", bytes(metaJson), "artifacts", bytes("[{\"artifactId\":\"a-1\"}]")), null));
+
+        store.delete("task-6");
+
+        verify(connection.keyCommands()).del(aryEq(bytes("a2a:task:{task-6}:meta")), aryEq(bytes("a2a:task:{task-6}:history")),
+                aryEq(bytes("a2a:task:{task-6}:artifact:a-1")));
+        verify(connection.keyCommands()).del(aryEq(bytes("a2a:task:task-6")));
+        verify(connection.zSetCommands()).zRem(aryEq(bytes("a2a:task-index:all")), aryEq(bytes("task-6")));
+        verify(connection.zSetCommands()).zRem(aryEq(bytes("a2a:task-index:context:ctx-task-6")), aryEq(bytes("task-6")));
     }
 
     @Test
-    void delete_delegatesToRedis() {
-        store.delete("task-5");
+    void save_taskWithContext_expiresContextIndexesWithFinalizedTtl() {
+        store.save(buildTask("task-12", TaskState.TASK_STATE_WORKING, List.of()), false);
 
-        verify(stringRedisTemplate).delete("a2a:task:task-5");
+        verify(connection.keyCommands()).expire(aryEq(bytes("a2a:task-index:context:ctx-task-12")), eq(FINALIZED_TTL_SECONDS));
+        verify(connection.keyCommands()).expire(
+                aryEq(bytes("a2a:task-index:context:ctx-task-12:status:TASK_STATE_WORKING")), eq(FINALIZED_TTL_SECONDS));
+    }
+
+    @Test
+    void trimIndexes_oldEntries_dropsFinalEntriesByScoreAndOnlyMissingOtherTasks() {
+        long now = 1_000_000_000_000L;
+        double cutoff = now - FINALIZED_TTL_SECONDS * 1000.0;
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        // Lenient: the status indexes are read with other keys and find nothing
+        lenient().when(zSetOperations.rangeByScore("a2a:task-index:all", Double.NEGATIVE_INFINITY, cutoff, 0, 500))
+                .thenReturn(new LinkedHashSet<>(List.of("gone", "live")));
+        pipelineResults.add(List.of(false, false, true, false));
+
+        store.trimIndexes(now);
+
+        verify(zSetOperations).removeRangeByScore("a2a:task-index:status:TASK_STATE_COMPLETED", Double.NEGATIVE_INFINITY, cutoff);
+        verify(zSetOperations).remove("a2a:task-index:all", "gone");
+        verify(connection.keyCommands()).exists(aryEq(bytes("a2a:task:{gone}:meta")));
+        verify(connection.keyCommands()).exists(aryEq(bytes("a2a:task:live")));
     }
 
     @Test
     void isTaskActive_finalizedTask_returnsFalse() {
-        Task task = buildTask("task-6", TaskState.TASK_STATE_COMPLETED);
-        String taskJson = gson.toJson(task);
-        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("a2a:task:task-6")).thenReturn(taskJson);
+        pipelineResults.add(Arrays.asList(bytes(metaJson("task-7", TaskState.TASK_STATE_COMPLETED)), null));
 
-        assertThat(store.isTaskActive("task-6")).isFalse();
+        assertThat(store.isTaskActive("task-7")).isFalse();
     }
 
     @Test
     void isTaskActive_nonFinalTask_returnsTrue() {
-        Task task = buildTask("task-7", TaskState.TASK_STATE_WORKING);
-        String taskJson = gson.toJson(task);
-        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("a2a:task:task-7")).thenReturn(taskJson);
+        pipelineResults.add(Arrays.asList(bytes(metaJson("task-8", TaskState.TASK_STATE_WORKING)), null));
 
-        assertThat(store.isTaskActive("task-7")).isTrue();
+        assertThat(store.isTaskActive("task-8")).isTrue();
     }
 
     @Test
-    void isTaskActive_missingTask_returnsFalse() {
-        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("a2a:task:absent")).thenReturn(null);
+    void isTaskFinalized_legacyFinalizedTask_returnsTrue() {
+        Task task = buildTask("task-9", TaskState.TASK_STATE_FAILED, List.of());
+        pipelineResults.add(Arrays.asList(null, bytes(gson.toJson(task))));
 
-        assertThat(store.isTaskActive("absent")).isFalse();
+        assertThat(store.isTaskFinalized("task-9")).isTrue();
     }
 
     @Test
-    void isTaskFinalized_finalizedTask_returnsTrue() {
-        Task task = buildTask("task-8", TaskState.TASK_STATE_FAILED);
-        String taskJson = gson.toJson(task);
-        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("a2a:task:task-8")).thenReturn(taskJson);
+    void isTaskFinalized_missingTask_returnsFalse() {
+        pipelineResults.add(Arrays.asList(null, null));
 
-        assertThat(store.isTaskFinalized("task-8")).isTrue();
+        assertThat(store.isTaskFinalized("not-here")).isFalse();
     }
 
     @Test
-    void isTaskFinalized_missingTask_returnsFalse() {
-        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("a2a:task:not-here")).thenReturn(null);
+    void getAll_missingTask_skipsAndKeepsOrder() {
+        pipelineResults.add(Arrays.asList(
+                Map.of("task", bytes(metaJson("task-b", TaskState.TASK_STATE_COMPLETED))), List.of(), null,
+                Map.of(), List.of(), null,
+                Map.of("task", bytes(metaJson("task-a", TaskState.TASK_STATE_COMPLETED))), List.of(), null));
 
-        assertThat(store.isTaskFinalized("not-here")).isFalse();
+        List<Task> result = store.getAll(List.of("task-b", "gone", "task-a"));
+
+        assertThat(result).extracting(Task::id).containsExactly("task-b", "task-a");
+    }
+
+    @Test
+    void list_byContext_readsContextIndexAndReturnsCursor() {
+        ListTasksParams params = mock(ListTasksParams.class);
+        when(params.contextId()).thenReturn("ctx-a");
+        when(params.getEffectivePageSize()).thenReturn(1);
+        when(params.getEffectiveHistoryLength()).thenReturn(0);
+        when(params.shouldIncludeArtifacts()).thenReturn(false);
+
+        String indexKey = "a2a:task-index:context:ctx-a";
+        Set<TypedTuple<String>> window = new LinkedHashSet<>(List.of(
+                TypedTuple.of("task-2", 2000d),
+                TypedTuple.of("task-1", 1000d)));
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.reverseRangeByScoreWithScores(indexKey, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 0, 2))
+                .thenReturn(window);
+        when(zSetOperations.count(indexKey, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY)).thenReturn(2L);
+        pipelineResults.add(Arrays.asList(
+                Map.of("task", bytes(metaJson("task-2", "ctx-a", TaskState.TASK_STATE_WORKING))), List.of(), null,
+                Map.of("task", bytes(metaJson("task-1", "ctx-a", TaskState.TASK_STATE_COMPLETED))), List.of(), null));
+
+        ListTasksResult result = store.list(params);
+
+        assertThat(result.tasks()).extracting(Task::id).containsExactly("task-2");
+        assertThat(result.totalSize()).isEqualTo(2);
+        assertThat(RedisTaskStore.PageCursor.decode(result.nextPageToken()))
+                .isEqualTo(new RedisTaskStore.PageCursor(2000d, "task-2"));
     }
 
     @Test
-    void save_replicatedFlag_hasNoEffect() {
-        Task task = buildTask("task-9", TaskState.TASK_STATE_WORKING);
-        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("a2a:task:task-9")).thenReturn(null);
+    void pageCursor_sameScore_continuesBelowTaskId() {
+        RedisTaskStore.PageCursor cursor = new RedisTaskStore.PageCursor(1000d, "task-5");
 
-        store.save(task, true);
+        assertThat(cursor.isBefore(TypedTuple.of("task-4", 1000d))).isTrue();
+        assertThat(cursor.isBefore(TypedTuple.of("task-5", 1000d))).isFalse();
+        assertThat(cursor.isBefore(TypedTuple.of("task-9", 999d))).isTrue();
+    }
 
-        verify(valueOperations).set(eq("a2a:task:task-9"), anyString());
-        verify(stringRedisTemplate, never()).expire(any(), any(Duration.class));
+    @Test
+    void pageCursor_invalidToken_throwsInvalidParams() {
+        assertThatThrownBy(() -> RedisTaskStore.PageCursor.decode("not-a-cursor"))
+                .isInstanceOf(InvalidParamsError.class);
+        assertThatThrownBy(() -> RedisTaskStore.PageCursor.decode("%%%"))
+                .isInstanceOf(InvalidParamsError.class);
     }
 
-    private Task buildTask(String taskId, TaskState taskState) {
+    @Test
+    void pageCursor_noToken_startsFromBeginning() {
+        assertThat(RedisTaskStore.PageCursor.decode(null)).isNull();
+        assertThat(RedisTaskStore.PageCursor.decode("")).isNull();
+    }
+
+    @Test
+    void list_invalidPageToken_throwsInvalidParams() {
+        ListTasksParams params = mock(ListTasksParams.class);
+        when(params.pageToken()).thenReturn("not-a-cursor");
+
+        assertThatThrownBy(() -> store.list(params)).isInstanceOf(InvalidParamsError.class);
+    }
+
+    @Test
+    void indexKeyFor_contextAndStatus_usesCombinedIndex() {
+        assertThat(RedisTaskStore.indexKeyFor("ctx-a", TaskState.TASK_STATE_WORKING))
+                .isEqualTo("a2a:task-index:context:ctx-a:status:TASK_STATE_WORKING");
+        assertThat(RedisTaskStore.indexKeyFor(null, null)).isEqualTo("a2a:task-index:all");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<SaveCall> saveCalls() {
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(binaryRedisTemplate, atLeastOnce()).execute(any(RedisScript.class), keys.capture(), args.capture());
+
+        List<SaveCall> calls = new ArrayList<>();
+        for (int index = 0; index < keys.getAllValues().size(); index++) {
+            calls.add(SaveCall.of(keys.getAllValues().get(index), args.getAllValues().get(index)));
+        }
+        return calls;
+    }
+
+    private record ListWrite(String operation, List<String> values) {
+    }
+
+    /**
+     * One call of the save script, with its arguments decoded per list key.
+     */
+    private record SaveCall(List<String> keys, String artifactHeaders, String ttlSeconds, String finalState,
+                            Map<String, ListWrite> lists) {
+
+        static SaveCall of(List<String> keys, Object[] args) {
+            Map<String, ListWrite> lists = new LinkedHashMap<>();
+            int arg = 4;
+            for (String key : keys.subList(1, keys.size())) {
+                String operation = string(args[arg]);
+                int count = Integer.parseInt(string(args[arg + 1]));
+                List<String> values = new ArrayList<>();
+                for (int value = 0; value < count; value++) {
+                    values.add(string(args[arg + 2 + value]));
+                }
+                lists.put(key, new ListWrite(operation, values));
+                arg += 2 + count;
+            }
+            return new SaveCall(keys, string(args[1]), string(args[2]), string(args[3]), lists);
+        }
+
+        private static String string(Object value) {
+            return new String((byte[]) value, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String partJson(String text) {
+        return gson.toJson(new TextPart(text), Part.class);
+    }
+
+    private String metaJson(String taskId, TaskState taskState) {
+        return metaJson(taskId, "ctx-" + taskId, taskState);
+    }
+
+    private String metaJson(String taskId, String contextId, TaskState taskState) {
+        return gson.toJson(Task.builder()
+                .id(taskId)
+                .contextId(contextId)
+                .status(new TaskStatus(taskState))
+                .build());
+    }
+
+    private Task buildTask(String taskId, TaskState taskState, List<String> chunks) {
+        Message question = Message.builder()
+                .role(Message.Role.ROLE_USER)
+                .parts(new TextPart("Who won last night?"))
+                .build();
+
+        List<Artifact> artifacts = List.of();
+        if (!chunks.isEmpty()) {
+            JsonArray parts = new JsonArray();
+            chunks.forEach(chunk -> parts.add(gson.toJsonTree(new TextPart(chunk), Part.class)));
+            JsonObject artifact = new JsonObject();
+            artifact.addProperty("artifactId", "a-1");
+            artifact.add("parts", parts);
+            artifacts = List.of(gson.fromJson(artifact, Artifact.class));
+        }
+
         return Task.builder()
                 .id(taskId)
                 .contextId("ctx-" + taskId)
                 .status(new TaskStatus(taskState))
+                .history(List.of(question))
+                .artifacts(artifacts)
                 .build();
     }
 }
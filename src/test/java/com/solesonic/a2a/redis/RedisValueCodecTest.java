@@ -0,0 +1,127 @@
+package com.solesonic.a2a.redis;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import org.a2aproject.sdk.jsonrpc.common.json.JsonUtil;
+import org.a2aproject.sdk.spec.Message;
+import org.a2aproject.sdk.spec.Task;
+import org.a2aproject.sdk.spec.TaskState;
+import org.a2aproject.sdk.spec.TaskStatus;
+import org.a2aproject.sdk.spec.TextPart;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RedisValueCodecTest {
+
+    private final Gson gson = JsonUtil.OBJECT_MAPPER;
+
+    @Test
+    void encode_cbor_roundTripsTaskAndIsSmallerThanJson() {
+        RedisValueCodec codec = new RedisValueCodec(gson, RedisValueCodec.Format.CBOR, 0);
+        Task task = buildTask();
+
+        byte[] encoded = codec.encode(task, Task.class);
+        Task decoded = codec.decode(encoded, Task.class);
+
+        assertThat(encoded.length).isLessThan(gson.toJson(task).getBytes(StandardCharsets.UTF_8).length);
+        assertThat(decoded.id()).isEqualTo(task.id());
+        assertThat(decoded.status().state()).isEqualTo(TaskState.TASK_STATE_WORKING);
+        assertThat(decoded.history()).hasSize(1);
+    }
+
+    @Test
+    void decode_legacyJson_readsWithoutHeader() {
+        RedisValueCodec codec = new RedisValueCodec(gson, RedisValueCodec.Format.CBOR, 0);
+        Task task = buildTask();
+
+        Task decoded = codec.decode(gson.toJson(task).getBytes(StandardCharsets.UTF_8), Task.class);
+
+        assertThat(decoded.id()).isEqualTo(task.id());
+    }
+
+    @Test
+    void encode_jsonBelowThreshold_writesPlainJson() {
+        RedisValueCodec codec = new RedisValueCodec(gson, RedisValueCodec.Format.JSON, 2048);
+        Task task = buildTask();
+
+        byte[] encoded = codec.encode(task, Task.class);
+
+        assertThat(new String(encoded, StandardCharsets.UTF_8)).isEqualTo(gson.toJson(task));
+    }
+
+    @Test
+    void encode_aboveThreshold_deflatesAndRoundTrips() {
+        RedisValueCodec codec = new RedisValueCodec(gson, RedisValueCodec.Format.CBOR, 64);
+        JsonElement tree = JsonParser.parseString("{\"text\":\"" + "nuggets ".repeat(200) + "\"}");
+
+        byte[] encoded = codec.encodeTree(tree);
+
+        assertThat(encoded.length).isLessThan(400);
+        assertThat(codec.decodeTree(encoded)).isEqualTo(tree);
+    }
+
+    @Test
+    void encodeTree_cbor_preservesNumbersBooleansAndNulls() {
+        RedisValueCodec codec = new RedisValueCodec(gson, RedisValueCodec.Format.CBOR, 0);
+        JsonElement tree = JsonParser.parseString(
+                "{\"count\":-42,\"big\":4294967296,\"ratio\":0.1,\"half\":0.5,\"ok\":true,\"none\":null,\"list\":[1,\"é\"]}");
+
+        JsonElement decoded = codec.decodeTree(codec.encodeTree(tree));
+
+        assertThat(decoded.getAsJsonObject().get("count").getAsLong()).isEqualTo(-42);
+        assertThat(decoded.getAsJsonObject().get("big").getAsLong()).isEqualTo(4294967296L);
+        assertThat(decoded.getAsJsonObject().get("ratio").getAsDouble()).isEqualTo(0.1);
+        assertThat(decoded.getAsJsonObject().get("half").getAsDouble()).isEqualTo(0.5);
+        assertThat(decoded.getAsJsonObject().get("ok").getAsBoolean()).isTrue();
+        assertThat(decoded.getAsJsonObject().get("none").isJsonNull()).isTrue();
+        assertThat(decoded.getAsJsonObject().getAsJsonArray("list").get(1).getAsString()).isEqualTo("é");
+    }
+
+    @Test
+    void encodeJson_aboveThreshold_deflatesAndReturnsSameBytes() {
+        RedisValueCodec codec = new RedisValueCodec(gson, RedisValueCodec.Format.CBOR, 64);
+        byte[] json = ("{\"text\":\"" + "nuggets ".repeat(200) + "\"}").getBytes(StandardCharsets.UTF_8);
+
+        byte[] encoded = codec.encodeJson(json);
+
+        assertThat(encoded.length).isLessThan(json.length);
+        assertThat(codec.decodeJson(encoded)).isEqualTo(json);
+    }
+
+    @Test
+    void decodeJson_cborValue_readsAsJson() {
+        RedisValueCodec codec = new RedisValueCodec(gson, RedisValueCodec.Format.CBOR, 0);
+        Task task = buildTask();
+
+        byte[] json = codec.decodeJson(codec.encode(task, Task.class));
+
+        assertThat(JsonParser.parseString(new String(json, StandardCharsets.UTF_8))).isEqualTo(gson.toJsonTree(task, Task.class));
+    }
+
+    @Test
+    void decodeTree_newerVersion_isRejected() {
+        RedisValueCodec codec = new RedisValueCodec(gson, RedisValueCodec.Format.CBOR, 0);
+
+        assertThatThrownBy(() -> codec.decodeTree(new byte[]{(byte) 0xA2, 9, 0x10, 0x00}))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private Task buildTask() {
+        Message question = Message.builder()
+                .role(Message.Role.ROLE_USER)
+                .parts(new TextPart("Who leads the West?"))
+                .build();
+        return Task.builder()
+                .id("task-1")
+                .contextId("ctx-task-1")
+                .status(new TaskStatus(TaskState.TASK_STATE_WORKING))
+                .history(List.of(question))
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+package com.solesonic.a2a.redis;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.a2aproject.sdk.spec.Task;
+import org.a2aproject.sdk.spec.TaskState;
+import org.a2aproject.sdk.spec.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TieredTaskStoreTest {
+
+    @Mock
+    private RedisTaskStore redisTaskStore;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private TieredTaskStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TieredTaskStore(redisTaskStore, stringRedisTemplate, new TaskChangeNotifier(), Duration.ofHours(1), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void save_sameState_defersRedisWriteUntilFlush() {
+        Task first = buildTask("task-1", TaskState.TASK_STATE_WORKING);
+        Task second = buildTask("task-1", TaskState.TASK_STATE_WORKING);
+
+        store.save(first, false);
+        store.save(second, false);
+
+        verify(redisTaskStore, times(1)).write(first);
+        verify(redisTaskStore, never()).write(second);
+
+        store.flushDirty();
+
+        verify(redisTaskStore).write(second);
+    }
+
+    @Test
+    void save_stateChange_writesThroughAndPublishesInvalidation() {
+        store.save(buildTask("task-2", TaskState.TASK_STATE_SUBMITTED), false);
+        Task working = buildTask("task-2", TaskState.TASK_STATE_WORKING);
+
+        store.save(working, false);
+
+        verify(redisTaskStore).write(working);
+        verify(stringRedisTemplate, times(2)).convertAndSend(eq(TieredTaskStore.INVALIDATION_CHANNEL), any(String.class));
+    }
+
+    @Test
+    void get_localTask_skipsRedis() {
+        Task task = buildTask("task-3", TaskState.TASK_STATE_WORKING);
+        store.save(task, false);
+
+        assertThat(store.get("task-3")).isSameAs(task);
+        assertThat(store.isTaskActive("task-3")).isTrue();
+        verify(redisTaskStore, never()).get("task-3");
+        verify(redisTaskStore, never()).isTaskActive("task-3");
+    }
+
+    @Test
+    void save_finalState_evictsLocalTask() {
+        store.save(buildTask("task-4", TaskState.TASK_STATE_WORKING), false);
+        store.save(buildTask("task-4", TaskState.TASK_STATE_COMPLETED), false);
+        when(redisTaskStore.isTaskFinalized("task-4")).thenReturn(true);
+
+        assertThat(store.isTaskFinalized("task-4")).isTrue();
+        verify(redisTaskStore).isTaskFinalized("task-4");
+    }
+
+    @Test
+    void onMessage_otherNode_dropsLocalTaskAndTrackedShape() {
+        store.save(buildTask("task-5", TaskState.TASK_STATE_WORKING), false);
+        Message message = mock(Message.class);
+        when(message.getBody()).thenReturn("other-node|task-5".getBytes(StandardCharsets.UTF_8));
+
+        store.onMessage(message, null);
+        store.get("task-5");
+
+        verify(redisTaskStore).forget("task-5");
+        verify(redisTaskStore).get("task-5");
+    }
+
+    @Test
+    void save_afterOtherNodeFinalizedTask_dropsLocalCopyInsteadOfOverwriting() {
+        store.save(buildTask("task-6", TaskState.TASK_STATE_WORKING), false);
+        Message message = mock(Message.class);
+        when(message.getBody()).thenReturn("other-node|task-6".getBytes(StandardCharsets.UTF_8));
+        store.onMessage(message, null);
+
+        Task stale = buildTask("task-6", TaskState.TASK_STATE_WORKING);
+        when(redisTaskStore.write(stale)).thenReturn(RedisTaskStore.REFUSED);
+        Task canceled = buildTask("task-6", TaskState.TASK_STATE_CANCELED);
+        when(redisTaskStore.get("task-6")).thenReturn(canceled);
+
+        store.save(stale, false);
+
+        assertThat(store.get("task-6")).isSameAs(canceled);
+        verify(stringRedisTemplate, times(1)).convertAndSend(eq(TieredTaskStore.INVALIDATION_CHANNEL), any(String.class));
+    }
+
+    private Task buildTask(String taskId, TaskState taskState) {
+        return Task.builder()
+                .id(taskId)
+                .contextId("ctx-" + taskId)
+                .status(new TaskStatus(taskState))
+                .build();
+    }
+}
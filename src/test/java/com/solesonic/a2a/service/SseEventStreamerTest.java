@@ -0,0 +1,129 @@
+package com.solesonic.a2a.service;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.solesonic.a2a.event.EncodedEvent;
+import org.a2aproject.sdk.jsonrpc.common.json.JsonUtil;
+import org.a2aproject.sdk.jsonrpc.common.wrappers.SendStreamingMessageResponse;
+import org.a2aproject.sdk.spec.Message;
+import org.a2aproject.sdk.spec.Part;
+import org.a2aproject.sdk.spec.StreamingEventKind;
+import org.a2aproject.sdk.spec.Task;
+import org.a2aproject.sdk.spec.TaskArtifactUpdateEvent;
+import org.a2aproject.sdk.spec.TaskState;
+import org.a2aproject.sdk.spec.TaskStatus;
+import org.a2aproject.sdk.spec.TaskStatusUpdateEvent;
+import org.a2aproject.sdk.spec.TextPart;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseEventStreamerTest {
+
+    @Test
+    void supersedes_newerTaskSnapshot_replacesOlderSnapshot() {
+        Task older = buildTask(TaskState.TASK_STATE_WORKING);
+        Task newer = buildTask(TaskState.TASK_STATE_COMPLETED);
+
+        assertThat(SseEventStreamer.supersedes(newer, older)).isTrue();
+    }
+
+    @Test
+    void supersedes_differentKinds_keepsBoth() {
+        Message message = Message.builder()
+                .role(Message.Role.ROLE_AGENT)
+                .parts(new TextPart("Checking standings"))
+                .build();
+
+        assertThat(SseEventStreamer.supersedes(buildTask(TaskState.TASK_STATE_WORKING), message)).isFalse();
+        assertThat(SseEventStreamer.supersedes(message, buildTask(TaskState.TASK_STATE_WORKING))).isFalse();
+    }
+
+    @Test
+    void jsonRpcFrame_task_matchesSdkResponse() {
+        assertFrameMatchesSdk("req-1", buildTask(TaskState.TASK_STATE_WORKING));
+    }
+
+    @Test
+    void jsonRpcFrame_message_matchesSdkResponse() {
+        Message message = Message.builder()
+                .role(Message.Role.ROLE_AGENT)
+                .parts(new TextPart("Checking \"standings\" <now>"))
+                .build();
+
+        assertFrameMatchesSdk(7, message);
+    }
+
+    @Test
+    void jsonRpcFrame_statusUpdate_matchesSdkResponse() {
+        assertFrameMatchesSdk("req-1", statusUpdate());
+    }
+
+    @Test
+    void jsonRpcFrame_artifactUpdate_matchesSdkResponse() {
+        assertFrameMatchesSdk("req-1", artifactUpdate());
+    }
+
+    @Test
+    void jsonRpcFrame_severalEventKinds_reusesStreamEnvelope() {
+        SseEventStreamer.JsonRpcFrame frame = SseEventStreamer.JsonRpcFrame.of("req-1");
+        Task task = buildTask(TaskState.TASK_STATE_WORKING);
+        TaskStatusUpdateEvent statusUpdate = statusUpdate();
+
+        assertThat(new String(frame.render(EncodedEvent.of(task).streamingResult()), StandardCharsets.UTF_8))
+                .isEqualTo(JsonUtil.toJson(new SendStreamingMessageResponse("req-1", task)));
+        assertThat(new String(frame.render(EncodedEvent.of(statusUpdate).streamingResult()), StandardCharsets.UTF_8))
+                .isEqualTo(JsonUtil.toJson(new SendStreamingMessageResponse("req-1", statusUpdate)));
+    }
+
+    @Test
+    void streamingResult_anyEvent_isJsonOfSharedTree() {
+        EncodedEvent encodedEvent = EncodedEvent.of(buildTask(TaskState.TASK_STATE_WORKING));
+
+        assertThat(new String(encodedEvent.streamingResult(), StandardCharsets.UTF_8))
+                .isEqualTo(JsonUtil.OBJECT_MAPPER.toJson(encodedEvent.tree()));
+        assertThat(encodedEvent.tree()).isSameAs(encodedEvent.tree());
+    }
+
+    private static void assertFrameMatchesSdk(Object id, StreamingEventKind event) {
+        SseEventStreamer.JsonRpcFrame frame = SseEventStreamer.JsonRpcFrame.of(id);
+
+        byte[] rendered = frame.render(EncodedEvent.of(event).streamingResult());
+
+        assertThat(rendered).isEqualTo(JsonUtil.toJson(new SendStreamingMessageResponse(id, event)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static TaskStatusUpdateEvent statusUpdate() {
+        JsonObject status = new JsonObject();
+        status.addProperty("state", TaskState.TASK_STATE_WORKING.name());
+        JsonObject statusUpdate = new JsonObject();
+        statusUpdate.addProperty("taskId", "task-1");
+        statusUpdate.addProperty("contextId", "ctx-1");
+        statusUpdate.add("status", status);
+        return JsonUtil.OBJECT_MAPPER.fromJson(statusUpdate, TaskStatusUpdateEvent.class);
+    }
+
+    private static TaskArtifactUpdateEvent artifactUpdate() {
+        JsonArray parts = new JsonArray();
+        parts.add(JsonUtil.OBJECT_MAPPER.toJsonTree(new TextPart("Nuggets by 12"), Part.class));
+        JsonObject artifact = new JsonObject();
+        artifact.addProperty("artifactId", "a-1");
+        artifact.add("parts", parts);
+        JsonObject artifactUpdate = new JsonObject();
+        artifactUpdate.addProperty("taskId", "task-1");
+        artifactUpdate.addProperty("contextId", "ctx-1");
+        artifactUpdate.add("artifact", artifact);
+        artifactUpdate.addProperty("append", true);
+        return JsonUtil.OBJECT_MAPPER.fromJson(artifactUpdate, TaskArtifactUpdateEvent.class);
+    }
+
+    private Task buildTask(TaskState state) {
+        return Task.builder()
+                .id("task-1")
+                .contextId("ctx-1")
+                .status(new TaskStatus(state))
+                .build();
+    }
+}
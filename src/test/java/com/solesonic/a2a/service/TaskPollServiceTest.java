@@ -0,0 +1,144 @@
+package com.solesonic.a2a.service;
+
+import com.solesonic.a2a.config.AgentRequestHandlerRegistry;
+import com.solesonic.a2a.config.TaskPollProperties;
+import com.solesonic.a2a.redis.BulkTaskStore;
+import com.solesonic.a2a.redis.TaskChangeNotifier;
+import org.a2aproject.sdk.jsonrpc.common.wrappers.GetTaskRequest;
+import org.a2aproject.sdk.jsonrpc.common.wrappers.GetTaskResponse;
+import org.a2aproject.sdk.spec.Task;
+import org.a2aproject.sdk.spec.TaskQueryParams;
+import org.a2aproject.sdk.spec.TaskState;
+import org.a2aproject.sdk.spec.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskPollServiceTest {
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private AgentRequestHandlerRegistry agentRequestHandlerRegistry;
+
+    @Mock
+    private BulkTaskStore taskStore;
+
+    private final TaskChangeNotifier changeNotifier = new TaskChangeNotifier();
+
+    private TaskPollService service;
+
+    private final GetTaskRequest request = new GetTaskRequest(null, "req-1", new TaskQueryParams("task-1"));
+
+    @BeforeEach
+    void setUp() {
+        service = new TaskPollService(taskService, agentRequestHandlerRegistry, taskStore, changeNotifier,
+                Runnable::run, new TaskPollProperties(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void getTask_noIfNoneMatch_returnsTaskWithETag() {
+        when(taskStore.version("task-1")).thenReturn(3L);
+        when(taskService.getTask("agent-id", request)).thenReturn(ResponseEntity.ok(taskResponse()));
+
+        ResponseEntity<GetTaskResponse> response = result(service.getTask("agent-id", request, null, null));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"3\"");
+        assertThat(response.getBody()).isNotNull();
+    }
+
+    @Test
+    void getTask_versionUnchanged_returnsNotModifiedWithoutLoadingTask() {
+        when(taskStore.version("task-1")).thenReturn(3L);
+
+        ResponseEntity<GetTaskResponse> response = result(service.getTask("agent-id", request, "\"3\"", null));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"3\"");
+        verify(taskService, never()).getTask(any(), any());
+    }
+
+    @Test
+    void getTask_newerVersion_returnsTask() {
+        when(taskStore.version("task-1")).thenReturn(4L);
+        when(taskService.getTask("agent-id", request)).thenReturn(ResponseEntity.ok(taskResponse()));
+
+        ResponseEntity<GetTaskResponse> response = result(service.getTask("agent-id", request, "\"3\"", "wait=10"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"4\"");
+    }
+
+    @Test
+    void getTask_waitUntilChanged_returnsTaskOnNextWrite() {
+        when(taskStore.version("task-1")).thenReturn(3L, 4L);
+        when(taskStore.isTaskFinalized("task-1")).thenReturn(false);
+        when(taskService.getTask("agent-id", request)).thenReturn(ResponseEntity.ok(taskResponse()));
+
+        DeferredResult<ResponseEntity<GetTaskResponse>> deferredResult =
+                service.getTask("agent-id", request, "\"3\"", "respond-async, wait=10");
+
+        assertThat(deferredResult.hasResult()).isFalse();
+
+        changeNotifier.taskChanged("task-1");
+
+        ResponseEntity<GetTaskResponse> response = result(deferredResult);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"4\"");
+    }
+
+    @Test
+    void getTask_finalizedTask_doesNotWait() {
+        when(taskStore.version("task-1")).thenReturn(5L);
+        when(taskStore.isTaskFinalized("task-1")).thenReturn(true);
+
+        ResponseEntity<GetTaskResponse> response = result(service.getTask("agent-id", request, "\"5\"", "wait=10"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void parseWait_aboveMaximum_capsAtMaximum() {
+        assertThat(TaskPollService.parseWait("wait=120", Duration.ofSeconds(30))).isEqualTo(Duration.ofSeconds(30));
+        assertThat(TaskPollService.parseWait("respond-async", Duration.ofSeconds(30))).isEqualTo(Duration.ZERO);
+        assertThat(TaskPollService.parseWait("wait=abc", Duration.ofSeconds(30))).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    void parseETag_weakOrStrong_returnsVersion() {
+        assertThat(TaskPollService.parseETag("\"7\"")).isEqualTo(7L);
+        assertThat(TaskPollService.parseETag("W/\"7\"")).isEqualTo(7L);
+        assertThat(TaskPollService.parseETag("*")).isNull();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ResponseEntity<GetTaskResponse> result(DeferredResult<ResponseEntity<GetTaskResponse>> deferredResult) {
+        assertThat(deferredResult.hasResult()).isTrue();
+        return (ResponseEntity<GetTaskResponse>) deferredResult.getResult();
+    }
+
+    private static GetTaskResponse taskResponse() {
+        Task task = Task.builder()
+                .id("task-1")
+                .contextId("ctx-task-1")
+                .status(new TaskStatus(TaskState.TASK_STATE_WORKING))
+                .build();
+        return new GetTaskResponse("req-1", task);
+    }
+}
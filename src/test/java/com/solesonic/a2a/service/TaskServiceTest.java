@@ -14,9 +14,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.Map;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,58 +43,86 @@ class TaskServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new TaskService(agentRequestHandlerRegistry, serverCallContextFactory);
-        when(agentRequestHandlerRegistry.getHandler("agent-id")).thenReturn(requestHandler);
-        when(serverCallContextFactory.create()).thenReturn(serverCallContext);
+        service = new TaskService(agentRequestHandlerRegistry, serverCallContextFactory, Runnable::run, Duration.ofMinutes(5));
+        lenient().when(agentRequestHandlerRegistry.getHandler("agent-id")).thenReturn(requestHandler);
+        lenient().when(serverCallContextFactory.create()).thenReturn(serverCallContext);
     }
 
     @Test
-    void send_success_returns200WithBody() {
-        Task task = buildTask(TaskState.TASK_STATE_WORKING);
+    void sendAsync_success_completesDeferredResultWithBody() {
+        Task task = buildTask(TaskState.TASK_STATE_COMPLETED);
         when(requestHandler.onMessageSend(any(), any())).thenReturn(task);
 
-        ResponseEntity<SendMessageResponse> response = service.send("agent-id", buildSendMessageRequest());
+        DeferredResult<ResponseEntity<SendMessageResponse>> deferredResult =
+                service.sendAsync("agent-id", buildSendMessageRequest());
 
+        assertThat(deferredResult.hasResult()).isTrue();
+        ResponseEntity<SendMessageResponse> response = result(deferredResult);
+        assertThat(response).isNotNull();
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
-        assertThat(response.getBody()).isNotNull();
         assert response.getBody() != null;
         assertThat(response.getBody().getError()).isNull();
         assertThat(response.getBody().getResult()).isNotNull();
     }
 
     @Test
-    void send_jsonRpcError_returnsErrorBody() {
+    void sendAsync_jsonRpcError_completesDeferredResultWithError() {
         when(requestHandler.onMessageSend(any(), any())).thenThrow(new InvalidRequestError("Invalid request"));
 
-        ResponseEntity<SendMessageResponse> response = service.send("agent-id", buildSendMessageRequest());
+        ResponseEntity<SendMessageResponse> response = result(service.sendAsync("agent-id", buildSendMessageRequest()));
 
+        assertThat(response).isNotNull();
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(response.getBody()).isNotNull();
         assert response.getBody() != null;
         assertThat(response.getBody().getError()).isNotNull();
         assertThat(response.getBody().getError().getMessage()).isEqualTo("Invalid request");
     }
 
     @Test
-    void send_illegalArgument_returnsInvalidParams() {
+    void sendAsync_illegalArgument_completesWithInvalidParams() {
         when(requestHandler.onMessageSend(any(), any())).thenThrow(new IllegalArgumentException("bad param"));
 
-        ResponseEntity<SendMessageResponse> response = service.send("agent-id", buildSendMessageRequest());
+        ResponseEntity<SendMessageResponse> response = result(service.sendAsync("agent-id", buildSendMessageRequest()));
 
-        assertThat(response.getBody()).isNotNull();
+        assertThat(response).isNotNull();
         assert response.getBody() != null;
         assertThat(response.getBody().getError()).isNotNull();
         assertThat(response.getBody().getError().getCode()).isEqualTo(-32602);
     }
 
     @Test
-    void send_unexpectedException_returnsInternalError() {
+    void sendAsync_unexpectedException_completesWithInternalError() {
         when(requestHandler.onMessageSend(any(), any())).thenThrow(new RuntimeException("unexpected"));
 
-        ResponseEntity<SendMessageResponse> response = service.send("agent-id", buildSendMessageRequest());
+        ResponseEntity<SendMessageResponse> response = result(service.sendAsync("agent-id", buildSendMessageRequest()));
+
+        assertThat(response).isNotNull();
+        assert response.getBody() != null;
+        assertThat(response.getBody().getError()).isNotNull();
+        assertThat(response.getBody().getError().getCode()).isEqualTo(-32603);
+    }
+
+    @Test
+    void timeoutResponse_taskAssigned_returnsTaskAsItStands() {
+        when(serverCallContext.getState()).thenReturn(Map.of(ServerCallContextFactory.TASK_ID_STATE, "task-1"));
+        when(requestHandler.onGetTask(any(), any())).thenReturn(buildTask(TaskState.TASK_STATE_WORKING));
+
+        ResponseEntity<SendMessageResponse> response =
+                service.timeoutResponse(requestHandler, serverCallContext, buildSendMessageRequest());
+
+        assert response.getBody() != null;
+        assertThat(response.getBody().getError()).isNull();
+        assertThat(((Task) response.getBody().getResult()).id()).isEqualTo("task-1");
+    }
+
+    @Test
+    void timeoutResponse_noTaskYet_returnsInternalError() {
+        when(serverCallContext.getState()).thenReturn(Map.of());
+
+        ResponseEntity<SendMessageResponse> response =
+                service.timeoutResponse(requestHandler, serverCallContext, buildSendMessageRequest());
 
-        assertThat(response.getBody()).isNotNull();
         assert response.getBody() != null;
         assertThat(response.getBody().getError()).isNotNull();
         assertThat(response.getBody().getError().getCode()).isEqualTo(-32603);
@@ -141,4 +174,9 @@ class TaskServiceTest {
                 .build();
         return new SendMessageRequest("2.0", "req-1", params);
     }
+
+    @SuppressWarnings("unchecked")
+    private static ResponseEntity<SendMessageResponse> result(DeferredResult<ResponseEntity<SendMessageResponse>> deferredResult) {
+        return (ResponseEntity<SendMessageResponse>) deferredResult.getResult();
+    }
 }
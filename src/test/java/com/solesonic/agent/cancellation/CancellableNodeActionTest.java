@@ -0,0 +1,119 @@
+package com.solesonic.agent.cancellation;
+
+import org.bsc.langgraph4j.RunnableConfig;
+import org.bsc.langgraph4j.action.AsyncNodeActionWithConfig;
+import org.bsc.langgraph4j.state.AgentState;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CancellableNodeActionTest {
+
+    private final AgentState state = new AgentState(Map.of());
+
+    @Test
+    void apply_tokenAlreadyCancelled_skipsNode() {
+        CancellationToken token = CancellationToken.create();
+        token.cancel();
+        AtomicBoolean ran = new AtomicBoolean();
+
+        CompletableFuture<Map<String, Object>> result = CancellableNodeAction.<AgentState>cancellable(
+                (AsyncNodeActionWithConfig<AgentState>) (_, _) -> {
+                    ran.set(true);
+                    return CompletableFuture.completedFuture(Map.of());
+                }).apply(state, config(token));
+
+        assertThat(ran).isFalse();
+        assertThatThrownBy(result::join).hasCauseInstanceOf(CancellationException.class);
+    }
+
+    @Test
+    void apply_cancelledWhileRunning_discardsUpdates() {
+        CancellationToken token = CancellationToken.create();
+
+        CompletableFuture<Map<String, Object>> result = CancellableNodeAction.<AgentState>cancellable(
+                (AsyncNodeActionWithConfig<AgentState>) (_, _) -> {
+                    token.cancel();
+                    return CompletableFuture.completedFuture(Map.of("analysis", "done"));
+                }).apply(state, config(token));
+
+        assertThatThrownBy(result::join).hasCauseInstanceOf(CancellationException.class);
+    }
+
+    @Test
+    void apply_runningNode_bindsCurrentToken() {
+        CancellationToken token = CancellationToken.create();
+        AtomicReference<CancellationToken> seen = new AtomicReference<>();
+
+        Map<String, Object> updates = CancellableNodeAction.<AgentState>cancellable(
+                (AsyncNodeActionWithConfig<AgentState>) (_, _) -> {
+                    seen.set(CancellationToken.current());
+                    return CompletableFuture.completedFuture(Map.of("analysis", "done"));
+                }).apply(state, config(token)).join();
+
+        assertThat(seen.get()).isSameAs(token);
+        assertThat(updates).containsEntry("analysis", "done");
+        assertThat(CancellationToken.current()).isSameAs(CancellationToken.none());
+    }
+
+    @Test
+    void bind_tokenCancelled_disposesUpstream() {
+        CancellationToken token = CancellationToken.create();
+        Sinks.Many<String> upstream = Sinks.many().unicast().onBackpressureBuffer();
+        AtomicBoolean upstreamCancelled = new AtomicBoolean();
+        Flux<String> tokens = token.bind(upstream.asFlux().doOnCancel(() -> upstreamCancelled.set(true)));
+
+        List<String> received = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        tokens.subscribe(received::add, error::set);
+
+        upstream.tryEmitNext("Lakers");
+        token.cancel();
+        upstream.tryEmitNext("Celtics");
+
+        assertThat(received).containsExactly("Lakers");
+        assertThat(error.get()).isInstanceOf(CancellationException.class);
+        assertThat(upstreamCancelled).isTrue();
+    }
+
+    @Test
+    void bind_upstreamCompletesAfterCancel_signalsCancellation() {
+        CancellationToken token = CancellationToken.create();
+        Sinks.Many<String> upstream = Sinks.many().unicast().onBackpressureBuffer();
+        AtomicBoolean completed = new AtomicBoolean();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        token.bind(upstream.asFlux()).subscribe(_ -> { }, error::set, () -> completed.set(true));
+
+        upstream.tryEmitNext("Lakers");
+        token.cancel();
+        upstream.tryEmitComplete();
+
+        assertThat(completed).isFalse();
+        assertThat(error.get()).isInstanceOf(CancellationException.class);
+    }
+
+    @Test
+    void bind_noneToken_returnsSamePublisher() {
+        Mono<String> mono = Mono.just("schedule");
+
+        assertThat(CancellationToken.none().bind(mono)).isSameAs(mono);
+    }
+
+    private static RunnableConfig config(CancellationToken token) {
+        return RunnableConfig.builder()
+                .addMetadata(CancellationToken.CONFIG_KEY, token)
+                .build();
+    }
+}
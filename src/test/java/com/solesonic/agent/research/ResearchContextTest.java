@@ -0,0 +1,146 @@
+package com.solesonic.agent.research;
+
+import org.bsc.langgraph4j.RunnableConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResearchContextTest {
+
+    private static final String KIND = "espn.team-roster";
+
+    @Test
+    void share_identicalCalls_executesOnce() {
+        ResearchContext researchContext = ResearchContext.create();
+        AtomicInteger executions = new AtomicInteger();
+
+        String first = researchContext.share(KIND, "DEN", () -> "roster-" + executions.incrementAndGet());
+        String second = researchContext.share(KIND, "DEN", () -> "roster-" + executions.incrementAndGet());
+
+        assertThat(first).isEqualTo("roster-1");
+        assertThat(second).isEqualTo("roster-1");
+        assertThat(researchContext.requested(KIND)).isEqualTo(2);
+        assertThat(researchContext.executed(KIND)).isEqualTo(1);
+    }
+
+    @Test
+    void share_differentKeys_executesEach() {
+        ResearchContext researchContext = ResearchContext.create();
+
+        String nuggets = researchContext.share(KIND, "DEN", () -> "nuggets");
+        String lakers = researchContext.share(KIND, "LAL", () -> "lakers");
+
+        assertThat(nuggets).isEqualTo("nuggets");
+        assertThat(lakers).isEqualTo("lakers");
+        assertThat(researchContext.executed(KIND)).isEqualTo(2);
+    }
+
+    @Test
+    void share_callInFlight_joinsIt() throws Exception {
+        ResearchContext researchContext = ResearchContext.create();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> researchContext.share(KIND, "DEN", () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "roster";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> researchContext.share(KIND, "DEN", () -> {
+            executions.incrementAndGet();
+            return "duplicate";
+        }));
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("roster");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("roster");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void share_callFails_nextCallRetries() {
+        ResearchContext researchContext = ResearchContext.create();
+
+        assertThatThrownBy(() -> researchContext.share(KIND, "DEN", () -> {
+            throw new IllegalStateException("ESPN unavailable");
+        })).hasMessage("ESPN unavailable");
+        String retried = researchContext.share(KIND, "DEN", () -> "roster");
+
+        assertThat(retried).isEqualTo("roster");
+        assertThat(researchContext.executed(KIND)).isEqualTo(2);
+    }
+
+    @Test
+    void share_callInFlightCancelled_followerRetries() throws Exception {
+        ResearchContext researchContext = ResearchContext.create();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> researchContext.share(KIND, "DEN", () -> {
+            started.countDown();
+            await(release);
+            throw new CancellationException("Task cancelled");
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> researchContext.share(KIND, "DEN", () -> "roster"));
+        while (researchContext.requested(KIND) < 2) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(CancellationException.class);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("roster");
+        assertThat(researchContext.executed(KIND)).isEqualTo(2);
+    }
+
+    @Test
+    void share_noneContext_alwaysExecutes() {
+        AtomicInteger executions = new AtomicInteger();
+
+        ResearchContext.none().share(KIND, "DEN", executions::incrementAndGet);
+        ResearchContext.none().share(KIND, "DEN", executions::incrementAndGet);
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void callAsCurrent_insideAction_bindsContext() {
+        ResearchContext researchContext = ResearchContext.create();
+
+        ResearchContext seen = researchContext.callAsCurrent(ResearchContext::current);
+
+        assertThat(seen).isSameAs(researchContext);
+        assertThat(ResearchContext.current()).isSameAs(ResearchContext.none());
+    }
+
+    @Test
+    void from_configWithContext_returnsIt() {
+        ResearchContext researchContext = ResearchContext.create();
+        RunnableConfig config = RunnableConfig.builder()
+                .addMetadata(ResearchContext.CONFIG_KEY, researchContext)
+                .build();
+
+        assertThat(ResearchContext.from(config)).isSameAs(researchContext);
+        assertThat(ResearchContext.from(RunnableConfig.builder().build())).isSameAs(ResearchContext.none());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.solesonic.agent.sports;
+
+import com.solesonic.agent.config.SportsHedgingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgedTierExecutorTest {
+
+    private static final String LOOKUP = "schedule";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<String> progress = new CopyOnWriteArrayList<>();
+
+    @Test
+    void race_firstTierSufficientWithinBudget_neverStartsNextTier() {
+        HedgedTierExecutor hedgedTierExecutor = hedgedTierExecutor(true, Duration.ofSeconds(5));
+        AtomicBoolean secondStarted = new AtomicBoolean();
+
+        HedgedTierExecutor.Winner<String> winner = hedgedTierExecutor.race(LOOKUP, List.of(
+                new HedgedTierExecutor.Tier<>("espn", "espn", () -> "live games"),
+                new HedgedTierExecutor.Tier<>("tavily", "tavily", () -> {
+                    secondStarted.set(true);
+                    return "search";
+                })
+        ), result -> result.contains("games"), progress::add);
+
+        assertThat(winner.tier()).isEqualTo("espn");
+        assertThat(winner.sufficient()).isTrue();
+        assertThat(secondStarted).isFalse();
+        assertThat(progress).containsExactly("espn");
+        assertThat(meterRegistry.get("sports.tiers.wins").tag("tier", "espn").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void race_firstTierExceedsBudget_startsNextTierAndInterruptsLoser() throws Exception {
+        HedgedTierExecutor hedgedTierExecutor = hedgedTierExecutor(true, Duration.ofMillis(100));
+        CountDownLatch espnInterrupted = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        HedgedTierExecutor.Winner<String> winner = hedgedTierExecutor.race(LOOKUP, List.of(
+                new HedgedTierExecutor.Tier<>("espn", "espn", () -> {
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException _) {
+                        espnInterrupted.countDown();
+                    }
+                    return "live games";
+                }),
+                new HedgedTierExecutor.Tier<>("nba-com", "nba-com", () -> "nba.com games")
+        ), result -> result.contains("games"), progress::add);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(winner.tier()).isEqualTo("nba-com");
+        assertThat(winner.result()).isEqualTo("nba.com games");
+        assertThat(elapsedMillis).isLessThan(5_000);
+        assertThat(espnInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("sports.tiers.wins").tag("tier", "nba-com").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("sports.tiers.hedging.saved").tag("tier", "nba-com").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void race_tierInsufficient_startsNextTierWithoutWaitingForBudget() {
+        HedgedTierExecutor hedgedTierExecutor = hedgedTierExecutor(true, Duration.ofSeconds(10));
+
+        long start = System.nanoTime();
+        HedgedTierExecutor.Winner<String> winner = hedgedTierExecutor.race(LOOKUP, List.of(
+                new HedgedTierExecutor.Tier<>("espn", "espn", () -> "final scores"),
+                new HedgedTierExecutor.Tier<>("nba-com", "nba-com", () -> "nba.com games")
+        ), result -> result.contains("games"), progress::add);
+
+        assertThat(winner.tier()).isEqualTo("nba-com");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5_000);
+    }
+
+    @Test
+    void race_noTierSufficient_fallsBackToLastTier() {
+        HedgedTierExecutor hedgedTierExecutor = hedgedTierExecutor(true, Duration.ofMillis(50));
+
+        HedgedTierExecutor.Winner<String> winner = hedgedTierExecutor.race(LOOKUP, List.of(
+                new HedgedTierExecutor.Tier<>("espn", "espn", () -> {
+                    sleep(200);
+                    return "final scores";
+                }),
+                new HedgedTierExecutor.Tier<>("tavily", "tavily", () -> "no results")
+        ), result -> result.contains("games"), progress::add);
+
+        assertThat(winner.tier()).isEqualTo("tavily");
+        assertThat(winner.result()).isEqualTo("no results");
+        assertThat(winner.sufficient()).isFalse();
+    }
+
+    @Test
+    void race_tierThrows_treatsItAsInsufficient() {
+        HedgedTierExecutor hedgedTierExecutor = hedgedTierExecutor(true, Duration.ofSeconds(5));
+
+        HedgedTierExecutor.Winner<String> winner = hedgedTierExecutor.race(LOOKUP, List.of(
+                new HedgedTierExecutor.Tier<String>("espn", "espn", () -> {
+                    throw new IllegalStateException("ESPN unavailable");
+                }),
+                new HedgedTierExecutor.Tier<>("nba-com", "nba-com", () -> "nba.com games")
+        ), result -> result.contains("games"), progress::add);
+
+        assertThat(winner.tier()).isEqualTo("nba-com");
+    }
+
+    @Test
+    void race_hedgingDisabled_runsTiersInSequence() {
+        HedgedTierExecutor hedgedTierExecutor = hedgedTierExecutor(false, Duration.ofMillis(10));
+        AtomicBoolean espnFinished = new AtomicBoolean();
+        AtomicBoolean nbaComStartedEarly = new AtomicBoolean();
+
+        HedgedTierExecutor.Winner<String> winner = hedgedTierExecutor.race(LOOKUP, List.of(
+                new HedgedTierExecutor.Tier<>("espn", "espn", () -> {
+                    sleep(200);
+                    espnFinished.set(true);
+                    return "final scores";
+                }),
+                new HedgedTierExecutor.Tier<>("nba-com", "nba-com", () -> {
+                    nbaComStartedEarly.set(!espnFinished.get());
+                    return "nba.com games";
+                })
+        ), result -> result.contains("games"), progress::add);
+
+        assertThat(winner.tier()).isEqualTo("nba-com");
+        assertThat(nbaComStartedEarly).isFalse();
+        assertThat(meterRegistry.find("sports.tiers.hedging.saved").timer()).isNull();
+    }
+
+    private HedgedTierExecutor hedgedTierExecutor(boolean enabled, Duration tierBudget) {
+        return new HedgedTierExecutor(new SportsHedgingProperties(enabled, tierBudget), meterRegistry);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
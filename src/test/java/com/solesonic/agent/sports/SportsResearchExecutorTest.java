@@ -0,0 +1,120 @@
+package com.solesonic.agent.sports;
+
+import com.solesonic.agent.config.SportsResearchProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SportsResearchExecutorTest {
+
+    @Test
+    void research_queriesFinishOutOfOrder_keepsQueryOrder() {
+        SportsResearchExecutor researchExecutor = researchExecutor(16, 4, Duration.ofSeconds(5));
+
+        List<SportsResearchExecutor.Outcome<String>> outcomes = researchExecutor.research(
+                List.of("slow", "fast"),
+                query -> {
+                    if (query.equals("slow")) {
+                        sleep(200);
+                    }
+                    return query.toUpperCase();
+                });
+
+        assertThat(outcomes).extracting(SportsResearchExecutor.Outcome::query).containsExactly("slow", "fast");
+        assertThat(outcomes).extracting(SportsResearchExecutor.Outcome::result).containsExactly("SLOW", "FAST");
+    }
+
+    @Test
+    void research_severalQueries_runsThemConcurrently() {
+        SportsResearchExecutor researchExecutor = researchExecutor(16, 3, Duration.ofSeconds(5));
+        CountDownLatch allStarted = new CountDownLatch(3);
+
+        List<SportsResearchExecutor.Outcome<Boolean>> outcomes = researchExecutor.research(
+                List.of("a", "b", "c"),
+                _ -> {
+                    allStarted.countDown();
+                    return await(allStarted);
+                });
+
+        // Each query only finishes once all three run at the same time
+        assertThat(outcomes).extracting(SportsResearchExecutor.Outcome::result).containsOnly(true);
+    }
+
+    @Test
+    void research_moreQueriesThanPerRequestLimit_boundsParallelism() {
+        SportsResearchExecutor researchExecutor = researchExecutor(16, 2, Duration.ofSeconds(5));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        researchExecutor.research(List.of("a", "b", "c", "d", "e", "f"), query -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(50);
+            running.decrementAndGet();
+            return query;
+        });
+
+        assertThat(maxRunning.get()).isEqualTo(2);
+    }
+
+    @Test
+    void research_queryExceedsTimeout_failsOnlyThatQuery() {
+        SportsResearchExecutor researchExecutor = researchExecutor(16, 4, Duration.ofMillis(100));
+
+        List<SportsResearchExecutor.Outcome<String>> outcomes = researchExecutor.research(
+                List.of("hangs", "answers"),
+                query -> {
+                    if (query.equals("hangs")) {
+                        sleep(10_000);
+                    }
+                    return query;
+                });
+
+        assertThat(outcomes.get(0).succeeded()).isFalse();
+        assertThat(outcomes.get(0).failure()).isInstanceOf(TimeoutException.class);
+        assertThat(outcomes.get(1).result()).isEqualTo("answers");
+    }
+
+    @Test
+    void research_queryThrows_failsOnlyThatQuery() {
+        SportsResearchExecutor researchExecutor = researchExecutor(16, 4, Duration.ofSeconds(5));
+
+        List<SportsResearchExecutor.Outcome<String>> outcomes = researchExecutor.research(
+                List.of("broken", "works"),
+                query -> {
+                    if (query.equals("broken")) {
+                        throw new IllegalStateException("Tavily unavailable");
+                    }
+                    return query;
+                });
+
+        assertThat(outcomes.get(0).failure()).hasMessage("Tavily unavailable");
+        assertThat(outcomes.get(1).succeeded()).isTrue();
+    }
+
+    private static SportsResearchExecutor researchExecutor(int maxConcurrent, int maxConcurrentPerRequest, Duration queryTimeout) {
+        return new SportsResearchExecutor(new SportsResearchProperties(maxConcurrent, maxConcurrentPerRequest, queryTimeout));
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.solesonic.agent.sports.config;
+
+import com.solesonic.agent.sports.SportsState;
+import com.solesonic.agent.sports.model.SportsQueryIntent;
+import com.solesonic.agent.sports.model.SportsQuestionType;
+import com.solesonic.agent.sports.node.ExtractTeamsFromScheduleNode;
+import com.solesonic.agent.sports.node.FetchEspnRosterNode;
+import com.solesonic.agent.sports.node.ResolveEspnTeamUrlsNode;
+import com.solesonic.agent.sports.node.SearchCurrentScheduleNode;
+import com.solesonic.agent.sports.node.SearchSportsNewsNode;
+import com.solesonic.agent.sports.node.SearchStatisticsNode;
+import com.solesonic.agent.sports.node.SynthesizeSportsAnalysisNode;
+import org.bsc.langgraph4j.CompiledGraph;
+import org.bsc.langgraph4j.action.AsyncNodeAction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the sub-graphs with nodes that each take the same time and measures the critical path: the longest
+ * chain of nodes where each one started only after the previous one finished.
+ */
+@ExtendWith(MockitoExtension.class)
+class NbaSubGraphCriticalPathTest {
+
+    private static final long NODE_MILLIS = 100;
+
+    private final List<Run> runs = new CopyOnWriteArrayList<>();
+
+    @Mock
+    private SearchCurrentScheduleNode searchCurrentScheduleNode;
+
+    @Mock
+    private ExtractTeamsFromScheduleNode extractTeamsFromScheduleNode;
+
+    @Mock
+    private ResolveEspnTeamUrlsNode resolveEspnTeamUrlsNode;
+
+    @Mock
+    private FetchEspnRosterNode fetchEspnRosterNode;
+
+    @Mock
+    private SearchSportsNewsNode searchSportsNewsNode;
+
+    @Mock
+    private SearchStatisticsNode searchStatisticsNode;
+
+    @Mock
+    private SynthesizeSportsAnalysisNode synthesizeSportsAnalysisNode;
+
+    @Test
+    void nbaPlayerGraph_rosterNewsAndStats_runInParallel() throws Exception {
+        timed(resolveEspnTeamUrlsNode, SportsState.RESOLVED_TEAMS, List.of());
+        timed(fetchEspnRosterNode, SportsState.ESPN_ROSTER_DATA, "roster");
+        timed(searchSportsNewsNode, SportsState.NEWS_SEARCH_SUMMARY, "news");
+        timed(searchStatisticsNode, SportsState.STATISTICS_SEARCH_SUMMARY, "stats");
+        timed(synthesizeSportsAnalysisNode, SportsState.FINAL_ANALYSIS, "analysis");
+
+        CompiledGraph<SportsState> graph = new NbaPlayerGraphConfig().nbaPlayerGraph(
+                resolveEspnTeamUrlsNode, fetchEspnRosterNode, searchSportsNewsNode,
+                searchStatisticsNode, synthesizeSportsAnalysisNode);
+
+        SportsState finalState = run(graph);
+
+        // resolve → roster | news | stats → synthesize, instead of five nodes in a row
+        assertThat(criticalPathLength()).isEqualTo(3);
+        assertJoined(finalState);
+    }
+
+    @Test
+    void nbaGamePreviewGraph_rosterNewsAndStats_runInParallel() throws Exception {
+        timed(searchCurrentScheduleNode, SportsState.ESPN_SCHEDULE_DATA, "schedule");
+        timed(extractTeamsFromScheduleNode, SportsState.RESOLVED_TEAMS, List.of());
+        timed(resolveEspnTeamUrlsNode, SportsState.RESOLVED_TEAMS, List.of());
+        timed(fetchEspnRosterNode, SportsState.ESPN_ROSTER_DATA, "roster");
+        timed(searchSportsNewsNode, SportsState.NEWS_SEARCH_SUMMARY, "news");
+        timed(searchStatisticsNode, SportsState.STATISTICS_SEARCH_SUMMARY, "stats");
+        timed(synthesizeSportsAnalysisNode, SportsState.FINAL_ANALYSIS, "analysis");
+
+        CompiledGraph<SportsState> graph = new NbaGamePreviewGraphConfig().nbaGamePreviewGraph(
+                searchCurrentScheduleNode, extractTeamsFromScheduleNode, resolveEspnTeamUrlsNode,
+                fetchEspnRosterNode, searchSportsNewsNode, searchStatisticsNode, synthesizeSportsAnalysisNode);
+
+        SportsState finalState = run(graph);
+
+        // schedule → extract → resolve → roster | news | stats → synthesize, instead of seven nodes in a row
+        assertThat(criticalPathLength()).isEqualTo(5);
+        assertJoined(finalState);
+    }
+
+    private static void assertJoined(SportsState finalState) {
+        assertThat(finalState.espnRosterData()).contains("roster");
+        assertThat(finalState.newsSearchSummary()).contains("news");
+        assertThat(finalState.statisticsSearchSummary()).contains("stats");
+        assertThat(finalState.finalAnalysis()).contains("analysis");
+    }
+
+    private SportsState run(CompiledGraph<SportsState> graph) {
+        SportsQueryIntent intent = new SportsQueryIntent(
+                List.of(SportsQuestionType.PLAYER_ANALYSIS), List.of("Denver Nuggets"), List.of("Nikola Jokic"), "today");
+        return graph.invoke(Map.of(SportsState.SPORTS_QUERY_INTENT, intent)).orElseThrow();
+    }
+
+    private void timed(AsyncNodeAction<SportsState> node, String key, Object value) {
+        when(node.apply(any())).thenAnswer(_ -> {
+            long start = System.nanoTime();
+            Thread.sleep(NODE_MILLIS);
+            runs.add(new Run(start, System.nanoTime()));
+            return CompletableFuture.completedFuture(Map.of(key, value));
+        });
+    }
+
+    private int criticalPathLength() {
+        List<Run> ordered = new ArrayList<>(runs);
+        ordered.sort(Comparator.comparingLong(Run::start));
+
+        int[] chain = new int[ordered.size()];
+        int longest = 0;
+        for (int index = 0; index < ordered.size(); index++) {
+            chain[index] = 1;
+            for (int previous = 0; previous < index; previous++) {
+                if (ordered.get(previous).end() <= ordered.get(index).start()) {
+                    chain[index] = Math.max(chain[index], chain[previous] + 1);
+                }
+            }
+            longest = Math.max(longest, chain[index]);
+        }
+        return longest;
+    }
+
+    private record Run(long start, long end) {
+    }
+}
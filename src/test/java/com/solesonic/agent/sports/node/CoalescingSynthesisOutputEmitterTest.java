@@ -0,0 +1,156 @@
+package com.solesonic.agent.sports.node;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class CoalescingSynthesisOutputEmitterTest {
+
+    private static final Duration FLUSH_INTERVAL = Duration.ofMillis(50);
+
+    private final List<String> events = new ArrayList<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final List<Runnable> scheduledFlushes = new ArrayList<>();
+    private final List<ScheduledFuture<?>> scheduledFutures = new ArrayList<>();
+
+    private CoalescingSynthesisOutputEmitter emitter;
+
+    @BeforeEach
+    void setUp() {
+        SynthesisOutputEmitter recorder = new SynthesisOutputEmitter() {
+            @Override
+            public void emitChunk(String text, String artifactId, Boolean append, boolean lastChunk) {
+                events.add("chunk:" + text + "|" + artifactId + "|" + append + "|" + lastChunk);
+            }
+
+            @Override
+            public void emitProgress(String message) {
+                events.add("progress:" + message);
+            }
+        };
+        ScheduledExecutorService flusher = mock(ScheduledExecutorService.class);
+        doAnswer(invocation -> {
+            scheduledFlushes.add(invocation.getArgument(0));
+            ScheduledFuture<?> future = mock(ScheduledFuture.class);
+            scheduledFutures.add(future);
+            return future;
+        }).when(flusher).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        emitter = new CoalescingSynthesisOutputEmitter(recorder, FLUSH_INTERVAL, 16, clock::get, flusher);
+    }
+
+    @Test
+    void emitChunk_withinIntervalAndSize_buffersTokens() {
+        emitter.emitChunk("The ", "a-1", null, false);
+        emitter.emitChunk("Nuggets ", "a-1", true, false);
+
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void emitChunk_lastChunk_flushesWithFirstAppendFlag() {
+        emitter.emitChunk("The ", "a-1", null, false);
+        emitter.emitChunk("Nuggets", "a-1", true, false);
+        emitter.emitChunk(" won", "a-1", true, true);
+
+        assertThat(events).containsExactly("chunk:The Nuggets won|a-1|null|true");
+    }
+
+    @Test
+    void emitChunk_intervalElapsed_flushesBuffer() {
+        emitter.emitChunk("The ", "a-1", null, false);
+        clock.addAndGet(FLUSH_INTERVAL.toNanos());
+        emitter.emitChunk("Nuggets", "a-1", true, false);
+        emitter.emitChunk(" won", "a-1", true, true);
+
+        assertThat(events).containsExactly(
+                "chunk:The Nuggets|a-1|null|false",
+                "chunk: won|a-1|true|true");
+    }
+
+    @Test
+    void emitChunk_noFurtherToken_scheduledFlushEmitsBuffer() {
+        emitter.emitChunk("The ", "a-1", null, false);
+        emitter.emitChunk("Nuggets", "a-1", true, false);
+
+        assertThat(scheduledFlushes).hasSize(1);
+        scheduledFlushes.getFirst().run();
+
+        assertThat(events).containsExactly("chunk:The Nuggets|a-1|null|false");
+    }
+
+    @Test
+    void emitChunk_flushedBeforeTimer_cancelsScheduledFlush() {
+        emitter.emitChunk("The ", "a-1", null, false);
+        emitter.emitChunk("Nuggets", "a-1", true, true);
+
+        verify(scheduledFutures.getFirst()).cancel(false);
+        scheduledFlushes.getFirst().run();
+
+        assertThat(events).containsExactly("chunk:The Nuggets|a-1|null|true");
+    }
+
+    @Test
+    void close_pendingText_cancelsScheduledFlushAndDropsText() {
+        emitter.emitChunk("The ", "a-1", null, false);
+        emitter.close();
+
+        verify(scheduledFutures.getFirst()).cancel(false);
+        scheduledFlushes.getFirst().run();
+
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void emitChunk_sizeReached_flushesBuffer() {
+        emitter.emitChunk("0123456789", "a-1", null, false);
+        emitter.emitChunk("0123456789", "a-1", true, false);
+
+        assertThat(events).containsExactly("chunk:01234567890123456789|a-1|null|false");
+    }
+
+    @Test
+    void emitChunk_artifactChanges_flushesPreviousArtifact() {
+        emitter.emitChunk("first", "a-1", null, false);
+        emitter.emitChunk("second", "a-2", null, true);
+
+        assertThat(events).containsExactly(
+                "chunk:first|a-1|null|false",
+                "chunk:second|a-2|null|true");
+    }
+
+    @Test
+    void emitProgress_pendingText_flushesBeforeProgress() {
+        emitter.emitChunk("partial", "a-1", null, false);
+        emitter.emitProgress("Combining analyses...");
+
+        assertThat(events).containsExactly(
+                "chunk:partial|a-1|null|false",
+                "progress:Combining analyses...");
+    }
+
+    @Test
+    void coalescing_zeroInterval_returnsDelegate() {
+        SynthesisOutputEmitter delegate = SynthesisOutputEmitter.noOp();
+
+        assertThat(SynthesisOutputEmitter.coalescing(delegate, Duration.ZERO, 16)).isSameAs(delegate);
+    }
+
+    @Test
+    void utf8Length_multiByteCharacters_countsEncodedBytes() {
+        assertThat(CoalescingSynthesisOutputEmitter.utf8Length("aé€😀")).isEqualTo(1 + 2 + 3 + 4);
+    }
+}
@@ -0,0 +1,213 @@
+package com.solesonic.service.espn;
+
+import com.solesonic.mcp.config.espn.EspnCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EspnResponseCacheTest {
+
+    private static final String STANDINGS = "espn.standings";
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final Function<Object, Duration> FIXED_TTL = _ -> TTL;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-15T19:00:00Z"));
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void get_freshEntry_servesWithoutCallingEspn() {
+        EspnResponseCache responseCache = responseCache(true, 16);
+
+        String first = responseCache.get(STANDINGS, "", FIXED_TTL, this::standings);
+        clock.advance(Duration.ofMinutes(5));
+        String second = responseCache.get(STANDINGS, "", FIXED_TTL, this::standings);
+
+        assertThat(first).isEqualTo("standings-1");
+        assertThat(second).isEqualTo("standings-1");
+        assertThat(calls).hasValue(1);
+        assertThat(requests("hit")).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void get_expiredWithinStaleWindow_servesStaleAndRefreshes() throws Exception {
+        EspnResponseCache responseCache = responseCache(true, 16);
+        responseCache.get(STANDINGS, "", FIXED_TTL, this::standings);
+
+        clock.advance(Duration.ofMinutes(15));
+        String stale = responseCache.get(STANDINGS, "", FIXED_TTL, this::standings);
+
+        assertThat(stale).isEqualTo("standings-1");
+        assertThat(requests("stale")).isEqualTo(1);
+        assertThat(awaitValue(responseCache, "standings-2")).isTrue();
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void get_expiredBeyondStaleWindow_waitsForNewResponse() {
+        EspnResponseCache responseCache = responseCache(true, 16);
+        responseCache.get(STANDINGS, "", FIXED_TTL, this::standings);
+
+        clock.advance(Duration.ofMinutes(25));
+        String refreshed = responseCache.get(STANDINGS, "", FIXED_TTL, this::standings);
+
+        assertThat(refreshed).isEqualTo("standings-2");
+        assertThat(requests("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void get_concurrentMisses_callsEspnOnce() throws Exception {
+        EspnResponseCache responseCache = responseCache(true, 16);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<CompletableFuture<String>> callers = new ArrayList<>();
+        for (int index = 0; index < 5; index++) {
+            callers.add(CompletableFuture.supplyAsync(() -> responseCache.get(STANDINGS, "", FIXED_TTL, () -> {
+                await(release);
+                return standings();
+            })));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        for (CompletableFuture<String> caller : callers) {
+            assertThat(caller.get(5, TimeUnit.SECONDS)).isEqualTo("standings-1");
+        }
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void get_moreEntriesThanMax_evictsLeastRecentlyUsed() {
+        EspnResponseCache responseCache = responseCache(true, 2);
+        AtomicInteger rosterCalls = new AtomicInteger();
+
+        responseCache.get("espn.team-roster", "DEN", FIXED_TTL, () -> "DEN-" + rosterCalls.incrementAndGet());
+        responseCache.get("espn.team-roster", "LAL", FIXED_TTL, () -> "LAL-" + rosterCalls.incrementAndGet());
+        responseCache.get("espn.team-roster", "DEN", FIXED_TTL, () -> "DEN-" + rosterCalls.incrementAndGet());
+        responseCache.get("espn.team-roster", "BOS", FIXED_TTL, () -> "BOS-" + rosterCalls.incrementAndGet());
+
+        String nuggets = responseCache.get("espn.team-roster", "DEN", FIXED_TTL, () -> "DEN-" + rosterCalls.incrementAndGet());
+        String lakers = responseCache.get("espn.team-roster", "LAL", FIXED_TTL, () -> "LAL-" + rosterCalls.incrementAndGet());
+
+        assertThat(nuggets).isEqualTo("DEN-1");
+        assertThat(lakers).isEqualTo("LAL-4");
+        assertThat(responseCache.size()).isEqualTo(2);
+        assertThat(meterRegistry.get("espn.cache.evictions").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void get_nullResponse_isNotCached() {
+        EspnResponseCache responseCache = responseCache(true, 16);
+
+        String first = responseCache.get(STANDINGS, "", FIXED_TTL, () -> {
+            calls.incrementAndGet();
+            return null;
+        });
+        String second = responseCache.get(STANDINGS, "", FIXED_TTL, this::standings);
+
+        assertThat(first).isNull();
+        assertThat(second).isEqualTo("standings-2");
+    }
+
+    @Test
+    void get_refreshWithDifferentResponse_notifiesChangeListeners() {
+        EspnResponseCache responseCache = responseCache(true, 16);
+        List<String> changed = new CopyOnWriteArrayList<>();
+        responseCache.onChange(changed::add);
+        responseCache.get(STANDINGS, "", FIXED_TTL, this::standings);
+        responseCache.get("espn.team-roster", "DEN", FIXED_TTL, () -> "DEN");
+
+        clock.advance(Duration.ofMinutes(25));
+        responseCache.get(STANDINGS, "", FIXED_TTL, this::standings);
+        responseCache.get("espn.team-roster", "DEN", FIXED_TTL, () -> "DEN");
+
+        assertThat(changed).containsExactly(STANDINGS);
+    }
+
+    @Test
+    void get_cacheDisabled_alwaysCallsEspn() {
+        EspnResponseCache responseCache = responseCache(false, 16);
+
+        responseCache.get(STANDINGS, "", FIXED_TTL, this::standings);
+        responseCache.get(STANDINGS, "", FIXED_TTL, this::standings);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    private String standings() {
+        return "standings-" + calls.incrementAndGet();
+    }
+
+    private boolean awaitValue(EspnResponseCache responseCache, String expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (expected.equals(responseCache.get(STANDINGS, "", FIXED_TTL, this::standings))) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("espn.cache.requests").tag("result", result).counter().count();
+    }
+
+    private EspnResponseCache responseCache(boolean enabled, int maxEntries) {
+        EspnCacheProperties properties = new EspnCacheProperties(enabled, maxEntries, Duration.ofSeconds(5),
+                Duration.ofSeconds(30), Duration.ofMinutes(5), TTL, Duration.ofHours(1), Duration.ofHours(6));
+        return new EspnResponseCache(properties, meterRegistry, clock);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}